@@ -0,0 +1,91 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weatherinfoservice.alerts.AlertProperties;
+import com.weather.weatherinfoservice.alerts.AlertService;
+import com.weather.weatherinfoservice.models.AlertRuleRequest;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of {@link WeatherRepository#updateWeather} with alert rules registered.
+ *
+ * <p>Rules are spread over 1000 cities and the wildcard: {@code temp above} thresholds between
+ * 30C and 49C and {@code weather is stormy}. The writes move temperatures between 15C and 16C and
+ * alternate sunny and cloudy, so every write is evaluated against the index but no rule fires.
+ * With {@code rules=0} the alert service is not registered at all.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=AlertEvaluationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlertEvaluationBenchmark {
+
+    private static final int CITIES = 1_000;
+
+    @Param({"0", "1000", "100000"})
+    public int rules;
+
+    private WeatherRepository weatherRepository;
+    private AlertService alertService;
+    private String[] cities;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        weatherRepository = new WeatherRepository();
+        cities = new String[CITIES];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = "City" + i;
+            weatherRepository.saveWeather(cities[i], entity(cities[i], "15", "sunny"));
+        }
+        if (rules == 0) {
+            return;
+        }
+        AlertProperties alertProperties = new AlertProperties();
+        alertProperties.setAllowedCallbackHosts(List.of("localhost"));
+        alertService = new AlertService(weatherRepository, new IdGenerator(), alertProperties, new ObjectMapper(),
+                new SimpleMeterRegistry());
+        alertService.subscribe();
+        for (int i = 0; i < rules; i++) {
+            String city = i % 100 == 0 ? "*" : cities[i % CITIES];
+            AlertRuleRequest request = i % 10 == 0
+                    ? new AlertRuleRequest(city, "weather", "is", "stormy", null, "http://localhost:9/alerts")
+                    : new AlertRuleRequest(city, "temp", "above", String.valueOf(30 + i % 20), "C", "http://localhost:9/alerts");
+            alertService.register(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (alertService != null) {
+            alertService.shutdown();
+        }
+    }
+
+    @Benchmark
+    public WeatherDataEntity update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String city = cities[random.nextInt(CITIES)];
+        boolean flip = random.nextBoolean();
+        return weatherRepository.updateWeather(city, entity(city, flip ? "16" : "15", flip ? "cloudy" : "sunny"));
+    }
+
+    private static WeatherDataEntity entity(String city, String temp, String weather) {
+        return new WeatherDataEntity(UUID.randomUUID(), city, temp, "C", weather, LocalDate.now());
+    }
+}
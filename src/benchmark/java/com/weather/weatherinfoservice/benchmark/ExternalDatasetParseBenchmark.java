@@ -0,0 +1,69 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import com.weather.weatherinfoservice.external.ExternalDataset;
+import com.weather.weatherinfoservice.external.ExternalDatasetParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to load a one-million-city CSV file into an external dataset, as one sequential pass
+ * ({@code chunk=single}) and cut into 8 MB or 1 MB chunks parsed on one thread per CPU.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=ExternalDatasetParseBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExternalDatasetParseBenchmark {
+
+    private static final int CITIES = 1_000_000;
+
+    @Param({"single", "8MB", "1MB"})
+    public String chunk;
+
+    private Path file;
+    private ExecutorService executor;
+    private ExternalDatasetParser parser;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("external-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("city,temp,unit,weather,date\n");
+            for (int i = 0; i < CITIES; i++) {
+                writer.write("City" + i + "," + (i % 40) + ".5,C,partly cloudy,2026-03-01\n");
+            }
+        }
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        long chunkBytes = switch (chunk) {
+            case "8MB" -> 8L << 20;
+            case "1MB" -> 1L << 20;
+            default -> Long.MAX_VALUE;
+        };
+        parser = new ExternalDatasetParser(executor, chunkBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public ExternalDataset parse() throws IOException {
+        return parser.parse(file);
+    }
+}
@@ -0,0 +1,164 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import com.weather.weatherinfoservice.grpc.v1.CityRequest;
+import com.weather.weatherinfoservice.grpc.v1.WeatherLookup;
+import com.weather.weatherinfoservice.grpc.v1.WeatherServiceGrpc;
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+import org.springframework.web.client.RestClient;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load test comparing city lookups over REST, unary gRPC and bidi-streaming gRPC
+ * against a running instance started with {@code weather.grpc.enabled=true}.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *   -Dbenchmark.main=com.weather.weatherinfoservice.benchmark.GrpcRestLoadTest \
+ *   -Dbenchmark.args=rest=http://localhost:8080,grpc=localhost:9090,threads=32,requests=200000
+ * </pre>
+ */
+public class GrpcRestLoadTest {
+
+    private static final List<String> CITIES = List.of("Auckland", "Wellington", "Christchurch", "Hamilton", "Nelson");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args.length > 0 ? args[0] : "");
+        String restUrl = options.getOrDefault("rest", "http://localhost:8080");
+        String grpcTarget = options.getOrDefault("grpc", "localhost:9090");
+        int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "100000"));
+
+        RestClient restClient = RestClient.create(restUrl);
+        ManagedChannel channel = Grpc.newChannelBuilder(grpcTarget, InsecureChannelCredentials.create()).build();
+        try {
+            WeatherServiceGrpc.WeatherServiceBlockingStub blockingStub = WeatherServiceGrpc.newBlockingStub(channel);
+            WeatherServiceGrpc.WeatherServiceStub asyncStub = WeatherServiceGrpc.newStub(channel);
+
+            // warm-up both paths before measuring
+            runClosedLoop("warm-up rest", threads, requests / 10, i -> restClient.get().uri("/weather?city={city}", city(i)).retrieve().toBodilessEntity());
+            runClosedLoop("warm-up grpc", threads, requests / 10, i -> blockingStub.getWeather(CityRequest.newBuilder().setCity(city(i)).build()));
+
+            runClosedLoop("rest unary", threads, requests, i -> restClient.get().uri("/weather?city={city}", city(i)).retrieve().toBodilessEntity());
+            runClosedLoop("grpc unary", threads, requests, i -> blockingStub.getWeather(CityRequest.newBuilder().setCity(city(i)).build()));
+            runStreaming(asyncStub, threads, requests);
+        } finally {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private interface Call {
+        void invoke(int index) throws Exception;
+    }
+
+    private static void runClosedLoop(String name, int threads, int requests, Call call) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < requests) {
+                    long begin = System.nanoTime();
+                    try {
+                        call.invoke(i);
+                    } catch (Exception exception) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        report(name, requests, System.nanoTime() - start, latencies, errors.get());
+    }
+
+    /**
+     * Each thread keeps one MultiGet stream open and sends its share of the lookups over it,
+     * so the latency is measured from send to the matching streamed answer.
+     */
+    private static void runStreaming(WeatherServiceGrpc.WeatherServiceStub stub, int threads, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        int perStream = requests / threads;
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perStream;
+            long[] sentAt = new long[perStream];
+            AtomicInteger received = new AtomicInteger();
+            StreamObserver<CityRequest> requestStream = stub.multiGet(new StreamObserver<>() {
+                @Override
+                public void onNext(WeatherLookup lookup) {
+                    int i = received.getAndIncrement();
+                    latencies[offset + i] = System.nanoTime() - sentAt[i];
+                    if (lookup.hasError()) {
+                        errors.incrementAndGet();
+                    }
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    errors.incrementAndGet();
+                    done.countDown();
+                }
+
+                @Override
+                public void onCompleted() {
+                    done.countDown();
+                }
+            });
+            for (int i = 0; i < perStream; i++) {
+                sentAt[i] = System.nanoTime();
+                requestStream.onNext(CityRequest.newBuilder().setCity(city(offset + i)).build());
+            }
+            requestStream.onCompleted();
+        }
+        done.await(1, TimeUnit.HOURS);
+        report("grpc bidi multi-get", perStream * threads, System.nanoTime() - start, Arrays.copyOf(latencies, perStream * threads), errors.get());
+    }
+
+    private static void report(String name, int requests, long elapsedNanos, long[] latencies, int errors) {
+        Arrays.sort(latencies);
+        System.out.printf("%-20s %10.0f req/s  p50 %7.1f us  p99 %7.1f us  p99.9 %7.1f us  errors %d%n",
+                name,
+                requests / (elapsedNanos / 1e9),
+                percentile(latencies, 0.50) / 1e3,
+                percentile(latencies, 0.99) / 1e3,
+                percentile(latencies, 0.999) / 1e3,
+                errors);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static String city(int index) {
+        return CITIES.get(index % CITIES.size());
+    }
+
+    private static Map<String, String> parse(String args) {
+        Map<String, String> options = new HashMap<>();
+        for (String option : args.split(",")) {
+            int separator = option.indexOf('=');
+            if (separator > 0) {
+                options.put(option.substring(0, separator).trim(), option.substring(separator + 1).trim());
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,101 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import com.weather.weatherinfoservice.hotkeys.HotKeyProperties;
+import com.weather.weatherinfoservice.hotkeys.HotKeyTracker;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.ColdSegmentStore;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.services.WeatherServiceImpl;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup throughput of a skewed read load, where two of 10,000 cities receive 80% of the
+ * lookups, without hot key tracking ({@code off}), with lookups counted but nothing pinned
+ * ({@code counted}) and with the two hot cities pinned ({@code pinned}).
+ *
+ * <p>With {@code storage=tiered} a cold tier is attached, so every repository read also
+ * updates the city's access statistics, the state the pinned snapshot spares the hot cities.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=HotKeyLookupBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class HotKeyLookupBenchmark {
+
+    private static final int CITIES = 10_000;
+    private static final String[] HOT = {"Auckland", "Wellington"};
+
+    @Param({"off", "counted", "pinned"})
+    public String tracking;
+
+    @Param({"heap", "tiered"})
+    public String storage;
+
+    private WeatherServiceImpl weatherService;
+    private String[] cities;
+    private Path segmentFile;
+    private ColdSegmentStore coldSegmentStore;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        WeatherRepository weatherRepository = new WeatherRepository();
+        if (storage.equals("tiered")) {
+            segmentFile = Files.createTempFile("weather-cold", ".seg");
+            coldSegmentStore = new ColdSegmentStore(segmentFile);
+            weatherRepository.attachColdTier(coldSegmentStore);
+        }
+        cities = new String[CITIES];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = i < HOT.length ? HOT[i] : "City" + i;
+            weatherRepository.saveWeather(cities[i], new WeatherDataEntity(UUID.randomUUID(), cities[i], "15", "C", "sunny", LocalDate.now()));
+        }
+        HotKeyTracker hotKeyTracker = null;
+        if (!tracking.equals("off")) {
+            HotKeyProperties properties = new HotKeyProperties();
+            // a share above 1 counts every lookup but never pins a city
+            properties.setPinShare(tracking.equals("pinned") ? 0.1 : 1.1);
+            hotKeyTracker = new HotKeyTracker(weatherRepository, properties, new SimpleMeterRegistry());
+            hotKeyTracker.subscribe();
+        }
+        weatherService = new WeatherServiceImpl(weatherRepository, city -> null, new IdGenerator(), hotKeyTracker);
+        if (hotKeyTracker != null) {
+            for (int i = 0; i < 100_000; i++) {
+                lookup();
+            }
+            hotKeyTracker.republish();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (coldSegmentStore != null) {
+            coldSegmentStore.close();
+            Files.deleteIfExists(segmentFile);
+        }
+    }
+
+    @Benchmark
+    public WeatherDataResponse lookup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String city = random.nextInt(100) < 80 ? HOT[random.nextInt(HOT.length)] : cities[random.nextInt(CITIES)];
+        return weatherService.getWeatherData(city);
+    }
+}
@@ -0,0 +1,64 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import com.weather.weatherinfoservice.util.IdGenerator;
+import com.weather.weatherinfoservice.util.IdGeneratorProperties;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generation throughput of each {@code weather.ids.strategy} as the number of generating
+ * threads grows. {@code random} is the {@link UUID#randomUUID()} generator used before
+ * time-ordered ids.
+ *
+ * <p>JMH fixes the thread count per run, so {@link #main} repeats the benchmark for each count
+ * given as {@code threads=1,2,4,...}; the default sweeps 1 to 64 threads.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *   -Dbenchmark.main=com.weather.weatherinfoservice.benchmark.IdGenerationBenchmark \
+ *   -Dbenchmark.args=threads=1,4,16,64
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGenerationBenchmark {
+
+    @Param({"random", "uuidv7", "snowflake"})
+    public String strategy;
+
+    private IdGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        IdGeneratorProperties properties = new IdGeneratorProperties();
+        properties.setStrategy(strategy);
+        properties.setNodeId(1);
+        generator = new IdGenerator(IdGenerator.strategy(properties));
+    }
+
+    @Benchmark
+    public UUID generateId() {
+        return generator.generateId();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String threads = "1,2,4,8,16,32,64";
+        if (args.length > 0 && args[0].startsWith("threads=")) {
+            threads = args[0].substring("threads=".length());
+        }
+        for (String count : threads.split(",")) {
+            new Runner(new OptionsBuilder()
+                    .include(IdGenerationBenchmark.class.getSimpleName())
+                    .threads(Integer.parseInt(count.trim()))
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.weather.weatherinfoservice.exceptions.CityNotFoundException;
+import com.weather.weatherinfoservice.exceptions.GlobalExceptionHandler;
+import com.weather.weatherinfoservice.logging.MessageRateLimitingTurboFilter;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.services.WeatherServiceImpl;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread throughput of the paths that log on every request, with logging at the
+ * default INFO level, under the logging set-ups below.
+ *
+ * <p>{@code localMiss} is a read served by the external source, {@code notFound} the 404
+ * handler, and {@code legacyMissWarning} a read served externally that also logs the WARN the
+ * miss path used to emit. Events are written to a temporary file so that the synchronous set-up
+ * pays for real I/O.
+ *
+ * <p><strong>Set-ups:</strong>
+ * <ul>
+ *   <li>{@code sync-text} - pattern layout written on the request thread</li>
+ *   <li>{@code async-json} - ECS JSON behind a bounded, non-blocking queue</li>
+ *   <li>{@code async-json-limited} - as above plus the per-message rate limit of
+ *       {@code logback-spring.xml}</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=LoggingThroughputBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LoggingThroughputBenchmark {
+
+    @Param({"sync-text", "async-json", "async-json-limited"})
+    public String setup;
+
+    private Path logFile;
+    private LoggerContext context;
+    private WeatherServiceImpl weatherService;
+    private GlobalExceptionHandler exceptionHandler;
+    private org.slf4j.Logger legacyLogger;
+
+    @State(Scope.Thread)
+    public static class Request {
+
+        private final String requestId = UUID.randomUUID().toString();
+        private int sequence;
+
+        String nextCity() {
+            return "missing-" + (sequence++ & 1023);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("FILE");
+        file.setFile(logFile.toString());
+        file.setEncoder(setup.startsWith("async-json") ? jsonEncoder() : textEncoder());
+        file.start();
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        if (setup.startsWith("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            root.addAppender(async);
+        } else {
+            root.addAppender(file);
+        }
+        if (setup.equals("async-json-limited")) {
+            MessageRateLimitingTurboFilter filter = new MessageRateLimitingTurboFilter();
+            filter.setContext(context);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        weatherService = new WeatherServiceImpl(new WeatherRepository(), city ->
+                new WeatherDataResponse(UUID.randomUUID(), city, "18", "C", "sunny", LocalDate.now()), new IdGenerator());
+        exceptionHandler = new GlobalExceptionHandler();
+        legacyLogger = LoggerFactory.getLogger(WeatherServiceImpl.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.reset();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public WeatherDataResponse localMiss(Request request) {
+        MDC.put("requestId", request.requestId);
+        try {
+            return weatherService.getWeatherData(request.nextCity());
+        } finally {
+            MDC.remove("requestId");
+        }
+    }
+
+    @Benchmark
+    public Object notFound(Request request) {
+        MDC.put("requestId", request.requestId);
+        try {
+            return exceptionHandler.handleCityNotFoundException(new CityNotFoundException(request.nextCity() + " data not found in all the sources"));
+        } finally {
+            MDC.remove("requestId");
+        }
+    }
+
+    @Benchmark
+    public WeatherDataResponse legacyMissWarning(Request request) {
+        MDC.put("requestId", request.requestId);
+        try {
+            String city = request.nextCity();
+            legacyLogger.warn("weather data for {} not found in the local memory so fetching externally", city);
+            return weatherService.getWeatherData(city);
+        } finally {
+            MDC.remove("requestId");
+        }
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("ecs");
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> textEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5p [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+}
@@ -0,0 +1,193 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures time from process launch to the first successful {@code GET /weather/health},
+ * the resident set size once healthy, and a short single-city read throughput.
+ *
+ * <p>Each run starts a fresh process on a free port, so results include JVM boot, class loading
+ * and Spring context refresh. Every measurement is appended to a CSV history file so figures
+ * for the JVM, fast-boot and native artifacts can be compared across builds.
+ * RSS is read from {@code /proc} and reported as 0 on other platforms.
+ *
+ * <p><strong>Modes:</strong>
+ * <ul>
+ *   <li>{@code jvm} - the repackaged jar with default settings</li>
+ *   <li>{@code fastboot} - the extracted jar of a {@code -Pfast-boot} build with its AppCDS
+ *       archive, AOT initialisation and lazy beans</li>
+ *   <li>{@code native} - the executable of a {@code -Pnative} build</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *   -Dbenchmark.main=com.weather.weatherinfoservice.benchmark.StartupBenchmark \
+ *   -Dbenchmark.args=mode=fastboot,runs=10,history=startup-history.csv
+ * </pre>
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration THROUGHPUT_WINDOW = Duration.ofSeconds(5);
+    private static final int THROUGHPUT_THREADS = 8;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args.length > 0 ? args[0] : "");
+        String mode = options.getOrDefault("mode", "jvm");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Path history = Path.of(options.getOrDefault("history", "startup-history.csv"));
+        String target = options.getOrDefault("target", "target");
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        long[] results = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            int port = freePort();
+            Process process = new ProcessBuilder(command(mode, target, port))
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            long start = System.nanoTime();
+            long rssKb;
+            double throughput;
+            try {
+                results[run] = awaitHealthy(client, port, process, start);
+                rssKb = residentSetKb(process.pid());
+                throughput = throughput(client, port);
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+            System.out.printf("%s run %d: %d ms to first health, RSS %d MB, %.0f req/s%n",
+                    mode, run + 1, results[run], rssKb / 1024, throughput);
+            record(history, mode, results[run], rssKb / 1024, throughput);
+        }
+        Arrays.sort(results);
+        System.out.printf("%s time-to-first-health: min %d ms, median %d ms, max %d ms%n",
+                mode, results[0], results[runs / 2], results[runs - 1]);
+    }
+
+    private static long residentSetKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException exception) {
+            // not on Linux
+        }
+        return 0;
+    }
+
+    private static double throughput(HttpClient client, int port) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/weather?city=Auckland")).GET().build();
+        long deadline = System.nanoTime() + THROUGHPUT_WINDOW.toNanos();
+        LongAdder completed = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < THROUGHPUT_THREADS; i++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                        completed.increment();
+                    } catch (IOException exception) {
+                        return;
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return completed.sum() / (double) THROUGHPUT_WINDOW.toSeconds();
+    }
+
+    private static List<String> command(String mode, String target, int port) {
+        List<String> command = new ArrayList<>();
+        switch (mode) {
+            case "fastboot" -> {
+                Path extracted = Path.of(target, "extracted");
+                command.add("java");
+                command.add("-XX:SharedArchiveFile=" + extracted.resolve("application.jsa"));
+                command.add("-Dspring.aot.enabled=true");
+                command.add("-Dspring.profiles.active=fastboot");
+                command.add("-jar");
+                command.add(extracted.resolve(jarName()).toString());
+            }
+            case "native" -> command.add(Path.of(target, "weatherInfoService").toString());
+            default -> {
+                command.add("java");
+                command.add("-jar");
+                command.add(Path.of(target, jarName()).toString());
+            }
+        }
+        command.add("--server.port=" + port);
+        return command;
+    }
+
+    private static long awaitHealthy(HttpClient client, int port, Process process, long start) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/weather/health")).GET().build();
+        while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("service exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return (System.nanoTime() - start) / 1_000_000;
+                }
+            } catch (IOException exception) {
+                // not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("service not healthy within " + TIMEOUT);
+    }
+
+    private static void record(Path history, String mode, long millis, long rssMb, double throughput) throws IOException {
+        if (Files.notExists(history)) {
+            Files.writeString(history, "timestamp,mode,time_to_first_health_ms,rss_mb,requests_per_second,java_version\n");
+        }
+        Files.writeString(history, String.format("%s,%s,%d,%d,%.0f,%s%n", Instant.now(), mode, millis, rssMb, throughput, System.getProperty("java.version")),
+                StandardOpenOption.APPEND);
+    }
+
+    private static String jarName() {
+        return "weatherInfoService-0.0.1-SNAPSHOT.jar";
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String args) {
+        Map<String, String> options = new HashMap<>();
+        for (String option : args.split(",")) {
+            int separator = option.indexOf('=');
+            if (separator > 0) {
+                options.put(option.substring(0, separator).trim(), option.substring(separator + 1).trim());
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,119 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import com.weather.weatherinfoservice.repositories.SqlWeatherStore;
+import com.weather.weatherinfoservice.repositories.SqlWriteBehind;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Throughput of a mix of reads and writes against the in-memory store alone and against the
+ * store backed by the embedded H2 database.
+ *
+ * <p>{@code read-heavy} is 95% reads, {@code write-heavy} 80% writes, over 10,000 cities. With
+ * {@code sql} a background thread writes the changes behind as the service does; once its queue
+ * is full, writers run at the speed of the database, so the write-heavy figure is the sustained
+ * rate of batched JDBC writes.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=StorageBackendBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class StorageBackendBenchmark {
+
+    private static final int CITIES = 10_000;
+
+    @Param({"memory", "sql"})
+    public String backend;
+
+    @Param({"read-heavy", "write-heavy"})
+    public String mix;
+
+    private WeatherRepository weatherRepository;
+    private String[] cities;
+    private int writePercent;
+    private Path directory;
+    private HikariDataSource dataSource;
+    private volatile boolean writing;
+    private Thread writer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        weatherRepository = new WeatherRepository();
+        cities = new String[CITIES];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = "City" + i;
+            weatherRepository.saveWeather(cities[i], entity(cities[i]));
+        }
+        writePercent = mix.equals("read-heavy") ? 5 : 80;
+        if (backend.equals("memory")) {
+            return;
+        }
+        directory = Files.createTempDirectory("weather-sql");
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:file:" + directory.resolve("weather").toAbsolutePath() + ";QUERY_CACHE_SIZE=64");
+        config.setMaximumPoolSize(4);
+        dataSource = new HikariDataSource(config);
+        SqlWriteBehind writeBehind = new SqlWriteBehind(weatherRepository, new SqlWeatherStore(dataSource), 1_000, 100_000, Duration.ofSeconds(1));
+        writeBehind.subscribe();
+        writing = true;
+        writer = Thread.ofPlatform().daemon().start(() -> {
+            try {
+                while (writing) {
+                    writeBehind.flush(100, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (dataSource == null) {
+            return;
+        }
+        writing = false;
+        writer.join();
+        dataSource.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Object mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String city = cities[random.nextInt(CITIES)];
+        if (random.nextInt(100) < writePercent) {
+            return weatherRepository.updateWeather(city, entity(city));
+        }
+        Optional<WeatherDataEntity> entity = weatherRepository.findWeatherByCity(city);
+        return entity.orElse(null);
+    }
+
+    private static WeatherDataEntity entity(String city) {
+        return new WeatherDataEntity(UUID.randomUUID(), city, String.valueOf(ThreadLocalRandom.current().nextInt(-10, 35)), "C", "cloudy", LocalDate.now());
+    }
+}
@@ -0,0 +1,51 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of answering {@code GET /weather?unit=F|K} compared with returning the stored Celsius
+ * reading, measured over the part of the read path that differs: conversion plus JSON encoding.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=TemperatureConversionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemperatureConversionBenchmark {
+
+    private ObjectMapper mapper;
+    private WeatherDataResponse stored;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        stored = new WeatherDataResponse(UUID.randomUUID(), "Auckland", "15.5", "C", "rainy", LocalDate.now());
+    }
+
+    @Benchmark
+    public byte[] storedString() throws Exception {
+        return mapper.writeValueAsBytes(stored);
+    }
+
+    @Benchmark
+    public byte[] convertedToFahrenheit() throws Exception {
+        return mapper.writeValueAsBytes(stored.convertedTo("F"));
+    }
+
+    @Benchmark
+    public byte[] convertedToKelvin() throws Exception {
+        return mapper.writeValueAsBytes(stored.convertedTo("K"));
+    }
+}
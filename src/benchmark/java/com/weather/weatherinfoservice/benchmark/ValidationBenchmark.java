@@ -0,0 +1,73 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.validation.WeatherDataRequestFastValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation throughput of a {@code POST /weather} body as Spring MVC runs it: the request is
+ * validated into a fresh binding result, once through Hibernate Validator and once through the
+ * precompiled fast path.
+ *
+ * <p>{@code valid} is an accepted reading; {@code invalid} has a blank city, an unknown unit and
+ * a malformed temperature.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=ValidationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String payload;
+
+    private ValidatorFactory factory;
+    private SmartValidator beanValidation;
+    private SmartValidator fastPath;
+    private WeatherDataRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        factory = Validation.buildDefaultValidatorFactory();
+        beanValidation = new SpringValidatorAdapter(factory.getValidator());
+        fastPath = new WeatherDataRequestFastValidator(beanValidation);
+        request = payload.equals("valid")
+                ? new WeatherDataRequest("Auckland", "15.5", "C", LocalDate.now(), "sunny")
+                : new WeatherDataRequest(" ", "warm", "K", LocalDate.now(), "sunny");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public int beanValidation() {
+        return validate(beanValidation);
+    }
+
+    @Benchmark
+    public int fastPath() {
+        return validate(fastPath);
+    }
+
+    private int validate(SmartValidator validator) {
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(request, "weatherDataRequest");
+        validator.validate(request, errors);
+        return errors.getErrorCount();
+    }
+}
@@ -0,0 +1,73 @@
+package com.weather.weatherinfoservice.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode throughput of the weather response model in JSON, CBOR and Smile.
+ *
+ * <p>Payload sizes for each format are printed once per trial.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.include=WireFormatBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<WeatherDataResponse>> RESPONSE_LIST = new TypeReference<>() { };
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"1", "100"})
+    public int records;
+
+    private ObjectMapper mapper;
+    private List<WeatherDataResponse> payload;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        mapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory())
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory())
+                    .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        payload = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            payload.add(new WeatherDataResponse(UUID.randomUUID(), "city-" + i, Integer.toString(i % 40), "C", "sunny", LocalDate.now()));
+        }
+        encoded = mapper.writeValueAsBytes(payload);
+        System.out.printf("%n%s payload for %d records: %d bytes%n", format, records, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public List<WeatherDataResponse> decode() throws Exception {
+        return mapper.readValue(encoded, RESPONSE_LIST);
+    }
+}
@@ -0,0 +1,50 @@
+package com.weather.weatherinfoservice.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Traffic and external-source profile of a load test run, parsed from a single
+ * {@code key=value,key=value} argument.
+ *
+ * <p><strong>Keys:</strong>
+ * <ul>
+ *   <li>{@code rate} - requests per second offered, independent of response times (default 500)</li>
+ *   <li>{@code duration}, {@code warmup} - seconds of measured and unmeasured traffic (default 30, 10)</li>
+ *   <li>{@code hit}, {@code miss}, {@code write} - request mix in percent: reads of stored cities,
+ *       reads answered by the external source, and POST/PUT/DELETE cycles (default 80, 15, 5)</li>
+ *   <li>{@code externalMedianMs}, {@code externalP99Ms} - log-normal latency of the external source (default 20, 200)</li>
+ *   <li>{@code externalFailureRate} - fraction of external calls that fail (default 0.01)</li>
+ *   <li>{@code target} - base URL of an already running instance; when absent the service is started
+ *       in-process with the simulated external source</li>
+ * </ul>
+ */
+record LoadProfile(int rate, Duration duration, Duration warmup, int hitPercent, int missPercent, int writePercent,
+                   double externalMedianMs, double externalP99Ms, double externalFailureRate, String target) {
+
+    static LoadProfile parse(String args) {
+        Map<String, String> options = new HashMap<>();
+        for (String option : args.split(",")) {
+            int separator = option.indexOf('=');
+            if (separator > 0) {
+                options.put(option.substring(0, separator).trim(), option.substring(separator + 1).trim());
+            }
+        }
+        LoadProfile profile = new LoadProfile(
+                Integer.parseInt(options.getOrDefault("rate", "500")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Integer.parseInt(options.getOrDefault("hit", "80")),
+                Integer.parseInt(options.getOrDefault("miss", "15")),
+                Integer.parseInt(options.getOrDefault("write", "5")),
+                Double.parseDouble(options.getOrDefault("externalMedianMs", "20")),
+                Double.parseDouble(options.getOrDefault("externalP99Ms", "200")),
+                Double.parseDouble(options.getOrDefault("externalFailureRate", "0.01")),
+                options.get("target"));
+        if (profile.hitPercent + profile.missPercent + profile.writePercent != 100) {
+            throw new IllegalArgumentException("hit + miss + write must add up to 100");
+        }
+        return profile;
+    }
+}
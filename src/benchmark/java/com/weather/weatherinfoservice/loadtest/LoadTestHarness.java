@@ -0,0 +1,71 @@
+package com.weather.weatherinfoservice.loadtest;
+
+import com.weather.weatherinfoservice.WeatherInfoServiceApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+
+/**
+ * Self-contained load test: starts the service in-process on a random port with a
+ * latency- and fault-profiled {@link SimulatedExternalSource}, drives it with an
+ * {@link OpenModelLoadGenerator} and prints coordinated-omission-corrected percentiles
+ * per operation.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec \
+ *   -Dbenchmark.main=com.weather.weatherinfoservice.loadtest.LoadTestHarness \
+ *   -Dbenchmark.args=rate=1000,duration=60,hit=70,miss=20,write=10,externalMedianMs=30,externalP99Ms=400
+ * </pre>
+ *
+ * <p>Pass {@code target=http://host:port} to drive an already running instance instead; the
+ * external-source keys are ignored in that case.
+ */
+public class LoadTestHarness {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    public static void main(String[] args) {
+        LoadProfile profile = LoadProfile.parse(args.length > 0 ? args[0] : "");
+        ConfigurableApplicationContext context = null;
+        String baseUrl = profile.target();
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(WeatherInfoServiceApplication.class)
+                    .initializers(applicationContext -> applicationContext.getBeanFactory()
+                            .addBeanPostProcessor(SimulatedExternalSource.installer(profile)))
+                    .properties("server.port=0", "logging.level.com.weather=ERROR")
+                    .run();
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            System.out.printf("offering %d req/s for %ds (warm-up %ds) against %s, mix hit/miss/write %d/%d/%d%n",
+                    profile.rate(), profile.duration().toSeconds(), profile.warmup().toSeconds(), baseUrl,
+                    profile.hitPercent(), profile.missPercent(), profile.writePercent());
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(baseUrl, profile);
+            report(generator, generator.run());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void report(OpenModelLoadGenerator generator, Map<OpenModelLoadGenerator.Operation, Histogram> histograms) {
+        StringBuilder header = new StringBuilder(String.format("%-10s %9s %7s", "operation", "count", "errors"));
+        for (double percentile : PERCENTILES) {
+            header.append(String.format(" %9s", "p" + percentile));
+        }
+        System.out.println(header.append(String.format(" %9s   (ms)", "max")));
+        histograms.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() == 0) {
+                return;
+            }
+            StringBuilder row = new StringBuilder(String.format("%-10s %9d %7d", operation, histogram.getTotalCount(), generator.errors(operation)));
+            for (double percentile : PERCENTILES) {
+                row.append(String.format(" %9.2f", histogram.getValueAtPercentile(percentile) / 1_000_000.0));
+            }
+            System.out.println(row.append(String.format(" %9.2f", histogram.getMaxValue() / 1_000_000.0)));
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package com.weather.weatherinfoservice.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests are issued on a fixed schedule whether or not earlier
+ * responses have arrived, so a slow server cannot throttle the offered load.
+ *
+ * <p><strong>Coordinated omission:</strong> latency is measured from the <em>intended</em>
+ * send time of each request rather than the moment it actually left the generator. When the
+ * generator itself falls behind, the queueing delay a real client would have seen is charged
+ * to the requests that were delayed instead of silently disappearing from the percentiles.
+ */
+class OpenModelLoadGenerator {
+
+    enum Operation { READ_HIT, READ_MISS, CREATE, UPDATE, DELETE }
+
+    private static final List<String> STORED_CITIES = List.of("Auckland", "Christchurch", "Wellington");
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final LoadProfile profile;
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    /**
+     * Number of writes scheduled so far; only touched by the scheduling thread.
+     */
+    private long writeSequence;
+
+    OpenModelLoadGenerator(String baseUrl, LoadProfile profile) {
+        this.baseUrl = baseUrl;
+        this.profile = profile;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    /**
+     * Offers load for the warm-up period, discards it, then offers load for the measured period.
+     *
+     * @return per-operation latency histograms of the measured period
+     */
+    Map<Operation, Histogram> run() {
+        offer(profile.warmup());
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(counter -> counter.set(0));
+        offer(profile.duration());
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        return histograms;
+    }
+
+    long errors(Operation operation) {
+        return errors.get(operation).get();
+    }
+
+    private void offer(Duration period) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rate();
+        long requests = period.toNanos() / intervalNanos;
+        ConcurrentLinkedQueue<CompletableFuture<?>> inFlight = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            CompletableFuture<?> future = send(nextOperation(), intendedStart);
+            inFlight.add(future);
+            future.whenComplete((ignored, failure) -> inFlight.remove(future));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).orTimeout(1, TimeUnit.MINUTES).exceptionally(failure -> null).join();
+    }
+
+    private Operation nextOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < profile.hitPercent()) {
+            return Operation.READ_HIT;
+        }
+        if (roll < profile.hitPercent() + profile.missPercent()) {
+            return Operation.READ_MISS;
+        }
+        // writes cycle create -> update -> delete over their own cities so the stored set stays bounded
+        return switch ((int) (writeSequence++ % 3)) {
+            case 0 -> Operation.CREATE;
+            case 1 -> Operation.UPDATE;
+            default -> Operation.DELETE;
+        };
+    }
+
+    private CompletableFuture<?> send(Operation operation, long intendedStart) {
+        HttpRequest request = switch (operation) {
+            case READ_HIT -> get(STORED_CITIES.get(ThreadLocalRandom.current().nextInt(STORED_CITIES.size())));
+            case READ_MISS -> get("external-" + ThreadLocalRandom.current().nextInt(10_000));
+            case CREATE -> write("POST", writeCity());
+            case UPDATE -> write("PUT", writeCity());
+            case DELETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/weather?city=" + encode(writeCity()))).DELETE().build();
+        };
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    recorders.get(operation).recordValue(Math.min(System.nanoTime() - intendedStart, HIGHEST_TRACKABLE_NANOS));
+                    if (failure != null || response.statusCode() >= 400) {
+                        errors.get(operation).incrementAndGet();
+                    }
+                });
+    }
+
+    private String writeCity() {
+        return "loadtest-" + (writeSequence - 1) / 3;
+    }
+
+    private HttpRequest get(String city) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/weather?city=" + encode(city))).GET().build();
+    }
+
+    private HttpRequest write(String method, String city) {
+        String body = """
+                {"city":"%s","temp":"%d","unit":"C","date":"%s","weather":"sunny"}"""
+                .formatted(city, ThreadLocalRandom.current().nextInt(-5, 35), LocalDate.now());
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/weather"))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String encode(String city) {
+        return URLEncoder.encode(city, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,65 @@
+package com.weather.weatherinfoservice.loadtest;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.services.WeatherDataExternalSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stand-in for {@link WeatherDataExternalSource} with production-like latency and failures.
+ *
+ * <p>Every call sleeps for a log-normally distributed time fitted to the configured median and
+ * 99th percentile, then fails with the configured probability. Cities named
+ * {@code external-*} are answered with synthetic data, all others fall through to the
+ * regular static data.
+ */
+class SimulatedExternalSource extends WeatherDataExternalSource {
+
+    /**
+     * z-score of the 99th percentile of the standard normal distribution.
+     */
+    private static final double Z_99 = 2.326;
+
+    private final double mu;
+    private final double sigma;
+    private final double failureRate;
+
+    SimulatedExternalSource(LoadProfile profile) {
+        this.mu = Math.log(profile.externalMedianMs());
+        this.sigma = Math.max(0.0, (Math.log(profile.externalP99Ms()) - mu) / Z_99);
+        this.failureRate = profile.externalFailureRate();
+    }
+
+    @Override
+    public WeatherDataResponse getWeatherData(String city) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double latencyMs = Math.exp(mu + sigma * random.nextGaussian());
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos((long) (latencyMs * 1000)));
+        if (random.nextDouble() < failureRate) {
+            throw new IllegalStateException("simulated external source failure");
+        }
+        if (city.startsWith("external-")) {
+            return new WeatherDataResponse(UUID.randomUUID(), city, Integer.toString(random.nextInt(-5, 35)), "C", "cloudy", LocalDate.now());
+        }
+        return super.getWeatherData(city);
+    }
+
+    /**
+     * Replaces the application's external source with the simulation when the context starts.
+     */
+    static BeanPostProcessor installer(LoadProfile profile) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof WeatherDataExternalSource && !(bean instanceof SimulatedExternalSource)
+                        ? new SimulatedExternalSource(profile)
+                        : bean;
+            }
+        };
+    }
+}
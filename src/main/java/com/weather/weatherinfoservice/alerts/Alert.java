@@ -0,0 +1,20 @@
+package com.weather.weatherinfoservice.alerts;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A rule that fired, as posted to its callback.
+ *
+ * @param ruleId the rule that fired
+ * @param city the city whose reading crossed the rule
+ * @param condition the rule in words, e.g. {@code temp above 30 C}
+ * @param previous the reading before the change, or {@code null} for a new city
+ * @param current the reading that crossed the rule
+ * @param triggeredAt when the change was written
+ */
+public record Alert(UUID ruleId, String city, String condition, WeatherDataResponse previous,
+                    WeatherDataResponse current, Instant triggeredAt) {
+}
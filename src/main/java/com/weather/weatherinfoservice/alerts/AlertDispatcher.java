@@ -0,0 +1,107 @@
+package com.weather.weatherinfoservice.alerts;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands fired alerts from the writing threads to an {@link AlertSink}.
+ *
+ * <p>Writers only offer to a bounded queue and never wait: when the queue is full the alert is
+ * dropped and counted. A single dispatcher thread starts the deliveries, keeping at most
+ * {@code maxInFlight} of them open at a time.
+ */
+@Slf4j
+public class AlertDispatcher implements AutoCloseable {
+
+    private final BlockingQueue<Delivery> queue;
+    private final AlertSink sink;
+    private final Semaphore inFlight;
+    private final Thread thread;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public AlertDispatcher(AlertSink sink, int queueCapacity, int maxInFlight) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sink = sink;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.thread = Thread.ofPlatform().name("weather-alert-dispatcher").daemon().start(this::run);
+    }
+
+    /**
+     * Queues an alert for delivery without blocking.
+     *
+     * @return {@code false} if the queue is full and the alert was dropped
+     */
+    public boolean offer(AlertRule rule, Alert alert) {
+        if (queue.offer(new Delivery(rule, alert))) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // wait for a free slot first, so alerts beyond it stay in the bounded queue
+                inFlight.acquire();
+                Delivery delivery;
+                try {
+                    delivery = queue.take();
+                } catch (InterruptedException exception) {
+                    inFlight.release();
+                    throw exception;
+                }
+                try {
+                    sink.deliver(delivery.rule(), delivery.alert()).whenComplete((ignored, exception) -> {
+                        inFlight.release();
+                        if (exception == null) {
+                            delivered.increment();
+                        } else {
+                            failed.increment();
+                            Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                                    ? exception.getCause() : exception;
+                            log.warn("alert {} to {} failed: {}", delivery.alert().ruleId(), delivery.rule().callbackUrl(), cause.getMessage());
+                        }
+                    });
+                } catch (RuntimeException exception) {
+                    inFlight.release();
+                    failed.increment();
+                    log.warn("alert {} to {} failed: {}", delivery.alert().ruleId(), delivery.rule().callbackUrl(), exception.getMessage());
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Delivery(AlertRule rule, Alert alert) {
+    }
+}
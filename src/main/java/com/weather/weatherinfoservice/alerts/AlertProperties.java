@@ -0,0 +1,43 @@
+package com.weather.weatherinfoservice.alerts;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Alert rule settings bound from {@code weather.alerts.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.alerts")
+public class AlertProperties {
+
+    /**
+     * Whether alert rules can be registered and are evaluated on writes.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Hosts rule callbacks may point to, e.g. {@code hooks.example.com}; {@code *.example.com}
+     * allows every subdomain. Callbacks to any other host are rejected, so with the default empty
+     * list no rule can be registered.
+     */
+    private List<String> allowedCallbackHosts = new ArrayList<>();
+
+    /**
+     * Alerts waiting for delivery; further alerts are dropped while the queue is full.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Callbacks posted concurrently.
+     */
+    private int maxInFlight = 64;
+
+    /**
+     * Time a callback has to answer before the delivery counts as failed.
+     */
+    private Duration deliveryTimeout = Duration.ofSeconds(5);
+}
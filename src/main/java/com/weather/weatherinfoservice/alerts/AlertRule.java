@@ -0,0 +1,24 @@
+package com.weather.weatherinfoservice.alerts;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * A registered alert rule.
+ *
+ * @param id the rule id
+ * @param city the watched city, or {@link #ANY_CITY}
+ * @param field {@code temp} or {@code weather}
+ * @param operator {@code above} or {@code below} for temperatures, {@code is} for weather
+ * @param value the threshold or weather description as registered
+ * @param unit the unit of a temperature threshold
+ * @param callbackUrl where alerts are delivered
+ * @param thresholdCelsius a temperature threshold in Celsius, {@code NaN} for weather rules
+ */
+public record AlertRule(UUID id, String city, String field, String operator, String value, String unit,
+                        URI callbackUrl, @JsonIgnore double thresholdCelsius) {
+
+    public static final String ANY_CITY = "*";
+}
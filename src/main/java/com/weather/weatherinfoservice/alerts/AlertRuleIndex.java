@@ -0,0 +1,161 @@
+package com.weather.weatherinfoservice.alerts;
+
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Alert rules indexed by city and field, so that a change only looks at the rules it can fire.
+ *
+ * <p>Rules fire on crossings: a rule matches a change when it holds for the new reading and did
+ * not hold for the previous one, or there was none. Per city, and for the {@link AlertRule#ANY_CITY}
+ * wildcard, rules are kept by field:
+ * <ul>
+ *   <li>{@code temp above} and {@code temp below} rules sorted by threshold; a temperature change
+ *       from {@code p} to {@code n} only visits thresholds in {@code [p, n)} or {@code (n, p]}</li>
+ *   <li>{@code weather is} rules hashed by description; a weather change only visits the rules of
+ *       the new description</li>
+ * </ul>
+ * A change therefore costs two map lookups plus O(log r) per field that changed, however many
+ * rules are registered. Cities without rules of their own or wildcard rules stop after the lookups.
+ *
+ * <p><strong>Thread safety:</strong> {@link #matches} runs lock-free alongside registrations;
+ * {@link #add} and {@link #remove} are serialized with each other.
+ */
+public class AlertRuleIndex {
+
+    private final Map<String, CityRules> rulesByCity = new ConcurrentHashMap<>();
+    private int size;
+
+    public synchronized void add(AlertRule rule) {
+        CityRules cityRules = rulesByCity.computeIfAbsent(rule.city(), city -> new CityRules());
+        bucket(cityRules, rule, true).add(rule);
+        size++;
+    }
+
+    public synchronized boolean remove(AlertRule rule) {
+        CityRules cityRules = rulesByCity.get(rule.city());
+        if (cityRules == null) {
+            return false;
+        }
+        Set<AlertRule> bucket = bucket(cityRules, rule, false);
+        if (bucket == null || !bucket.remove(rule)) {
+            return false;
+        }
+        if (bucket.isEmpty()) {
+            switch (rule.operator()) {
+                case "above" -> cityRules.above.remove(rule.thresholdCelsius(), bucket);
+                case "below" -> cityRules.below.remove(rule.thresholdCelsius(), bucket);
+                default -> cityRules.weatherIs.remove(normalize(rule.value()), bucket);
+            }
+        }
+        size--;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Passes every rule crossed by a change of {@code city} to {@code action}.
+     */
+    public void matches(String city, WeatherDataEntity previous, WeatherDataEntity current, Consumer<AlertRule> action) {
+        if (current == null) {
+            return;
+        }
+        CityRules cityRules = rulesByCity.get(city);
+        CityRules anyCity = rulesByCity.get(AlertRule.ANY_CITY);
+        if (cityRules == null && anyCity == null) {
+            return;
+        }
+        Double previousCelsius = previous == null ? null : TemperatureConverter.parseCelsius(previous.getTemp(), previous.getUnit());
+        Double currentCelsius = TemperatureConverter.parseCelsius(current.getTemp(), current.getUnit());
+        String previousWeather = previous == null ? null : normalize(previous.getWeather());
+        String currentWeather = normalize(current.getWeather());
+        boolean tempChanged = currentCelsius != null && !currentCelsius.equals(previousCelsius);
+        boolean weatherChanged = currentWeather != null && !currentWeather.equals(previousWeather);
+        if (!tempChanged && !weatherChanged) {
+            return;
+        }
+        Double temperature = tempChanged ? currentCelsius : null;
+        String weather = weatherChanged ? currentWeather : null;
+        collect(cityRules, previousCelsius, temperature, weather, action);
+        collect(anyCity, previousCelsius, temperature, weather, action);
+    }
+
+    private static void collect(CityRules cityRules, Double previousCelsius, Double currentCelsius, String currentWeather,
+                                Consumer<AlertRule> action) {
+        if (cityRules == null) {
+            return;
+        }
+        if (currentCelsius != null) {
+            double now = currentCelsius;
+            // above t: now > t and not before > t, so t in [before, now)
+            visit(previousCelsius == null ? cityRules.above.headMap(now, false)
+                    : previousCelsius < now ? cityRules.above.subMap(previousCelsius, true, now, false) : null, action);
+            // below t: now < t and not before < t, so t in (now, before]
+            visit(previousCelsius == null ? cityRules.below.tailMap(now, false)
+                    : now < previousCelsius ? cityRules.below.subMap(now, false, previousCelsius, true) : null, action);
+        }
+        if (currentWeather != null) {
+            Set<AlertRule> rules = cityRules.weatherIs.get(currentWeather);
+            if (rules != null) {
+                rules.forEach(action);
+            }
+        }
+    }
+
+    private static void visit(NavigableMap<Double, Set<AlertRule>> range, Consumer<AlertRule> action) {
+        if (range == null) {
+            return;
+        }
+        for (Collection<AlertRule> rules : range.values()) {
+            rules.forEach(action);
+        }
+    }
+
+    private static Set<AlertRule> bucket(CityRules cityRules, AlertRule rule, boolean create) {
+        Map<?, Set<AlertRule>> index;
+        Object key;
+        switch (rule.operator()) {
+            case "above" -> {
+                index = cityRules.above;
+                key = rule.thresholdCelsius();
+            }
+            case "below" -> {
+                index = cityRules.below;
+                key = rule.thresholdCelsius();
+            }
+            default -> {
+                index = cityRules.weatherIs;
+                key = normalize(rule.value());
+            }
+        }
+        @SuppressWarnings("unchecked")
+        Map<Object, Set<AlertRule>> buckets = (Map<Object, Set<AlertRule>>) index;
+        return create ? buckets.computeIfAbsent(key, ignored -> ConcurrentHashMap.newKeySet()) : buckets.get(key);
+    }
+
+    static String normalize(String weather) {
+        return weather == null ? null : weather.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Rules of one city, or of the wildcard, by field and operator.
+     */
+    private static final class CityRules {
+
+        private final ConcurrentSkipListMap<Double, Set<AlertRule>> above = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<Double, Set<AlertRule>> below = new ConcurrentSkipListMap<>();
+        private final Map<String, Set<AlertRule>> weatherIs = new ConcurrentHashMap<>();
+    }
+}
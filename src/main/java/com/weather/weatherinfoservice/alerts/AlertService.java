@@ -0,0 +1,178 @@
+package com.weather.weatherinfoservice.alerts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.models.AlertRuleRequest;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.ReplicatedChanges;
+import com.weather.weatherinfoservice.repositories.WeatherDataChangeListener;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registers alert rules and fires them on every write to {@link WeatherRepository}.
+ *
+ * <p>Rules are matched through an {@link AlertRuleIndex} on the writing thread; delivery of the
+ * resulting alerts happens on the {@link AlertDispatcher} thread, so a slow or unreachable
+ * callback never holds up a writer.
+ *
+ * <p>Callbacks are limited to the hosts in {@code weather.alerts.allowed-callback-hosts} and
+ * redirects are not followed, so rules cannot make the service call arbitrary internal
+ * addresses. Rules are only evaluated where a write originates; the copies a follower, a cluster
+ * replica or a handoff target applies are {@link ReplicatedChanges} and do not fire them again.
+ *
+ * <p><strong>Metrics:</strong>
+ * <ul>
+ *   <li>{@code weather.alerts.rules} - registered rules</li>
+ *   <li>{@code weather.alerts.deliveries} - alerts by {@code outcome}: delivered, failed or dropped</li>
+ *   <li>{@code weather.alerts.queued} - alerts waiting for delivery</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "weather.alerts", name = "enabled", havingValue = "true")
+public class AlertService implements WeatherDataChangeListener {
+
+    private final WeatherRepository weatherRepository;
+    private final Map<UUID, AlertRule> rules = new ConcurrentHashMap<>();
+    private final AlertRuleIndex index = new AlertRuleIndex();
+    private final IdGenerator idGenerator;
+    private final List<String> allowedCallbackHosts;
+    private final AlertDispatcher dispatcher;
+
+    public AlertService(WeatherRepository weatherRepository, IdGenerator idGenerator, AlertProperties alertProperties,
+                        ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.weatherRepository = weatherRepository;
+        this.idGenerator = idGenerator;
+        this.allowedCallbackHosts = alertProperties.getAllowedCallbackHosts().stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        this.dispatcher = new AlertDispatcher(new WebhookAlertSink(objectMapper, alertProperties.getDeliveryTimeout()),
+                alertProperties.getQueueCapacity(), alertProperties.getMaxInFlight());
+        Gauge.builder("weather.alerts.rules", index, AlertRuleIndex::size).register(meterRegistry);
+        Gauge.builder("weather.alerts.queued", dispatcher, AlertDispatcher::getQueued).register(meterRegistry);
+        FunctionCounter.builder("weather.alerts.deliveries", dispatcher, AlertDispatcher::getDelivered)
+                .tag("outcome", "delivered").register(meterRegistry);
+        FunctionCounter.builder("weather.alerts.deliveries", dispatcher, AlertDispatcher::getFailed)
+                .tag("outcome", "failed").register(meterRegistry);
+        FunctionCounter.builder("weather.alerts.deliveries", dispatcher, AlertDispatcher::getDropped)
+                .tag("outcome", "dropped").register(meterRegistry);
+    }
+
+    /**
+     * Registers with the repository, once the instance is fully constructed.
+     */
+    @PostConstruct
+    public void subscribe() {
+        weatherRepository.addChangeListener(this);
+    }
+
+    /**
+     * Registers a rule; it fires on the first change that crosses it.
+     *
+     * @throws InvalidRequestException if the operator does not fit the field, a temperature
+     *         threshold is not numeric or the callback is not an http(s) URL on an allowed host
+     */
+    public AlertRule register(AlertRuleRequest request) {
+        String unit = request.getUnit() != null ? request.getUnit() : TemperatureConverter.CANONICAL_UNIT;
+        double thresholdCelsius = Double.NaN;
+        if ("temp".equals(request.getField())) {
+            if (!"above".equals(request.getOperator()) && !"below".equals(request.getOperator())) {
+                throw new InvalidRequestException("temp rules must use 'above' or 'below'");
+            }
+            thresholdCelsius = Optional.ofNullable(TemperatureConverter.parseCelsius(request.getValue(), unit))
+                    .orElseThrow(() -> new InvalidRequestException("temp rules need a numeric value"));
+        } else if (!"is".equals(request.getOperator())) {
+            throw new InvalidRequestException("weather rules must use 'is'");
+        }
+        AlertRule rule = new AlertRule(idGenerator.generateId(), request.getCity().trim(), request.getField(),
+                request.getOperator(), request.getValue().trim(), "temp".equals(request.getField()) ? unit : null,
+                callbackUrl(request.getCallbackUrl()), thresholdCelsius);
+        rules.put(rule.id(), rule);
+        index.add(rule);
+        return rule;
+    }
+
+    /**
+     * Lists the registered rules, optionally only those of one city or of the wildcard.
+     */
+    public List<AlertRule> list(String city) {
+        return rules.values().stream()
+                .filter(rule -> city == null || rule.city().equals(city))
+                .sorted(Comparator.comparing(AlertRule::id))
+                .toList();
+    }
+
+    /**
+     * Removes a rule.
+     *
+     * @return {@code false} if there is no rule with that id
+     */
+    public boolean delete(UUID id) {
+        AlertRule rule = rules.remove(id);
+        return rule != null && index.remove(rule);
+    }
+
+    @Override
+    public void onChange(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        if (ReplicatedChanges.isReplicated()) {
+            return;
+        }
+        index.matches(city, previous, current, rule -> dispatcher.offer(rule, new Alert(rule.id(), city, condition(rule),
+                previous == null ? null : new WeatherDataResponse(previous), new WeatherDataResponse(current), Instant.now())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.close();
+    }
+
+    private static String condition(AlertRule rule) {
+        String condition = rule.field() + " " + rule.operator() + " " + rule.value();
+        return rule.unit() != null ? condition + " " + rule.unit() : condition;
+    }
+
+    private URI callbackUrl(String callbackUrl) {
+        URI uri = null;
+        try {
+            uri = URI.create(callbackUrl.trim());
+        } catch (IllegalArgumentException exception) {
+            // reported below
+        }
+        if (uri == null || uri.getHost() == null
+                || !("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))) {
+            throw new InvalidRequestException("callbackUrl must be an http or https URL");
+        }
+        if (!isAllowed(uri.getHost().toLowerCase(Locale.ROOT))) {
+            throw new InvalidRequestException("callbackUrl host " + uri.getHost() + " is not an allowed callback host");
+        }
+        return uri;
+    }
+
+    private boolean isAllowed(String host) {
+        for (String allowed : allowedCallbackHosts) {
+            if (allowed.startsWith("*.") ? host.endsWith(allowed.substring(1)) : host.equals(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.weather.weatherinfoservice.alerts;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Delivers a fired alert to the rule's subscriber.
+ */
+@FunctionalInterface
+public interface AlertSink {
+
+    /**
+     * Starts the delivery without blocking.
+     *
+     * @return completes when the subscriber accepted the alert, or exceptionally if it did not
+     */
+    CompletableFuture<?> deliver(AlertRule rule, Alert alert);
+}
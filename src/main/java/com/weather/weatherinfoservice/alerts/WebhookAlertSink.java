@@ -0,0 +1,56 @@
+package com.weather.weatherinfoservice.alerts;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Posts alerts as JSON to the callback URL of their rule.
+ *
+ * <p>Any status other than 2xx fails the delivery; it is not retried. Redirects are not followed,
+ * so a callback cannot send the delivery on to a host that is not allowed.
+ */
+public class WebhookAlertSink implements AlertSink {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public WebhookAlertSink(ObjectMapper objectMapper, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public CompletableFuture<?> deliver(AlertRule rule, Alert alert) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(alert);
+        } catch (JsonProcessingException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        HttpRequest request = HttpRequest.newBuilder(rule.callbackUrl())
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new UncheckedIOException(new IOException("callback answered " + response.statusCode()));
+                    }
+                    return response;
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.weather.weatherinfoservice.analytics;
+
+import com.weather.weatherinfoservice.models.WeatherAggregateResponse;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running aggregates for one group of cities (all cities, or all cities of one date).
+ *
+ * <p>Count and sum make the average O(1). Min and max must survive removals, so temperatures
+ * are also kept as a sorted multiset; its first and last keys give min and max without
+ * rescanning the group.
+ */
+final class AggregateGroup {
+
+    private long count;
+    private long temperatureCount;
+    private double temperatureSum;
+    private final TreeMap<Double, Integer> temperatures = new TreeMap<>();
+    private final Map<String, Long> conditions = new HashMap<>();
+
+    synchronized void add(Double celsius, String condition) {
+        count++;
+        conditions.merge(condition, 1L, Long::sum);
+        if (celsius != null) {
+            temperatureCount++;
+            temperatureSum += celsius;
+            temperatures.merge(celsius, 1, Integer::sum);
+        }
+    }
+
+    synchronized void remove(Double celsius, String condition) {
+        count--;
+        conditions.computeIfPresent(condition, (key, value) -> value > 1 ? value - 1 : null);
+        if (celsius != null) {
+            temperatureCount--;
+            temperatureSum -= celsius;
+            temperatures.computeIfPresent(celsius, (key, value) -> value > 1 ? value - 1 : null);
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the aggregates with temperatures converted to the given unit.
+     */
+    synchronized WeatherAggregateResponse toResponse(String unit) {
+        if (temperatureCount == 0) {
+            return new WeatherAggregateResponse(count, 0, unit, null, null, null, Map.copyOf(conditions));
+        }
+        return new WeatherAggregateResponse(
+                count,
+                temperatureCount,
+                unit,
+                round(TemperatureConverter.fromCelsius(temperatureSum / temperatureCount, unit)),
+                round(TemperatureConverter.fromCelsius(temperatures.firstKey(), unit)),
+                round(TemperatureConverter.fromCelsius(temperatures.lastKey(), unit)),
+                Map.copyOf(conditions));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.weather.weatherinfoservice.analytics;
+
+import com.weather.weatherinfoservice.models.WeatherAggregateResponse;
+import com.weather.weatherinfoservice.repositories.WeatherDataChangeListener;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains aggregates over the local {@link WeatherRepository} as it changes.
+ *
+ * <p>Every add, update and delete reaches this class through {@link WeatherDataChangeListener}
+ * with both the previous and the new entry, so the old contribution is removed and the new one
+ * added without ever rescanning the store. Temperatures are normalised to Celsius before they
+ * are aggregated, so cities reported in {@code C} and {@code F} can be mixed; weather conditions
+ * are counted case-insensitively.
+ *
+ * <p>Aggregates are kept overall and per reading date. There is no per-region grouping, as
+ * entries have no region attribute to group by. Cities served only by the external source are
+ * not stored locally and therefore not included.
+ */
+@Component
+public class WeatherAggregator implements WeatherDataChangeListener {
+
+    private final WeatherRepository weatherRepository;
+    private final AggregateGroup overall = new AggregateGroup();
+    private final Map<LocalDate, AggregateGroup> byDate = new ConcurrentHashMap<>();
+
+    public WeatherAggregator(WeatherRepository weatherRepository) {
+        this.weatherRepository = weatherRepository;
+    }
+
+    /**
+     * Seeds the aggregates from the stored entries and follows every later change, without
+     * missing or double counting a write made while seeding.
+     */
+    @PostConstruct
+    public void subscribe() {
+        weatherRepository.addChangeListenerWithReplay(this);
+    }
+
+    @Override
+    public void onChange(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        if (previous != null) {
+            Double celsius = celsius(previous);
+            String condition = condition(previous);
+            overall.remove(celsius, condition);
+            if (previous.getDate() != null) {
+                byDate.computeIfPresent(previous.getDate(), (date, group) -> {
+                    group.remove(celsius, condition);
+                    return group.isEmpty() ? null : group;
+                });
+            }
+        }
+        if (current != null) {
+            Double celsius = celsius(current);
+            String condition = condition(current);
+            overall.add(celsius, condition);
+            if (current.getDate() != null) {
+                byDate.compute(current.getDate(), (date, group) -> {
+                    AggregateGroup target = group != null ? group : new AggregateGroup();
+                    target.add(celsius, condition);
+                    return target;
+                });
+            }
+        }
+    }
+
+    /**
+     * Returns the aggregates over all stored cities.
+     *
+     * @param unit the unit temperatures are reported in, {@code C} or {@code F}
+     */
+    public WeatherAggregateResponse getOverall(String unit) {
+        return overall.toResponse(unit);
+    }
+
+    /**
+     * Returns the aggregates over the cities whose reading is from the given date.
+     *
+     * @param date the reading date
+     * @param unit the unit temperatures are reported in, {@code C} or {@code F}
+     * @return the aggregates, or empty if no stored city has a reading from that date
+     */
+    public Optional<WeatherAggregateResponse> getByDate(LocalDate date, String unit) {
+        return Optional.ofNullable(byDate.get(date)).map(group -> group.toResponse(unit));
+    }
+
+    /**
+     * Returns the aggregates of every date with at least one stored reading, in date order.
+     */
+    public Map<LocalDate, WeatherAggregateResponse> getAllByDate(String unit) {
+        Map<LocalDate, WeatherAggregateResponse> result = new TreeMap<>();
+        byDate.forEach((date, group) -> result.put(date, group.toResponse(unit)));
+        return result;
+    }
+
+    private static Double celsius(WeatherDataEntity entity) {
+        return TemperatureConverter.parseCelsius(entity.getTemp(), entity.getUnit());
+    }
+
+    private static String condition(WeatherDataEntity entity) {
+        return entity.getWeather() == null ? "unknown" : entity.getWeather().trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,30 @@
+package com.weather.weatherinfoservice.bulk;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Export and import settings bound from {@code weather.bulk.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.bulk")
+public class BulkTransferProperties {
+
+    /**
+     * Directory for export snapshot files.
+     */
+    private Path snapshotDirectory = Path.of(System.getProperty("java.io.tmpdir"), "weather-snapshots");
+
+    /**
+     * Threads parsing and applying imported records; the records of one city always go to the
+     * same thread.
+     */
+    private int importThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Records handed to an import thread at a time.
+     */
+    private int importBatchSize = 1_000;
+}
@@ -0,0 +1,9 @@
+package com.weather.weatherinfoservice.bulk;
+
+import java.nio.file.Path;
+
+/**
+ * A point-in-time export of the store written to a gzip-compressed NDJSON file.
+ */
+public record ExportSnapshot(Path file, long records, long sizeInBytes) {
+}
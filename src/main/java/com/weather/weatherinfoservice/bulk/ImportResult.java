@@ -0,0 +1,22 @@
+package com.weather.weatherinfoservice.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of an import: how many records were applied, how many were rejected, and the first
+ * few rejection reasons with their line numbers.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ImportResult {
+
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private List<String> errors;
+}
@@ -0,0 +1,168 @@
+package com.weather.weatherinfoservice.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the shared store as gzip-compressed NDJSON, one {@link WeatherDataResponse} per line.
+ *
+ * <p>An export first writes a point-in-time snapshot of the store to a file, using
+ * {@link WeatherRepository#forEachAtSnapshot}. Writers are not blocked, and the snapshot is taken
+ * at disk speed, however slowly the client then downloads it. The file is sent with the
+ * container's sendfile support where available, so its bytes go from the page cache to the
+ * socket without passing through the heap. Otherwise it is copied through a channel.
+ *
+ * <p>A snapshot file is deleted once no response is sending it any more. A copied file is
+ * released when the copy finishes. A file handed to sendfile is opened by the container only
+ * after the handler returns, so it is kept for {@link #SENDFILE_OPEN_GRACE} after the handoff;
+ * once open, the container keeps reading it even after it was deleted.
+ */
+@Component
+public class StoreExporter {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    static final Duration SENDFILE_OPEN_GRACE = Duration.ofMinutes(1);
+
+    private final WeatherRepository weatherRepository;
+    private final ObjectMapper objectMapper;
+    private final BulkTransferProperties bulkTransferProperties;
+    private final Map<Path, RetainedFile> snapshots = new HashMap<>();
+
+    public StoreExporter(WeatherRepository weatherRepository, ObjectMapper objectMapper, BulkTransferProperties bulkTransferProperties) {
+        this.weatherRepository = weatherRepository;
+        this.objectMapper = objectMapper;
+        this.bulkTransferProperties = bulkTransferProperties;
+    }
+
+    /**
+     * Writes a snapshot of the store to a new file, which is kept until it was {@link #send sent}.
+     */
+    public ExportSnapshot writeSnapshot() throws IOException {
+        Path directory = bulkTransferProperties.getSnapshotDirectory();
+        Files.createDirectories(directory);
+        Path file = Files.createTempFile(directory, "export-", ".ndjson.gz");
+        long records;
+        try (OutputStream out = new FastGZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+             SequenceWriter writer = objectMapper.writerFor(WeatherDataResponse.class).withRootValueSeparator("\n").writeValues(out)) {
+            records = weatherRepository.forEachAtSnapshot(entity -> {
+                try {
+                    writer.write(new WeatherDataResponse(entity));
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(file);
+            throw exception;
+        }
+        synchronized (this) {
+            snapshots.put(file, new RetainedFile());
+        }
+        return new ExportSnapshot(file, records, Files.size(file));
+    }
+
+    /**
+     * Sends a snapshot file as the response body and releases it. Headers must have been set by
+     * the caller.
+     */
+    public void send(ExportSnapshot snapshot, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(snapshot.sizeInBytes());
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // the container transfers the file with sendfile(2) once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, snapshot.file().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, snapshot.sizeInBytes());
+            release(snapshot.file(), System.nanoTime() + SENDFILE_OPEN_GRACE.toNanos());
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(snapshot.file(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < snapshot.sizeInBytes()) {
+                position += channel.transferTo(position, snapshot.sizeInBytes() - position, target);
+            }
+        } finally {
+            release(snapshot.file(), System.nanoTime());
+        }
+    }
+
+    private synchronized void release(Path file, long keepUntilNanos) {
+        RetainedFile retained = snapshots.get(file);
+        if (retained != null) {
+            retained.released = true;
+            retained.keepUntilNanos = keepUntilNanos;
+        }
+        deleteReleased(System.nanoTime());
+    }
+
+    private void deleteReleased(long now) {
+        Iterator<Map.Entry<Path, RetainedFile>> iterator = snapshots.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Path, RetainedFile> entry = iterator.next();
+            if (entry.getValue().released && now - entry.getValue().keepUntilNanos >= 0) {
+                try {
+                    Files.deleteIfExists(entry.getKey());
+                    iterator.remove();
+                } catch (IOException exception) {
+                    // still open on a platform that refuses to delete open files; retried on the next release
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void deleteSnapshots() throws IOException {
+        for (Path file : snapshots.keySet()) {
+            Files.deleteIfExists(file);
+        }
+        snapshots.clear();
+    }
+
+    /**
+     * Whether a snapshot file was sent, and until when it must be kept afterwards.
+     */
+    private static final class RetainedFile {
+
+        private boolean released;
+        private long keepUntilNanos;
+    }
+
+    /**
+     * Gzip stream at the fastest compression level; exports are large and short-lived.
+     */
+    private static final class FastGZIPOutputStream extends GZIPOutputStream {
+
+        FastGZIPOutputStream(OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.weather.weatherinfoservice.bulk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.weather.weatherinfoservice.cluster.ClusterClient;
+import com.weather.weatherinfoservice.cluster.ClusterMembership;
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.ReplicatedChanges;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import com.weather.weatherinfoservice.validation.FieldViolation;
+import com.weather.weatherinfoservice.validation.WeatherDataRequestValidator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports NDJSON records, plain or gzip-compressed, as produced by {@link StoreExporter}.
+ *
+ * <p>The request thread only decompresses the body, locates the city of each line and hands the
+ * line to the lane of that city. Lanes are single threads that parse and apply their lines in
+ * batches, so the lines of one city are applied in body order and the last one wins, while
+ * different cities are imported in parallel. A semaphore bounds the batches in flight so that a
+ * fast upload cannot queue up the whole body in memory. The tenant of the request is bound to
+ * the lane while it applies the request's lines. Every record is applied with
+ * {@link WeatherRepository#saveWeather}, the same atomic per-city upsert as a single write,
+ * so listeners see each imported city as an ordinary change. Records without an id get a new one.
+ * Records are validated and their temperature normalized like the body of {@code POST /weather};
+ * malformed or invalid records are counted and skipped, they do not abort the import.
+ *
+ * <p>In cluster mode each batch is split by owner. Records this member owns are applied and then
+ * replayed on their replicas as an import carrying {@link ClusterClient#REPLICA_HOP}; the others
+ * are sent to their owner as an import of their own, whose result is merged into this one. Both
+ * are sent by the lane itself, so they too reach the other members in body order for each city.
+ * An import forwarded by another member is applied and replicated without routing it again, and
+ * a replayed one is only applied, as {@link ReplicatedChanges}. The hop is only honoured when
+ * the request also carries the cluster secret; otherwise the import is handled as a client's.
+ */
+@Component
+public class StoreImporter {
+
+    private static final int MAX_REPORTED_ERRORS = 10;
+    private static final String IMPORT_PATH = "/weather/import";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final WeatherRepository weatherRepository;
+    private final IdGenerator idGenerator;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader recordReader;
+    private final BulkTransferProperties bulkTransferProperties;
+    private final ClusterMembership clusterMembership;
+    private final ClusterClient clusterClient;
+    private final ExecutorService[] lanes;
+
+    public StoreImporter(WeatherRepository weatherRepository, IdGenerator idGenerator, ObjectMapper objectMapper, BulkTransferProperties bulkTransferProperties) {
+        this(weatherRepository, idGenerator, objectMapper, bulkTransferProperties, null, null);
+    }
+
+    @Autowired
+    public StoreImporter(WeatherRepository weatherRepository, IdGenerator idGenerator, ObjectMapper objectMapper, BulkTransferProperties bulkTransferProperties,
+                         @Nullable ClusterMembership clusterMembership, @Nullable ClusterClient clusterClient) {
+        this.weatherRepository = weatherRepository;
+        this.idGenerator = idGenerator;
+        this.objectMapper = objectMapper;
+        this.recordReader = objectMapper.readerFor(WeatherDataResponse.class);
+        this.bulkTransferProperties = bulkTransferProperties;
+        this.clusterMembership = clusterMembership;
+        this.clusterClient = clusterClient;
+        this.lanes = new ExecutorService[Math.max(1, bulkTransferProperties.getImportThreads())];
+        for (int lane = 0; lane < lanes.length; lane++) {
+            lanes[lane] = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("weather-import-" + (lane + 1)).daemon().factory());
+        }
+    }
+
+    public ImportResult importRecords(InputStream body) throws IOException {
+        return importRecords(body, null, null, new HttpHeaders());
+    }
+
+    /**
+     * @param hop the {@link ClusterClient#HOP_HEADER} of the request, or {@code null} for a
+     *        client's import
+     * @param secret the {@link ClusterClient#SECRET_HEADER} of the request; without the cluster
+     *        secret the hop is ignored
+     * @param forwarded the headers passed on when records are sent to other members, see
+     *        {@link com.weather.weatherinfoservice.util.ForwardedHeaders}
+     */
+    public ImportResult importRecords(InputStream body, @Nullable String hop, @Nullable String secret, HttpHeaders forwarded) throws IOException {
+        long started = System.nanoTime();
+        if (hop != null && (clusterMembership == null || !clusterMembership.isMemberSecret(secret))) {
+            hop = null;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(forwarded);
+        headers.setContentType(NDJSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        TenantNamespace tenant = TenantContextHolder.getTenant();
+        LongAdder imported = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        Queue<String> errors = new ConcurrentLinkedQueue<>();
+        int batchSize = Math.max(1, bulkTransferProperties.getImportBatchSize());
+        Semaphore inFlight = new Semaphore(2 * lanes.length);
+        List<Future<?>> pending = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(decompress(body), StandardCharsets.UTF_8), 64 * 1024)) {
+            List<List<ImportLine>> batches = new ArrayList<>(lanes.length);
+            for (int lane = 0; lane < lanes.length; lane++) {
+                batches.add(new ArrayList<>(batchSize));
+            }
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int lane = laneOf(line);
+                List<ImportLine> batch = batches.get(lane);
+                batch.add(new ImportLine(lineNumber, line));
+                if (batch.size() == batchSize) {
+                    pending.add(submit(lane, batch, hop, tenant, headers, inFlight, imported, rejected, errors));
+                    batches.set(lane, new ArrayList<>(batchSize));
+                }
+            }
+            for (int lane = 0; lane < lanes.length; lane++) {
+                if (!batches.get(lane).isEmpty()) {
+                    pending.add(submit(lane, batches.get(lane), hop, tenant, headers, inFlight, imported, rejected, errors));
+                }
+            }
+        } finally {
+            awaitAll(pending);
+        }
+        return new ImportResult(imported.sum(), rejected.sum(), (System.nanoTime() - started) / 1_000_000,
+                errors.stream().limit(MAX_REPORTED_ERRORS).toList());
+    }
+
+    /**
+     * Picks the lane of a line from its city, reading no further than the {@code city} field.
+     * Lines without a readable city all go to the first lane, which rejects them.
+     */
+    private int laneOf(String line) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(line)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("city".equals(field)) {
+                        return value == JsonToken.VALUE_STRING ? Math.floorMod(parser.getText().hashCode(), lanes.length) : 0;
+                    }
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException exception) {
+            // malformed, reported by the lane parsing it
+        }
+        return 0;
+    }
+
+    private Future<?> submit(int lane, List<ImportLine> lines, String hop, TenantNamespace tenant, HttpHeaders headers, Semaphore inFlight,
+                             LongAdder imported, LongAdder rejected, Queue<String> errors) throws IOException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("import interrupted", exception);
+        }
+        boolean replica = ClusterClient.REPLICA_HOP.equals(hop);
+        boolean clustered = clusterMembership != null && clusterClient != null && !replica;
+        return lanes[lane].submit(() -> {
+            if (replica) {
+                ReplicatedChanges.mark();
+            }
+            if (tenant != null) {
+                TenantContextHolder.setTenant(tenant);
+            }
+            try {
+                Map<String, List<WeatherDataResponse>> byOwner = new HashMap<>();
+                Map<String, List<WeatherDataResponse>> byReplica = new HashMap<>();
+                for (ImportLine line : lines) {
+                    try {
+                        WeatherDataEntity entity = toEntity(recordReader.readValue(line.text()));
+                        List<String> preferenceList = clustered ? clusterMembership.preferenceList(entity.getCity()) : List.of();
+                        String self = clustered ? clusterMembership.getSelf() : null;
+                        if (hop == null && !preferenceList.isEmpty() && !preferenceList.get(0).equals(self)) {
+                            byOwner.computeIfAbsent(preferenceList.get(0), owner -> new ArrayList<>()).add(new WeatherDataResponse(entity));
+                            continue;
+                        }
+                        weatherRepository.saveWeather(entity.getCity(), entity);
+                        imported.increment();
+                        for (String node : preferenceList) {
+                            if (!node.equals(self)) {
+                                byReplica.computeIfAbsent(node, ignored -> new ArrayList<>()).add(new WeatherDataResponse(entity));
+                            }
+                        }
+                    } catch (IOException | InvalidRequestException exception) {
+                        reject(errors, rejected, 1, "line " + line.number() + ": " + exception.getMessage());
+                    }
+                }
+                byOwner.forEach((owner, records) -> forward(owner, records, headers, imported, rejected, errors));
+                byReplica.forEach((node, records) -> clusterClient.replicate(List.of(node), HttpMethod.POST, IMPORT_PATH, headers, toNdjson(records)));
+            } finally {
+                TenantContextHolder.clear();
+                ReplicatedChanges.clear();
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Validates a record like the body of {@code POST /weather} and normalizes its temperature.
+     */
+    private WeatherDataEntity toEntity(WeatherDataResponse record) {
+        if (record == null) {
+            throw new InvalidRequestException("city is required");
+        }
+        WeatherDataRequest request = new WeatherDataRequest(record.getCity(), record.getTemp(), record.getUnit(), record.getDate(), record.getWeather());
+        // exports carry stored Celsius at full precision; the two-decimal limit is for client input
+        Double celsius = TemperatureConverter.CANONICAL_UNIT.equals(record.getUnit()) ? TemperatureConverter.parseCelsius(record.getTemp(), record.getUnit()) : null;
+        WeatherDataRequest checked = celsius == null ? request
+                : new WeatherDataRequest(record.getCity(), TemperatureConverter.format(celsius), record.getUnit(), record.getDate(), record.getWeather());
+        List<FieldViolation> violations = WeatherDataRequestValidator.validate(checked);
+        if (!violations.isEmpty()) {
+            throw new InvalidRequestException(violations.stream()
+                    .map(violation -> violation.field() + " " + violation.message())
+                    .collect(Collectors.joining(", ")));
+        }
+        return new WeatherDataEntity(record.getUuid() != null ? record.getUuid() : idGenerator.generateId(), request);
+    }
+
+    private void forward(String owner, List<WeatherDataResponse> records, HttpHeaders headers, LongAdder imported, LongAdder rejected, Queue<String> errors) {
+        try {
+            ResponseEntity<byte[]> response = clusterClient.exchange(owner, HttpMethod.POST, IMPORT_PATH, headers, toNdjson(records), ClusterClient.FORWARD_HOP);
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                reject(errors, rejected, records.size(), owner + " answered " + response.getStatusCode().value() + " for " + records.size() + " records");
+                return;
+            }
+            ImportResult result = objectMapper.readValue(response.getBody(), ImportResult.class);
+            imported.add(result.getImported());
+            rejected.add(result.getRejected());
+            if (result.getErrors() != null) {
+                result.getErrors().forEach(error -> reject(errors, rejected, 0, owner + " " + error));
+            }
+        } catch (RestClientException | IOException exception) {
+            reject(errors, rejected, records.size(), owner + " unreachable for " + records.size() + " records: " + exception.getMessage());
+        }
+    }
+
+    private static void reject(Queue<String> errors, LongAdder rejected, int records, String error) {
+        rejected.add(records);
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    private byte[] toNdjson(List<WeatherDataResponse> records) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(records.size() * 128);
+        try (SequenceWriter writer = objectMapper.writerFor(WeatherDataResponse.class).withRootValueSeparator("\n").writeValues(out)) {
+            writer.writeAll(records);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return out.toByteArray();
+    }
+
+    private static void awaitAll(List<Future<?>> pending) throws IOException {
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IOException("import interrupted", exception);
+            } catch (ExecutionException exception) {
+                throw new IOException("import batch failed", exception.getCause());
+            }
+        }
+    }
+
+    /**
+     * Accepts gzip bodies with or without a {@code Content-Encoding} header by checking the magic number.
+     */
+    private static InputStream decompress(InputStream body) throws IOException {
+        InputStream buffered = new BufferedInputStream(body, 64 * 1024);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(buffered, 64 * 1024);
+        }
+        return buffered;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    /**
+     * A line of the body with its 1-based number, for error reports.
+     */
+    private record ImportLine(long number, String text) {
+    }
+}
@@ -0,0 +1,207 @@
+package com.weather.weatherinfoservice.cluster;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.WeatherDataChangeListener;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WriteCapture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP client used by cluster members to talk to each other.
+ *
+ * <p>Every request carries the {@link #HOP_HEADER} so the receiving member handles it
+ * locally instead of routing it again, and the {@link #SECRET_HEADER} that proves it comes from
+ * a member. The secret is only ever sent to URLs in the current {@link ClusterMembership}; a
+ * request to any other URL fails with {@link IllegalStateException}. Replayed weather API calls
+ * also carry the client's content type, accepted formats, tenant, idempotency key and
+ * correlation id.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.cluster", name = "enabled", havingValue = "true")
+public class ClusterClient implements DisposableBean {
+
+    /**
+     * Header marking a request that has already been routed by a cluster member.
+     */
+    public static final String HOP_HEADER = "X-Weather-Cluster-Hop";
+
+    /**
+     * Header carrying {@link ClusterProperties#getSecret()}; without it {@link #HOP_HEADER} is ignored.
+     */
+    public static final String SECRET_HEADER = "X-Weather-Cluster-Secret";
+
+    /**
+     * {@link #HOP_HEADER} value of a request sent on to the owner or a replica of its city.
+     */
+    public static final String FORWARD_HOP = "forward";
+
+    /**
+     * {@link #HOP_HEADER} value of a write the owner replays on a replica.
+     */
+    public static final String REPLICA_HOP = "replica";
+
+    private final RestClient restClient;
+    private final ClusterMembership clusterMembership;
+    private final String secret;
+    private final ExecutorService replicationExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("cluster-replication").daemon().factory());
+
+    public ClusterClient(RestClient.Builder restClientBuilder, ClusterProperties clusterProperties, ClusterMembership clusterMembership) {
+        this.restClient = restClientBuilder.build();
+        this.clusterMembership = clusterMembership;
+        this.secret = clusterProperties.getSecret();
+    }
+
+    /**
+     * Replays a weather API call on another member and returns its raw response.
+     *
+     * @param node the base URL of the target member
+     * @param method the HTTP method of the original request
+     * @param pathAndQuery the path and query string of the original request
+     * @param headers the headers to pass on, see {@link com.weather.weatherinfoservice.util.ForwardedHeaders}
+     * @param body the original request body, or {@code null}
+     * @param hop the reason for the hop, e.g. {@code forward} or {@code replica}
+     */
+    public ResponseEntity<byte[]> exchange(String node, HttpMethod method, String pathAndQuery, HttpHeaders headers, byte[] body, String hop) {
+        RestClient.RequestBodySpec request = restClient.method(method)
+                .uri(node + pathAndQuery)
+                .headers(forwarded -> forwarded.addAll(headers))
+                .header(HOP_HEADER, hop)
+                .header(SECRET_HEADER, secretFor(node));
+        if (body != null && body.length > 0) {
+            request.body(body);
+        }
+        return request.retrieve()
+                .onStatus(status -> true, (req, res) -> { })
+                .toEntity(byte[].class);
+    }
+
+    /**
+     * Returns a {@link WriteCapture} callback that copies every write the owner applies to the
+     * replicas, see {@link #replicate(List, String, WeatherDataEntity, HttpHeaders)}. Since the
+     * callback runs inside the lock applying the write, concurrent writes of one city are
+     * queued in the order they were applied.
+     *
+     * @param headers the headers to pass on, such as the tenant and the correlation id
+     */
+    public WeatherDataChangeListener replicator(List<String> replicas, HttpHeaders headers) {
+        return (city, previous, current) -> replicate(replicas, city, current, headers);
+    }
+
+    /**
+     * Copies a write the owner applied to each replica, asynchronously and in the order the
+     * writes were queued: the written entry, id included, is handed off, and a delete is
+     * replayed as one.
+     *
+     * @param written the entry as the owner stored it, or {@code null} for a delete
+     */
+    public void replicate(List<String> replicas, String city, @Nullable WeatherDataEntity written, HttpHeaders headers) {
+        List<WeatherDataResponse> entries = written != null ? List.of(new WeatherDataResponse(written)) : null;
+        String deletePath = UriComponentsBuilder.fromPath("/weather").queryParam("city", city).encode().toUriString();
+        for (String replica : replicas) {
+            replicationExecutor.execute(() -> {
+                try {
+                    if (entries != null) {
+                        handoff(replica, entries, headers);
+                    } else {
+                        exchange(replica, HttpMethod.DELETE, deletePath, headers, null, REPLICA_HOP);
+                    }
+                } catch (RestClientException exception) {
+                    log.warn("replication of {} to {} failed: {}", city, replica, exception.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Replays a request the owner applied on each replica, asynchronously and in the order the
+     * requests were queued.
+     *
+     * @see #exchange(String, HttpMethod, String, HttpHeaders, byte[], String)
+     */
+    public void replicate(List<String> replicas, HttpMethod method, String pathAndQuery, HttpHeaders headers, byte[] body) {
+        for (String replica : replicas) {
+            replicationExecutor.execute(() -> {
+                try {
+                    exchange(replica, method, pathAndQuery, headers, body, REPLICA_HOP);
+                } catch (RestClientException exception) {
+                    log.warn("replication of {} {} to {} failed: {}", method, pathAndQuery, replica, exception.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Transfers a batch of cities to the member that now owns or replicates them.
+     */
+    public void handoff(String node, List<WeatherDataResponse> entries) {
+        handoff(node, entries, new HttpHeaders());
+    }
+
+    private void handoff(String node, List<WeatherDataResponse> entries, HttpHeaders headers) {
+        restClient.post()
+                .uri(node + "/weather/admin/cluster/handoff")
+                .headers(forwarded -> forwarded.addAll(headers))
+                .header(HOP_HEADER, "handoff")
+                .header(SECRET_HEADER, secretFor(node))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entries)
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    /**
+     * Tells another member that a new member joined the cluster.
+     */
+    public void announce(String node, String newNode) {
+        restClient.post()
+                .uri(node + "/weather/admin/cluster/nodes?url={url}", newNode)
+                .header(HOP_HEADER, "announce")
+                .header(SECRET_HEADER, secretFor(node))
+                .retrieve()
+                .toBodilessEntity();
+    }
+
+    /**
+     * Asks a would-be member to answer a challenge with {@link ClusterMembership#proofOfSecret(String)}.
+     * The secret itself is not sent.
+     *
+     * @return the answer, or {@code null} if the response has none
+     */
+    public String proveSecret(String node, String challenge) {
+        Map<?, ?> response = restClient.get()
+                .uri(node + "/weather/admin/cluster/proof?challenge={challenge}", challenge)
+                .retrieve()
+                .body(Map.class);
+        return response != null && response.get("proof") instanceof String proof ? proof : null;
+    }
+
+    private String secretFor(String node) {
+        if (!clusterMembership.getNodes().contains(node)) {
+            throw new IllegalStateException(node + " is not a cluster member");
+        }
+        return secret;
+    }
+
+    @Override
+    public void destroy() {
+        replicationExecutor.shutdown();
+    }
+}
@@ -0,0 +1,135 @@
+package com.weather.weatherinfoservice.cluster;
+
+import lombok.Getter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Holds the current view of the cluster and answers ownership questions for city names.
+ *
+ * <p>The membership starts from the static {@link ClusterProperties#getNodes()} list. Members
+ * can be added at runtime through {@link #addNode(String)}; the ring reference is replaced
+ * atomically so request threads never observe a partially built ring.
+ *
+ * <p>Requests from other members are recognized by the shared {@link ClusterProperties#getSecret()}.
+ * A joining member proves it knows the secret without revealing it, see
+ * {@link #proofOfSecret(String)}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "weather.cluster", name = "enabled", havingValue = "true")
+public class ClusterMembership {
+
+    @Getter
+    private final String self;
+    private final int replicationFactor;
+    private final byte[] secret;
+    private volatile ConsistentHashRing ring;
+
+    public ClusterMembership(ClusterProperties clusterProperties) {
+        if (clusterProperties.getSelf() == null || clusterProperties.getSelf().isBlank()) {
+            throw new IllegalStateException("weather.cluster.self is required when cluster mode is enabled");
+        }
+        if (clusterProperties.getSecret() == null || clusterProperties.getSecret().isBlank()) {
+            throw new IllegalStateException("weather.cluster.secret is required when cluster mode is enabled");
+        }
+        this.self = clusterProperties.getSelf();
+        this.secret = clusterProperties.getSecret().getBytes(StandardCharsets.UTF_8);
+        this.replicationFactor = Math.max(1, clusterProperties.getReplicationFactor());
+        ConsistentHashRing initial = new ConsistentHashRing(clusterProperties.getNodes(), clusterProperties.getVirtualNodes());
+        this.ring = initial.withNode(self);
+    }
+
+    /**
+     * Returns the member owning the given city.
+     */
+    public String ownerOf(String city) {
+        return ring.ownerOf(city);
+    }
+
+    /**
+     * Returns the owner followed by the replicas of the given city.
+     */
+    public List<String> preferenceList(String city) {
+        return ring.preferenceList(city, replicationFactor);
+    }
+
+    /**
+     * Returns {@code true} if this instance owns the given city.
+     */
+    public boolean isOwner(String city) {
+        return self.equals(ring.ownerOf(city));
+    }
+
+    /**
+     * Returns {@code true} if this instance owns or replicates the given city.
+     */
+    public boolean holdsCopy(String city) {
+        return preferenceList(city).contains(self);
+    }
+
+    /**
+     * Returns {@code true} if a request presenting this secret comes from a cluster member.
+     *
+     * @param presented the value of {@link ClusterClient#SECRET_HEADER}, or {@code null}
+     */
+    public boolean isMemberSecret(String presented) {
+        return presented != null && MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Answers a challenge with an HMAC-SHA256, keyed with the secret, over the challenge and the
+     * URL of this member. Relaying another member's answer does not help an impostor, because the
+     * answer only holds for the URL of the member that computed it.
+     */
+    public String proofOfSecret(String challenge) {
+        return proof(self, challenge);
+    }
+
+    /**
+     * Returns {@code true} if {@code presented} is the answer of the member at {@code node} to
+     * {@code challenge}, see {@link #proofOfSecret(String)}.
+     */
+    public boolean isProofOfSecret(String node, String challenge, String presented) {
+        return presented != null
+                && MessageDigest.isEqual(proof(node, challenge).getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String proof(String node, String challenge) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            byte[] proof = mac.doFinal((node + "\n" + challenge).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(proof);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("HmacSHA256 is not available", exception);
+        }
+    }
+
+    public Set<String> getNodes() {
+        return ring.getNodes();
+    }
+
+    /**
+     * Adds a member to the ring.
+     *
+     * @param node the base URL of the new member
+     * @return {@code true} if the member was not known before
+     */
+    public synchronized boolean addNode(String node) {
+        ConsistentHashRing updated = ring.withNode(node);
+        if (updated == ring) {
+            return false;
+        }
+        ring = updated;
+        return true;
+    }
+}
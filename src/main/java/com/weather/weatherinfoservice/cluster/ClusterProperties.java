@@ -0,0 +1,57 @@
+package com.weather.weatherinfoservice.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Static cluster membership configuration bound from {@code weather.cluster.*}.
+ *
+ * <p>When {@link #enabled} is {@code false} (the default) the service runs as a single
+ * standalone instance and none of the cluster beans are created.
+ *
+ * <p><strong>Example:</strong>
+ * <pre>
+ * weather.cluster.enabled=true
+ * weather.cluster.self=http://localhost:8081
+ * weather.cluster.nodes=http://localhost:8081,http://localhost:8082,http://localhost:8083
+ * weather.cluster.secret=${WEATHER_CLUSTER_SECRET}
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.cluster")
+public class ClusterProperties {
+
+    /**
+     * Whether the city keyspace is partitioned across several instances.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Base URL under which the other members reach this instance.
+     */
+    private String self;
+
+    /**
+     * Base URLs of all members, including this instance.
+     */
+    private List<String> nodes = new ArrayList<>();
+
+    /**
+     * Number of points each member places on the hash ring.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Number of members holding a copy of each city, the owner included.
+     */
+    private int replicationFactor = 2;
+
+    /**
+     * Secret shared by all members. Requests between members carry it, and a request claiming to
+     * come from a member is only trusted with it; required in cluster mode.
+     */
+    private String secret;
+}
@@ -0,0 +1,153 @@
+package com.weather.weatherinfoservice.cluster;
+
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.ReplicatedChanges;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves cities between members when the cluster grows.
+ *
+ * <p>A member added by an operator must first prove that it shares the cluster secret, see
+ * {@link ClusterMembership#proofOfSecret(String)}; only then is it added and announced to the
+ * other members.
+ *
+ * <p>When a member joins, every existing member walks its local store once: cities whose
+ * preference list now contains the new member are handed off to it in batches, and cities
+ * this instance no longer owns or replicates are dropped locally after a successful handoff.
+ *
+ * <p>On startup the sample cities every instance is seeded with are dropped unless this member
+ * owns or replicates them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.cluster", name = "enabled", havingValue = "true")
+public class ClusterRebalancer {
+
+    private static final int HANDOFF_BATCH_SIZE = 500;
+    private static final SecureRandom CHALLENGES = new SecureRandom();
+
+    private final ClusterMembership clusterMembership;
+    private final ClusterClient clusterClient;
+    private final WeatherRepository weatherRepository;
+
+    public ClusterRebalancer(ClusterMembership clusterMembership, ClusterClient clusterClient, WeatherRepository weatherRepository) {
+        this.clusterMembership = clusterMembership;
+        this.clusterClient = clusterClient;
+        this.weatherRepository = weatherRepository;
+        for (WeatherDataEntity entity : weatherRepository.findAll()) {
+            if (WeatherRepository.isSampleEntry(entity) && !clusterMembership.holdsCopy(entity.getCity())) {
+                weatherRepository.deleteWeather(entity.getCity());
+            }
+        }
+    }
+
+    /**
+     * Adds a member and rebalances the local store.
+     *
+     * @param node the base URL of the new member
+     * @param announce whether the call comes from an operator: the new member is then
+     *        authenticated first and announced to the other members afterwards
+     * @return {@code true} if the member was not known before
+     * @throws InvalidRequestException if the new member does not prove it shares the secret
+     */
+    public boolean addNode(String node, boolean announce) {
+        Set<String> previousNodes = Set.copyOf(clusterMembership.getNodes());
+        if (previousNodes.contains(node)) {
+            return false;
+        }
+        if (announce && !authenticate(node)) {
+            throw new InvalidRequestException(node + " did not prove that it shares weather.cluster.secret");
+        }
+        if (!clusterMembership.addNode(node)) {
+            return false;
+        }
+        log.info("cluster member {} joined, rebalancing local store", node);
+        if (announce) {
+            for (String member : previousNodes) {
+                if (!member.equals(clusterMembership.getSelf())) {
+                    try {
+                        clusterClient.announce(member, node);
+                    } catch (RestClientException exception) {
+                        log.warn("could not announce {} to {}: {}", node, member, exception.getMessage());
+                    }
+                }
+            }
+        }
+        rebalance(node);
+        return true;
+    }
+
+    private boolean authenticate(String node) {
+        byte[] random = new byte[32];
+        CHALLENGES.nextBytes(random);
+        String challenge = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+        try {
+            return clusterMembership.isProofOfSecret(node, challenge, clusterClient.proveSecret(node, challenge));
+        } catch (RestClientException exception) {
+            log.warn("could not authenticate {}: {}", node, exception.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Stores cities handed off by another member.
+     */
+    public void acceptHandoff(List<WeatherDataResponse> entries) {
+        ReplicatedChanges.mark();
+        try {
+            for (WeatherDataResponse entry : entries) {
+                weatherRepository.saveWeather(entry.getCity(), new WeatherDataEntity(entry.getUuid(), entry.getCity(), entry.getTemp(), entry.getUnit(), entry.getWeather(), entry.getDate()));
+            }
+        } finally {
+            ReplicatedChanges.clear();
+        }
+    }
+
+    private void rebalance(String newNode) {
+        List<WeatherDataResponse> batch = new ArrayList<>(HANDOFF_BATCH_SIZE);
+        List<String> released = new ArrayList<>();
+        for (WeatherDataEntity entity : weatherRepository.findAll()) {
+            List<String> preferenceList = clusterMembership.preferenceList(entity.getCity());
+            if (preferenceList.contains(newNode)) {
+                batch.add(new WeatherDataResponse(entity));
+            }
+            if (!preferenceList.contains(clusterMembership.getSelf())) {
+                released.add(entity.getCity());
+            }
+            if (batch.size() == HANDOFF_BATCH_SIZE && !flush(newNode, batch)) {
+                return;
+            }
+        }
+        if (!flush(newNode, batch)) {
+            return;
+        }
+        released.forEach(weatherRepository::deleteWeather);
+        log.info("handed off data to {}, released {} cities", newNode, released.size());
+    }
+
+    private boolean flush(String node, List<WeatherDataResponse> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            clusterClient.handoff(node, List.copyOf(batch));
+            batch.clear();
+            return true;
+        } catch (RestClientException exception) {
+            log.warn("handoff to {} failed, keeping local copies: {}", node, exception.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.weather.weatherinfoservice.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.weather.weatherinfoservice.config.WireFormatConfig;
+import com.weather.weatherinfoservice.repositories.ReplicatedChanges;
+import com.weather.weatherinfoservice.repositories.WriteCapture;
+import com.weather.weatherinfoservice.util.CachedBodyRequest;
+import com.weather.weatherinfoservice.util.ForwardedHeaders;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes weather API calls to the cluster member responsible for the requested city.
+ *
+ * <p><strong>Routing Rules:</strong>
+ * <ul>
+ *   <li>Reads are answered locally when this instance owns or replicates the city,
+ *       otherwise they are forwarded to the owner and then to its replicas</li>
+ *   <li>Writes are applied by the owner only; after a successful local write, whether sent by
+ *       a client or forwarded by another member, the owner replays it asynchronously, in order,
+ *       on the replicas. What is replayed is the entry as the owner stored it, id included, taken
+ *       inside the lock that applied the write, see {@link WriteCapture}, so concurrent writes of
+ *       a city reach the replicas in the order the owner applied them</li>
+ *   <li>Requests carrying {@link ClusterClient#HOP_HEADER} and the cluster secret are always
+ *       handled locally; replayed writes are applied as {@link ReplicatedChanges}. Without the
+ *       secret the hop header is removed and the request is treated like any client's</li>
+ *   <li>Forecast requests, reads and writes, are handled by the city's owner only; forecasts
+ *       are not replicated</li>
+ * </ul>
+ *
+ * <p>Forwarded and replayed requests keep the client's {@link ForwardedHeaders}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.cluster", name = "enabled", havingValue = "true")
+public class ClusterRoutingFilter extends OncePerRequestFilter {
+
+    private static final String WEATHER_PATH = "/weather";
+    private static final String FORECAST_PATH = "/weather/forecast";
+    private static final ObjectMapper CBOR_READER = new ObjectMapper(new CBORFactory());
+    private static final ObjectMapper SMILE_READER = new ObjectMapper(new SmileFactory());
+
+    private final ClusterMembership clusterMembership;
+    private final ClusterClient clusterClient;
+    private final ObjectMapper objectMapper;
+    private final ForwardedHeaders forwardedHeaders;
+
+    public ClusterRoutingFilter(ClusterMembership clusterMembership, ClusterClient clusterClient, ObjectMapper objectMapper,
+                                ForwardedHeaders forwardedHeaders) {
+        this.clusterMembership = clusterMembership;
+        this.clusterClient = clusterClient;
+        this.objectMapper = objectMapper;
+        this.forwardedHeaders = forwardedHeaders;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isRouted(request) && request.getHeader(ClusterClient.HOP_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String hop = request.getHeader(ClusterClient.HOP_HEADER);
+        boolean forwarded = false;
+        if (hop != null) {
+            if (clusterMembership.isMemberSecret(request.getHeader(ClusterClient.SECRET_HEADER))) {
+                if (!ClusterClient.FORWARD_HOP.equals(hop) || !WEATHER_PATH.equals(request.getServletPath())) {
+                    handleLocally(hop, request, response, filterChain);
+                    return;
+                }
+                // sent here as the owner: applied without routing it again, then replicated
+                forwarded = true;
+            } else {
+                log.warn("ignoring {} from {}, it does not carry the cluster secret", ClusterClient.HOP_HEADER, request.getRemoteAddr());
+                request = new WithoutHopHeader(request);
+                if (!isRouted(request)) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+            }
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpServletRequest cachedRequest = new CachedBodyRequest(request, body);
+        String city = resolveCity(request, body);
+        if (city == null) {
+            filterChain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        List<String> preferenceList = clusterMembership.preferenceList(city);
+        String self = clusterMembership.getSelf();
+        String pathAndQuery = request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        HttpHeaders headers = forwardedHeaders.of(request);
+
+        if (FORECAST_PATH.equals(request.getServletPath())) {
+            if (self.equals(preferenceList.get(0))) {
+                filterChain.doFilter(cachedRequest, response);
+                return;
+            }
+            forward(preferenceList.subList(0, 1), method, pathAndQuery, headers, body, response);
+            return;
+        }
+
+        if (HttpMethod.GET.equals(method)) {
+            if (forwarded || preferenceList.contains(self)) {
+                filterChain.doFilter(cachedRequest, response);
+                return;
+            }
+            forward(preferenceList, method, pathAndQuery, headers, body, response);
+            return;
+        }
+
+        if (!forwarded && !self.equals(preferenceList.get(0))) {
+            forward(preferenceList.subList(0, 1), method, pathAndQuery, headers, body, response);
+            return;
+        }
+
+        WriteCapture.open(clusterClient.replicator(preferenceList.stream().filter(node -> !node.equals(self)).toList(), headers));
+        try {
+            filterChain.doFilter(cachedRequest, response);
+        } finally {
+            WriteCapture.close();
+        }
+    }
+
+    private static boolean isRouted(HttpServletRequest request) {
+        return WEATHER_PATH.equals(request.getServletPath()) || FORECAST_PATH.equals(request.getServletPath());
+    }
+
+    private static void handleLocally(String hop, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!ClusterClient.REPLICA_HOP.equals(hop)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReplicatedChanges.mark();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicatedChanges.clear();
+        }
+    }
+
+    private void forward(List<String> candidates, HttpMethod method, String pathAndQuery, HttpHeaders headers, byte[] body,
+                         HttpServletResponse response) throws IOException {
+        for (String node : candidates) {
+            try {
+                ResponseEntity<byte[]> forwarded = clusterClient.exchange(node, method, pathAndQuery, headers, body, ClusterClient.FORWARD_HOP);
+                response.setStatus(forwarded.getStatusCode().value());
+                MediaType contentType = forwarded.getHeaders().getContentType();
+                if (contentType != null) {
+                    response.setHeader(HttpHeaders.CONTENT_TYPE, contentType.toString());
+                }
+                if (forwarded.getBody() != null) {
+                    response.getOutputStream().write(forwarded.getBody());
+                }
+                return;
+            } catch (RestClientException exception) {
+                log.warn("cluster member {} unreachable: {}", node, exception.getMessage());
+            }
+        }
+        writeUnavailable(response, candidates);
+    }
+
+    private String resolveCity(HttpServletRequest request, byte[] body) {
+        String city = request.getParameter("city");
+        if (city != null || body.length == 0) {
+            return city;
+        }
+        try {
+            JsonNode cityNode = readerFor(request.getContentType()).readTree(body).get("city");
+            return cityNode != null && cityNode.isTextual() ? cityNode.asText() : null;
+        } catch (IOException exception) {
+            // malformed payloads are left to the controller to reject
+            return null;
+        }
+    }
+
+    private ObjectMapper readerFor(String contentType) {
+        if (contentType == null) {
+            return objectMapper;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (MediaType.APPLICATION_CBOR.includes(mediaType)) {
+                return CBOR_READER;
+            }
+            if (WireFormatConfig.APPLICATION_SMILE.includes(mediaType)) {
+                return SMILE_READER;
+            }
+        } catch (InvalidMediaTypeException exception) {
+            // unsupported content types are left to the controller to reject
+        }
+        return objectMapper;
+    }
+
+    private void writeUnavailable(HttpServletResponse response, List<String> candidates) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "timestamp", LocalDateTime.now().toString(),
+                "message", "no reachable cluster member among " + candidates,
+                "status", HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    /**
+     * Hides a hop header that did not come from a member from the controllers.
+     */
+    private static final class WithoutHopHeader extends HttpServletRequestWrapper {
+
+        WithoutHopHeader(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return ClusterClient.HOP_HEADER.equalsIgnoreCase(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return ClusterClient.HOP_HEADER.equalsIgnoreCase(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !ClusterClient.HOP_HEADER.equalsIgnoreCase(name))
+                    .toList());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.weather.weatherinfoservice.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring mapping city names to cluster members.
+ *
+ * <p>Every member is placed on the ring {@code virtualNodes} times so that the keyspace
+ * is spread evenly and adding a member only moves roughly {@code 1/n} of the keys.
+ * A key is owned by the first member found walking clockwise from the key's hash;
+ * the following distinct members hold its replicas.
+ *
+ * <p>Instances are never modified after construction, so a reference can be swapped
+ * atomically when membership changes and read without locking.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring;
+    private final Set<String> nodes;
+    private final int virtualNodes;
+
+    /**
+     * Builds a ring containing the given members.
+     *
+     * @param nodes the base URLs of the members
+     * @param virtualNodes the number of ring positions per member
+     * @throws IllegalArgumentException if {@code virtualNodes} is not positive
+     */
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.virtualNodes = virtualNodes;
+        this.nodes = Collections.unmodifiableSet(new LinkedHashSet<>(nodes));
+        TreeMap<Long, String> positions = new TreeMap<>();
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                positions.put(hash(node + "#" + i), node);
+            }
+        }
+        this.ring = Collections.unmodifiableNavigableMap(positions);
+    }
+
+    /**
+     * Returns a new ring with the given member added.
+     *
+     * @param node the base URL of the member to add
+     * @return a new ring, or this ring if the member is already present
+     */
+    public ConsistentHashRing withNode(String node) {
+        if (nodes.contains(node)) {
+            return this;
+        }
+        List<String> members = new ArrayList<>(nodes);
+        members.add(node);
+        return new ConsistentHashRing(members, virtualNodes);
+    }
+
+    /**
+     * Returns the member that owns the given key.
+     *
+     * @param key the city name
+     * @return the owning member, or {@code null} if the ring is empty
+     */
+    public String ownerOf(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * Returns the distinct members responsible for the given key, owner first.
+     *
+     * @param key the city name
+     * @param count the number of members wanted (the replication factor)
+     * @return up to {@code count} members in ring order
+     */
+    public List<String> preferenceList(String key, int count) {
+        int wanted = Math.min(count, nodes.size());
+        List<String> result = new ArrayList<>(wanted);
+        if (wanted == 0) {
+            return result;
+        }
+        long start = hash(key);
+        for (String node : ring.tailMap(start, true).values()) {
+            if (result.size() == wanted) {
+                return result;
+            }
+            if (!result.contains(node)) {
+                result.add(node);
+            }
+        }
+        for (String node : ring.headMap(start, false).values()) {
+            if (result.size() == wanted) {
+                return result;
+            }
+            if (!result.contains(node)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes followed by the MurmurHash3 finalizer,
+     * which gives a well-mixed ring position without allocating a digest per call.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
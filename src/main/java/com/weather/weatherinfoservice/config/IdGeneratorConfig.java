@@ -0,0 +1,18 @@
+package com.weather.weatherinfoservice.config;
+
+import com.weather.weatherinfoservice.util.IdGenerator;
+import com.weather.weatherinfoservice.util.IdGeneratorProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the {@link IdGenerator} with the strategy configured under {@code weather.ids.*}.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Bean
+    IdGenerator idGenerator(IdGeneratorProperties properties) {
+        return new IdGenerator(IdGenerator.strategy(properties));
+    }
+}
@@ -0,0 +1,73 @@
+package com.weather.weatherinfoservice.config;
+
+import com.weather.weatherinfoservice.alerts.Alert;
+import com.weather.weatherinfoservice.alerts.AlertProperties;
+import com.weather.weatherinfoservice.bulk.ImportResult;
+import com.weather.weatherinfoservice.cluster.ClusterProperties;
+import com.weather.weatherinfoservice.grpc.GrpcProperties;
+import com.weather.weatherinfoservice.models.AlertRuleRequest;
+import com.weather.weatherinfoservice.models.ForecastRunRequest;
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.replication.ReplicatedMutation;
+import com.weather.weatherinfoservice.replication.ReplicationBatch;
+import com.weather.weatherinfoservice.replication.ReplicationProperties;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.stream.Stream;
+
+/**
+ * GraalVM reachability metadata that Spring AOT cannot infer on its own.
+ *
+ * <p>Controller parameter and return types are registered by Spring automatically; this adds
+ * the types bound outside of handler signatures and the reflective access needed at runtime:
+ * <ul>
+ *   <li>Jackson binding of the replication payloads exchanged through {@code RestClient}, of the
+ *       {@link ImportResult}s read back from imports forwarded to other cluster members and of
+ *       the {@link Alert}s posted to alert callbacks</li>
+ *   <li>field and getter access used by Hibernate Validator on {@link WeatherDataRequest},
+ *       {@link AlertRuleRequest} and the points of a {@link ForecastRunRequest}</li>
+ *   <li>the generated protobuf messages, whose accessors are looked up reflectively</li>
+ * </ul>
+ *
+ * <p>Lombok itself needs nothing here: it generates plain bytecode at compile time.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHints.Registrar.class)
+public class NativeHints {
+
+    private static final String[] GRPC_MESSAGES = {
+            "com.weather.weatherinfoservice.grpc.v1.WeatherData",
+            "com.weather.weatherinfoservice.grpc.v1.CityRequest",
+            "com.weather.weatherinfoservice.grpc.v1.DeleteWeatherResponse",
+            "com.weather.weatherinfoservice.grpc.v1.BulkUpsertResponse",
+            "com.weather.weatherinfoservice.grpc.v1.WeatherLookup"
+    };
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                    WeatherDataRequest.class, WeatherDataResponse.class,
+                    ReplicationBatch.class, ReplicatedMutation.class, ImportResult.class, Alert.class);
+            Stream.of(WeatherDataRequest.class, AlertRuleRequest.class, ForecastRunRequest.Point.class)
+                    .forEach(type -> hints.reflection().registerType(type,
+                            MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+            Stream.of(ClusterProperties.class, ReplicationProperties.class, GrpcProperties.class, AlertProperties.class)
+                    .forEach(type -> hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+            for (String message : GRPC_MESSAGES) {
+                hints.reflection().registerType(TypeReference.of(message), MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+                hints.reflection().registerType(TypeReference.of(message + "$Builder"), MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.weather.weatherinfoservice.config;
+
+import com.weather.weatherinfoservice.repositories.WeatherDataChangeListener;
+import jakarta.servlet.Filter;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup settings for the {@code fastboot} profile.
+ *
+ * <p>With {@code spring.main.lazy-initialization=true} most beans are created on first use,
+ * which is safe for controllers and services. Some beans must still exist from startup:
+ * <ul>
+ *   <li>{@link WeatherDataChangeListener} implementations register with the repository
+ *       in their constructor and would otherwise miss the first writes</li>
+ *   <li>{@link SmartLifecycle} beans own background servers and threads</li>
+ *   <li>servlet {@link Filter}s route requests before any controller is touched</li>
+ * </ul>
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerWeatherBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(WeatherDataChangeListener.class, SmartLifecycle.class, Filter.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.weather.weatherinfoservice.config;
+
+import com.weather.weatherinfoservice.validation.WeatherDataRequestFastValidator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Validates {@code @Valid} request bodies of type
+ * {@link com.weather.weatherinfoservice.models.WeatherDataRequest} on the precompiled fast path;
+ * all other bodies keep using Bean Validation.
+ */
+@Configuration
+public class ValidationConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<jakarta.validation.Validator> beanValidator;
+
+    public ValidationConfig(ObjectProvider<jakarta.validation.Validator> beanValidator) {
+        this.beanValidator = beanValidator;
+    }
+
+    @Override
+    public Validator getValidator() {
+        jakarta.validation.Validator validator = beanValidator.getIfAvailable();
+        if (validator == null) {
+            return null;
+        }
+        SmartValidator fallback = validator instanceof SmartValidator smartValidator
+                ? smartValidator
+                : new SpringValidatorAdapter(validator);
+        return new WeatherDataRequestFastValidator(fallback);
+    }
+}
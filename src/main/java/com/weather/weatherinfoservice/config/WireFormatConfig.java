@@ -0,0 +1,59 @@
+package com.weather.weatherinfoservice.config;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers compact binary wire formats next to JSON for the weather endpoints.
+ *
+ * <p>Clients select a format through the {@code Accept} header for responses and the
+ * {@code Content-Type} header for request bodies; JSON stays the default when no
+ * preference is given.
+ *
+ * <p><strong>Supported Formats:</strong>
+ * <ul>
+ *   <li>{@code application/cbor} - RFC 8949 CBOR</li>
+ *   <li>{@code application/x-jackson-smile} - Jackson Smile</li>
+ * </ul>
+ *
+ * <p>Both mappers are built from the application's {@link Jackson2ObjectMapperBuilder}, so the
+ * model is bound exactly as for JSON. {@code UUID} values are written as 16 raw bytes and
+ * {@code LocalDate} values as numeric {@code [year, month, day]} arrays instead of strings.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                binaryBuilder().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                binaryBuilder().factory(new SmileFactory()).build()));
+    }
+
+    private Jackson2ObjectMapperBuilder binaryBuilder() {
+        return objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,95 @@
+package com.weather.weatherinfoservice.controllers;
+
+import com.weather.weatherinfoservice.alerts.AlertRule;
+import com.weather.weatherinfoservice.alerts.AlertService;
+import com.weather.weatherinfoservice.exceptions.CityNotFoundException;
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.models.AlertRuleRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for alert rules.
+ *
+ * <p>A rule fires once each time a city's reading crosses it; the alert is posted to the
+ * rule's callback URL.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/weather/alerts")
+@ConditionalOnProperty(prefix = "weather.alerts", name = "enabled", havingValue = "true")
+public class AlertController {
+
+    private final AlertService alertService;
+
+    /**
+     * Registers an alert rule.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * POST /weather/alerts
+     * Content-Type: application/json
+     *
+     * {
+     *   "city": "*",
+     *   "field": "temp",
+     *   "operator": "above",
+     *   "value": "30",
+     *   "unit": "C",
+     *   "callbackUrl": "https://ops.example.com/hooks/heat"
+     * }
+     * </pre>
+     *
+     * @param alertRuleRequest the rule (required, validated)
+     * @return ResponseEntity with the registered rule and HTTP 201 (Created) status
+     * @throws InvalidRequestException if the operator does not fit the field, the threshold is
+     *         not numeric or the callback URL is not http(s) on an allowed host
+     */
+    @PostMapping
+    public ResponseEntity<AlertRule> registerRule(@Valid @RequestBody AlertRuleRequest alertRuleRequest) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(alertService.register(alertRuleRequest));
+    }
+
+    /**
+     * Lists the registered alert rules.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/alerts?city=Auckland
+     * </pre>
+     *
+     * @param city only list the rules of this city, or {@code *} for the wildcard rules (optional)
+     * @return ResponseEntity with the rules
+     */
+    @GetMapping
+    public ResponseEntity<List<AlertRule>> listRules(@RequestParam(required = false) String city) {
+        return ResponseEntity.ok(alertService.list(city));
+    }
+
+    /**
+     * Removes an alert rule.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * DELETE /weather/alerts/0190f5b4-3c1e-7a52-9d1e-1b2c3d4e5f60
+     * </pre>
+     *
+     * @param id the rule id
+     * @return ResponseEntity with no content and HTTP 204 (No Content) status
+     * @throws CityNotFoundException if there is no rule with that id
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable UUID id) {
+        if (!alertService.delete(id)) {
+            throw new CityNotFoundException("no alert rule found for " + id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
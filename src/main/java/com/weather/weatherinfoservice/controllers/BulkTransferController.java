@@ -0,0 +1,89 @@
+package com.weather.weatherinfoservice.controllers;
+
+import com.weather.weatherinfoservice.bulk.ExportSnapshot;
+import com.weather.weatherinfoservice.bulk.ImportResult;
+import com.weather.weatherinfoservice.bulk.StoreExporter;
+import com.weather.weatherinfoservice.bulk.StoreImporter;
+import com.weather.weatherinfoservice.cluster.ClusterClient;
+import com.weather.weatherinfoservice.util.ForwardedHeaders;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * REST controller moving the whole shared store in and out of an instance, for migrating or
+ * seeding it without one request per city.
+ *
+ * <p>Both directions use gzip-compressed NDJSON with one city per line, in the JSON shape of
+ * {@code GET /weather}, so an export can be imported as is into another instance.
+ *
+ * @see StoreExporter
+ * @see StoreImporter
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/weather")
+public class BulkTransferController {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final StoreExporter storeExporter;
+    private final StoreImporter storeImporter;
+    private final ForwardedHeaders forwardedHeaders;
+
+    /**
+     * Streams a point-in-time export of the store.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * curl -o weather.ndjson.gz http://localhost:8080/weather/export
+     * </pre>
+     *
+     * <p>The body is gzip-compressed and labelled with {@code Content-Encoding: gzip};
+     * the {@code X-Export-Records} header carries the number of cities.
+     *
+     * @param request the servlet request, used to hand the snapshot file to the container
+     * @param response the servlet response the snapshot is written to
+     * @throws IOException if the snapshot cannot be written or sent
+     */
+    @GetMapping("/export")
+    public void exportStore(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ExportSnapshot snapshot = storeExporter.writeSnapshot();
+        response.setContentType(NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"weather.ndjson.gz\"");
+        response.setHeader("X-Export-Records", Long.toString(snapshot.records()));
+        storeExporter.send(snapshot, request, response);
+    }
+
+    /**
+     * Imports cities from an NDJSON body, gzip-compressed or plain, replacing existing cities
+     * of the same name.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * curl -X POST http://localhost:8080/weather/import -H "Content-Type: application/x-ndjson" --data-binary @weather.ndjson.gz
+     * </pre>
+     *
+     * <p>Records are validated like the body of {@code POST /weather}. On a replication follower
+     * the import is forwarded to the leader; in cluster mode every record is applied by the
+     * city's owner. With a tenant header the records are imported into that tenant.
+     *
+     * @param request the servlet request whose body is read as a stream
+     * @param hop set when another cluster member forwarded or replayed the import (optional)
+     * @param secret the cluster secret, without which {@code hop} is ignored (optional)
+     * @return ResponseEntity containing the {@link ImportResult} with HTTP 200 status
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportResult> importStore(HttpServletRequest request,
+                                                    @RequestHeader(value = ClusterClient.HOP_HEADER, required = false) String hop,
+                                                    @RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String secret) throws IOException {
+        return ResponseEntity.ok(storeImporter.importRecords(request.getInputStream(), hop, secret, forwardedHeaders.of(request)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.weather.weatherinfoservice.controllers;
+
+import com.weather.weatherinfoservice.cluster.ClusterClient;
+import com.weather.weatherinfoservice.cluster.ClusterMembership;
+import com.weather.weatherinfoservice.cluster.ClusterRebalancer;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Administrative endpoints for cluster mode.
+ *
+ * <p>Only registered when {@code weather.cluster.enabled=true}.
+ *
+ * @see ClusterMembership
+ * @see ClusterRebalancer
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/weather/admin/cluster")
+@ConditionalOnProperty(prefix = "weather.cluster", name = "enabled", havingValue = "true")
+public class ClusterAdminController {
+
+    private final ClusterMembership clusterMembership;
+    private final ClusterRebalancer clusterRebalancer;
+
+    /**
+     * Returns this member and the current membership.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/admin/cluster
+     * </pre>
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getMembership() {
+        return ResponseEntity.ok(Map.of("self", clusterMembership.getSelf(), "nodes", clusterMembership.getNodes()));
+    }
+
+    /**
+     * Adds a member to the cluster and rebalances the data held by this instance.
+     *
+     * <p>The caller must present the cluster secret in {@link ClusterClient#SECRET_HEADER}. When
+     * called by an operator the new member has to prove that it shares the secret, using its
+     * {@code /proof} endpoint, and is then announced to all other members; announcements between
+     * members carry {@link ClusterClient#HOP_HEADER} and are not re-broadcast.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * POST /weather/admin/cluster/nodes?url=http://localhost:8084
+     * X-Weather-Cluster-Secret: ...
+     * </pre>
+     *
+     * @param url the base URL of the new member, exactly as its {@code weather.cluster.self}
+     * @return ResponseEntity indicating whether the member was newly added, or 403 (Forbidden)
+     *         without the cluster secret
+     * @throws com.weather.weatherinfoservice.exceptions.InvalidRequestException if the new member
+     *         does not prove that it shares the secret
+     */
+    @PostMapping("/nodes")
+    public ResponseEntity<Map<String, Boolean>> addNode(@RequestParam String url,
+                                                        @RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String secret,
+                                                        @RequestHeader(value = ClusterClient.HOP_HEADER, required = false) String hop) {
+        if (!clusterMembership.isMemberSecret(secret)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        boolean added = clusterRebalancer.addNode(url, hop == null);
+        return ResponseEntity.ok(Map.of("added", added));
+    }
+
+    /**
+     * Answers the challenge a member sends before adding this instance to its cluster, see
+     * {@link ClusterMembership#proofOfSecret(String)}. The answer does not reveal the secret.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/admin/cluster/proof?challenge=q5YV...
+     * </pre>
+     *
+     * @param challenge random value chosen by the asking member
+     * @return ResponseEntity with the {@code proof}
+     */
+    @GetMapping("/proof")
+    public ResponseEntity<Map<String, String>> proveSecret(@RequestParam String challenge) {
+        return ResponseEntity.ok(Map.of("proof", clusterMembership.proofOfSecret(challenge)));
+    }
+
+    /**
+     * Receives cities handed off by another member during rebalancing.
+     *
+     * @param entries the cities now owned or replicated by this instance
+     * @param hop present when the request comes from a member, see {@link com.weather.weatherinfoservice.cluster.ClusterRoutingFilter}
+     * @return ResponseEntity with HTTP 204 (No Content) status, or 403 (Forbidden) if the request
+     *         does not come from a member
+     */
+    @PostMapping("/handoff")
+    public ResponseEntity<Void> handoff(@RequestBody List<WeatherDataResponse> entries,
+                                        @RequestHeader(value = ClusterClient.HOP_HEADER, required = false) String hop) {
+        if (hop == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        clusterRebalancer.acceptHandoff(entries);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.weather.weatherinfoservice.controllers;
+
+import com.weather.weatherinfoservice.diagnostics.RequestTraceFilter;
+import com.weather.weatherinfoservice.diagnostics.SlowRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Administrative endpoints for diagnosing latency in production without attaching a profiler.
+ *
+ * @see RequestTraceFilter
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/weather/admin")
+public class DiagnosticsController {
+
+    private final RequestTraceFilter requestTraceFilter;
+
+    /**
+     * Returns the slowest recent weather requests with their phase times, slowest first.
+     *
+     * <p>Each entry carries the request id logged with the request, so it can be matched with
+     * its log events.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/admin/slow-requests?limit=10
+     * </pre>
+     *
+     * @param limit the maximum number of requests to return (default 20)
+     * @return ResponseEntity containing the slow requests with HTTP 200 status
+     */
+    @GetMapping("/slow-requests")
+    public ResponseEntity<List<SlowRequest>> getSlowRequests(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(requestTraceFilter.slowestRequests(Math.max(0, limit)));
+    }
+}
@@ -0,0 +1,44 @@
+package com.weather.weatherinfoservice.controllers;
+
+import com.weather.weatherinfoservice.hotkeys.HotKey;
+import com.weather.weatherinfoservice.hotkeys.HotKeyTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Administrative endpoint listing the most looked up cities.
+ *
+ * @see HotKeyTracker
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/weather/admin")
+@ConditionalOnProperty(prefix = "weather.hotkeys", name = "enabled", havingValue = "true")
+public class HotKeyController {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    /**
+     * Returns the most looked up cities with their estimated recent lookups, most looked up first.
+     *
+     * <p>The estimates come from a sampled Count-Min sketch: they may overcount, and they decay
+     * by half every {@code weather.hotkeys.half-life}. Each entry tells whether the city is
+     * currently pinned.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/admin/hot-keys?limit=10
+     * </pre>
+     *
+     * @param limit the maximum number of cities to return (default 20)
+     * @return ResponseEntity containing the hot cities with HTTP 200 status
+     */
+    @GetMapping("/hot-keys")
+    public ResponseEntity<List<HotKey>> getHotKeys(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(hotKeyTracker.hotKeys(Math.max(0, limit)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.weather.weatherinfoservice.controllers;
+
+import com.weather.weatherinfoservice.replication.MutationLog;
+import com.weather.weatherinfoservice.replication.ReplicationBatch;
+import com.weather.weatherinfoservice.replication.ReplicationProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Leader endpoints streaming the mutation log to followers.
+ *
+ * <p>Only registered when {@code weather.replication.role=leader}.
+ *
+ * @see MutationLog
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/weather/admin/replication")
+@ConditionalOnProperty(prefix = "weather.replication", name = "role", havingValue = "leader")
+public class ReplicationController {
+
+    private final MutationLog mutationLog;
+    private final ReplicationProperties replicationProperties;
+
+    /**
+     * Returns the mutations following the given sequence, long-polling when none are available yet.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/admin/replication/log?after=42&amp;max=1000&amp;waitMillis=1000
+     * </pre>
+     *
+     * @param after the last sequence applied by the follower
+     * @param max the maximum number of mutations to return
+     * @param waitMillis how long to wait for new mutations
+     * @return ResponseEntity containing the next {@link ReplicationBatch}
+     */
+    @GetMapping("/log")
+    public ResponseEntity<ReplicationBatch> readLog(@RequestParam long after,
+                                                    @RequestParam(required = false) Integer max,
+                                                    @RequestParam(defaultValue = "0") long waitMillis) throws InterruptedException {
+        int limit = Math.min(max != null ? max : replicationProperties.getBatchSize(), replicationProperties.getBatchSize());
+        long wait = Math.min(waitMillis, replicationProperties.getPollTimeoutMillis());
+        return ResponseEntity.ok(mutationLog.read(after, limit, wait));
+    }
+
+    /**
+     * Returns the full store for followers that fell behind the retained log.
+     *
+     * @return ResponseEntity containing the snapshot and the sequence it starts from
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<ReplicationBatch> snapshot() {
+        return ResponseEntity.ok(mutationLog.snapshot());
+    }
+}
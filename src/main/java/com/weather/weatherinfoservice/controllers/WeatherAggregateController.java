@@ -0,0 +1,81 @@
+package com.weather.weatherinfoservice.controllers;
+
+import com.weather.weatherinfoservice.analytics.WeatherAggregator;
+import com.weather.weatherinfoservice.exceptions.CityNotFoundException;
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.models.WeatherAggregateResponse;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * REST Controller serving aggregate statistics over the stored weather data.
+ *
+ * <p>All figures are maintained incrementally by {@link WeatherAggregator} as data is added,
+ * updated and deleted, so every request is answered without scanning the store.
+ *
+ * @see WeatherAggregator
+ * @see WeatherAggregateResponse
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/weather/aggregates")
+public class WeatherAggregateController {
+
+    private final WeatherAggregator weatherAggregator;
+
+    /**
+     * Returns the aggregates over all stored cities, or over the cities of one reading date.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/aggregates?unit=F
+     * GET /weather/aggregates?date=2025-08-30
+     * </pre>
+     *
+     * @param date the reading date to restrict to (optional)
+     * @param unit the unit temperatures are reported in, {@code C} (default), {@code F} or {@code K}
+     * @return ResponseEntity containing {@link WeatherAggregateResponse} with HTTP 200 status
+     * @throws InvalidRequestException if the unit is not supported
+     * @throws CityNotFoundException if no stored city has a reading from the given date
+     */
+    @GetMapping
+    public ResponseEntity<WeatherAggregateResponse> getAggregates(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                                  @RequestParam(defaultValue = "C") String unit) {
+        checkUnit(unit);
+        if (date == null) {
+            return ResponseEntity.ok(weatherAggregator.getOverall(unit));
+        }
+        return ResponseEntity.ok(weatherAggregator.getByDate(date, unit)
+                .orElseThrow(() -> new CityNotFoundException("no city data found for " + date)));
+    }
+
+    /**
+     * Returns the aggregates of every reading date, in date order.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/aggregates/by-date?unit=C
+     * </pre>
+     *
+     * @param unit the unit temperatures are reported in, {@code C} (default), {@code F} or {@code K}
+     * @return ResponseEntity containing aggregates keyed by date with HTTP 200 status
+     * @throws InvalidRequestException if the unit is not supported
+     */
+    @GetMapping("/by-date")
+    public ResponseEntity<Map<LocalDate, WeatherAggregateResponse>> getAggregatesByDate(@RequestParam(defaultValue = "C") String unit) {
+        checkUnit(unit);
+        return ResponseEntity.ok(weatherAggregator.getAllByDate(unit));
+    }
+
+    private static void checkUnit(String unit) {
+        if (!TemperatureConverter.isSupported(unit)) {
+            throw new InvalidRequestException("unit must be C, F or K");
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.weather.weatherinfoservice.controllers;
 
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
 import com.weather.weatherinfoservice.models.WeatherDataRequest;
 import com.weather.weatherinfoservice.models.WeatherDataResponse;
 import com.weather.weatherinfoservice.services.WeatherServiceReader;
 import com.weather.weatherinfoservice.services.WeatherServiceWriter;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -45,22 +47,31 @@ public class WeatherController {
      * based on the provided city name. The city parameter is validated
      * for correctness before processing.
      *
+     * <p>Temperatures are stored in Celsius; the optional {@code unit} parameter
+     * converts the returned temperature to Fahrenheit or Kelvin.
+     *
      * <p><strong>Example Usage:</strong>
      * <pre>
      * GET /weather?city=Auckland
+     * GET /weather?city=Auckland&amp;unit=F
      * </pre>
      *
      * @param city the name of the city to retrieve weather data for (required)
+     * @param unit the unit of the returned temperature, {@code C}, {@code F} or {@code K} (optional)
      * @return ResponseEntity containing {@link WeatherDataResponse} with HTTP 200 status
      * @throws jakarta.validation.ConstraintViolationException if city parameter is invalid
      * @throws com.weather.weatherinfoservice.exceptions.CityNotFoundException if city is not found
+     * @throws InvalidRequestException if the unit is not supported
      *
      * @see WeatherServiceReader#getWeatherData(String)
      */
     @GetMapping
-    public ResponseEntity<WeatherDataResponse> getWeatherData(@Valid @RequestParam String city) {
+    public ResponseEntity<WeatherDataResponse> getWeatherData(@Valid @RequestParam String city, @RequestParam(required = false) String unit) {
+        if (unit != null && !TemperatureConverter.isSupported(unit)) {
+            throw new InvalidRequestException("unit must be C, F or K");
+        }
         WeatherDataResponse retrievedData = weatherServiceReader.getWeatherData(city);
-        return ResponseEntity.ok(retrievedData);
+        return ResponseEntity.ok(unit != null ? retrievedData.convertedTo(unit) : retrievedData);
     }
 
     /**
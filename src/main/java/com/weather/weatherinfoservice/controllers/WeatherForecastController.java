@@ -0,0 +1,138 @@
+package com.weather.weatherinfoservice.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weatherinfoservice.exceptions.CityNotFoundException;
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.forecast.ForecastRun;
+import com.weather.weatherinfoservice.forecast.ForecastStore;
+import com.weather.weatherinfoservice.models.ForecastRunRequest;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * REST controller for multi-day forecasts.
+ *
+ * <p>Forecasts are kept apart from the current observations served by {@link WeatherController}:
+ * each city has one forecast run, which a newer run replaces as a whole. With a tenant header the
+ * tenant's own forecasts are used. Forecasts are not replicated: a follower forwards every
+ * forecast request to the leader, and in cluster mode they go to the city's owner.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/weather/forecast")
+public class WeatherForecastController {
+
+    private final ForecastStore forecastStore;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stores a new forecast run for a city, replacing the previous run atomically.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * PUT /weather/forecast?city=Auckland
+     * Content-Type: application/json
+     *
+     * {
+     *   "issuedAt": "2025-09-01T06:00:00Z",
+     *   "granularity": "HOURLY",
+     *   "points": [
+     *     {"time": "2025-09-01T07:00:00Z", "temp": 12.5, "unit": "C", "weather": "rainy"},
+     *     {"time": "2025-09-01T08:00:00Z", "temp": 13.0, "unit": "C", "weather": "cloudy"}
+     *   ]
+     * }
+     * </pre>
+     *
+     * @param city the city the forecast is for (required)
+     * @param forecastRunRequest the complete run (required, validated)
+     * @return ResponseEntity with {@code applied} set to {@code false} if a newer run is already stored
+     * @throws InvalidRequestException if two points share the same time
+     */
+    @PutMapping
+    public ResponseEntity<Map<String, Object>> replaceForecast(@RequestParam String city, @Valid @RequestBody ForecastRunRequest forecastRunRequest) {
+        boolean applied = forecastStore.replace(city, forecastRunRequest);
+        return ResponseEntity.ok(Map.of("applied", applied, "points", forecastRunRequest.getPoints().size()));
+    }
+
+    /**
+     * Streams the forecast points of a city within a time range.
+     *
+     * <p>The JSON is written straight from the stored arrays, point by point, without building
+     * an object per point.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/forecast?city=Auckland&amp;from=2025-09-02T00:00:00Z&amp;to=2025-09-03T00:00:00Z&amp;unit=F
+     * </pre>
+     *
+     * @param city the city to read the forecast of (required)
+     * @param from inclusive start of the range (optional, defaults to the first point)
+     * @param to inclusive end of the range (optional, defaults to the last point)
+     * @param unit the unit temperatures are reported in, {@code C} (default), {@code F} or {@code K}
+     * @return streamed JSON with the run metadata and the points in time order
+     * @throws CityNotFoundException if there is no forecast for the city
+     * @throws InvalidRequestException if the unit is not supported
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getForecast(@RequestParam String city,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                                             @RequestParam(defaultValue = "C") String unit) {
+        if (!TemperatureConverter.isSupported(unit)) {
+            throw new InvalidRequestException("unit must be C, F or K");
+        }
+        ForecastRun run = forecastStore.find(city).orElseThrow(() -> new CityNotFoundException("no forecast found for " + city));
+        int start = from != null ? run.firstIndexFrom(from.getEpochSecond()) : 0;
+        int end = to != null ? run.endIndexTo(to.getEpochSecond()) : run.size();
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeStringField("city", run.getCity());
+                generator.writeStringField("issuedAt", run.getIssuedAt().toString());
+                generator.writeStringField("granularity", run.getGranularity().name());
+                generator.writeStringField("unit", unit);
+                generator.writeArrayFieldStart("points");
+                for (int i = start; i < end; i++) {
+                    generator.writeStartObject();
+                    generator.writeStringField("time", Instant.ofEpochSecond(run.epochSecondAt(i)).toString());
+                    generator.writeNumberField("temp", Math.round(TemperatureConverter.fromCelsius(run.celsiusAt(i), unit) * 100) / 100.0);
+                    generator.writeStringField("weather", run.conditionAt(i));
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Removes the forecast of a city.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * DELETE /weather/forecast?city=Auckland
+     * </pre>
+     *
+     * @param city the city to remove the forecast of (required)
+     * @return ResponseEntity with no content and HTTP 204 (No Content) status
+     * @throws CityNotFoundException if there is no forecast for the city
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> deleteForecast(@RequestParam String city) {
+        if (!forecastStore.remove(city)) {
+            throw new CityNotFoundException("no forecast found for " + city);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.weather.weatherinfoservice.controllers;
+
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.models.WeatherSearchResponse;
+import com.weather.weatherinfoservice.search.SearchProperties;
+import com.weather.weatherinfoservice.search.WeatherSearchCriteria;
+import com.weather.weatherinfoservice.search.WeatherSearchService;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * REST Controller for querying the stored weather data with filters.
+ *
+ * @see WeatherSearchService
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/weather/search")
+public class WeatherSearchController {
+
+    private final WeatherSearchService weatherSearchService;
+    private final SearchProperties searchProperties;
+
+    /**
+     * Searches the stored cities.
+     *
+     * <p>All filters are optional and combined with AND. Temperature bounds are given in
+     * {@code tempUnit} and compared after converting to a common unit.
+     *
+     * <p><strong>Example Usage:</strong>
+     * <pre>
+     * GET /weather/search?weather=rainy
+     * GET /weather/search?minTemp=20&amp;date=2025-08-30&amp;sort=temp&amp;order=desc&amp;page=0&amp;size=20
+     * </pre>
+     *
+     * @param weather weather condition, matched case-insensitively
+     * @param date reading date
+     * @param minTemp inclusive lower temperature bound
+     * @param maxTemp inclusive upper temperature bound
+     * @param tempUnit unit of the temperature bounds, {@code C} (default), {@code F} or {@code K}
+     * @param sort {@code city} (default), {@code temp}, {@code date} or {@code none} for the fastest, unordered result
+     * @param order {@code asc} (default) or {@code desc}
+     * @param page zero-based page number
+     * @param size page size
+     * @return ResponseEntity containing {@link WeatherSearchResponse} with HTTP 200 status
+     * @throws InvalidRequestException if a parameter is out of range or not supported
+     */
+    @GetMapping
+    public ResponseEntity<WeatherSearchResponse> search(@RequestParam(required = false) String weather,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                        @RequestParam(required = false) Double minTemp,
+                                                        @RequestParam(required = false) Double maxTemp,
+                                                        @RequestParam(defaultValue = "C") String tempUnit,
+                                                        @RequestParam(defaultValue = "city") String sort,
+                                                        @RequestParam(defaultValue = "asc") String order,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 1 || size > searchProperties.getMaxPageSize()) {
+            throw new InvalidRequestException("page must be >= 0 and size between 1 and " + searchProperties.getMaxPageSize());
+        }
+        if (!TemperatureConverter.isSupported(tempUnit)) {
+            throw new InvalidRequestException("tempUnit must be C, F or K");
+        }
+        WeatherSearchCriteria criteria = WeatherSearchCriteria.builder()
+                .weather(weather != null ? weather.trim().toLowerCase(Locale.ROOT) : null)
+                .date(date)
+                .minTempCelsius(minTemp != null ? TemperatureConverter.toCelsius(minTemp, tempUnit) : null)
+                .maxTempCelsius(maxTemp != null ? TemperatureConverter.toCelsius(maxTemp, tempUnit) : null)
+                .sort(sortField(sort))
+                .descending("desc".equalsIgnoreCase(order))
+                .page(page)
+                .size(size)
+                .build();
+        return ResponseEntity.ok(weatherSearchService.search(criteria));
+    }
+
+    private static WeatherSearchCriteria.SortField sortField(String sort) {
+        for (WeatherSearchCriteria.SortField field : WeatherSearchCriteria.SortField.values()) {
+            if (field.name().equalsIgnoreCase(sort)) {
+                return field;
+            }
+        }
+        throw new InvalidRequestException("sort must be city, temp, date or none");
+    }
+}
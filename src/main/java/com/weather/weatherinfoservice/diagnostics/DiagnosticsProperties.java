@@ -0,0 +1,24 @@
+package com.weather.weatherinfoservice.diagnostics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Request diagnostics settings bound from {@code weather.diagnostics.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.diagnostics")
+public class DiagnosticsProperties {
+
+    /**
+     * Number of slowest requests kept per window.
+     */
+    private int slowRequestCapacity = 50;
+
+    /**
+     * Length of a slow-request window; requests are reported for one to two windows.
+     */
+    private Duration slowRequestWindow = Duration.ofMinutes(5);
+}
@@ -0,0 +1,25 @@
+package com.weather.weatherinfoservice.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event covering one call to the external weather source. Unlike the other
+ * weather events it keeps its stack trace, which shows which code path went external.
+ */
+@Name("com.weather.ExternalCall")
+@Label("External Weather Source Call")
+@Category({"Weather", "Service"})
+@Description("A call to the external weather source after a local miss")
+public class ExternalSourceEvent extends Event {
+
+    @Label("City")
+    public String city;
+
+    @Label("Outcome")
+    @Description("found, not-found or error")
+    public String outcome;
+}
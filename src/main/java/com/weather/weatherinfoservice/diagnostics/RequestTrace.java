@@ -0,0 +1,91 @@
+package com.weather.weatherinfoservice.diagnostics;
+
+/**
+ * Phase timings of the request handled by the current thread.
+ *
+ * <p>The {@link RequestTraceFilter} binds a trace for each weather request; the service layer
+ * adds the time it spends in the repository and the external source, and
+ * {@link RequestTraceBodyAdvice} marks where response serialization starts. Code running
+ * outside a traced request, such as gRPC calls and background jobs, finds no trace and
+ * records nothing.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private String city;
+    private String outcome;
+    private long repositoryNanos;
+    private long externalNanos;
+    private long bodyWriteNanos;
+
+    RequestTrace(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * @return the trace of the current request, or {@code null} outside a traced request
+     */
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestTrace trace) {
+        CURRENT.set(trace);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public void addRepositoryNanos(long nanos) {
+        repositoryNanos += nanos;
+    }
+
+    public void addExternalNanos(long nanos) {
+        externalNanos += nanos;
+    }
+
+    void markBodyWrite(long nanos) {
+        if (bodyWriteNanos == 0) {
+            bodyWriteNanos = nanos;
+        }
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    String getCity() {
+        return city;
+    }
+
+    String getOutcome() {
+        return outcome;
+    }
+
+    long getRepositoryNanos() {
+        return repositoryNanos;
+    }
+
+    long getExternalNanos() {
+        return externalNanos;
+    }
+
+    /**
+     * @return when serialization of the response body started, or 0 if the body was not written
+     *         through a message converter
+     */
+    long getBodyWriteNanos() {
+        return bodyWriteNanos;
+    }
+}
@@ -0,0 +1,93 @@
+package com.weather.weatherinfoservice.diagnostics;
+
+import com.weather.weatherinfoservice.logging.CorrelationIdFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Times every weather request by phase, emits a {@link WeatherRequestEvent} to the flight
+ * recorder and offers the request to the always-on {@link SlowRequestRecorder}.
+ *
+ * <p>The filter runs right after the correlation id filter, so the measured time includes the
+ * cluster, tenant and idempotency filters. Admin endpoints are not traced. When no flight
+ * recording is active the event is never committed and, with the recorder's lock-free admission
+ * check, a fast request costs a few clock reads.
+ */
+@Component
+@EnableConfigurationProperties(DiagnosticsProperties.class)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    public RequestTraceFilter(DiagnosticsProperties diagnosticsProperties) {
+        this.slowRequestRecorder = new SlowRequestRecorder(diagnosticsProperties.getSlowRequestCapacity(),
+                diagnosticsProperties.getSlowRequestWindow().toNanos(), System::nanoTime);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !path.startsWith("/weather") || path.startsWith("/weather/admin");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        WeatherRequestEvent event = new WeatherRequestEvent();
+        event.begin();
+        RequestTrace trace = new RequestTrace(System.nanoTime());
+        RequestTrace.bind(trace);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTrace.clear();
+            long end = System.nanoTime();
+            event.end();
+            long total = end - trace.getStartNanos();
+            long bodyWrite = trace.getBodyWriteNanos();
+            long handler = (bodyWrite != 0 ? bodyWrite : end) - trace.getStartNanos();
+            long serialization = bodyWrite != 0 ? end - bodyWrite : 0;
+            String city = trace.getCity() != null ? trace.getCity() : request.getParameter("city");
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.path = request.getServletPath();
+                event.city = city;
+                event.status = response.getStatus();
+                event.outcome = trace.getOutcome();
+                event.repositoryTime = trace.getRepositoryNanos();
+                event.externalTime = trace.getExternalNanos();
+                event.handlerTime = handler;
+                event.serializationTime = serialization;
+                event.commit();
+            }
+            if (slowRequestRecorder.admits(total)) {
+                slowRequestRecorder.record(total, new SlowRequest(Instant.now(), MDC.get(CorrelationIdFilter.MDC_KEY),
+                        request.getMethod(), request.getServletPath(), city, response.getStatus(), trace.getOutcome(),
+                        total / NANOS_PER_MILLI, trace.getRepositoryNanos() / NANOS_PER_MILLI,
+                        trace.getExternalNanos() / NANOS_PER_MILLI, handler / NANOS_PER_MILLI,
+                        serialization / NANOS_PER_MILLI));
+            }
+        }
+    }
+
+    /**
+     * @return up to {@code limit} of the slowest recent requests, slowest first
+     */
+    public List<SlowRequest> slowestRequests(int limit) {
+        return slowRequestRecorder.slowest(limit);
+    }
+}
@@ -0,0 +1,11 @@
+package com.weather.weatherinfoservice.diagnostics;
+
+import java.time.Instant;
+
+/**
+ * A request kept by the {@link SlowRequestRecorder}, with its phase times in milliseconds.
+ */
+public record SlowRequest(Instant time, String requestId, String method, String path, String city, int status,
+                          String outcome, double totalMillis, double repositoryMillis, double externalMillis,
+                          double handlerMillis, double serializationMillis) {
+}
@@ -0,0 +1,107 @@
+package com.weather.weatherinfoservice.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the slowest requests of the recent past in bounded memory.
+ *
+ * <p>Time is cut into windows. The current and the previous window each hold the
+ * {@code capacity} slowest requests seen in them in a min-heap, so at most two windows' worth
+ * are ever kept, and a request at most two windows old can be reported. Once a window's heap is
+ * full, its admission floor is the duration of its fastest entry; {@link #admits(long)} checks
+ * that floor without locking, so the common, fast request costs one volatile read.
+ */
+public class SlowRequestRecorder {
+
+    private static final Comparator<Recorded> BY_DURATION = Comparator.comparingLong(Recorded::durationNanos);
+
+    private final int capacity;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private volatile Window current;
+    private volatile Window previous;
+
+    public SlowRequestRecorder(int capacity, long windowNanos, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.windowNanos = windowNanos;
+        this.nanoClock = nanoClock;
+        this.current = new Window(nanoClock.getAsLong());
+        this.previous = new Window(nanoClock.getAsLong() - windowNanos);
+    }
+
+    /**
+     * @return whether a request of this duration would be kept; callers can skip building the
+     *         {@link SlowRequest} otherwise
+     */
+    public boolean admits(long durationNanos) {
+        return durationNanos > window().admissionFloor;
+    }
+
+    public void record(long durationNanos, SlowRequest request) {
+        Window window = window();
+        synchronized (window) {
+            if (window.entries.size() < capacity) {
+                window.entries.add(new Recorded(durationNanos, request));
+            } else if (durationNanos > window.entries.peek().durationNanos()) {
+                window.entries.poll();
+                window.entries.add(new Recorded(durationNanos, request));
+            } else {
+                return;
+            }
+            if (window.entries.size() == capacity) {
+                window.admissionFloor = window.entries.peek().durationNanos();
+            }
+        }
+    }
+
+    /**
+     * @return up to {@code limit} of the slowest recent requests, slowest first
+     */
+    public List<SlowRequest> slowest(int limit) {
+        Window window = window();
+        List<Recorded> all = new ArrayList<>();
+        for (Window each : List.of(window, previous)) {
+            synchronized (each) {
+                all.addAll(each.entries);
+            }
+        }
+        all.sort(BY_DURATION.reversed());
+        return all.stream().limit(limit).map(Recorded::request).toList();
+    }
+
+    private Window window() {
+        Window window = current;
+        long now = nanoClock.getAsLong();
+        if (now - window.startNanos < windowNanos) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            if (now - window.startNanos >= windowNanos) {
+                // after a quiet spell longer than a window the old current is stale as well
+                previous = now - window.startNanos < 2 * windowNanos ? window : new Window(now - windowNanos);
+                window = new Window(now);
+                current = window;
+            }
+            return window;
+        }
+    }
+
+    private record Recorded(long durationNanos, SlowRequest request) {
+    }
+
+    private final class Window {
+
+        private final long startNanos;
+        private final PriorityQueue<Recorded> entries = new PriorityQueue<>(capacity, BY_DURATION);
+        private volatile long admissionFloor = Long.MIN_VALUE;
+
+        Window(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.weather.weatherinfoservice.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event covering one HTTP request to {@code /weather}, from the first filter to
+ * the last byte of the response body, broken down into its phases.
+ */
+@Name("com.weather.Request")
+@Label("Weather Request")
+@Category({"Weather", "HTTP"})
+@Description("A request handled by the weather controllers, with time spent per phase")
+@StackTrace(false)
+public class WeatherRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("City")
+    String city;
+
+    @Label("Status")
+    int status;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Repository Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long repositoryTime;
+
+    @Label("External Source Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long externalTime;
+
+    @Label("Handler Time")
+    @Description("Filters, argument binding, validation and the controller, up to the response body")
+    @Timespan(Timespan.NANOSECONDS)
+    long handlerTime;
+
+    @Label("Serialization Time")
+    @Description("Encoding and writing the response body")
+    @Timespan(Timespan.NANOSECONDS)
+    long serializationTime;
+}
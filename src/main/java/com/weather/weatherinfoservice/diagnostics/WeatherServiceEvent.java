@@ -0,0 +1,35 @@
+package com.weather.weatherinfoservice.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event covering one weather lookup in the service layer.
+ */
+@Name("com.weather.ServiceLookup")
+@Label("Weather Service Lookup")
+@Category({"Weather", "Service"})
+@Description("A lookup of the current weather of a city, local store first, then the external source")
+@StackTrace(false)
+public class WeatherServiceEvent extends Event {
+
+    @Label("City")
+    public String city;
+
+    @Label("Outcome")
+    @Description("local, external, not-found or error")
+    public String outcome;
+
+    @Label("Repository Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long repositoryTime;
+
+    @Label("External Source Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long externalTime;
+}
@@ -3,13 +3,23 @@ package com.weather.weatherinfoservice.exceptions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+/**
+ * Maps exceptions to JSON error responses.
+ *
+ * <p>Client errors are logged at WARN with a constant message template, so that the per-message
+ * rate limit of {@code logback-spring.xml} treats all of them as one message type no matter which
+ * city they name. Only unexpected exceptions are logged at ERROR, with their stack trace.
+ */
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -21,7 +31,7 @@ public class GlobalExceptionHandler {
         body.put("timestamp", LocalDateTime.now());
         body.put("message", exception.getMessage());
         body.put("status", HttpStatus.NOT_FOUND.value());
-        log.error(exception.getMessage());
+        log.warn("not found: {}", exception.getMessage());
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
 
     }
@@ -32,10 +42,44 @@ public class GlobalExceptionHandler {
         body.put("timestamp", LocalDateTime.now());
         body.put("message", exception.getMessage());
         body.put("status", HttpStatus.CONFLICT.value());
-        log.error(exception.getMessage());
+        log.warn("conflict: {}", exception.getMessage());
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(TenantQuotaExceededException.class)
+    public ResponseEntity<Object> handleTenantQuotaExceededException(TenantQuotaExceededException exception){
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", exception.getMessage());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        log.warn("tenant quota exceeded: {}", exception.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Object> handleInvalidRequestException(InvalidRequestException exception){
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", exception.getMessage());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        log.warn("bad request: {}", exception.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<Object> handleMethodArgumentNotValidException(MethodArgumentNotValidException exception){
+        String message = exception.getBindingResult().getAllErrors().stream()
+                .map(ObjectError::getDefaultMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("message", message);
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        log.warn("invalid request: {}", message);
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGlobalException(Exception exception){
 
@@ -43,7 +87,7 @@ public class GlobalExceptionHandler {
         body.put("timestamp", LocalDateTime.now());
         body.put("message", exception.getMessage());
         body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        log.error(exception.getMessage());
+        log.error("unhandled exception: {}", exception.getMessage(), exception);
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
@@ -0,0 +1,7 @@
+package com.weather.weatherinfoservice.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
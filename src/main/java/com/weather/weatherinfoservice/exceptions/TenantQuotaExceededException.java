@@ -0,0 +1,7 @@
+package com.weather.weatherinfoservice.exceptions;
+
+public class TenantQuotaExceededException extends RuntimeException {
+    public TenantQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.weather.weatherinfoservice.external;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+
+import java.util.Map;
+
+/**
+ * An immutable generation of the external source's data.
+ *
+ * @param cities the readings by city; a reading without a date is dated on the day it is read
+ * @param sizeInBytes size of the file the data was parsed from, {@code 0} for built-in data
+ * @param malformedLines lines of the file that were skipped
+ */
+public record ExternalDataset(Map<String, WeatherDataResponse> cities, long sizeInBytes, long malformedLines) {
+
+    public int size() {
+        return cities.size();
+    }
+}
@@ -0,0 +1,230 @@
+package com.weather.weatherinfoservice.external;
+
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.validation.WeatherDataRequestValidator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Parses an external dataset from a CSV file in parallel chunks.
+ *
+ * <p>The file has the columns {@code city,temp,unit,weather,date}, with an optional header line
+ * and an optional ISO {@code date}. Fields may be double-quoted to contain commas, but no field
+ * may contain a line break: the file is cut into chunks of about {@code chunkBytes} at line
+ * breaks, and each chunk is memory-mapped and parsed on its own thread. The chunks are merged
+ * in file order, so a city listed twice keeps its last line, exactly as a sequential pass would.
+ *
+ * <p>Each reading is validated like the body of {@code POST /weather} and its temperature is
+ * normalized to Celsius the same way; malformed or invalid lines are skipped and counted. Every
+ * city gets an id derived from its name, so ids stay the same across reloads.
+ */
+@Slf4j
+public class ExternalDatasetParser {
+
+    private static final int COLUMNS = 5;
+    private static final int BOUNDARY_SCAN_BYTES = 8 * 1024;
+
+    private final ExecutorService executor;
+    private final long chunkBytes;
+
+    public ExternalDatasetParser(ExecutorService executor, long chunkBytes) {
+        this.executor = executor;
+        this.chunkBytes = Math.max(1, Math.min(chunkBytes, Integer.MAX_VALUE));
+    }
+
+    public ExternalDataset parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<Long> bounds = chunkBounds(channel, size);
+            List<Future<Chunk>> chunks = new ArrayList<>(bounds.size() - 1);
+            for (int i = 0; i + 1 < bounds.size(); i++) {
+                long start = bounds.get(i);
+                long end = bounds.get(i + 1);
+                boolean first = i == 0;
+                chunks.add(executor.submit(() -> parseChunk(channel, start, end, first)));
+            }
+            Map<String, WeatherDataResponse> cities = null;
+            long malformed = 0;
+            for (Future<Chunk> future : chunks) {
+                Chunk chunk = await(future);
+                if (cities == null) {
+                    cities = new HashMap<>(Math.max(16, (int) (chunk.cities().size() * (long) chunks.size() / 0.75)));
+                }
+                cities.putAll(chunk.cities());
+                malformed += chunk.malformed();
+            }
+            return new ExternalDataset(cities == null ? Map.of() : Collections.unmodifiableMap(cities), size, malformed);
+        }
+    }
+
+    /**
+     * Offsets where the chunks start, each right after a line break, plus the file size.
+     */
+    private List<Long> chunkBounds(FileChannel channel, long size) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_BYTES);
+        long target = chunkBytes;
+        while (target < size) {
+            long boundary = nextLineStart(channel, buffer, Math.max(target, bounds.get(bounds.size() - 1)), size);
+            if (boundary >= size) {
+                break;
+            }
+            if (boundary > bounds.get(bounds.size() - 1)) {
+                bounds.add(boundary);
+            }
+            target = boundary + chunkBytes;
+        }
+        bounds.add(size);
+        return bounds;
+    }
+
+    private static long nextLineStart(FileChannel channel, ByteBuffer buffer, long from, long size) throws IOException {
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static Chunk parseChunk(FileChannel channel, long start, long end, boolean first) throws IOException {
+        ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        byte[] bytes = new byte[mapped.remaining()];
+        mapped.get(bytes);
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        Map<String, WeatherDataResponse> cities = new HashMap<>();
+        long malformed = 0;
+        int lineStart = 0;
+        boolean header = first;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            String line = text.substring(lineStart, lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd);
+            lineStart = lineEnd + 1;
+            if (header) {
+                header = false;
+                if (line.regionMatches(true, line.startsWith("\uFEFF") ? 1 : 0, "city,", 0, 5)) {
+                    continue;
+                }
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            WeatherDataResponse reading = parseLine(line);
+            if (reading == null) {
+                malformed++;
+                log.debug("skipping malformed external data line: {}", line);
+                continue;
+            }
+            cities.put(reading.getCity(), reading);
+        }
+        return new Chunk(cities, malformed);
+    }
+
+    /**
+     * Parses one line, or returns {@code null} if it is malformed or the reading is invalid.
+     */
+    static WeatherDataResponse parseLine(String line) {
+        String[] fields = new String[COLUMNS];
+        int column = 0;
+        int position = 0;
+        while (position <= line.length()) {
+            if (column == COLUMNS) {
+                return null;
+            }
+            StringBuilder field = new StringBuilder();
+            if (position < line.length() && line.charAt(position) == '"') {
+                position++;
+                while (true) {
+                    if (position >= line.length()) {
+                        return null;
+                    }
+                    char c = line.charAt(position++);
+                    if (c == '"') {
+                        if (position < line.length() && line.charAt(position) == '"') {
+                            field.append('"');
+                            position++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (position < line.length() && line.charAt(position) != ',') {
+                    return null;
+                }
+            } else {
+                int comma = line.indexOf(',', position);
+                int fieldEnd = comma < 0 ? line.length() : comma;
+                field.append(line, position, fieldEnd);
+                position = fieldEnd;
+            }
+            fields[column++] = field.toString().trim();
+            position++;
+        }
+        if (column < COLUMNS - 1 || fields[0].isEmpty()) {
+            return null;
+        }
+        LocalDate date = null;
+        if (column == COLUMNS && !fields[4].isEmpty()) {
+            try {
+                date = LocalDate.parse(fields[4]);
+            } catch (DateTimeParseException exception) {
+                return null;
+            }
+        }
+        String city = fields[0];
+        WeatherDataRequest reading = new WeatherDataRequest(city, fields[1], fields[2].isEmpty() ? null : fields[2], date, fields[3]);
+        if (!WeatherDataRequestValidator.validate(reading).isEmpty()) {
+            return null;
+        }
+        UUID id = UUID.nameUUIDFromBytes(city.getBytes(StandardCharsets.UTF_8));
+        return new WeatherDataResponse(new WeatherDataEntity(id, reading));
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("parsing interrupted", exception);
+        } catch (ExecutionException exception) {
+            throw new IOException("parsing a chunk failed", exception.getCause());
+        }
+    }
+
+    private record Chunk(Map<String, WeatherDataResponse> cities, long malformed) {
+    }
+}
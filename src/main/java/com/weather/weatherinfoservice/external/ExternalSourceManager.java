@@ -0,0 +1,195 @@
+package com.weather.weatherinfoservice.external;
+
+import com.weather.weatherinfoservice.services.WeatherDataExternalSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads the data of {@link WeatherDataExternalSource} from {@code weather.external.file} and
+ * reloads it when the file changes.
+ *
+ * <p>The file is parsed once while the application starts; a file that cannot be read fails
+ * the start. Afterwards a watcher thread reloads it once it has stayed unchanged for
+ * {@code weather.external.reload-delay}. Parsing runs on its own thread pool, off the request
+ * path, and the new dataset is swapped in only when complete. A reload that fails keeps the
+ * previous dataset. To replace the file, write a new one next to it and move it over the old one,
+ * so a reload never starts on a half-written file.
+ *
+ * <p><strong>Metrics:</strong>
+ * <ul>
+ *   <li>{@code weather.external.reload} - duration of each successful load</li>
+ *   <li>{@code weather.external.reload.failures} - loads that failed</li>
+ *   <li>{@code weather.external.cities} - cities in the current dataset</li>
+ *   <li>{@code weather.external.bytes} - size of the file of the current dataset</li>
+ *   <li>{@code weather.external.malformed} - lines of that file that were skipped</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.external", name = "file")
+public class ExternalSourceManager implements SmartLifecycle {
+
+    private final WeatherDataExternalSource externalSource;
+    private final ExternalSourceProperties externalSourceProperties;
+    private final Path file;
+    private final ExecutorService parsers;
+    private final ExternalDatasetParser parser;
+    private final Timer reloadTimer;
+    private final LongAdder failures = new LongAdder();
+    private Object loadedVersion;
+    private WatchService watchService;
+
+    public ExternalSourceManager(WeatherDataExternalSource externalSource, ExternalSourceProperties externalSourceProperties,
+                                 MeterRegistry meterRegistry) {
+        this.externalSource = externalSource;
+        this.externalSourceProperties = externalSourceProperties;
+        this.file = externalSourceProperties.getFile().toAbsolutePath();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.parsers = Executors.newFixedThreadPool(Math.max(1, externalSourceProperties.getParseThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "weather-external-parser-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.parser = new ExternalDatasetParser(parsers, externalSourceProperties.getChunkSize().toBytes());
+        this.reloadTimer = Timer.builder("weather.external.reload")
+                .description("Time to parse the external dataset file and swap it in")
+                .register(meterRegistry);
+        FunctionCounter.builder("weather.external.reload.failures", failures, LongAdder::sum).register(meterRegistry);
+        Gauge.builder("weather.external.cities", externalSource, source -> source.getDataset().size()).register(meterRegistry);
+        Gauge.builder("weather.external.bytes", externalSource, source -> source.getDataset().sizeInBytes()).register(meterRegistry);
+        Gauge.builder("weather.external.malformed", externalSource, source -> source.getDataset().malformedLines()).register(meterRegistry);
+    }
+
+    /**
+     * Loads the file once the instance is fully constructed, failing the startup if it cannot be read.
+     */
+    @PostConstruct
+    public void load() {
+        try {
+            reload();
+        } catch (IOException exception) {
+            parsers.shutdownNow();
+            throw new UncheckedIOException("cannot load the external dataset " + file, exception);
+        }
+    }
+
+    /**
+     * Parses the file and swaps the result in, unless the file is unchanged since the last load.
+     *
+     * @return whether a new dataset was swapped in
+     */
+    public synchronized boolean reload() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Object version = attributes.fileKey() != null
+                ? attributes.fileKey() + "@" + attributes.lastModifiedTime() + "/" + attributes.size()
+                : attributes.lastModifiedTime() + "/" + attributes.size();
+        if (version.equals(loadedVersion)) {
+            return false;
+        }
+        long started = System.nanoTime();
+        ExternalDataset dataset = parser.parse(file);
+        externalSource.replace(dataset);
+        long elapsed = System.nanoTime() - started;
+        reloadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        loadedVersion = version;
+        log.info("loaded {} external cities from {} in {} ms ({} malformed lines skipped)",
+                dataset.size(), file, TimeUnit.NANOSECONDS.toMillis(elapsed), dataset.malformedLines());
+        return true;
+    }
+
+    @Override
+    public void start() {
+        if (!externalSourceProperties.isWatch()) {
+            return;
+        }
+        try {
+            watchService = file.getFileSystem().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("cannot watch " + file, exception);
+        }
+        Thread.ofPlatform().name("weather-external-watcher").daemon().start(this::watch);
+    }
+
+    @Override
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException exception) {
+                log.debug("closing the watch service failed", exception);
+            }
+            watchService = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return watchService != null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        parsers.shutdownNow();
+    }
+
+    private void watch() {
+        WatchService watcher = watchService;
+        long quietMillis = Math.max(1, externalSourceProperties.getReloadDelay().toMillis());
+        try {
+            while (true) {
+                if (!concernsFile(watcher.take())) {
+                    continue;
+                }
+                // wait until the file has been quiet for the reload delay
+                WatchKey key;
+                while ((key = watcher.poll(quietMillis, TimeUnit.MILLISECONDS)) != null) {
+                    concernsFile(key);
+                }
+                try {
+                    reload();
+                } catch (IOException | RuntimeException exception) {
+                    failures.increment();
+                    log.error("reloading the external dataset {} failed, keeping the previous one", file, exception);
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException exception) {
+            // stopped
+        }
+    }
+
+    private boolean concernsFile(WatchKey key) {
+        boolean concerns = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            concerns |= event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context());
+        }
+        key.reset();
+        return concerns;
+    }
+}
@@ -0,0 +1,42 @@
+package com.weather.weatherinfoservice.external;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * External source settings bound from {@code weather.external.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.external")
+public class ExternalSourceProperties {
+
+    /**
+     * CSV file ({@code city,temp,unit,weather,date}) the external source serves. Unset, the
+     * built-in cities are served.
+     */
+    private Path file;
+
+    /**
+     * Whether the file is reloaded when it changes.
+     */
+    private boolean watch = true;
+
+    /**
+     * Time the file must stay unchanged after a change before it is reloaded.
+     */
+    private Duration reloadDelay = Duration.ofMillis(500);
+
+    /**
+     * Threads parsing the file.
+     */
+    private int parseThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Size of the chunks the file is cut into for parsing.
+     */
+    private DataSize chunkSize = DataSize.ofMegabytes(8);
+}
@@ -0,0 +1,83 @@
+package com.weather.weatherinfoservice.forecast;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Immutable forecast of one city, held as parallel primitive arrays sorted by time.
+ *
+ * <p>Point {@code i} is forecast for {@code epochSeconds[i]} with temperature
+ * {@code temperaturesCelsius[i]} and condition {@code conditions[conditionCodes[i]]}.
+ * A 14-day hourly run is 336 points, i.e. a few kilobytes in a handful of arrays instead of
+ * hundreds of objects, and a time range is located by binary search.
+ *
+ * <p>Instances are never modified after construction; a new run replaces the old one as a
+ * whole, so readers always see one complete run.
+ */
+public final class ForecastRun {
+
+    public enum Granularity { HOURLY, DAILY }
+
+    private final String city;
+    private final Instant issuedAt;
+    private final Granularity granularity;
+    private final long[] epochSeconds;
+    private final float[] temperaturesCelsius;
+    private final short[] conditionCodes;
+    private final String[] conditions;
+
+    ForecastRun(String city, Instant issuedAt, Granularity granularity, long[] epochSeconds,
+                float[] temperaturesCelsius, short[] conditionCodes, String[] conditions) {
+        this.city = city;
+        this.issuedAt = issuedAt;
+        this.granularity = granularity;
+        this.epochSeconds = epochSeconds;
+        this.temperaturesCelsius = temperaturesCelsius;
+        this.conditionCodes = conditionCodes;
+        this.conditions = conditions;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public int size() {
+        return epochSeconds.length;
+    }
+
+    public long epochSecondAt(int index) {
+        return epochSeconds[index];
+    }
+
+    public float celsiusAt(int index) {
+        return temperaturesCelsius[index];
+    }
+
+    public String conditionAt(int index) {
+        return conditions[conditionCodes[index]];
+    }
+
+    /**
+     * @return the index of the first point at or after {@code epochSecond}
+     */
+    public int firstIndexFrom(long epochSecond) {
+        int index = Arrays.binarySearch(epochSeconds, epochSecond);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * @return the index after the last point at or before {@code epochSecond}
+     */
+    public int endIndexTo(long epochSecond) {
+        int index = Arrays.binarySearch(epochSeconds, epochSecond);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
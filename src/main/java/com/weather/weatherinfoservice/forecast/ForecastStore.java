@@ -0,0 +1,91 @@
+package com.weather.weatherinfoservice.forecast;
+
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.models.ForecastRunRequest;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest forecast run per city.
+ *
+ * <p>A new run is converted into a fresh {@link ForecastRun} off to the side and then swapped in
+ * with a single map update, so a reader holds either the complete old run or the complete new
+ * one, never a mix. Runs arriving out of order are ignored when they were issued before the
+ * stored run.
+ *
+ * <p>Each tenant has its own forecasts, apart from the shared ones, selected by the tenant bound
+ * to the calling thread; they do not count towards the tenant's quota. Forecasts are held by one
+ * instance only, the leader or the city's cluster owner, and are not replicated.
+ */
+@Component
+public class ForecastStore {
+
+    private final Map<RunKey, ForecastRun> runs = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the forecast of a city with a new run.
+     *
+     * @return {@code true} if the run was stored, {@code false} if a newer run is already stored
+     * @throws InvalidRequestException if two points share the same time
+     */
+    public boolean replace(String city, ForecastRunRequest request) {
+        ForecastRun run = toRun(city, request);
+        ForecastRun stored = runs.merge(RunKey.of(city), run, (current, candidate) -> candidate.getIssuedAt().isBefore(current.getIssuedAt()) ? current : candidate);
+        return stored == run;
+    }
+
+    public Optional<ForecastRun> find(String city) {
+        return Optional.ofNullable(runs.get(RunKey.of(city)));
+    }
+
+    public boolean remove(String city) {
+        return runs.remove(RunKey.of(city)) != null;
+    }
+
+    private static ForecastRun toRun(String city, ForecastRunRequest request) {
+        List<ForecastRunRequest.Point> points = new ArrayList<>(request.getPoints());
+        points.sort(Comparator.comparing(ForecastRunRequest.Point::getTime));
+        int size = points.size();
+        long[] epochSeconds = new long[size];
+        float[] temperatures = new float[size];
+        short[] conditionCodes = new short[size];
+        Map<String, Short> dictionary = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            ForecastRunRequest.Point point = points.get(i);
+            epochSeconds[i] = point.getTime().getEpochSecond();
+            if (i > 0 && epochSeconds[i] == epochSeconds[i - 1]) {
+                throw new InvalidRequestException("forecast run has two points for " + point.getTime());
+            }
+            String unit = point.getUnit() != null ? point.getUnit() : TemperatureConverter.CANONICAL_UNIT;
+            temperatures[i] = (float) TemperatureConverter.toCelsius(point.getTemp(), unit);
+            conditionCodes[i] = dictionary.computeIfAbsent(point.getWeather(), weather -> (short) dictionary.size());
+        }
+        String[] conditions = new String[dictionary.size()];
+        dictionary.forEach((weather, code) -> conditions[code] = weather);
+        Instant issuedAt = request.getIssuedAt() != null ? request.getIssuedAt() : Instant.now();
+        return new ForecastRun(city, issuedAt, ForecastRun.Granularity.valueOf(request.getGranularity()),
+                epochSeconds, temperatures, conditionCodes, conditions);
+    }
+
+    /**
+     * A city in the namespace of a tenant, or in the shared one when {@code tenantId} is {@code null}.
+     */
+    private record RunKey(String tenantId, String city) {
+
+        static RunKey of(String city) {
+            TenantNamespace tenant = TenantContextHolder.getTenant();
+            return new RunKey(tenant != null ? tenant.getTenantId() : null, city);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.weather.weatherinfoservice.grpc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * gRPC server settings bound from {@code weather.grpc.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.grpc")
+public class GrpcProperties {
+
+    /**
+     * Whether the gRPC server is started next to the HTTP server.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Port the gRPC server listens on.
+     */
+    private int port = 9090;
+}
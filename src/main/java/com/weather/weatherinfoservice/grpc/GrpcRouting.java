@@ -0,0 +1,103 @@
+package com.weather.weatherinfoservice.grpc;
+
+import com.weather.weatherinfoservice.cluster.ClusterClient;
+import com.weather.weatherinfoservice.cluster.ClusterMembership;
+import com.weather.weatherinfoservice.replication.ReplicationProperties;
+import com.weather.weatherinfoservice.repositories.WriteCapture;
+import com.weather.weatherinfoservice.tenancy.TenancyProperties;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import io.grpc.Status;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Applies the deployment's routing rules to gRPC calls, which do not pass the HTTP routing
+ * filters.
+ *
+ * <p>gRPC calls are not forwarded. A call this instance may not answer fails with
+ * {@code FAILED_PRECONDITION} naming the instance to call instead:
+ * <ul>
+ *   <li>On a replication follower every write; writes go to the leader</li>
+ *   <li>In cluster mode a write of a city this instance does not own, and a read of a city it
+ *       neither owns nor replicates</li>
+ * </ul>
+ * Writes applied by a cluster owner are copied to the replicas like HTTP writes, see
+ * {@link #replicated(String, Supplier)}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "weather.grpc", name = "enabled", havingValue = "true")
+public class GrpcRouting {
+
+    private final ReplicationProperties replicationProperties;
+    private final ClusterMembership clusterMembership;
+    private final ClusterClient clusterClient;
+    private final TenancyProperties tenancyProperties;
+
+    public GrpcRouting(ReplicationProperties replicationProperties, @Nullable ClusterMembership clusterMembership,
+                       @Nullable ClusterClient clusterClient, TenancyProperties tenancyProperties) {
+        this.replicationProperties = replicationProperties;
+        this.clusterMembership = clusterMembership;
+        this.clusterClient = clusterClient;
+        this.tenancyProperties = tenancyProperties;
+    }
+
+    /**
+     * @throws io.grpc.StatusRuntimeException {@code FAILED_PRECONDITION} if the city must be read
+     *         from another cluster member
+     */
+    public void checkReadable(String city) {
+        if (clusterMembership != null && city != null && !clusterMembership.holdsCopy(city)) {
+            throw Status.FAILED_PRECONDITION
+                    .withDescription(city + " is held by " + clusterMembership.preferenceList(city))
+                    .asRuntimeException();
+        }
+    }
+
+    /**
+     * @throws io.grpc.StatusRuntimeException {@code FAILED_PRECONDITION} if the city must be
+     *         written on the leader or on another cluster member
+     */
+    public void checkWritable(String city) {
+        if ("follower".equals(replicationProperties.getRole())) {
+            throw Status.FAILED_PRECONDITION
+                    .withDescription("this instance is a follower, write to the leader at " + replicationProperties.getLeaderUrl())
+                    .asRuntimeException();
+        }
+        if (clusterMembership != null && city != null && !clusterMembership.isOwner(city)) {
+            throw Status.FAILED_PRECONDITION
+                    .withDescription(city + " is owned by " + clusterMembership.ownerOf(city))
+                    .asRuntimeException();
+        }
+    }
+
+    /**
+     * Applies a write of a city this instance owns and copies what it wrote to the city's
+     * replicas, from inside the write, see {@link ClusterClient#replicator(List, HttpHeaders)}.
+     */
+    public <T> T replicated(String city, Supplier<T> write) {
+        if (clusterMembership == null || clusterClient == null) {
+            return write.get();
+        }
+        List<String> preferenceList = clusterMembership.preferenceList(city);
+        if (preferenceList.size() < 2) {
+            return write.get();
+        }
+        HttpHeaders headers = new HttpHeaders();
+        TenantNamespace tenant = TenantContextHolder.getTenant();
+        if (tenant != null) {
+            headers.set(tenancyProperties.getHeader(), tenant.getTenantId());
+        }
+        WriteCapture.open(clusterClient.replicator(preferenceList.subList(1, preferenceList.size()), headers));
+        try {
+            return write.get();
+        } finally {
+            WriteCapture.close();
+        }
+    }
+}
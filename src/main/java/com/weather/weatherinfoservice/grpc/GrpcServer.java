@@ -0,0 +1,74 @@
+package com.weather.weatherinfoservice.grpc;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server alongside the embedded HTTP server.
+ *
+ * <p>Started after the application context is refreshed and stopped gracefully, allowing
+ * in-flight calls a short grace period, when the context closes.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.grpc", name = "enabled", havingValue = "true")
+public class GrpcServer implements SmartLifecycle {
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 5;
+
+    private final GrpcProperties grpcProperties;
+    private final WeatherGrpcService weatherGrpcService;
+    private final WeatherGrpcInterceptor weatherGrpcInterceptor;
+    private Server server;
+
+    public GrpcServer(GrpcProperties grpcProperties, WeatherGrpcService weatherGrpcService, WeatherGrpcInterceptor weatherGrpcInterceptor) {
+        this.grpcProperties = grpcProperties;
+        this.weatherGrpcService = weatherGrpcService;
+        this.weatherGrpcInterceptor = weatherGrpcInterceptor;
+    }
+
+    @Override
+    public void start() {
+        try {
+            server = Grpc.newServerBuilderForPort(grpcProperties.getPort(), InsecureServerCredentials.create())
+                    .addService(ServerInterceptors.intercept(weatherGrpcService, weatherGrpcInterceptor))
+                    .build()
+                    .start();
+            log.info("gRPC server started on port {}", server.getPort());
+        } catch (IOException exception) {
+            throw new UncheckedIOException("could not start gRPC server on port " + grpcProperties.getPort(), exception);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException exception) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null && !server.isShutdown();
+    }
+}
@@ -0,0 +1,116 @@
+package com.weather.weatherinfoservice.grpc;
+
+import com.weather.weatherinfoservice.exceptions.TenantQuotaExceededException;
+import com.weather.weatherinfoservice.idempotency.IdempotencyFilter;
+import com.weather.weatherinfoservice.tenancy.TenancyProperties;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantDirectory;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Carries the request metadata the HTTP filters read from headers into gRPC calls.
+ *
+ * <ul>
+ *   <li>The tenant metadata entry, named like {@code weather.tenancy.header}, binds the call to
+ *       that tenant's namespace while the service handles it, as {@link com.weather.weatherinfoservice.tenancy.TenantFilter}
+ *       does for HTTP. Invalid tenant ids fail with {@code INVALID_ARGUMENT}, tenants beyond the
+ *       limit with {@code RESOURCE_EXHAUSTED}</li>
+ *   <li>The {@code idempotency-key} entry is exposed as {@link #IDEMPOTENCY_KEY}</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "weather.grpc", name = "enabled", havingValue = "true")
+public class WeatherGrpcInterceptor implements ServerInterceptor {
+
+    /**
+     * Idempotency key of the current call, or {@code null}.
+     */
+    public static final Context.Key<String> IDEMPOTENCY_KEY = Context.key(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER);
+
+    private static final Metadata.Key<String> IDEMPOTENCY_KEY_METADATA =
+            Metadata.Key.of(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER.toLowerCase(Locale.ROOT), Metadata.ASCII_STRING_MARSHALLER);
+
+    private final TenantDirectory tenantDirectory;
+    private final Metadata.Key<String> tenantMetadata;
+
+    public WeatherGrpcInterceptor(@Nullable TenantDirectory tenantDirectory, TenancyProperties tenancyProperties) {
+        this.tenantDirectory = tenantDirectory;
+        this.tenantMetadata = Metadata.Key.of(tenancyProperties.getHeader().toLowerCase(Locale.ROOT), Metadata.ASCII_STRING_MARSHALLER);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        Context context = Context.current().withValue(IDEMPOTENCY_KEY, headers.get(IDEMPOTENCY_KEY_METADATA));
+        String tenantId = tenantDirectory != null ? headers.get(tenantMetadata) : null;
+        if (tenantId == null) {
+            return Contexts.interceptCall(context, call, headers, next);
+        }
+        TenantNamespace tenant;
+        try {
+            tenant = tenantDirectory.resolve(tenantId);
+        } catch (IllegalArgumentException exception) {
+            call.close(Status.INVALID_ARGUMENT.withDescription(exception.getMessage()), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        } catch (TenantQuotaExceededException exception) {
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription(exception.getMessage()), new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        }
+        ServerCall.Listener<ReqT> listener;
+        TenantContextHolder.setTenant(tenant);
+        try {
+            listener = Contexts.interceptCall(context, call, headers, next);
+        } finally {
+            TenantContextHolder.clear();
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                inTenant(tenant, () -> super.onMessage(message));
+            }
+
+            @Override
+            public void onHalfClose() {
+                inTenant(tenant, () -> super.onHalfClose());
+            }
+
+            @Override
+            public void onCancel() {
+                inTenant(tenant, () -> super.onCancel());
+            }
+
+            @Override
+            public void onComplete() {
+                inTenant(tenant, () -> super.onComplete());
+            }
+
+            @Override
+            public void onReady() {
+                inTenant(tenant, () -> super.onReady());
+            }
+        };
+    }
+
+    private static void inTenant(TenantNamespace tenant, Runnable action) {
+        TenantContextHolder.setTenant(tenant);
+        try {
+            action.run();
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.weather.weatherinfoservice.grpc;
+
+import com.google.protobuf.ByteString;
+import com.weather.weatherinfoservice.grpc.v1.WeatherData;
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Converts between the protobuf messages and the REST models shared with the service layer.
+ */
+final class WeatherGrpcMapper {
+
+    private WeatherGrpcMapper() {
+    }
+
+    static WeatherData toMessage(WeatherDataResponse response) {
+        WeatherData.Builder builder = WeatherData.newBuilder()
+                .setCity(response.getCity())
+                .setTemp(response.getTemp())
+                .setUnit(response.getUnit())
+                .setWeather(response.getWeather());
+        if (response.getUuid() != null) {
+            builder.setUuid(toBytes(response.getUuid()));
+        }
+        if (response.getDate() != null) {
+            builder.setEpochDay(response.getDate().toEpochDay());
+        }
+        return builder.build();
+    }
+
+    static WeatherData deleted(String city) {
+        return WeatherData.newBuilder().setCity(city).setDeleted(true).build();
+    }
+
+    /**
+     * Converts a message into a request; empty proto3 strings become {@code null} so the
+     * Jakarta constraints on {@link WeatherDataRequest} behave exactly as for JSON input.
+     */
+    static WeatherDataRequest toRequest(WeatherData message) {
+        return new WeatherDataRequest(
+                emptyToNull(message.getCity()),
+                emptyToNull(message.getTemp()),
+                emptyToNull(message.getUnit()),
+                message.getEpochDay() != 0 ? LocalDate.ofEpochDay(message.getEpochDay()) : null,
+                emptyToNull(message.getWeather()));
+    }
+
+    private static ByteString toBytes(UUID uuid) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+        return ByteString.copyFrom(buffer.array());
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
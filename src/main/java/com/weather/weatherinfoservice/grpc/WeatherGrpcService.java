@@ -0,0 +1,378 @@
+package com.weather.weatherinfoservice.grpc;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.weather.weatherinfoservice.exceptions.CityAlreadyExistException;
+import com.weather.weatherinfoservice.exceptions.CityNotFoundException;
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.grpc.v1.BulkUpsertResponse;
+import com.weather.weatherinfoservice.grpc.v1.CityRequest;
+import com.weather.weatherinfoservice.grpc.v1.DeleteWeatherResponse;
+import com.weather.weatherinfoservice.grpc.v1.WeatherData;
+import com.weather.weatherinfoservice.grpc.v1.WeatherLookup;
+import com.weather.weatherinfoservice.grpc.v1.WeatherServiceGrpc;
+import com.weather.weatherinfoservice.idempotency.IdempotencyProperties;
+import com.weather.weatherinfoservice.idempotency.IdempotencyStore;
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.services.WeatherServiceReader;
+import com.weather.weatherinfoservice.services.WeatherServiceWriter;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC implementation of the weather API.
+ *
+ * <p>Delegates to the same {@link WeatherServiceReader} and {@link WeatherServiceWriter} as
+ * {@link com.weather.weatherinfoservice.controllers.WeatherController}, applies the same
+ * Jakarta Bean Validation constraints to incoming data, and maps the service exceptions
+ * onto gRPC status codes:
+ * <ul>
+ *   <li>{@link CityNotFoundException} - {@code NOT_FOUND}</li>
+ *   <li>{@link CityAlreadyExistException} - {@code ALREADY_EXISTS}</li>
+ *   <li>constraint violations - {@code INVALID_ARGUMENT}</li>
+ * </ul>
+ *
+ * <p>Calls follow the deployment's routing rules through {@link GrpcRouting} and the tenant
+ * of the call bound by {@link WeatherGrpcInterceptor}. {@code AddWeather} and
+ * {@code UpdateWeather} calls carrying an {@code idempotency-key} are executed once and
+ * their result is returned to every retry with the same key, like HTTP writes with an
+ * {@code Idempotency-Key}; the two protocols keep separate keys. {@code WatchWeather} streams
+ * the shared data and, when the client reads slower than the city changes, skips to the
+ * latest reading instead of buffering every change.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.grpc", name = "enabled", havingValue = "true")
+public class WeatherGrpcService extends WeatherServiceGrpc.WeatherServiceImplBase {
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final WeatherServiceReader weatherServiceReader;
+    private final WeatherServiceWriter weatherServiceWriter;
+    private final WeatherWatchRegistry weatherWatchRegistry;
+    private final Validator validator;
+    private final GrpcRouting grpcRouting;
+    private final IdempotencyStore idempotencyStore;
+    private final long inFlightWaitNanos;
+
+    public WeatherGrpcService(WeatherServiceReader weatherServiceReader, WeatherServiceWriter weatherServiceWriter,
+                              WeatherWatchRegistry weatherWatchRegistry, Validator validator) {
+        this(weatherServiceReader, weatherServiceWriter, weatherWatchRegistry, validator, null, new IdempotencyProperties());
+    }
+
+    @Autowired
+    public WeatherGrpcService(WeatherServiceReader weatherServiceReader, WeatherServiceWriter weatherServiceWriter,
+                              WeatherWatchRegistry weatherWatchRegistry, Validator validator,
+                              @Nullable GrpcRouting grpcRouting, IdempotencyProperties idempotencyProperties) {
+        this.weatherServiceReader = weatherServiceReader;
+        this.weatherServiceWriter = weatherServiceWriter;
+        this.weatherWatchRegistry = weatherWatchRegistry;
+        this.validator = validator;
+        this.grpcRouting = grpcRouting;
+        this.idempotencyStore = idempotencyProperties.isEnabled()
+                ? new IdempotencyStore(idempotencyProperties.getTtl().toNanos(), idempotencyProperties.getMaxEntries(), System::nanoTime)
+                : null;
+        this.inFlightWaitNanos = idempotencyProperties.getInFlightWait().toNanos();
+    }
+
+    @Override
+    public void getWeather(CityRequest request, StreamObserver<WeatherData> responseObserver) {
+        try {
+            checkReadable(request.getCity());
+            responseObserver.onNext(WeatherGrpcMapper.toMessage(weatherServiceReader.getWeatherData(request.getCity())));
+            responseObserver.onCompleted();
+        } catch (RuntimeException exception) {
+            responseObserver.onError(toStatus(exception));
+        }
+    }
+
+    @Override
+    public void addWeather(WeatherData request, StreamObserver<WeatherData> responseObserver) {
+        try {
+            WeatherDataRequest data = validated(request);
+            checkWritable(data.getCity());
+            responseObserver.onNext(idempotent("AddWeather", request, () -> {
+                WeatherDataResponse added = replicated(data.getCity(), () -> weatherServiceWriter.addWeatherData(data));
+                return WeatherGrpcMapper.toMessage(added);
+            }));
+            responseObserver.onCompleted();
+        } catch (RuntimeException exception) {
+            responseObserver.onError(toStatus(exception));
+        }
+    }
+
+    @Override
+    public void updateWeather(WeatherData request, StreamObserver<WeatherData> responseObserver) {
+        try {
+            WeatherDataRequest data = validated(request);
+            checkWritable(data.getCity());
+            responseObserver.onNext(idempotent("UpdateWeather", request, () -> {
+                WeatherDataResponse updated = replicated(data.getCity(), () -> weatherServiceWriter.updateWeatherData(data));
+                return WeatherGrpcMapper.toMessage(updated);
+            }));
+            responseObserver.onCompleted();
+        } catch (RuntimeException exception) {
+            responseObserver.onError(toStatus(exception));
+        }
+    }
+
+    @Override
+    public void deleteWeather(CityRequest request, StreamObserver<DeleteWeatherResponse> responseObserver) {
+        try {
+            checkWritable(request.getCity());
+            replicated(request.getCity(), () -> {
+                weatherServiceWriter.deleteWeatherData(request.getCity());
+                return null;
+            });
+            responseObserver.onNext(DeleteWeatherResponse.newBuilder().setSuccess(true).build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException exception) {
+            responseObserver.onError(toStatus(exception));
+        }
+    }
+
+    @Override
+    public void watchWeather(CityRequest request, StreamObserver<WeatherData> responseObserver) {
+        String city = request.getCity();
+        if (TenantContextHolder.getTenant() != null) {
+            // tenant changes are not reported to repository listeners, so a tenant watch would miss them
+            responseObserver.onError(Status.UNIMPLEMENTED
+                    .withDescription("WatchWeather follows the shared data and is not available to tenants").asRuntimeException());
+            return;
+        }
+        try {
+            checkReadable(city);
+        } catch (RuntimeException exception) {
+            responseObserver.onError(toStatus(exception));
+            return;
+        }
+        if (responseObserver instanceof ServerCallStreamObserver<WeatherData> serverObserver) {
+            serverObserver.setOnCancelHandler(() -> weatherWatchRegistry.unwatch(city, responseObserver));
+        }
+        weatherWatchRegistry.watch(city, responseObserver,
+                () -> WeatherGrpcMapper.toMessage(weatherServiceReader.getWeatherData(city)));
+    }
+
+    @Override
+    public StreamObserver<WeatherData> bulkUpsert(StreamObserver<BulkUpsertResponse> responseObserver) {
+        try {
+            checkWritable(null);
+        } catch (RuntimeException exception) {
+            responseObserver.onError(toStatus(exception));
+            return new StreamObserver<>() {
+                @Override
+                public void onNext(WeatherData data) {
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            };
+        }
+        return new StreamObserver<>() {
+            private int added;
+            private int updated;
+            private int rejected;
+
+            @Override
+            public void onNext(WeatherData data) {
+                try {
+                    WeatherDataRequest request = validated(data);
+                    checkWritable(request.getCity());
+                    try {
+                        replicated(request.getCity(), () -> weatherServiceWriter.addWeatherData(request));
+                        added++;
+                    } catch (CityAlreadyExistException exception) {
+                        replicated(request.getCity(), () -> weatherServiceWriter.updateWeatherData(request));
+                        updated++;
+                    }
+                } catch (RuntimeException exception) {
+                    log.debug("bulk upsert rejected {}: {}", data.getCity(), exception.getMessage());
+                    rejected++;
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                log.warn("bulk upsert stream aborted after {} added, {} updated: {}", added, updated, throwable.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onNext(BulkUpsertResponse.newBuilder()
+                        .setAdded(added)
+                        .setUpdated(updated)
+                        .setRejected(rejected)
+                        .build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public StreamObserver<CityRequest> multiGet(StreamObserver<WeatherLookup> responseObserver) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(CityRequest request) {
+                WeatherLookup.Builder lookup = WeatherLookup.newBuilder().setCity(request.getCity());
+                try {
+                    checkReadable(request.getCity());
+                    lookup.setData(WeatherGrpcMapper.toMessage(weatherServiceReader.getWeatherData(request.getCity())));
+                } catch (RuntimeException exception) {
+                    lookup.setError(exception.getMessage() != null ? exception.getMessage() : exception.getClass().getSimpleName());
+                }
+                responseObserver.onNext(lookup.build());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                log.debug("multi-get stream aborted: {}", throwable.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    private void checkReadable(String city) {
+        if (grpcRouting != null) {
+            grpcRouting.checkReadable(city);
+        }
+    }
+
+    private void checkWritable(String city) {
+        if (grpcRouting != null) {
+            grpcRouting.checkWritable(city);
+        }
+    }
+
+    private <T> T replicated(String city, Supplier<T> write) {
+        return grpcRouting != null ? grpcRouting.replicated(city, write) : write.get();
+    }
+
+    /**
+     * Executes a write once per idempotency key of the call, see the class comment. Failed
+     * writes are not remembered, so a retry executes again.
+     */
+    private WeatherData idempotent(String method, WeatherData request, Supplier<WeatherData> write) {
+        String key = WeatherGrpcInterceptor.IDEMPOTENCY_KEY.get();
+        if (key == null || idempotencyStore == null) {
+            return write.get();
+        }
+        if (key.isBlank() || key.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription("idempotency-key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters")
+                    .asRuntimeException();
+        }
+        TenantNamespace tenant = TenantContextHolder.getTenant();
+        // tenant ids never contain ':', so a leading ':' keeps shared keys apart from tenant keys
+        String scopedKey = (tenant == null ? "" : tenant.getTenantId()) + ":" + key;
+        String fingerprint = method + " " + digest(request.toByteArray());
+        long deadline = System.nanoTime() + inFlightWaitNanos;
+
+        while (true) {
+            IdempotencyStore.Claim claim = idempotencyStore.claim(scopedKey, fingerprint);
+            if (claim.owned()) {
+                boolean remembered = false;
+                try {
+                    WeatherData result = write.get();
+                    idempotencyStore.complete(claim.entry(), new IdempotencyStore.StoredResponse(Status.Code.OK.value(), null, result.toByteArray()));
+                    remembered = true;
+                    return result;
+                } finally {
+                    if (!remembered) {
+                        idempotencyStore.abandon(claim.entry());
+                    }
+                }
+            }
+            IdempotencyStore.Entry original = claim.entry();
+            if (!original.fingerprint().equals(fingerprint)) {
+                throw Status.INVALID_ARGUMENT
+                        .withDescription("idempotency-key " + key + " was already used for a different request")
+                        .asRuntimeException();
+            }
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = original.response().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException exception) {
+                throw Status.ABORTED
+                        .withDescription("a call with idempotency-key " + key + " is still in progress")
+                        .asRuntimeException();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw Status.CANCELLED.withDescription("interrupted while waiting for the original call").asRuntimeException();
+            }
+            if (stored != null) {
+                try {
+                    return WeatherData.parseFrom(stored.body());
+                } catch (InvalidProtocolBufferException exception) {
+                    throw new IllegalStateException("stored result of idempotency-key " + key + " is unreadable", exception);
+                }
+            }
+            // the original failed and gave the key up, try to run it ourselves
+        }
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private WeatherDataRequest validated(WeatherData data) {
+        WeatherDataRequest request = WeatherGrpcMapper.toRequest(data);
+        Set<ConstraintViolation<WeatherDataRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw Status.INVALID_ARGUMENT
+                    .withDescription(violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", ")))
+                    .asRuntimeException();
+        }
+        return request;
+    }
+
+    static StatusRuntimeException toStatus(RuntimeException exception) {
+        if (exception instanceof StatusRuntimeException statusException) {
+            return statusException;
+        }
+        Status status;
+        if (exception instanceof CityNotFoundException) {
+            status = Status.NOT_FOUND;
+        } else if (exception instanceof CityAlreadyExistException) {
+            status = Status.ALREADY_EXISTS;
+        } else if (exception instanceof InvalidRequestException) {
+            status = Status.INVALID_ARGUMENT;
+        } else {
+            status = Status.INTERNAL;
+        }
+        return status.withDescription(exception.getMessage()).asRuntimeException();
+    }
+}
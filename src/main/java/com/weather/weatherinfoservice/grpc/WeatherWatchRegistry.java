@@ -0,0 +1,163 @@
+package com.weather.weatherinfoservice.grpc;
+
+import com.weather.weatherinfoservice.grpc.v1.WeatherData;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.WeatherDataChangeListener;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Fans repository changes out to {@code WatchWeather} streams.
+ *
+ * <p>The repository notifies this registry under its per-city lock, so the registry only does
+ * a map lookup there and hands delivery to a single dispatcher thread, which keeps the
+ * per-city order and never lets a slow client hold up a writer.
+ *
+ * <p>Each stream holds at most one undelivered reading. A reading is only sent while the
+ * transport reports the stream ready; otherwise it waits, replaced by any newer reading, until
+ * the stream becomes ready again. A slow client therefore skips intermediate readings but
+ * always ends with the latest one, and no stream buffers more than a single message.
+ *
+ * <p>Only shared data is watched: tenant changes are not reported to repository listeners, so
+ * {@link WeatherGrpcService} refuses watches from tenant calls.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.grpc", name = "enabled", havingValue = "true")
+public class WeatherWatchRegistry implements WeatherDataChangeListener {
+
+    private final WeatherRepository weatherRepository;
+    private final Map<String, Map<StreamObserver<WeatherData>, Watcher>> watchers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("grpc-watch-dispatcher").daemon().factory());
+
+    public WeatherWatchRegistry(WeatherRepository weatherRepository) {
+        this.weatherRepository = weatherRepository;
+    }
+
+    /**
+     * Registers with the repository, once the instance is fully constructed.
+     */
+    @PostConstruct
+    public void subscribe() {
+        weatherRepository.addChangeListener(this);
+    }
+
+    /**
+     * Subscribes an observer to changes of a city.
+     *
+     * <p>The initial reading is produced on the dispatcher thread after registration, so it is
+     * ordered with the change notifications and a concurrent write can never be overtaken by
+     * an older initial value. Must be called before the call handler returns, so that the
+     * registry can follow the readiness of a {@link ServerCallStreamObserver}.
+     *
+     * @param city the city to watch
+     * @param observer the stream receiving the readings
+     * @param initial produces the current reading, or throws if the city is unknown
+     */
+    public void watch(String city, StreamObserver<WeatherData> observer, Supplier<WeatherData> initial) {
+        Watcher watcher = new Watcher(city, observer);
+        if (observer instanceof ServerCallStreamObserver<WeatherData> serverObserver) {
+            serverObserver.setOnReadyHandler(watcher::drain);
+        }
+        watchers.computeIfAbsent(city, key -> new ConcurrentHashMap<>()).put(observer, watcher);
+        dispatcher.execute(() -> {
+            WeatherData reading;
+            try {
+                reading = initial.get();
+            } catch (RuntimeException exception) {
+                unwatch(city, observer);
+                watcher.fail(WeatherGrpcService.toStatus(exception));
+                return;
+            }
+            watcher.offer(reading);
+        });
+    }
+
+    public void unwatch(String city, StreamObserver<WeatherData> observer) {
+        watchers.computeIfPresent(city, (key, observers) -> {
+            observers.remove(observer);
+            return observers.isEmpty() ? null : observers;
+        });
+    }
+
+    @Override
+    public void onChange(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        Map<StreamObserver<WeatherData>, Watcher> observers = watchers.get(city);
+        if (observers == null) {
+            return;
+        }
+        WeatherData update = current != null
+                ? WeatherGrpcMapper.toMessage(new WeatherDataResponse(current))
+                : WeatherGrpcMapper.deleted(city);
+        dispatcher.execute(() -> {
+            for (Watcher watcher : observers.values()) {
+                watcher.offer(update);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * One stream and its undelivered reading. Sends are serialized on the watcher, since the
+     * dispatcher and the transport's ready callback both deliver.
+     */
+    private final class Watcher {
+
+        private final String city;
+        private final StreamObserver<WeatherData> observer;
+        private WeatherData pending;
+        private boolean closed;
+
+        private Watcher(String city, StreamObserver<WeatherData> observer) {
+            this.city = city;
+            this.observer = observer;
+        }
+
+        synchronized void offer(WeatherData reading) {
+            pending = reading;
+            drain();
+        }
+
+        synchronized void drain() {
+            if (closed || pending == null || !ready()) {
+                return;
+            }
+            WeatherData reading = pending;
+            pending = null;
+            try {
+                observer.onNext(reading);
+            } catch (RuntimeException exception) {
+                log.debug("dropping watcher of {}: {}", city, exception.getMessage());
+                closed = true;
+                unwatch(city, observer);
+            }
+        }
+
+        synchronized void fail(RuntimeException status) {
+            closed = true;
+            observer.onError(status);
+        }
+
+        private boolean ready() {
+            return !(observer instanceof ServerCallStreamObserver<WeatherData> serverObserver) || serverObserver.isReady();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.weather.weatherinfoservice.hotkeys;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-Min sketch of key frequencies together with a min-heap of the heaviest keys.
+ *
+ * <p>Adding a key increments one counter in each row; the smallest of those counters is its
+ * estimate, which never undercounts and overcounts only by collisions. A key whose estimate
+ * exceeds the lightest key in the heap replaces it. Keys already in the heap skip the heap
+ * entirely, so the heaviest keys only pay for their counter increments. Heap counts are
+ * refreshed from the counters whenever the heap is read or a newcomer competes for it.
+ *
+ * <p>{@link #decay()} halves all counts, so that old popularity fades.
+ */
+public class HeavyHitterSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int width;
+    private final int shift;
+    private final int depth;
+    private final int capacity;
+    private final AtomicLongArray counters;
+    private final LongAdder total = new LongAdder();
+    private final Map<String, Candidate> members = new ConcurrentHashMap<>();
+    private final PriorityQueue<Candidate> heap = new PriorityQueue<>(Comparator.comparingLong(Candidate::count));
+    private volatile long admission;
+
+    /**
+     * @param width counters per row, rounded up to a power of two of at least 2
+     * @param depth rows, at most 8
+     * @param capacity keys kept in the heap
+     */
+    public HeavyHitterSketch(int width, int depth, int capacity) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth must be between 1 and " + SEEDS.length + ": " + depth);
+        }
+        if (width < 1 || capacity < 1) {
+            throw new IllegalArgumentException("width and capacity must be positive");
+        }
+        int rounded = Math.max(2, Integer.highestOneBit(width));
+        this.width = rounded < width ? rounded << 1 : rounded;
+        this.shift = Long.numberOfLeadingZeros(this.width) + 1;
+        this.depth = depth;
+        this.capacity = capacity;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    public void add(String key, long weight) {
+        total.add(weight);
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(hash, row), weight));
+        }
+        if (estimate > admission && !members.containsKey(key)) {
+            admit(key, estimate);
+        }
+    }
+
+    public long estimate(String key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Weight added since the start, decayed like the counts.
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * The keys in the heap with their current estimates, heaviest first.
+     */
+    public synchronized List<Estimate> top() {
+        refresh();
+        List<Estimate> top = new ArrayList<>(heap.size());
+        for (Candidate candidate : heap) {
+            top.add(new Estimate(candidate.key, candidate.count));
+        }
+        top.sort(Comparator.comparingLong(Estimate::count).reversed().thenComparing(Estimate::key));
+        return top;
+    }
+
+    /**
+     * Halves every count. Weight added concurrently may be halved or not.
+     */
+    public synchronized void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >> 1);
+        }
+        long sum = total.sumThenReset();
+        total.add(sum >> 1);
+        refresh();
+    }
+
+    private synchronized void admit(String key, long estimate) {
+        if (members.containsKey(key)) {
+            return;
+        }
+        if (heap.size() >= capacity) {
+            refresh();
+            Candidate lightest = heap.peek();
+            if (estimate <= lightest.count) {
+                return;
+            }
+            heap.poll();
+            members.remove(lightest.key);
+        }
+        Candidate candidate = new Candidate(key, estimate);
+        heap.add(candidate);
+        members.put(key, candidate);
+        admission = heap.size() >= capacity ? heap.peek().count : 0;
+    }
+
+    /**
+     * Re-reads the estimates of the keys in the heap, restores the heap order and raises or
+     * lowers the admission bar to the new lightest key.
+     */
+    private void refresh() {
+        List<Candidate> candidates = new ArrayList<>(heap);
+        heap.clear();
+        for (Candidate candidate : candidates) {
+            candidate.count = estimate(candidate.key);
+        }
+        heap.addAll(candidates);
+        admission = heap.size() >= capacity ? heap.peek().count : 0;
+    }
+
+    private int index(int hash, int row) {
+        // multiplicative hashing: the top bits of the product depend on all bits of the hash
+        return row * width + (int) ((hash * SEEDS[row]) >>> shift);
+    }
+
+    /**
+     * Estimated weight of a key.
+     */
+    public record Estimate(String key, long count) {
+    }
+
+    private static final class Candidate {
+
+        private final String key;
+        private long count;
+
+        Candidate(String key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        long count() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.weather.weatherinfoservice.hotkeys;
+
+/**
+ * A city among the most looked up ones.
+ *
+ * @param city the city
+ * @param estimatedLookups recent lookups, decayed by the half-life and possibly overcounted
+ * @param share share of all recent lookups
+ * @param pinned whether lookups are currently answered from the pinned snapshot
+ */
+public record HotKey(String city, long estimatedLookups, double share, boolean pinned) {
+}
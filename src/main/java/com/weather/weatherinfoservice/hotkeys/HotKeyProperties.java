@@ -0,0 +1,59 @@
+package com.weather.weatherinfoservice.hotkeys;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hot key tracking settings bound from {@code weather.hotkeys.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.hotkeys")
+public class HotKeyProperties {
+
+    /**
+     * Whether lookups are counted and the most read cities are pinned.
+     */
+    private boolean enabled;
+
+    /**
+     * Counters per row of the Count-Min sketch, rounded up to a power of two.
+     */
+    private int sketchWidth = 2048;
+
+    /**
+     * Rows of the Count-Min sketch, at most 8.
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * Heaviest cities tracked, and listed by {@code GET /weather/admin/hot-keys}.
+     */
+    private int topK = 32;
+
+    /**
+     * One lookup in this many is counted, with this weight. 1 counts every lookup.
+     */
+    private int sampleEvery = 4;
+
+    /**
+     * Most cities pinned at a time.
+     */
+    private int pinnedCapacity = 16;
+
+    /**
+     * Share of recent lookups a city needs to be pinned.
+     */
+    private double pinShare = 0.01;
+
+    /**
+     * Time between rebuilds of the pinned cities.
+     */
+    private Duration republishInterval = Duration.ofSeconds(1);
+
+    /**
+     * Time after which counted lookups weigh half.
+     */
+    private Duration halfLife = Duration.ofMinutes(1);
+}
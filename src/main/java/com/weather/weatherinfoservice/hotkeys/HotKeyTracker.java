@@ -0,0 +1,207 @@
+package com.weather.weatherinfoservice.hotkeys;
+
+import com.weather.weatherinfoservice.repositories.WeatherDataChangeListener;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts city lookups in a {@link HeavyHitterSketch} and pins the most looked up cities into a
+ * small immutable snapshot that lookups consult before {@link WeatherRepository}.
+ *
+ * <p>Lookups are sampled, one in {@code weather.hotkeys.sample-every}, to keep the counters of
+ * the hottest cities from becoming contended themselves. Every
+ * {@code weather.hotkeys.republish-interval} the cities holding at least
+ * {@code weather.hotkeys.pin-share} of recent lookups are read from the repository and published
+ * as a new snapshot. Readers then share one immutable map instead of the repository's per-city
+ * state, and the repository's read accounting is skipped for them. Since the repository no
+ * longer sees those reads, pinned cities are exempt from its demotion to the cold tier.
+ *
+ * <p>Writes keep the snapshot current: as a {@link WeatherDataChangeListener} the tracker
+ * replaces or removes a pinned city in the same per-city lock that applies the change. A change
+ * that arrives while a snapshot is being loaded leaves its city out of that snapshot, so a
+ * snapshot never holds an entry older than the repository's. Only shared data is pinned; lookups
+ * of a tenant request always go to the repository.
+ *
+ * <p><strong>Metrics:</strong>
+ * <ul>
+ *   <li>{@code weather.hotkeys.pinned} - cities currently pinned</li>
+ *   <li>{@code weather.hotkeys.pinned.lookups} - lookups answered from the snapshot</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.hotkeys", name = "enabled", havingValue = "true")
+public class HotKeyTracker implements SmartLifecycle, WeatherDataChangeListener {
+
+    private final WeatherRepository weatherRepository;
+    private final HotKeyProperties hotKeyProperties;
+    private final MeterRegistry meterRegistry;
+    private final HeavyHitterSketch sketch;
+    private final int sampleEvery;
+    private final LongAdder pinnedLookups = new LongAdder();
+    private volatile Map<String, WeatherDataEntity> pinned = Map.of();
+    private volatile Set<String> loading = Set.of();
+    private Set<String> changedWhileLoading = new HashSet<>();
+    private long lastDecayNanos = System.nanoTime();
+    private ScheduledExecutorService scheduler;
+
+    public HotKeyTracker(WeatherRepository weatherRepository, HotKeyProperties hotKeyProperties, MeterRegistry meterRegistry) {
+        this.weatherRepository = weatherRepository;
+        this.hotKeyProperties = hotKeyProperties;
+        this.meterRegistry = meterRegistry;
+        this.sketch = new HeavyHitterSketch(hotKeyProperties.getSketchWidth(), hotKeyProperties.getSketchDepth(), hotKeyProperties.getTopK());
+        this.sampleEvery = Math.max(1, hotKeyProperties.getSampleEvery());
+    }
+
+    /**
+     * Registers with the repository and the meter registry, once the instance is fully constructed.
+     */
+    @PostConstruct
+    public void subscribe() {
+        weatherRepository.addChangeListener(this);
+        weatherRepository.keepHot(city -> pinned.containsKey(city));
+
+        Gauge.builder("weather.hotkeys.pinned", this, tracker -> tracker.pinned.size()).register(meterRegistry);
+        FunctionCounter.builder("weather.hotkeys.pinned.lookups", pinnedLookups, LongAdder::sum).register(meterRegistry);
+    }
+
+    /**
+     * Counts a lookup of {@code city}.
+     */
+    public void record(String city) {
+        if (sampleEvery == 1) {
+            sketch.add(city, 1);
+        } else if (ThreadLocalRandom.current().nextInt(sampleEvery) == 0) {
+            sketch.add(city, sampleEvery);
+        }
+    }
+
+    /**
+     * @return the pinned entry of {@code city}, or {@code null} if the city is not pinned or a
+     *         tenant is bound to the calling thread
+     */
+    public WeatherDataEntity findPinned(String city) {
+        if (TenantContextHolder.getTenant() != null) {
+            return null;
+        }
+        WeatherDataEntity entity = pinned.get(city);
+        if (entity != null) {
+            pinnedLookups.increment();
+        }
+        return entity;
+    }
+
+    /**
+     * The most looked up cities, most looked up first.
+     */
+    public List<HotKey> hotKeys(int limit) {
+        long total = Math.max(1, sketch.total());
+        Map<String, WeatherDataEntity> snapshot = pinned;
+        return sketch.top().stream()
+                .limit(limit)
+                .map(estimate -> new HotKey(estimate.key(), estimate.count(), (double) estimate.count() / total,
+                        snapshot.containsKey(estimate.key())))
+                .toList();
+    }
+
+    /**
+     * Decays the counts once per half-life and publishes a new snapshot of the heavy hitters.
+     */
+    public void republish() {
+        long now = System.nanoTime();
+        if (now - lastDecayNanos >= hotKeyProperties.getHalfLife().toNanos()) {
+            sketch.decay();
+            lastDecayNanos = now;
+        }
+        long threshold = Math.max(1, (long) Math.ceil(sketch.total() * hotKeyProperties.getPinShare()));
+        Set<String> cities = new LinkedHashSet<>();
+        for (HeavyHitterSketch.Estimate estimate : sketch.top()) {
+            if (estimate.count() >= threshold && cities.size() < hotKeyProperties.getPinnedCapacity()) {
+                cities.add(estimate.key());
+            }
+        }
+        synchronized (this) {
+            changedWhileLoading = new HashSet<>();
+            loading = cities;
+        }
+        Map<String, WeatherDataEntity> loaded = new HashMap<>();
+        for (String city : cities) {
+            weatherRepository.findLatestWeatherByCity(city).ifPresent(entity -> loaded.put(city, entity));
+        }
+        synchronized (this) {
+            loaded.keySet().removeAll(changedWhileLoading);
+            pinned = Map.copyOf(loaded);
+            loading = Set.of();
+        }
+    }
+
+    @Override
+    public void onChange(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        if (!pinned.containsKey(city) && !loading.contains(city)) {
+            return;
+        }
+        synchronized (this) {
+            if (loading.contains(city)) {
+                changedWhileLoading.add(city);
+            }
+            if (pinned.containsKey(city)) {
+                Map<String, WeatherDataEntity> updated = new HashMap<>(pinned);
+                if (current == null) {
+                    updated.remove(city);
+                } else {
+                    updated.put(city, current);
+                }
+                pinned = Map.copyOf(updated);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        long intervalMillis = hotKeyProperties.getRepublishInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("weather-hotkeys").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::republishSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void republishSafely() {
+        try {
+            republish();
+        } catch (RuntimeException exception) {
+            log.error("republishing the pinned cities failed", exception);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.weather.weatherinfoservice.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import com.weather.weatherinfoservice.util.CachedBodyRequest;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes {@code POST /weather} and {@code PUT /weather} safe to retry.
+ *
+ * <p>A write carrying an {@code Idempotency-Key} header is executed once; the response is
+ * remembered in an {@link IdempotencyStore} and replayed byte for byte, with an
+ * {@code Idempotent-Replayed: true} header, to every retry with the same key. The repository is
+ * not touched again, so a retried create answers 201 instead of 409.
+ *
+ * <p><strong>Edge Cases:</strong>
+ * <ul>
+ *   <li>A retry arriving while the original is still running waits for its outcome</li>
+ *   <li>Reusing a key for a different method, URL or body is rejected with 422</li>
+ *   <li>Server errors (5xx) are not remembered, so the retry executes again</li>
+ *   <li>Keys are scoped by tenant, so tenants cannot replay each other's responses</li>
+ *   <li>Writes without the header behave exactly as before</li>
+ * </ul>
+ *
+ * <p><strong>Metrics:</strong> {@code weather.idempotency.requests} tagged
+ * {@code outcome=executed|replayed|mismatch|in-progress}, and {@code weather.idempotency.keys}.
+ */
+@Component
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+@ConditionalOnProperty(prefix = "weather.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter implements MeterBinder {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties idempotencyProperties;
+    private final ObjectMapper objectMapper;
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder mismatched = new LongAdder();
+    private final LongAdder inProgress = new LongAdder();
+
+    public IdempotencyFilter(IdempotencyProperties idempotencyProperties, ObjectMapper objectMapper) {
+        this.idempotencyProperties = idempotencyProperties;
+        this.objectMapper = objectMapper;
+        this.idempotencyStore = new IdempotencyStore(idempotencyProperties.getTtl().toNanos(), idempotencyProperties.getMaxEntries(), System::nanoTime);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        bindOutcome(meterRegistry, "executed", executed);
+        bindOutcome(meterRegistry, "replayed", replayed);
+        bindOutcome(meterRegistry, "mismatch", mismatched);
+        bindOutcome(meterRegistry, "in-progress", inProgress);
+        Gauge.builder("weather.idempotency.keys", idempotencyStore, IdempotencyStore::size).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"/weather".equals(request.getServletPath())
+                || !(HttpMethod.POST.matches(request.getMethod()) || HttpMethod.PUT.matches(request.getMethod()))
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(request, body);
+        TenantNamespace tenant = TenantContextHolder.getTenant();
+        // tenant ids never contain ':', so a leading ':' keeps shared keys apart from tenant keys
+        String scopedKey = (tenant == null ? "" : tenant.getTenantId()) + ":" + key;
+        long deadline = System.nanoTime() + idempotencyProperties.getInFlightWait().toNanos();
+
+        while (true) {
+            IdempotencyStore.Claim claim = idempotencyStore.claim(scopedKey, fingerprint);
+            if (claim.owned()) {
+                execute(claim.entry(), new CachedBodyRequest(request, body), response, filterChain);
+                return;
+            }
+            IdempotencyStore.Entry original = claim.entry();
+            if (!original.fingerprint().equals(fingerprint)) {
+                mismatched.increment();
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, IDEMPOTENCY_KEY_HEADER + " " + key + " was already used for a different request");
+                return;
+            }
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = original.response().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException exception) {
+                inProgress.increment();
+                writeError(response, HttpStatus.CONFLICT, "a request with " + IDEMPOTENCY_KEY_HEADER + " " + key + " is still in progress");
+                return;
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("interrupted while waiting for the original request", exception);
+            }
+            if (stored != null) {
+                replay(stored, response);
+                return;
+            }
+            // the original failed with a server error and gave the key up, try to run it ourselves
+        }
+    }
+
+    private void execute(IdempotencyStore.Entry owned, HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        boolean remembered = false;
+        try {
+            filterChain.doFilter(request, cachedResponse);
+            executed.increment();
+            if (cachedResponse.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                idempotencyStore.complete(owned, new IdempotencyStore.StoredResponse(cachedResponse.getStatus(), cachedResponse.getContentType(), cachedResponse.getContentAsByteArray()));
+                remembered = true;
+            }
+        } finally {
+            if (!remembered) {
+                idempotencyStore.abandon(owned);
+            }
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "timestamp", LocalDateTime.now().toString(),
+                "message", message,
+                "status", status.value()));
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return request.getMethod() + " " + request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "")
+                    + " " + Base64.getEncoder().encodeToString(digest.digest(body));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    private static void bindOutcome(MeterRegistry meterRegistry, String outcome, LongAdder count) {
+        FunctionCounter.builder("weather.idempotency.requests", count, LongAdder::sum).tag("outcome", outcome).register(meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.weather.weatherinfoservice.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Write deduplication settings bound from {@code weather.idempotency.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Whether writes carrying an {@code Idempotency-Key} header are deduplicated.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long the response of a key is kept for replay.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of keys remembered; the oldest are forgotten first.
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * How long a retry waits for the original request when both are in flight at the same time.
+     */
+    private Duration inFlightWait = Duration.ofSeconds(5);
+}
@@ -0,0 +1,90 @@
+package com.weather.weatherinfoservice.idempotency;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, time-expiring table of idempotency keys and the responses they produced.
+ *
+ * <p>Keys live in a {@link ConcurrentHashMap}, so requests with different keys never contend.
+ * Every key has the same time to live, which makes insertion order equal to expiry order:
+ * a FIFO queue next to the map is enough to drop expired keys and to enforce the size bound
+ * without scanning.
+ */
+public class IdempotencyStore {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    public IdempotencyStore(long ttlNanos, int maxEntries, LongSupplier nanoClock) {
+        this.ttlNanos = ttlNanos;
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Response replayed for a retried request.
+     */
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * A remembered key: the fingerprint of the request that first used it and the eventual response.
+     * The response is {@code null} if the original request was abandoned.
+     */
+    public record Entry(String key, String fingerprint, long expiresAtNanos, CompletableFuture<StoredResponse> response) {
+    }
+
+    /**
+     * Outcome of {@link #claim}: either a fresh entry the caller now owns and must
+     * {@link #complete} or {@link #abandon}, or the live entry of an earlier request with the same key.
+     */
+    public record Claim(Entry entry, boolean owned) {
+    }
+
+    public Claim claim(String key, String fingerprint) {
+        long now = nanoClock.getAsLong();
+        Entry claimed = new Entry(key, fingerprint, now + ttlNanos, new CompletableFuture<>());
+        Entry current = entries.compute(key, (k, existing) -> existing == null || existing.expiresAtNanos - now <= 0 ? claimed : existing);
+        if (current != claimed) {
+            return new Claim(current, false);
+        }
+        insertionOrder.add(claimed);
+        evict(now);
+        return new Claim(claimed, true);
+    }
+
+    /**
+     * Records the response of an owned key so that retries replay it.
+     */
+    public void complete(Entry owned, StoredResponse response) {
+        owned.response.complete(response);
+    }
+
+    /**
+     * Forgets an owned key whose request should be executed again on retry.
+     */
+    public void abandon(Entry owned) {
+        entries.remove(owned.key, owned);
+        owned.response.complete(null);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = insertionOrder.peek()) != null && (entries.size() > maxEntries || oldest.expiresAtNanos - now <= 0)) {
+            if (insertionOrder.remove(oldest)) {
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.weather.weatherinfoservice.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Tags every log event of a request with a correlation id.
+ *
+ * <p>The id is taken from the correlation header when the caller sent a well-formed one and
+ * generated otherwise. It is put into the MDC as {@code requestId}, which the structured log
+ * formats emit as a field, and echoed in the response header so that clients can quote it.
+ * The filter runs first so that the other filters' logs carry the id as well.
+ */
+@Component
+@EnableConfigurationProperties(LoggingProperties.class)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String MDC_KEY = "requestId";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final LoggingProperties loggingProperties;
+
+    public CorrelationIdFilter(LoggingProperties loggingProperties) {
+        this.loggingProperties = loggingProperties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String header = loggingProperties.getCorrelationHeader();
+        String requestId = request.getHeader(header);
+        if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+            requestId = HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+        }
+        response.setHeader(header, requestId);
+        MDC.put(MDC_KEY, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.weather.weatherinfoservice.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Publishes the state of the logging pipeline configured in {@code logback-spring.xml}.
+ *
+ * <ul>
+ *   <li>{@code weather.logging.suppressed} events dropped by the per-message rate limit</li>
+ *   <li>{@code weather.logging.queue.size} events waiting for the appender thread</li>
+ *   <li>{@code weather.logging.queue.remaining} free queue slots; at 0 new events are dropped</li>
+ * </ul>
+ *
+ * <p>The appender and filter are looked up on every read because the logging system may be
+ * reinitialised after this bean is bound.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("weather.logging.suppressed", this, metrics -> {
+                    MessageRateLimitingTurboFilter filter = rateLimitingFilter();
+                    return filter == null ? 0 : filter.getSuppressed();
+                })
+                .description("Log events dropped by the per-message rate limit")
+                .register(registry);
+        Gauge.builder("weather.logging.queue.size", this, metrics -> {
+                    AsyncAppender appender = asyncAppender();
+                    return appender == null ? 0 : appender.getNumberOfElementsInQueue();
+                })
+                .description("Log events waiting for the appender thread")
+                .register(registry);
+        Gauge.builder("weather.logging.queue.remaining", this, metrics -> {
+                    AsyncAppender appender = asyncAppender();
+                    return appender == null ? 0 : appender.getRemainingCapacity();
+                })
+                .description("Free slots in the asynchronous log queue")
+                .register(registry);
+    }
+
+    private static MessageRateLimitingTurboFilter rateLimitingFilter() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof MessageRateLimitingTurboFilter rateLimiting) {
+                return rateLimiting;
+            }
+        }
+        return null;
+    }
+
+    private static AsyncAppender asyncAppender() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof AsyncAppender async) {
+                return async;
+            }
+        }
+        return null;
+    }
+}
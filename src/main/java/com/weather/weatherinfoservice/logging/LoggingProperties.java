@@ -0,0 +1,36 @@
+package com.weather.weatherinfoservice.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Logging settings bound from {@code weather.logging.*}.
+ *
+ * <p>The queue, rate and sampling settings are read by {@code logback-spring.xml} when the
+ * logging system starts; changing them requires a restart.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.logging")
+public class LoggingProperties {
+
+    /**
+     * Capacity of the queue between request threads and the appender thread. When it is full,
+     * events are dropped rather than blocking the request.
+     */
+    private int queueSize = 8192;
+
+    /**
+     * Events per second logged in full for each message template, at WARN and below.
+     */
+    private int ratePerSecond = 20;
+
+    /**
+     * Beyond the rate, one in this many events of a template is still logged; 0 drops them all.
+     */
+    private int sampleEvery = 100;
+
+    /**
+     * Request and response header carrying the correlation id.
+     */
+    private String correlationHeader = "X-Request-Id";
+}
@@ -0,0 +1,104 @@
+package com.weather.weatherinfoservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how often each message type is logged.
+ *
+ * <p>The message type is the format string of the call, e.g.
+ * {@code "not found: {}"}, so all misses of different cities share one budget. Within a one
+ * second window the first {@code ratePerSecond} events of a type are logged; after that only
+ * every {@code sampleEvery}-th event is, and the rest are dropped before an event object is
+ * ever created. ERROR events, and events above {@code maxLevel} in general, are never limited.
+ *
+ * <p>Runs on the logging thread itself, so the per-event cost is one map lookup and one atomic
+ * increment.
+ */
+public class MessageRateLimitingTurboFilter extends TurboFilter {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+    private final LongAdder suppressed = new LongAdder();
+    private int ratePerSecond = 20;
+    private int sampleEvery = 100;
+    private int maxMessageTypes = 1024;
+    private Level maxLevel = Level.WARN;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level == null || !isStarted() || level.levelInt > maxLevel.levelInt
+                || level.levelInt < logger.getEffectiveLevel().levelInt) {
+            return FilterReply.NEUTRAL;
+        }
+        Budget budget = budgets.get(format);
+        if (budget == null) {
+            if (budgets.size() >= maxMessageTypes) {
+                return FilterReply.NEUTRAL;
+            }
+            budget = budgets.computeIfAbsent(format, key -> new Budget());
+        }
+        int count = budget.acquire(System.nanoTime() / WINDOW_NANOS);
+        if (count <= ratePerSecond || (sampleEvery > 0 && (count - ratePerSecond) % sampleEvery == 0)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Number of events dropped by this filter since it started.
+     */
+    public long getSuppressed() {
+        return suppressed.sum();
+    }
+
+    public void setRatePerSecond(int ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    /**
+     * Upper bound on tracked message types; further types are logged without limits.
+     */
+    public void setMaxMessageTypes(int maxMessageTypes) {
+        this.maxMessageTypes = maxMessageTypes;
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.WARN);
+    }
+
+    /**
+     * Event count of one message type in the current window.
+     */
+    private static final class Budget {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long window;
+
+        int acquire(long currentWindow) {
+            if (window != currentWindow) {
+                synchronized (this) {
+                    if (window != currentWindow) {
+                        count.set(0);
+                        window = currentWindow;
+                    }
+                }
+            }
+            return count.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.weather.weatherinfoservice.models;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rule to be notified when a city's reading crosses a threshold.
+ *
+ * <p>{@code temp} rules use {@code above} or {@code below} with a numeric {@code value} in
+ * {@code unit}; {@code weather} rules use {@code is} with a weather description.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class AlertRuleRequest {
+
+    /**
+     * The city to watch, or {@code *} for every city.
+     */
+    @NotBlank(message = "city is required")
+    private String city;
+
+    @NotBlank(message = "field is required")
+    @Pattern(regexp = "^(temp|weather)$", message = "field must be either 'temp' or 'weather'")
+    private String field;
+
+    @NotBlank(message = "operator is required")
+    @Pattern(regexp = "^(above|below|is)$", message = "operator must be one of 'above', 'below' or 'is'")
+    private String operator;
+
+    @NotBlank(message = "value is required")
+    private String value;
+
+    @Pattern(regexp = "^(C|F|K)$", message = "unit must be one of 'C', 'F' or 'K'")
+    private String unit;
+
+    /**
+     * HTTP(S) endpoint the alerts are posted to as JSON.
+     */
+    @NotBlank(message = "callbackUrl is required")
+    private String callbackUrl;
+}
@@ -0,0 +1,68 @@
+package com.weather.weatherinfoservice.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One forecast run for a city, replacing any earlier run as a whole.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ForecastRunRequest {
+
+    /**
+     * When the run was produced; runs older than the stored one are ignored. Defaults to now.
+     */
+    private Instant issuedAt;
+
+    @NotNull(message = "granularity is required")
+    @Pattern(regexp = "^(HOURLY|DAILY)$", message = "granularity must be either 'HOURLY' or 'DAILY'")
+    private String granularity;
+
+    @NotEmpty(message = "a forecast run needs at least one point")
+    @Size(max = 384, message = "a forecast run can have at most 384 points")
+    private List<@Valid Point> points;
+
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Data
+    public static class Point {
+
+        @NotNull(message = "time is required")
+        private Instant time;
+
+        @NotNull(message = "temperature is required")
+        private Double temp;
+
+        @Pattern(regexp = "^(C|F)$", message = "Unit must be either 'C' for celsius or 'F' for Fahrenheit")
+        private String unit;
+
+        @NotBlank(message = "weather description is required")
+        private String weather;
+
+        /**
+         * Rejects temperatures below absolute zero, like {@link WeatherDataRequest}; missing
+         * values and unsupported units are reported by the field constraints instead.
+         */
+        @JsonIgnore
+        @AssertTrue(message = "temperature can not be below absolute zero")
+        public boolean isAboveAbsoluteZero() {
+            String pointUnit = unit != null ? unit : TemperatureConverter.CANONICAL_UNIT;
+            return temp == null || !TemperatureConverter.isSupported(pointUnit) || TemperatureConverter.toCelsius(temp, pointUnit) >= -273.15;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.weather.weatherinfoservice.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Aggregate view over a group of stored cities.
+ *
+ * <p>{@code count} covers every city in the group; the temperature figures only cover the
+ * {@code temperatureCount} cities with a numeric temperature, converted to {@code unit}.
+ * Temperature figures are {@code null} when no city in the group has a numeric temperature.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class WeatherAggregateResponse {
+
+    private long count;
+    private long temperatureCount;
+    private String unit;
+    private Double averageTemp;
+    private Double minTemp;
+    private Double maxTemp;
+    private Map<String, Long> conditions;
+}
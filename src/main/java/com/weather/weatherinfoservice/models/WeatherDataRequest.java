@@ -1,8 +1,12 @@
 package com.weather.weatherinfoservice.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -12,10 +16,17 @@ import java.time.LocalDate;
 @Data
 public class WeatherDataRequest {
 
+    /**
+     * Longest city name and weather description accepted; the SQL store's columns hold no more.
+     */
+    public static final int MAX_TEXT_LENGTH = 255;
+
     @NotBlank(message = "city is required")
+    @Size(max = MAX_TEXT_LENGTH, message = "city can be at most 255 characters")
     private String city;
 
     @NotBlank(message = "temperature is required")
+    @Pattern(regexp = "^(-?\\d{1,4}(\\.\\d{1,2})?)?$", message = "temperature must be a number with at most two decimals")
     private String temp;
 
     @Pattern(regexp = "^(C|F)$", message = "Unit must be either 'C' for celsius or 'F' for Fahrenheit")
@@ -25,5 +36,17 @@ public class WeatherDataRequest {
     private LocalDate date;
 
     @NotBlank(message = "weather description is required")
+    @Size(max = MAX_TEXT_LENGTH, message = "weather description can be at most 255 characters")
     private String weather;
+
+    /**
+     * Rejects temperatures below absolute zero; missing or malformed values are reported by the
+     * field constraints instead.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "temperature can not be below absolute zero")
+    public boolean isAboveAbsoluteZero() {
+        Double celsius = TemperatureConverter.parseCelsius(temp, unit);
+        return celsius == null || celsius >= -273.15;
+    }
 }
@@ -1,6 +1,7 @@
 package com.weather.weatherinfoservice.models;
 
 import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -29,4 +30,22 @@ public class WeatherDataResponse {
         this.date = weatherDataEntity.getDate();
     }
 
+    /**
+     * Returns this reading with the temperature expressed in another unit.
+     *
+     * @param targetUnit {@code C}, {@code F} or {@code K}
+     * @return this instance if it is already in the target unit or its temperature is not numeric,
+     *         otherwise a converted copy
+     */
+    public WeatherDataResponse convertedTo(String targetUnit) {
+        if (targetUnit.equals(unit)) {
+            return this;
+        }
+        Double celsius = TemperatureConverter.parseCelsius(temp, unit);
+        if (celsius == null) {
+            return this;
+        }
+        return new WeatherDataResponse(uuid, city, TemperatureConverter.format(TemperatureConverter.fromCelsius(celsius, targetUnit)), targetUnit, weather, date);
+    }
+
 }
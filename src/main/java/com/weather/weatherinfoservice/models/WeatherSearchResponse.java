@@ -0,0 +1,25 @@
+package com.weather.weatherinfoservice.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of {@code GET /weather/search} results.
+ *
+ * <p>{@code plan} names the access path the query planner chose:
+ * {@code condition-bitmap}, {@code temperature-index} or {@code parallel-scan}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class WeatherSearchResponse {
+
+    private List<WeatherDataResponse> results;
+    private int page;
+    private int size;
+    private boolean hasMore;
+    private String plan;
+}
@@ -0,0 +1,123 @@
+package com.weather.weatherinfoservice.replication;
+
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.util.ForwardedHeaders;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Routes weather API calls on a follower.
+ *
+ * <ul>
+ *   <li>Writes are forwarded to the leader and its response, including
+ *       {@link LeaderSequenceFilter#SEQUENCE_HEADER}, is relayed to the client</li>
+ *   <li>Reads are served locally; a read carrying {@link LeaderSequenceFilter#MIN_SEQUENCE_HEADER}
+ *       first waits briefly for the follower to catch up and is forwarded to the leader if it does not</li>
+ *   <li>Tenant requests are always forwarded, tenant data is not replicated</li>
+ *   <li>Alert rule requests are always forwarded; rules live on the leader, where writes originate</li>
+ *   <li>Imports are always forwarded, they are writes</li>
+ *   <li>Forecast requests are always forwarded; forecasts are not replicated and live on the leader</li>
+ * </ul>
+ *
+ * <p>Forwarded requests keep the client's {@link ForwardedHeaders}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.replication", name = "role", havingValue = "follower")
+public class FollowerRoutingFilter extends OncePerRequestFilter {
+
+    private static final String WEATHER_PATH = "/weather";
+    private static final String ALERTS_PATH = "/weather/alerts";
+    private static final String IMPORT_PATH = "/weather/import";
+    private static final String FORECAST_PATH = "/weather/forecast";
+
+    private final ReplicationFollower replicationFollower;
+    private final ReplicationProperties replicationProperties;
+    private final RestClient restClient;
+    private final ForwardedHeaders forwardedHeaders;
+
+    public FollowerRoutingFilter(ReplicationFollower replicationFollower, ReplicationProperties replicationProperties, RestClient.Builder restClientBuilder,
+                                 ForwardedHeaders forwardedHeaders) {
+        this.replicationFollower = replicationFollower;
+        this.replicationProperties = replicationProperties;
+        this.restClient = restClientBuilder.baseUrl(replicationProperties.getLeaderUrl()).build();
+        this.forwardedHeaders = forwardedHeaders;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !WEATHER_PATH.equals(path) && !IMPORT_PATH.equals(path) && !FORECAST_PATH.equals(path) && !path.startsWith(ALERTS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (WEATHER_PATH.equals(request.getServletPath()) && HttpMethod.GET.matches(request.getMethod())
+                && TenantContextHolder.getTenant() == null && caughtUp(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        forwardToLeader(request, response);
+    }
+
+    private boolean caughtUp(HttpServletRequest request) {
+        String minSequence = request.getHeader(LeaderSequenceFilter.MIN_SEQUENCE_HEADER);
+        if (minSequence == null) {
+            return true;
+        }
+        try {
+            return replicationFollower.awaitSequence(Long.parseLong(minSequence), replicationProperties.getReadYourWritesTimeoutMillis());
+        } catch (NumberFormatException exception) {
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void forwardToLeader(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String pathAndQuery = request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        byte[] body = request.getInputStream().readAllBytes();
+        RestClient.RequestBodySpec forwarded = restClient.method(HttpMethod.valueOf(request.getMethod()))
+                .uri(pathAndQuery)
+                .headers(headers -> headers.addAll(forwardedHeaders.of(request)));
+        if (body.length > 0) {
+            forwarded.body(body);
+        }
+        try {
+            ResponseEntity<byte[]> leaderResponse = forwarded.retrieve()
+                    .onStatus(status -> true, (req, res) -> { })
+                    .toEntity(byte[].class);
+            response.setStatus(leaderResponse.getStatusCode().value());
+            String sequence = leaderResponse.getHeaders().getFirst(LeaderSequenceFilter.SEQUENCE_HEADER);
+            if (sequence != null) {
+                response.setHeader(LeaderSequenceFilter.SEQUENCE_HEADER, sequence);
+            }
+            MediaType contentType = leaderResponse.getHeaders().getContentType();
+            if (contentType != null) {
+                response.setHeader(HttpHeaders.CONTENT_TYPE, contentType.toString());
+            }
+            if (leaderResponse.getBody() != null) {
+                response.getOutputStream().write(leaderResponse.getBody());
+            }
+        } catch (RestClientException exception) {
+            log.warn("leader {} unreachable: {}", replicationProperties.getLeaderUrl(), exception.getMessage());
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "leader unreachable");
+        }
+    }
+}
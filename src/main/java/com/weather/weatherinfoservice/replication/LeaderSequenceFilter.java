@@ -0,0 +1,60 @@
+package com.weather.weatherinfoservice.replication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Adds the {@link #SEQUENCE_HEADER} to successful writes on the leader.
+ *
+ * <p>Clients pass the returned value as {@link #MIN_SEQUENCE_HEADER} on later reads against a
+ * follower to get read-your-writes consistency.
+ */
+@Component
+@ConditionalOnProperty(prefix = "weather.replication", name = "role", havingValue = "leader")
+public class LeaderSequenceFilter extends OncePerRequestFilter {
+
+    /**
+     * Response header carrying the log sequence of the write.
+     */
+    public static final String SEQUENCE_HEADER = "X-Weather-Sequence";
+
+    /**
+     * Request header asking a follower to answer only once it applied the given sequence.
+     */
+    public static final String MIN_SEQUENCE_HEADER = "X-Weather-Min-Sequence";
+
+    private final MutationLog mutationLog;
+
+    public LeaderSequenceFilter(MutationLog mutationLog) {
+        this.mutationLog = mutationLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"/weather".equals(request.getServletPath()) || HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachedResponse = new ContentCachingResponseWrapper(response);
+        mutationLog.takeLastAppendedSequence();
+        try {
+            filterChain.doFilter(request, cachedResponse);
+        } finally {
+            Long sequence = mutationLog.takeLastAppendedSequence();
+            if (sequence != null) {
+                cachedResponse.setHeader(SEQUENCE_HEADER, Long.toString(sequence));
+            }
+            cachedResponse.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.weather.weatherinfoservice.replication;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.WeatherDataChangeListener;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ordered, bounded log of every change applied to the leader's {@link WeatherRepository}.
+ *
+ * <p>The log registers itself as a {@link WeatherDataChangeListener}, so sequence numbers are
+ * assigned while the repository holds the per-city lock and the log order matches the order
+ * in which changes to each city were applied. Entries live in a fixed-size ring buffer;
+ * followers that fall behind the oldest retained entry resynchronise from a snapshot.
+ *
+ * <p>The log lives in memory and starts over at sequence zero when the leader restarts. Each
+ * log is therefore identified by a random epoch, returned with every batch, so that followers
+ * can tell a restarted leader from one they are in step with.
+ */
+@Component
+@ConditionalOnProperty(prefix = "weather.replication", name = "role", havingValue = "leader")
+public class MutationLog implements WeatherDataChangeListener {
+
+    private static final ThreadLocal<Long> LAST_APPENDED = new ThreadLocal<>();
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final ReplicatedMutation[] entries;
+    private final WeatherRepository weatherRepository;
+    private long lastSequence;
+
+    public MutationLog(WeatherRepository weatherRepository, ReplicationProperties replicationProperties) {
+        this.entries = new ReplicatedMutation[Math.max(1, replicationProperties.getLogCapacity())];
+        this.weatherRepository = weatherRepository;
+    }
+
+    /**
+     * Registers with the repository, once the instance is fully constructed.
+     */
+    @PostConstruct
+    public void subscribe() {
+        weatherRepository.addChangeListener(this);
+    }
+
+    @Override
+    public void onChange(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        ReplicatedMutation.Type type = current == null ? ReplicatedMutation.Type.DELETE : ReplicatedMutation.Type.UPSERT;
+        WeatherDataResponse data = current == null ? null : new WeatherDataResponse(current);
+        LAST_APPENDED.set(append(type, city, data));
+    }
+
+    private synchronized long append(ReplicatedMutation.Type type, String city, WeatherDataResponse data) {
+        long sequence = ++lastSequence;
+        entries[(int) (sequence % entries.length)] = new ReplicatedMutation(sequence, System.currentTimeMillis(), type, city, data);
+        notifyAll();
+        return sequence;
+    }
+
+    /**
+     * Returns and clears the sequence of the last mutation appended by the calling thread.
+     *
+     * @return the sequence, or {@code null} if the thread appended nothing since the last call
+     */
+    public Long takeLastAppendedSequence() {
+        Long sequence = LAST_APPENDED.get();
+        LAST_APPENDED.remove();
+        return sequence;
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns the mutations following {@code afterSequence}, waiting up to {@code waitMillis}
+     * for at least one to arrive.
+     *
+     * @param afterSequence the last sequence the caller has applied
+     * @param maxEntries the maximum number of mutations to return
+     * @param waitMillis the maximum time to wait when no mutation is available yet
+     */
+    public ReplicationBatch read(long afterSequence, int maxEntries, long waitMillis) throws InterruptedException {
+        List<ReplicatedMutation> mutations = new ArrayList<>();
+        synchronized (this) {
+            long deadline = System.currentTimeMillis() + waitMillis;
+            long remaining = waitMillis;
+            while (lastSequence <= afterSequence && remaining > 0) {
+                wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+            if (lastSequence - afterSequence > entries.length) {
+                return new ReplicationBatch(epoch, lastSequence, true, List.of(), null);
+            }
+            for (long sequence = afterSequence + 1; sequence <= lastSequence && mutations.size() < maxEntries; sequence++) {
+                mutations.add(entries[(int) (sequence % entries.length)]);
+            }
+            return new ReplicationBatch(epoch, lastSequence, false, mutations, null);
+        }
+    }
+
+    /**
+     * Returns the full store together with the sequence it is consistent with.
+     *
+     * <p>The sequence and the retained entries up to it are taken under the lock {@code append}
+     * uses. Mutations are appended from inside the repository's per-city lock, before the
+     * written value becomes visible, so the store copied afterwards may still miss some of them;
+     * the retained entries are therefore applied on top of the copy, leaving every city in the
+     * state of its last mutation up to the sequence. The copy may also include later mutations;
+     * because mutations carry full state, replaying them on top of the snapshot converges to the
+     * leader's state.
+     */
+    public ReplicationBatch snapshot() {
+        long sequence;
+        List<ReplicatedMutation> retained = new ArrayList<>();
+        synchronized (this) {
+            sequence = lastSequence;
+            for (long retainedSequence = Math.max(1, sequence - entries.length + 1); retainedSequence <= sequence; retainedSequence++) {
+                retained.add(entries[(int) (retainedSequence % entries.length)]);
+            }
+        }
+        Map<String, WeatherDataResponse> snapshot = new LinkedHashMap<>();
+        weatherRepository.forEachAtSnapshot(entity -> snapshot.put(entity.getCity(), new WeatherDataResponse(entity)));
+        for (ReplicatedMutation mutation : retained) {
+            if (mutation.getType() == ReplicatedMutation.Type.DELETE) {
+                snapshot.remove(mutation.getCity());
+            } else {
+                snapshot.put(mutation.getCity(), mutation.getData());
+            }
+        }
+        return new ReplicationBatch(epoch, sequence, false, List.of(), List.copyOf(snapshot.values()));
+    }
+}
@@ -0,0 +1,26 @@
+package com.weather.weatherinfoservice.replication;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single entry of the leader's mutation log.
+ *
+ * <p>Mutations carry the full resulting state of the city rather than a delta, so applying
+ * the same mutation twice on a follower is harmless.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReplicatedMutation {
+
+    public enum Type { UPSERT, DELETE }
+
+    private long sequence;
+    private long timestamp;
+    private Type type;
+    private String city;
+    private WeatherDataResponse data;
+}
@@ -0,0 +1,32 @@
+package com.weather.weatherinfoservice.replication;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of the leader's replication endpoints.
+ *
+ * <p>For log pulls {@link #mutations} holds the next mutations in sequence order. When the
+ * follower has fallen further behind than the retained log, {@link #snapshotRequired} is set
+ * and the follower must resynchronise from a snapshot, in which case {@link #snapshot}
+ * holds the full store as of {@link #leaderSequence}.
+ *
+ * <p>Sequences restart at zero whenever the leader restarts. {@link #epoch} identifies the
+ * leader run the sequences belong to; a follower that sees a different epoch than the one it
+ * applied must resynchronise from a snapshot.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ReplicationBatch {
+
+    private String epoch;
+    private long leaderSequence;
+    private boolean snapshotRequired;
+    private List<ReplicatedMutation> mutations;
+    private List<WeatherDataResponse> snapshot;
+}
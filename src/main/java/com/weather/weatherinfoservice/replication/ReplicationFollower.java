@@ -0,0 +1,239 @@
+package com.weather.weatherinfoservice.replication;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.ReplicatedChanges;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Pulls the leader's mutation log and applies it to the local {@link WeatherRepository}.
+ *
+ * <p>A single background thread long-polls the leader, so mutations are applied strictly in
+ * sequence order. Reads on the follower are served from the local repository; callers that
+ * need read-your-writes pass the sequence returned by the leader and wait for it through
+ * {@link #awaitSequence(long, long)}.
+ *
+ * <p>The follower starts from a snapshot of the leader, replacing whatever it held, so the two
+ * stores agree even on data seeded independently on each. It takes a new snapshot whenever the
+ * leader's epoch changes, i.e. the leader restarted and its sequences started over.
+ *
+ * <p><strong>Metrics:</strong>
+ * <ul>
+ *   <li>{@code weather.replication.applied.sequence} - last applied leader sequence</li>
+ *   <li>{@code weather.replication.lag.sequences} - mutations known on the leader but not yet applied</li>
+ *   <li>{@code weather.replication.lag.seconds} - age of the oldest unapplied change, 0 when caught up</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.replication", name = "role", havingValue = "follower")
+public class ReplicationFollower {
+
+    private static final long RETRY_BACKOFF_MILLIS = 1_000;
+
+    private final WeatherRepository weatherRepository;
+    private final ReplicationProperties replicationProperties;
+    private final RestClient restClient;
+    private final MeterRegistry meterRegistry;
+    private final Object progress = new Object();
+    private volatile String leaderEpoch;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long lastAppliedTimestamp;
+    private volatile boolean running;
+    private Thread puller;
+
+    public ReplicationFollower(WeatherRepository weatherRepository, ReplicationProperties replicationProperties,
+                               RestClient.Builder restClientBuilder, MeterRegistry meterRegistry) {
+        if (replicationProperties.getLeaderUrl() == null || replicationProperties.getLeaderUrl().isBlank()) {
+            throw new IllegalStateException("weather.replication.leader-url is required on followers");
+        }
+        this.weatherRepository = weatherRepository;
+        this.replicationProperties = replicationProperties;
+        this.restClient = restClientBuilder.baseUrl(replicationProperties.getLeaderUrl()).build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Publishes the replication gauges, once the instance is fully constructed.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("weather.replication.applied.sequence", this, follower -> follower.appliedSequence)
+                .register(meterRegistry);
+        Gauge.builder("weather.replication.lag.sequences", this, follower -> Math.max(0, follower.leaderSequence - follower.appliedSequence))
+                .register(meterRegistry);
+        Gauge.builder("weather.replication.lag.seconds", this, ReplicationFollower::lagSeconds)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        puller = Thread.ofPlatform().name("replication-follower").daemon().start(this::pullLoop);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (puller != null) {
+            puller.interrupt();
+        }
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Waits until the follower has applied at least the given leader sequence.
+     *
+     * @param sequence the sequence returned by the leader for an earlier write
+     * @param timeoutMillis the maximum time to wait
+     * @return {@code true} if the sequence was reached within the timeout
+     */
+    public boolean awaitSequence(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (progress) {
+            long remaining = timeoutMillis;
+            while (appliedSequence < sequence && remaining > 0) {
+                progress.wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+            return appliedSequence >= sequence;
+        }
+    }
+
+    public String getLeaderEpoch() {
+        return leaderEpoch;
+    }
+
+    /**
+     * Pulls and applies the next batch of the leader's log, or a snapshot when the follower has
+     * none yet, fell behind the log or the leader restarted. Called in a loop by the puller
+     * thread.
+     *
+     * @throws RestClientException if the leader cannot be reached
+     */
+    public void pull() {
+        ReplicatedChanges.mark();
+        try {
+            pullBatch();
+        } finally {
+            ReplicatedChanges.clear();
+        }
+    }
+
+    private void pullBatch() {
+        if (leaderEpoch == null) {
+            resynchronise("starting");
+            return;
+        }
+        ReplicationBatch batch = restClient.get()
+                .uri("/weather/admin/replication/log?after={after}&max={max}&waitMillis={wait}",
+                        appliedSequence, replicationProperties.getBatchSize(), replicationProperties.getPollTimeoutMillis())
+                .retrieve()
+                .body(ReplicationBatch.class);
+        if (batch == null) {
+            return;
+        }
+        if (!leaderEpoch.equals(batch.getEpoch())) {
+            resynchronise("leader restarted");
+            return;
+        }
+        leaderSequence = batch.getLeaderSequence();
+        if (batch.isSnapshotRequired()) {
+            resynchronise("follower too far behind");
+        } else {
+            batch.getMutations().forEach(this::apply);
+        }
+    }
+
+    private void pullLoop() {
+        while (running) {
+            try {
+                pull();
+            } catch (RestClientException exception) {
+                log.warn("replication pull from {} failed: {}", replicationProperties.getLeaderUrl(), exception.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void resynchronise(String reason) {
+        ReplicationBatch snapshot = restClient.get()
+                .uri("/weather/admin/replication/snapshot")
+                .retrieve()
+                .body(ReplicationBatch.class);
+        if (snapshot == null) {
+            return;
+        }
+        log.info("{}, resynchronising from snapshot at sequence {} of epoch {}", reason, snapshot.getLeaderSequence(), snapshot.getEpoch());
+        Set<String> cities = new HashSet<>();
+        for (WeatherDataResponse data : snapshot.getSnapshot()) {
+            cities.add(data.getCity());
+            weatherRepository.saveWeather(data.getCity(), toEntity(data));
+        }
+        for (WeatherDataEntity entity : weatherRepository.findAll()) {
+            if (!cities.contains(entity.getCity())) {
+                weatherRepository.deleteWeather(entity.getCity());
+            }
+        }
+        leaderSequence = snapshot.getLeaderSequence();
+        leaderEpoch = snapshot.getEpoch();
+        advance(snapshot.getLeaderSequence(), System.currentTimeMillis());
+    }
+
+    private void apply(ReplicatedMutation mutation) {
+        if (mutation.getSequence() <= appliedSequence) {
+            return;
+        }
+        if (mutation.getType() == ReplicatedMutation.Type.DELETE) {
+            weatherRepository.deleteWeather(mutation.getCity());
+        } else {
+            weatherRepository.saveWeather(mutation.getCity(), toEntity(mutation.getData()));
+        }
+        advance(mutation.getSequence(), mutation.getTimestamp());
+    }
+
+    private void advance(long sequence, long timestamp) {
+        synchronized (progress) {
+            appliedSequence = sequence;
+            lastAppliedTimestamp = timestamp;
+            progress.notifyAll();
+        }
+    }
+
+    private double lagSeconds() {
+        if (appliedSequence >= leaderSequence || lastAppliedTimestamp == 0) {
+            return 0;
+        }
+        return (System.currentTimeMillis() - lastAppliedTimestamp) / 1000.0;
+    }
+
+    private static WeatherDataEntity toEntity(WeatherDataResponse data) {
+        return new WeatherDataEntity(data.getUuid(), data.getCity(), data.getTemp(), data.getUnit(), data.getWeather(), data.getDate());
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
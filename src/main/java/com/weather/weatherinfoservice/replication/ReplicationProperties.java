@@ -0,0 +1,49 @@
+package com.weather.weatherinfoservice.replication;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Leader-follower replication settings bound from {@code weather.replication.*}.
+ *
+ * <p><strong>Example follower:</strong>
+ * <pre>
+ * weather.replication.role=follower
+ * weather.replication.leader-url=http://localhost:8080
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.replication")
+public class ReplicationProperties {
+
+    /**
+     * Either {@code standalone}, {@code leader} or {@code follower}.
+     */
+    private String role = "standalone";
+
+    /**
+     * Base URL of the leader, required on followers.
+     */
+    private String leaderUrl;
+
+    /**
+     * Number of mutations the leader keeps for followers to catch up from.
+     */
+    private int logCapacity = 65_536;
+
+    /**
+     * Maximum number of mutations returned to a follower per pull.
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * How long a follower pull waits on the leader for new mutations.
+     */
+    private long pollTimeoutMillis = 1_000;
+
+    /**
+     * How long a follower read waits to reach the sequence requested by
+     * {@code X-Weather-Min-Sequence} before it is answered by the leader instead.
+     */
+    private long readYourWritesTimeoutMillis = 200;
+}
@@ -0,0 +1,233 @@
+package com.weather.weatherinfoservice.repositories;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Append-only segment file holding the cold tier of {@link WeatherRepository}.
+ *
+ * <p>Each entry is written as a length-prefixed binary record; only the city and the record's
+ * file offset stay on-heap. Removing an entry just drops it from the index, and the file is
+ * rewritten without the dead records once they outweigh the live ones.
+ *
+ * <p><strong>Thread safety:</strong> all methods are synchronized. The cold tier is by
+ * definition the rarely used path, so a single lock keeps the file and its index consistent
+ * without affecting hot reads.
+ */
+public class ColdSegmentStore implements Closeable {
+
+    private static final long COMPACTION_MIN_DEAD_BYTES = 1 << 20;
+
+    private final Path segmentFile;
+    private final Map<String, Long> offsets = new HashMap<>();
+    private FileChannel channel;
+    private long liveBytes;
+    private long deadBytes;
+
+    /**
+     * Opens a fresh segment file, discarding any content left from a previous run.
+     */
+    public ColdSegmentStore(Path segmentFile) {
+        this.segmentFile = segmentFile;
+        try {
+            Files.createDirectories(segmentFile.toAbsolutePath().getParent());
+            this.channel = open(segmentFile);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("cannot open cold segment " + segmentFile, exception);
+        }
+    }
+
+    public synchronized boolean contains(String city) {
+        return offsets.containsKey(city);
+    }
+
+    public synchronized int size() {
+        return offsets.size();
+    }
+
+    public synchronized long sizeInBytes() {
+        return liveBytes + deadBytes;
+    }
+
+    /**
+     * Appends an entry, replacing any previous record of the same city.
+     */
+    public synchronized void write(String city, WeatherDataEntity entity) {
+        byte[] record = encode(entity);
+        try {
+            long offset = channel.size();
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + record.length).putInt(record.length).put(record).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            Long previous = offsets.put(city, offset);
+            if (previous != null) {
+                retire(previous);
+            }
+            liveBytes += buffer.limit();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("cannot write to cold segment " + segmentFile, exception);
+        }
+    }
+
+    /**
+     * Returns the entry of a city without removing it.
+     *
+     * @return the entry, or {@code null} if the city is not in the cold tier
+     */
+    public synchronized WeatherDataEntity get(String city) {
+        Long offset = offsets.get(city);
+        return offset == null ? null : read(offset);
+    }
+
+    /**
+     * Removes and returns the entry of a city.
+     *
+     * @return the entry, or {@code null} if the city is not in the cold tier
+     */
+    public synchronized WeatherDataEntity remove(String city) {
+        Long offset = offsets.remove(city);
+        if (offset == null) {
+            return null;
+        }
+        WeatherDataEntity entity = read(offset);
+        retire(offset);
+        compactIfWasteful();
+        return entity;
+    }
+
+    /**
+     * Reads every entry without removing it.
+     */
+    public synchronized List<WeatherDataEntity> readAll() {
+        List<WeatherDataEntity> entities = new ArrayList<>(offsets.size());
+        for (long offset : offsets.values()) {
+            entities.add(read(offset));
+        }
+        return entities;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(segmentFile);
+    }
+
+    private void retire(long offset) {
+        int length = Integer.BYTES + recordLength(offset);
+        liveBytes -= length;
+        deadBytes += length;
+    }
+
+    private void compactIfWasteful() {
+        if (deadBytes < COMPACTION_MIN_DEAD_BYTES || deadBytes < liveBytes) {
+            return;
+        }
+        Path compacted = segmentFile.resolveSibling(segmentFile.getFileName() + ".compacting");
+        try (FileChannel target = open(compacted)) {
+            long position = 0;
+            for (Map.Entry<String, Long> entry : offsets.entrySet()) {
+                int length = Integer.BYTES + recordLength(entry.getValue());
+                long transferred = 0;
+                while (transferred < length) {
+                    transferred += channel.transferTo(entry.getValue() + transferred, length - transferred, target.position(position + transferred));
+                }
+                entry.setValue(position);
+                position += length;
+            }
+            channel.close();
+            Files.move(compacted, segmentFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(segmentFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            liveBytes = position;
+            deadBytes = 0;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("cannot compact cold segment " + segmentFile, exception);
+        }
+    }
+
+    private int recordLength(long offset) {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(length, offset);
+        return length.flip().getInt();
+    }
+
+    private WeatherDataEntity read(long offset) {
+        ByteBuffer record = ByteBuffer.allocate(recordLength(offset));
+        readFully(record, offset + Integer.BYTES);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record.array()))) {
+            UUID id = new UUID(in.readLong(), in.readLong());
+            String city = in.readUTF();
+            String temp = readNullable(in);
+            String unit = readNullable(in);
+            String weather = readNullable(in);
+            LocalDate date = in.readBoolean() ? LocalDate.ofEpochDay(in.readLong()) : null;
+            return new WeatherDataEntity(id, city, temp, unit, weather, date);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("corrupt record in cold segment " + segmentFile, exception);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long offset) {
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("unexpected end of segment");
+                }
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("cannot read cold segment " + segmentFile, exception);
+        }
+    }
+
+    private static byte[] encode(WeatherDataEntity entity) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(entity.getId().getMostSignificantBits());
+            out.writeLong(entity.getId().getLeastSignificantBits());
+            out.writeUTF(entity.getCity());
+            writeNullable(out, entity.getTemp());
+            writeNullable(out, entity.getUnit());
+            writeNullable(out, entity.getWeather());
+            out.writeBoolean(entity.getDate() != null);
+            if (entity.getDate() != null) {
+                out.writeLong(entity.getDate().toEpochDay());
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+}
@@ -0,0 +1,82 @@
+package com.weather.weatherinfoservice.repositories;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes stale entries from {@link WeatherRepository} once per wheel tick.
+ *
+ * <p>Reads of an expired city miss the repository and are answered by the external source.
+ *
+ * <p><strong>Metrics:</strong>
+ * <ul>
+ *   <li>{@code weather.expiry.lag} - time between an entry's deadline and its removal</li>
+ *   <li>{@code weather.expiry.expired} - entries removed</li>
+ *   <li>{@code weather.expiry.scheduled} - entries waiting on the timing wheel</li>
+ * </ul>
+ *
+ * @see ExpiryTracker
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.expiry", name = "enabled", havingValue = "true")
+public class ExpiryManager implements SmartLifecycle {
+
+    private final ExpiryProperties expiryProperties;
+    private final ExpiryTracker expiryTracker;
+    private ScheduledExecutorService scheduler;
+
+    public ExpiryManager(WeatherRepository weatherRepository, ExpiryProperties expiryProperties, MeterRegistry meterRegistry) {
+        this.expiryProperties = expiryProperties;
+        Timer lag = Timer.builder("weather.expiry.lag")
+                .description("Time between an entry's deadline and its removal")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.expiryTracker = new ExpiryTracker(weatherRepository, expiryProperties, System::currentTimeMillis,
+                lagMillis -> lag.record(lagMillis, TimeUnit.MILLISECONDS));
+        expiryTracker.subscribe();
+        FunctionCounter.builder("weather.expiry.expired", expiryTracker, ExpiryTracker::getExpired).register(meterRegistry);
+        Gauge.builder("weather.expiry.scheduled", expiryTracker, ExpiryTracker::getScheduled).register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        long tickMillis = Math.max(1, expiryProperties.getTick().toMillis());
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("weather-expiry").daemon().factory());
+        scheduler.scheduleAtFixedRate(this::expire, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    private void expire() {
+        try {
+            int expired = expiryTracker.expireDue();
+            if (expired > 0) {
+                log.debug("expired {} cities ({} scheduled)", expired, expiryTracker.getScheduled());
+            }
+        } catch (RuntimeException exception) {
+            log.error("expiry pass failed", exception);
+        }
+    }
+}
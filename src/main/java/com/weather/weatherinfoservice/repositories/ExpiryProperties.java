@@ -0,0 +1,43 @@
+package com.weather.weatherinfoservice.repositories;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Entry expiry settings bound from {@code weather.expiry.*}.
+ *
+ * <p>An entry expires at the earlier of its two deadlines; either can be left unset.
+ *
+ * <p><strong>Example:</strong>
+ * <pre>
+ * weather.expiry.enabled=true
+ * weather.expiry.ttl=6h
+ * weather.expiry.max-reading-age=1d
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.expiry")
+public class ExpiryProperties {
+
+    /**
+     * Whether stale entries are removed automatically.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Time an entry lives after it was written.
+     */
+    private Duration ttl = Duration.ofHours(6);
+
+    /**
+     * Time an entry lives after the start of its reading date, in the system time zone.
+     */
+    private Duration maxReadingAge;
+
+    /**
+     * Resolution of the timing wheel; entries expire at most this long after their deadline.
+     */
+    private Duration tick = Duration.ofSeconds(1);
+}
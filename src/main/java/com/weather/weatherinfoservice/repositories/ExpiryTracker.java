@@ -0,0 +1,146 @@
+package com.weather.weatherinfoservice.repositories;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Schedules every shared entry of {@link WeatherRepository} for expiry on a
+ * {@link HierarchicalTimingWheel} and removes the entries that become due.
+ *
+ * <p>Writers never touch the wheel: the change listener only appends the entry and its deadline
+ * to a lock-free queue, in per-city order since listeners run inside the per-city lock.
+ * {@link #expireDue()} drains the queue into the wheel, where a newer value of a city
+ * replaces the timeout of the older one and a delete cancels it, then advances the wheel.
+ * Each entry therefore costs O(1) to schedule, reschedule and expire, with no scans of the store.
+ *
+ * <p><strong>Thread safety:</strong> {@link #onChange} may be called from any thread;
+ * {@link #expireDue()} must always be called from the same thread.
+ */
+public class ExpiryTracker implements WeatherDataChangeListener {
+
+    private static final int WHEEL_LEVELS = 4;
+
+    private final WeatherRepository weatherRepository;
+    private final Duration ttl;
+    private final Duration maxReadingAge;
+    private final long tickMillis;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final LongSupplier clock;
+    private final LongConsumer lagMillis;
+    private final Queue<Expiry> pending = new ConcurrentLinkedQueue<>();
+    private final HierarchicalTimingWheel<Expiry> wheel;
+    private final Map<String, HierarchicalTimingWheel.Timeout<Expiry>> timeouts = new HashMap<>();
+    private volatile int scheduled;
+    private volatile long expired;
+
+    /**
+     * Creates a tracker that does nothing until {@link #subscribe()} is called.
+     *
+     * @param clock the current time in epoch milliseconds
+     * @param lagMillis receives, for every expired entry, how long after its deadline it was removed
+     */
+    public ExpiryTracker(WeatherRepository weatherRepository, ExpiryProperties expiryProperties, LongSupplier clock, LongConsumer lagMillis) {
+        this.weatherRepository = weatherRepository;
+        this.ttl = expiryProperties.getTtl();
+        this.maxReadingAge = expiryProperties.getMaxReadingAge();
+        this.tickMillis = Math.max(1, expiryProperties.getTick().toMillis());
+        this.clock = clock;
+        this.lagMillis = lagMillis;
+        long nowMillis = clock.getAsLong();
+        this.wheel = new HierarchicalTimingWheel<>(WHEEL_LEVELS, nowMillis / tickMillis);
+    }
+
+    /**
+     * Registers with the repository and schedules the entries it already holds.
+     */
+    public void subscribe() {
+        long nowMillis = clock.getAsLong();
+        weatherRepository.addChangeListener(this);
+        // queued behind any change already reported, and ignored for cities those changes cover
+        for (WeatherDataEntity entity : weatherRepository.findAll()) {
+            pending.add(new Expiry(entity.getCity(), entity, deadline(entity, nowMillis), true));
+        }
+    }
+
+    @Override
+    public void onChange(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        pending.add(new Expiry(city, current, current == null ? Long.MAX_VALUE : deadline(current, clock.getAsLong()), false));
+    }
+
+    /**
+     * Applies the queued changes and removes every entry whose deadline has passed.
+     *
+     * @return the number of entries removed
+     */
+    public int expireDue() {
+        long nowMillis = clock.getAsLong();
+        for (Expiry expiry = pending.poll(); expiry != null; expiry = pending.poll()) {
+            apply(expiry);
+        }
+        long before = expired;
+        wheel.advanceTo(nowMillis / tickMillis, expiry -> expire(expiry, nowMillis));
+        scheduled = timeouts.size();
+        return (int) (expired - before);
+    }
+
+    /**
+     * Entries currently waiting on the wheel.
+     */
+    public int getScheduled() {
+        return scheduled;
+    }
+
+    /**
+     * Entries removed since start.
+     */
+    public long getExpired() {
+        return expired;
+    }
+
+    long deadline(WeatherDataEntity entity, long writtenMillis) {
+        long deadline = ttl != null ? writtenMillis + ttl.toMillis() : Long.MAX_VALUE;
+        LocalDate date = entity.getDate();
+        if (maxReadingAge != null && date != null) {
+            deadline = Math.min(deadline, date.atStartOfDay(zone).toInstant().toEpochMilli() + maxReadingAge.toMillis());
+        }
+        return deadline;
+    }
+
+    private void apply(Expiry expiry) {
+        if (expiry.initial() && timeouts.containsKey(expiry.city())) {
+            return;
+        }
+        HierarchicalTimingWheel.Timeout<Expiry> previous;
+        if (expiry.entity() == null || expiry.deadlineMillis() == Long.MAX_VALUE) {
+            previous = timeouts.remove(expiry.city());
+        } else {
+            long dueTick = Math.floorDiv(expiry.deadlineMillis(), tickMillis) + (Math.floorMod(expiry.deadlineMillis(), tickMillis) == 0 ? 0 : 1);
+            previous = timeouts.put(expiry.city(), wheel.schedule(expiry, dueTick));
+        }
+        if (previous != null) {
+            wheel.cancel(previous);
+        }
+    }
+
+    private void expire(Expiry expiry, long nowMillis) {
+        timeouts.remove(expiry.city());
+        if (weatherRepository.expire(expiry.city(), expiry.entity())) {
+            expired++;
+            lagMillis.accept(Math.max(0, nowMillis - expiry.deadlineMillis()));
+        }
+    }
+
+    /**
+     * A city's entry and when it expires; {@code initial} marks entries found at start-up,
+     * which must not override a change reported in the meantime.
+     */
+    private record Expiry(String city, WeatherDataEntity entity, long deadlineMillis, boolean initial) {
+    }
+}
@@ -0,0 +1,174 @@
+package com.weather.weatherinfoservice.repositories;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel holding timeouts by the tick they are due at.
+ *
+ * <p>Each level has 64 slots; a slot of level {@code n} covers {@code 64^n} ticks, so four levels
+ * reach {@code 64^4} (about 16.7 million) ticks ahead. Scheduling and cancelling are O(1): a
+ * timeout is linked into the slot of the lowest level whose range covers its due tick. Whenever
+ * the current tick crosses the boundary of a higher-level slot, that slot's timeouts are moved
+ * down one or more levels, so every timeout is moved at most once per level before it fires.
+ * Timeouts beyond the top level are parked in its last slot and placed again when it is reached.
+ *
+ * <p><strong>Thread safety:</strong> none. The wheel is meant to be owned by a single thread.
+ *
+ * @param <T> the payload handed back when a timeout fires
+ */
+public final class HierarchicalTimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    private final Timeout<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(int levels, long startTick) {
+        if (levels < 1 || levels * SLOT_BITS > 60) {
+            throw new IllegalArgumentException("levels must be between 1 and 10: " + levels);
+        }
+        @SuppressWarnings("unchecked")
+        Timeout<T>[][] table = (Timeout<T>[][]) new Timeout<?>[levels][1 << SLOT_BITS];
+        this.slots = table;
+        for (Timeout<T>[] level : slots) {
+            for (int slot = 0; slot < level.length; slot++) {
+                Timeout<T> sentinel = new Timeout<>(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[slot] = sentinel;
+            }
+        }
+        this.currentTick = startTick;
+    }
+
+    /**
+     * Schedules a payload for the given tick. Ticks that are already due fire on the next tick.
+     */
+    public Timeout<T> schedule(T payload, long dueTick) {
+        Timeout<T> timeout = new Timeout<>(payload, Math.max(dueTick, currentTick + 1));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Removes a timeout that has not fired yet.
+     *
+     * @return {@code false} if the timeout already fired or was cancelled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.next == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel tick by tick up to {@code tick}, passing the payload of every timeout
+     * that becomes due to {@code expired} in due order.
+     */
+    public void advanceTo(long tick, Consumer<? super T> expired) {
+        while (currentTick < tick) {
+            if (size == 0) {
+                currentTick = tick;
+                return;
+            }
+            currentTick++;
+            for (int level = slots.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level);
+                }
+            }
+            Timeout<T> sentinel = slots[0][(int) (currentTick & SLOT_MASK)];
+            for (Timeout<T> timeout = sentinel.next; timeout != sentinel; timeout = sentinel.next) {
+                unlink(timeout);
+                if (timeout.dueTick > currentTick) {
+                    // parked beyond the top level of a single-level wheel
+                    place(timeout);
+                    continue;
+                }
+                size--;
+                expired.accept(timeout.payload);
+            }
+        }
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        int shift = SLOT_BITS * level;
+        Timeout<T> sentinel = slots[level][(int) ((currentTick >>> shift) & SLOT_MASK)];
+        Timeout<T> timeout = sentinel.next;
+        sentinel.next = sentinel;
+        sentinel.prev = sentinel;
+        while (timeout != sentinel) {
+            Timeout<T> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        // a due tick equal to the current one lands in the level-0 slot about to be drained
+        long due = Math.max(timeout.dueTick, currentTick);
+        int shift = 0;
+        for (int level = 0; level < slots.length; level++, shift += SLOT_BITS) {
+            long levelStart = (currentTick >>> shift) << shift;
+            if (due < levelStart + (1L << (shift + SLOT_BITS))) {
+                link(slots[level][(int) ((due >>> shift) & SLOT_MASK)], timeout);
+                return;
+            }
+        }
+        shift -= SLOT_BITS;
+        long lastSlotStart = ((currentTick >>> shift) << shift) + (((long) SLOT_MASK) << shift);
+        link(slots[slots.length - 1][(int) ((lastSlotStart >>> shift) & SLOT_MASK)], timeout);
+    }
+
+    private static <T> void link(Timeout<T> sentinel, Timeout<T> timeout) {
+        timeout.prev = sentinel.prev;
+        timeout.next = sentinel;
+        sentinel.prev.next = timeout;
+        sentinel.prev = timeout;
+    }
+
+    private static <T> void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * A scheduled payload, linked into one slot of the wheel until it fires or is cancelled.
+     */
+    public static final class Timeout<T> {
+
+        private final T payload;
+        private final long dueTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long dueTick) {
+            this.payload = payload;
+            this.dueTick = dueTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public long dueTick() {
+            return dueTick;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.weather.weatherinfoservice.repositories;
+
+/**
+ * Marks the writes of the current thread as copies of writes that originated on another
+ * instance: a follower applying the leader's log, a cluster replica replaying its owner's write
+ * or a member taking over handed-off cities.
+ *
+ * <p>{@link WeatherDataChangeListener}s with effects outside this instance, such as alert
+ * deliveries, check the mark so they act once, where the write originated, rather than on
+ * every copy. Listeners that maintain local state ignore it.
+ */
+public final class ReplicatedChanges {
+
+    private static final ThreadLocal<Boolean> REPLICATED = new ThreadLocal<>();
+
+    private ReplicatedChanges() {
+    }
+
+    /**
+     * @return whether the current thread is applying a replicated write
+     */
+    public static boolean isReplicated() {
+        return REPLICATED.get() != null;
+    }
+
+    public static void mark() {
+        REPLICATED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        REPLICATED.remove();
+    }
+}
@@ -0,0 +1,131 @@
+package com.weather.weatherinfoservice.repositories;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backs {@link WeatherRepository} with an embedded H2 database so that the store survives
+ * restarts and can be queried with SQL.
+ *
+ * <p>On creation the repository is restored from the database, then every change is written
+ * behind by a single thread in JDBC batches over a small connection pool. Reads keep being
+ * answered from memory. On shutdown the remaining changes are written before the pool closes;
+ * the lifecycle stops after the web server, so no request can change the store after that.
+ * Tenant overrides are private to their tenant and are not persisted.
+ *
+ * <p><strong>Metrics:</strong>
+ * <ul>
+ *   <li>{@code weather.storage.sql.pending} - changes not yet written</li>
+ *   <li>{@code weather.storage.sql.written} - changes written</li>
+ *   <li>{@code weather.storage.sql.batches} - transactions committed</li>
+ *   <li>{@code weather.storage.sql.dead-letters} - changes dropped because the database rejected their row</li>
+ *   <li>{@code weather.storage.sql.overflows} - changes that found the queue full and were resynced</li>
+ * </ul>
+ *
+ * @see SqlWriteBehind
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.storage.sql", name = "enabled", havingValue = "true")
+public class SqlStorageManager implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final HikariDataSource dataSource;
+    private final SqlWriteBehind writeBehind;
+    private volatile Thread writer;
+
+    public SqlStorageManager(WeatherRepository weatherRepository, SqlStorageProperties sqlStorageProperties, MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("weather-sql");
+        config.setJdbcUrl(sqlStorageProperties.getUrl());
+        config.setUsername(sqlStorageProperties.getUsername());
+        config.setPassword(sqlStorageProperties.getPassword());
+        config.setMaximumPoolSize(sqlStorageProperties.getPoolSize());
+        this.dataSource = new HikariDataSource(config);
+        try {
+            this.writeBehind = new SqlWriteBehind(weatherRepository, new SqlWeatherStore(dataSource),
+                    sqlStorageProperties.getBatchSize(), sqlStorageProperties.getQueueCapacity(),
+                    sqlStorageProperties.getEnqueueTimeout());
+            writeBehind.subscribe();
+        } catch (RuntimeException exception) {
+            dataSource.close();
+            throw exception;
+        }
+        Gauge.builder("weather.storage.sql.pending", writeBehind, SqlWriteBehind::getPending).register(meterRegistry);
+        FunctionCounter.builder("weather.storage.sql.written", writeBehind, SqlWriteBehind::getWritten).register(meterRegistry);
+        FunctionCounter.builder("weather.storage.sql.batches", writeBehind, SqlWriteBehind::getBatches).register(meterRegistry);
+        FunctionCounter.builder("weather.storage.sql.dead-letters", writeBehind, SqlWriteBehind::getDeadLetters).register(meterRegistry);
+        FunctionCounter.builder("weather.storage.sql.overflows", writeBehind, SqlWriteBehind::getOverflows).register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        Thread thread = Thread.ofPlatform().name("weather-sql-writer").daemon().unstarted(this::writeLoop);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread running = writer;
+        writer = null;
+        if (running == null) {
+            return;
+        }
+        try {
+            // not interrupted: an interrupt during file I/O can close the database
+            running.join();
+            writeBehind.flushAll();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException exception) {
+            log.error("{} changes could not be written to the database on shutdown", writeBehind.getPending(), exception);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    /**
+     * Starts before and stops after the web server.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+
+    private void writeLoop() {
+        while (writer == Thread.currentThread()) {
+            try {
+                writeBehind.flush(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exception) {
+                return;
+            } catch (RuntimeException exception) {
+                log.error("writing to the database failed, retrying", exception);
+                try {
+                    Thread.sleep(POLL_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
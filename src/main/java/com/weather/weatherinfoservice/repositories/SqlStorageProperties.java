@@ -0,0 +1,50 @@
+package com.weather.weatherinfoservice.repositories;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Embedded SQL storage settings bound from {@code weather.storage.sql.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.storage.sql")
+public class SqlStorageProperties {
+
+    /**
+     * Whether the store is persisted to an embedded H2 database and restored from it on start.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the database. {@code QUERY_CACHE_SIZE} is the number of parsed statements H2
+     * keeps per pooled connection.
+     */
+    private String url = "jdbc:h2:file:./data/weather;QUERY_CACHE_SIZE=64";
+
+    private String username = "sa";
+
+    private String password = "";
+
+    /**
+     * Pooled connections. Writes use one connection at a time; the others serve queries.
+     */
+    private int poolSize = 4;
+
+    /**
+     * Maximum changes written in one JDBC batch and transaction.
+     */
+    private int batchSize = 1_000;
+
+    /**
+     * Changes waiting to be written. When it is full, writers wait for the database.
+     */
+    private int queueCapacity = 100_000;
+
+    /**
+     * Longest a writer waits for room in a full queue. A change that still does not fit is
+     * persisted later by writing its city's current value.
+     */
+    private Duration enqueueTimeout = Duration.ofSeconds(1);
+}
@@ -0,0 +1,158 @@
+package com.weather.weatherinfoservice.repositories;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Table of the current weather per city in an embedded SQL database.
+ *
+ * <p>The table is keyed by city and indexed by reading date, so it can be queried ad hoc with
+ * any SQL client while the service keeps serving reads from memory. Writes are applied in JDBC
+ * batches, each in a single transaction.
+ *
+ * <p><strong>Thread safety:</strong> every call borrows its own connection from the pool.
+ */
+public class SqlWeatherStore {
+
+    private static final String[] SCHEMA = {
+            """
+            CREATE TABLE IF NOT EXISTS weather_data (
+                city VARCHAR(255) PRIMARY KEY,
+                id UUID NOT NULL,
+                temp VARCHAR(64),
+                unit VARCHAR(8),
+                weather VARCHAR(255),
+                reading_date DATE
+            )""",
+            "CREATE INDEX IF NOT EXISTS weather_data_reading_date ON weather_data (reading_date)"
+    };
+    private static final String SELECT = "SELECT city, id, temp, unit, weather, reading_date FROM weather_data";
+    private static final String MERGE =
+            "MERGE INTO weather_data (city, id, temp, unit, weather, reading_date) KEY (city) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM weather_data WHERE city = ?";
+    private static final int FETCH_SIZE = 1_000;
+
+    private final DataSource dataSource;
+
+    /**
+     * Creates the table and its indexes unless they exist.
+     */
+    public SqlWeatherStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("cannot create the weather_data table", exception);
+        }
+    }
+
+    public long count() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM weather_data")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException exception) {
+            throw new IllegalStateException("cannot count weather_data", exception);
+        }
+    }
+
+    public Optional<WeatherDataEntity> find(String city) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT + " WHERE city = ?")) {
+            statement.setString(1, city);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(read(resultSet)) : Optional.empty();
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("cannot read " + city + " from weather_data", exception);
+        }
+    }
+
+    /**
+     * Streams every row to {@code action} without holding the whole table in memory.
+     */
+    public void forEach(Consumer<WeatherDataEntity> action) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(read(resultSet));
+                }
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("cannot read weather_data", exception);
+        }
+    }
+
+    /**
+     * Applies the latest value of each city in one transaction.
+     *
+     * @param changes the new entry per city, or {@code null} for a deleted city
+     */
+    public void write(Map<String, WeatherDataEntity> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement merge = connection.prepareStatement(MERGE);
+                 PreparedStatement delete = connection.prepareStatement(DELETE)) {
+                int merges = 0;
+                int deletes = 0;
+                for (Map.Entry<String, WeatherDataEntity> change : changes.entrySet()) {
+                    WeatherDataEntity entity = change.getValue();
+                    if (entity == null) {
+                        delete.setString(1, change.getKey());
+                        delete.addBatch();
+                        deletes++;
+                        continue;
+                    }
+                    merge.setString(1, change.getKey());
+                    merge.setObject(2, entity.getId());
+                    merge.setString(3, entity.getTemp());
+                    merge.setString(4, entity.getUnit());
+                    merge.setString(5, entity.getWeather());
+                    merge.setObject(6, entity.getDate());
+                    merge.addBatch();
+                    merges++;
+                }
+                // every city occurs once, so the order of the two batches does not matter
+                if (merges > 0) {
+                    merge.executeBatch();
+                }
+                if (deletes > 0) {
+                    delete.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException exception) {
+                connection.rollback();
+                throw exception;
+            }
+        } catch (SQLException exception) {
+            throw new IllegalStateException("cannot write " + changes.size() + " changes to weather_data", exception);
+        }
+    }
+
+    private static WeatherDataEntity read(ResultSet resultSet) throws SQLException {
+        return new WeatherDataEntity(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getString("city"),
+                resultSet.getString("temp"),
+                resultSet.getString("unit"),
+                resultSet.getString("weather"),
+                resultSet.getObject("reading_date", LocalDate.class));
+    }
+}
@@ -0,0 +1,263 @@
+package com.weather.weatherinfoservice.repositories;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persists the changes of {@link WeatherRepository} to a {@link SqlWeatherStore} behind the
+ * writers' backs.
+ *
+ * <p>The change listener only appends to a bounded queue, in per-city order since listeners run
+ * inside the per-city lock. {@link #flush} takes whatever has accumulated, up to one batch,
+ * keeps the latest change of each city and writes them in a single transaction. Under load the
+ * batches grow by themselves; at rest each change is written as soon as it arrives. When the
+ * queue is full, writers wait up to the enqueue timeout for the database to catch up. A change
+ * that still does not fit only marks its city for a resync: once the queue has drained, the
+ * city's current value is read from the repository and written, so nothing is lost and no
+ * writer blocks indefinitely inside the per-city lock.
+ *
+ * <p>A batch the database rejects is retried city by city. A city whose row the database
+ * rejects as invalid, e.g. a value longer than its column, is dropped and counted as a dead
+ * letter; the rest of the batch is written. Any other failure keeps the unwritten cities pending.
+ *
+ * <p>The repository stays the read path: it holds every city in memory and fronts the table.
+ *
+ * <p><strong>Thread safety:</strong> {@link #onChange} may be called from any thread;
+ * {@link #flush} must always be called from the same thread.
+ */
+@Slf4j
+public class SqlWriteBehind implements WeatherDataChangeListener {
+
+    private final WeatherRepository weatherRepository;
+    private final SqlWeatherStore store;
+    private final int batchSize;
+    private final long enqueueTimeoutNanos;
+    private final BlockingQueue<Change> queue;
+    private final List<Change> batch = new ArrayList<>();
+    private final Set<String> resync = ConcurrentHashMap.newKeySet();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder deadLetters = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+
+    /**
+     * Creates a write-behind that does nothing until {@link #subscribe()} is called.
+     */
+    public SqlWriteBehind(WeatherRepository weatherRepository, SqlWeatherStore store, int batchSize, int queueCapacity, Duration enqueueTimeout) {
+        this.weatherRepository = weatherRepository;
+        this.store = store;
+        this.batchSize = batchSize;
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Restores the repository from the table and registers for its changes.
+     *
+     * <p>An empty table is seeded with the repository's current entries. Otherwise the table
+     * wins: its rows are written to the repository and cities missing from it are deleted, both
+     * reported to the listeners registered so far like any other change.
+     */
+    public void subscribe() {
+        restore();
+        weatherRepository.addChangeListener(this);
+    }
+
+    private void restore() {
+        if (store.count() == 0) {
+            Map<String, WeatherDataEntity> seed = new LinkedHashMap<>();
+            weatherRepository.forEachAtSnapshot(entity -> seed.put(entity.getCity(), entity));
+            store.write(seed);
+            log.info("seeded weather_data with {} cities", seed.size());
+            return;
+        }
+        Set<String> restored = new HashSet<>();
+        store.forEach(entity -> {
+            weatherRepository.saveWeather(entity.getCity(), entity);
+            restored.add(entity.getCity());
+        });
+        for (WeatherDataEntity entity : weatherRepository.findAll()) {
+            if (!restored.contains(entity.getCity())) {
+                weatherRepository.deleteWeather(entity.getCity());
+            }
+        }
+        log.info("restored {} cities from weather_data", restored.size());
+    }
+
+    @Override
+    public void onChange(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        boolean queued;
+        try {
+            queued = queue.offer(new Change(city, current), enqueueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            resync.add(city);
+            overflows.increment();
+        }
+    }
+
+    /**
+     * Writes the next batch of changes, waiting up to {@code timeout} for the first one. Once
+     * the queue is empty, the cities marked for a resync are written instead.
+     *
+     * <p>The part of a batch that fails for another reason than an invalid row stays pending and
+     * is written again, before anything newer, by the next call.
+     *
+     * @return the number of changes written or dead-lettered
+     * @throws IllegalStateException if the database failed
+     */
+    public int flush(long timeout, TimeUnit unit) throws InterruptedException {
+        if (batch.isEmpty()) {
+            if (queue.isEmpty() && !resync.isEmpty()) {
+                return resync();
+            }
+            Change first = queue.poll(timeout, unit);
+            if (first == null) {
+                return 0;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+        }
+        Map<String, WeatherDataEntity> latest = new LinkedHashMap<>();
+        for (Change change : batch) {
+            latest.put(change.city(), change.entity());
+        }
+        int count = batch.size();
+        try {
+            store.write(latest);
+        } catch (IllegalStateException exception) {
+            writeOneByOne(latest, exception);
+        }
+        batch.clear();
+        written.add(count);
+        batches.increment();
+        return count;
+    }
+
+    /**
+     * Writes every change queued so far.
+     */
+    public void flushAll() throws InterruptedException {
+        while (!batch.isEmpty() || !queue.isEmpty() || !resync.isEmpty()) {
+            flush(0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Changes queued, in the batch being written or waiting for a resync.
+     */
+    public int getPending() {
+        return queue.size() + batch.size() + resync.size();
+    }
+
+    /**
+     * Changes dropped because the database rejected their row.
+     */
+    public long getDeadLetters() {
+        return deadLetters.sum();
+    }
+
+    /**
+     * Changes that found the queue full and were left to a resync of their city.
+     */
+    public long getOverflows() {
+        return overflows.sum();
+    }
+
+    /**
+     * Writes the current value of the cities whose changes did not fit into the queue. Every
+     * change queued before them has been written, so the current value is never overwritten by
+     * an older one.
+     */
+    private int resync() {
+        Map<String, WeatherDataEntity> latest = new LinkedHashMap<>();
+        for (Iterator<String> cities = resync.iterator(); cities.hasNext() && latest.size() < batchSize; ) {
+            String city = cities.next();
+            cities.remove();
+            latest.put(city, weatherRepository.findLatestWeatherByCity(city).orElse(null));
+        }
+        try {
+            store.write(latest);
+        } catch (IllegalStateException exception) {
+            try {
+                writeOneByOne(latest, exception);
+            } catch (IllegalStateException failure) {
+                resync.addAll(latest.keySet());
+                throw failure;
+            }
+        }
+        written.add(latest.size());
+        batches.increment();
+        return latest.size();
+    }
+
+    /**
+     * Writes a rejected batch city by city, dead-lettering the rows the database refuses as
+     * invalid. On any other failure the cities written so far leave the batch and the rest stay
+     * pending.
+     */
+    private void writeOneByOne(Map<String, WeatherDataEntity> changes, IllegalStateException batchFailure) {
+        Set<String> done = new HashSet<>();
+        for (Map.Entry<String, WeatherDataEntity> change : changes.entrySet()) {
+            try {
+                store.write(Collections.singletonMap(change.getKey(), change.getValue()));
+            } catch (IllegalStateException exception) {
+                if (!isInvalidRow(exception)) {
+                    batch.removeIf(pending -> done.contains(pending.city()));
+                    exception.addSuppressed(batchFailure);
+                    throw exception;
+                }
+                deadLetters.increment();
+                log.error("{} cannot be persisted and is dropped from the write-behind: {}", change.getKey(), exception.getCause().getMessage());
+            }
+            done.add(change.getKey());
+        }
+    }
+
+    /**
+     * Whether the database refused the row itself (SQLSTATE class 22, data exception, or 23,
+     * integrity constraint violation), so that writing it again can never succeed.
+     */
+    private static boolean isInvalidRow(IllegalStateException exception) {
+        if (exception.getCause() instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+            String sqlState = sqlException.getSQLState();
+            return sqlState.startsWith("22") || sqlState.startsWith("23");
+        }
+        return false;
+    }
+
+    /**
+     * Changes written so far, before coalescing changes of the same city within a batch.
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * A city's value after a change, {@code null} once deleted.
+     */
+    private record Change(String city, WeatherDataEntity entity) {
+    }
+}
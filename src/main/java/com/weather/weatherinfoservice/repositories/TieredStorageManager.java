@@ -0,0 +1,98 @@
+package com.weather.weatherinfoservice.repositories;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Attaches the cold tier to {@link WeatherRepository} and runs periodic demotion passes.
+ *
+ * <p><strong>Metrics:</strong>
+ * <ul>
+ *   <li>{@code weather.storage.reads} - reads by {@code tier} ({@code hot}, {@code cold}, {@code miss})</li>
+ *   <li>{@code weather.storage.hit.ratio} - share of all reads answered by each {@code tier}</li>
+ *   <li>{@code weather.storage.entries} - entries currently held by each {@code tier}</li>
+ *   <li>{@code weather.storage.cold.bytes} - size of the segment file, including not yet compacted records</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "weather.storage.tiered", name = "enabled", havingValue = "true")
+public class TieredStorageManager implements SmartLifecycle {
+
+    private final WeatherRepository weatherRepository;
+    private final TieredStorageProperties tieredStorageProperties;
+    private final ColdSegmentStore coldSegmentStore;
+    private ScheduledExecutorService scheduler;
+
+    public TieredStorageManager(WeatherRepository weatherRepository, TieredStorageProperties tieredStorageProperties, MeterRegistry meterRegistry) {
+        this.weatherRepository = weatherRepository;
+        this.tieredStorageProperties = tieredStorageProperties;
+        this.coldSegmentStore = new ColdSegmentStore(tieredStorageProperties.getSegmentFile());
+        weatherRepository.attachColdTier(coldSegmentStore);
+
+        registerReads(meterRegistry, "hot", WeatherRepository::getHotHits);
+        registerReads(meterRegistry, "cold", WeatherRepository::getColdHits);
+        registerReads(meterRegistry, "miss", WeatherRepository::getMisses);
+        Gauge.builder("weather.storage.entries", weatherRepository, WeatherRepository::hotSize).tag("tier", "hot").register(meterRegistry);
+        Gauge.builder("weather.storage.entries", weatherRepository, WeatherRepository::coldSize).tag("tier", "cold").register(meterRegistry);
+        Gauge.builder("weather.storage.cold.bytes", coldSegmentStore, ColdSegmentStore::sizeInBytes).register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        long intervalMillis = tieredStorageProperties.getDemotionInterval().toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("weather-demotion").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::demote, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        coldSegmentStore.close();
+    }
+
+    private void demote() {
+        try {
+            int demoted = weatherRepository.demoteTo(tieredStorageProperties.getHotCapacity());
+            if (demoted > 0) {
+                log.debug("demoted {} cities to the cold tier ({} hot, {} cold)", demoted, weatherRepository.hotSize(), weatherRepository.coldSize());
+            }
+        } catch (RuntimeException exception) {
+            log.error("demotion pass failed", exception);
+        }
+    }
+
+    private void registerReads(MeterRegistry meterRegistry, String tier, ToDoubleFunction<WeatherRepository> reads) {
+        FunctionCounter.builder("weather.storage.reads", weatherRepository, reads).tag("tier", tier).register(meterRegistry);
+        Gauge.builder("weather.storage.hit.ratio", weatherRepository, repository -> {
+                    double total = repository.getHotHits() + repository.getColdHits() + repository.getMisses();
+                    return total == 0 ? 0 : reads.applyAsDouble(repository) / total;
+                })
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+}
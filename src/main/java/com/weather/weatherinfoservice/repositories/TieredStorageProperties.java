@@ -0,0 +1,35 @@
+package com.weather.weatherinfoservice.repositories;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Hot/cold storage settings bound from {@code weather.storage.tiered.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.storage.tiered")
+public class TieredStorageProperties {
+
+    /**
+     * Whether rarely read cities are demoted to an on-disk segment file.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of entries kept on-heap after each demotion pass.
+     */
+    private int hotCapacity = 10_000;
+
+    /**
+     * Segment file of the cold tier. It is recreated empty on every start.
+     */
+    private Path segmentFile = Path.of(System.getProperty("java.io.tmpdir"), "weather-cold.seg");
+
+    /**
+     * Time between demotion passes.
+     */
+    private Duration demotionInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,22 @@
+package com.weather.weatherinfoservice.repositories;
+
+/**
+ * Callback notified by {@link WeatherRepository} for every change to a city entry.
+ *
+ * <p>Listeners are invoked on the writing thread while the repository holds the
+ * per-city lock, so for any single city the notifications arrive in exactly the order
+ * the changes were applied. Implementations must therefore be short and must never
+ * call back into the repository.
+ */
+@FunctionalInterface
+public interface WeatherDataChangeListener {
+
+    /**
+     * Called after a city entry was created, replaced or removed.
+     *
+     * @param city the city whose entry changed
+     * @param previous the entry before the change, or {@code null} if the city was absent
+     * @param current the entry after the change, or {@code null} if the city was removed
+     */
+    void onChange(String city, WeatherDataEntity previous, WeatherDataEntity current);
+}
@@ -2,6 +2,7 @@ package com.weather.weatherinfoservice.repositories;
 
 import com.weather.weatherinfoservice.models.WeatherDataRequest;
 import com.weather.weatherinfoservice.util.IdGenerator;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 
@@ -19,11 +20,25 @@ public class WeatherDataEntity {
     private final String weather;
     private final LocalDate date;
 
+    /**
+     * Creates an entry from a validated request, normalizing the temperature to
+     * {@link TemperatureConverter#CANONICAL_UNIT} at full precision.
+     */
     public WeatherDataEntity(IdGenerator idGenerator, WeatherDataRequest weatherDataRequest) {
-        this.id = idGenerator.generateId();
+        this(idGenerator.generateId(), weatherDataRequest);
+    }
+
+    /**
+     * Creates an entry with a known id from a validated request, normalizing the temperature to
+     * {@link TemperatureConverter#CANONICAL_UNIT} at full precision, see
+     * {@link TemperatureConverter#formatExact(double)}.
+     */
+    public WeatherDataEntity(UUID id, WeatherDataRequest weatherDataRequest) {
+        Double celsius = TemperatureConverter.parseCelsius(weatherDataRequest.getTemp(), weatherDataRequest.getUnit());
+        this.id = id;
         this.city = weatherDataRequest.getCity();
-        this.temp = weatherDataRequest.getTemp();
-        this.unit = weatherDataRequest.getUnit();
+        this.temp = celsius != null ? TemperatureConverter.formatExact(celsius) : weatherDataRequest.getTemp();
+        this.unit = celsius != null ? TemperatureConverter.CANONICAL_UNIT : weatherDataRequest.getUnit();
         this.weather = weatherDataRequest.getWeather();
         this.date = weatherDataRequest.getDate();
     }
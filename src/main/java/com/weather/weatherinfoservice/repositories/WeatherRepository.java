@@ -1,44 +1,497 @@
 package com.weather.weatherinfoservice.repositories;
 
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
+/**
+ * In-memory store of the current weather per city.
+ *
+ * <p><strong>Tiering:</strong> once a {@link ColdSegmentStore} is attached, rarely read cities
+ * can be demoted from the on-heap map to the segment file with {@link #demoteTo(int)} and are
+ * promoted back transparently by the next read. Every move between the tiers happens inside
+ * the hot map's per-city lock, so a city is always in exactly one tier and concurrent writes
+ * never resurrect stale cold copies. Demotion and promotion are not changes of the data and
+ * are therefore not reported to {@link WeatherDataChangeListener}s.
+ *
+ * <p><strong>Tenants:</strong> while a {@link TenantNamespace} is bound to the calling thread,
+ * reads consult the tenant's overrides before the shared data, and writes and deletes only
+ * change the tenant's overrides. Tenant changes are private to the tenant and are not reported
+ * to listeners either, so aggregates, indexes and replication keep describing the shared data.
+ * Both shared and tenant writes are reported to an open {@link WriteCapture} of the writing thread.
+ *
+ * <p><strong>Snapshots:</strong> {@link #forEachAtSnapshot(Consumer)} visits the shared data as
+ * of one instant without blocking writers. While it runs, every write, delete and tier move
+ * first records the entry's before-image, again inside the per-city lock, and the visit reports
+ * before-images instead of the live values for the cities they cover.
+ *
+ * <p><strong>Expiry:</strong> {@link #expire(String, WeatherDataEntity)} removes an entry only
+ * while it is still the value an expiry was scheduled for; a removed city falls back to the
+ * external source on its next read like any other miss.
+ */
 @Repository
 public class WeatherRepository {
 
-    private final Map<String, WeatherDataEntity> inMemoryWeatherData = new HashMap<>();
+    private final Map<String, WeatherDataEntity> inMemoryWeatherData = new ConcurrentHashMap<>();
+    private final List<WeatherDataChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final List<SnapshotCapture> activeSnapshots = new CopyOnWriteArrayList<>();
+    private final Map<String, AccessStats> accessStats = new ConcurrentHashMap<>();
+    private final LongAdder hotHits = new LongAdder();
+    private final LongAdder coldHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile ColdSegmentStore coldTier;
+    private volatile Predicate<String> keepHot = city -> false;
 
     public WeatherRepository() {
         initializeSampleWeatherData();
     }
 
     private void initializeSampleWeatherData() {
-        inMemoryWeatherData.put("Auckland", new WeatherDataEntity(UUID.randomUUID(), "Auckland", "15","C", "rainy", LocalDate.now()));
-        inMemoryWeatherData.put("Christchurch", new WeatherDataEntity(UUID.randomUUID(), "Christchurch", "7","C", "Cloudy", LocalDate.now()));
-        inMemoryWeatherData.put("Wellington", new WeatherDataEntity(UUID.randomUUID(), "Wellington", "22","C", "sunny", LocalDate.now()));
+        inMemoryWeatherData.put("Auckland", new WeatherDataEntity(sampleId("Auckland"), "Auckland", "15","C", "rainy", LocalDate.now()));
+        inMemoryWeatherData.put("Christchurch", new WeatherDataEntity(sampleId("Christchurch"), "Christchurch", "7","C", "Cloudy", LocalDate.now()));
+        inMemoryWeatherData.put("Wellington", new WeatherDataEntity(sampleId("Wellington"), "Wellington", "22","C", "sunny", LocalDate.now()));
+    }
+
+    /**
+     * Returns {@code true} if the entry is still the sample entry the repository starts with.
+     * Sample ids are derived from the city, so every instance seeds identical entries.
+     */
+    public static boolean isSampleEntry(WeatherDataEntity entity) {
+        return sampleId(entity.getCity()).equals(entity.getId());
+    }
+
+    private static UUID sampleId(String city) {
+        return UUID.nameUUIDFromBytes(("sample:" + city).getBytes(StandardCharsets.UTF_8));
     }
 
     public Optional<WeatherDataEntity> findWeatherByCity(String city) {
-        return Optional.ofNullable(inMemoryWeatherData.get(city));
+        TenantNamespace tenant = TenantContextHolder.getTenant();
+        if (tenant != null) {
+            WeatherDataEntity override = tenant.find(city);
+            if (override != null) {
+                return override == TenantNamespace.DELETED ? Optional.empty() : Optional.of(override);
+            }
+            tenant.recordSharedRead();
+        }
+        return findSharedWeatherByCity(city);
+    }
+
+    /**
+     * Reads the shared entry of a city inside its per-city lock. Unlike
+     * {@link #findWeatherByCity(String)}, the result includes every change already reported to
+     * listeners, even one still being applied when the read started. Tenant overrides are ignored.
+     */
+    public Optional<WeatherDataEntity> findLatestWeatherByCity(String city) {
+        WeatherDataEntity entity = inMemoryWeatherData.computeIfPresent(city, (key, current) -> current);
+        return entity != null ? Optional.of(entity) : findSharedWeatherByCity(city);
+    }
+
+    private Optional<WeatherDataEntity> findSharedWeatherByCity(String city) {
+        WeatherDataEntity entity = inMemoryWeatherData.get(city);
+        ColdSegmentStore cold = coldTier;
+        if (cold == null) {
+            return Optional.ofNullable(entity);
+        }
+        if (entity != null) {
+            hotHits.increment();
+        } else if (cold.contains(city)) {
+            entity = inMemoryWeatherData.compute(city, (key, current) -> {
+                if (current != null) {
+                    return current;
+                }
+                WeatherDataEntity promoted = cold.remove(key);
+                if (promoted != null) {
+                    captureBeforeImage(key, promoted);
+                }
+                return promoted;
+            });
+            if (entity != null) {
+                coldHits.increment();
+            }
+        }
+        if (entity == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        accessStats.computeIfAbsent(city, key -> new AccessStats()).touch();
+        return Optional.of(entity);
+    }
+
+    /**
+     * Reads the shared entry of a city from either tier without promoting it or counting the
+     * read, as {@link #findAll()} does for every city. Tenant overrides are ignored.
+     */
+    public Optional<WeatherDataEntity> peekWeatherByCity(String city) {
+        WeatherDataEntity entity = inMemoryWeatherData.get(city);
+        ColdSegmentStore cold = coldTier;
+        if (entity == null && cold != null) {
+            entity = cold.get(city);
+            if (entity == null) {
+                // promoted between the two reads
+                entity = inMemoryWeatherData.get(city);
+            }
+        }
+        return Optional.ofNullable(entity);
+    }
+
+    /**
+     * Returns every shared entry of both tiers without promoting cold entries.
+     */
+    public List<WeatherDataEntity> findAll() {
+        ColdSegmentStore cold = coldTier;
+        if (cold == null) {
+            return List.copyOf(inMemoryWeatherData.values());
+        }
+        List<WeatherDataEntity> all = new ArrayList<>(inMemoryWeatherData.values());
+        all.addAll(cold.readAll());
+        return List.copyOf(all);
     }
 
     public WeatherDataEntity saveWeather(String city, WeatherDataEntity WeatherDataEntity) {
-        inMemoryWeatherData.put(city, WeatherDataEntity);
-        return WeatherDataEntity;
+        return put(city, WeatherDataEntity);
     }
 
     public WeatherDataEntity updateWeather(String city, WeatherDataEntity WeatherDataEntity) {
-        inMemoryWeatherData.put(city, WeatherDataEntity);
-        return WeatherDataEntity;
+        return put(city, WeatherDataEntity);
     }
 
     public void deleteWeather(String city) {
-        inMemoryWeatherData.remove(city);
+        TenantNamespace tenant = TenantContextHolder.getTenant();
+        if (tenant != null) {
+            boolean shared = inMemoryWeatherData.containsKey(city) || (coldTier != null && coldTier.contains(city));
+            if (shared) {
+                tenant.put(city, TenantNamespace.DELETED);
+            } else {
+                tenant.remove(city);
+            }
+            return;
+        }
+        if (coldTier == null) {
+            inMemoryWeatherData.computeIfPresent(city, (key, previous) -> {
+                captureBeforeImage(key, previous);
+                notifyListeners(key, previous, null);
+                WriteCapture.written(key, previous, null);
+                return null;
+            });
+            return;
+        }
+        inMemoryWeatherData.compute(city, (key, hot) -> {
+            WeatherDataEntity previous = hot != null ? hot : coldTier.remove(key);
+            if (previous != null) {
+                captureBeforeImage(key, previous);
+                notifyListeners(key, previous, null);
+                WriteCapture.written(key, previous, null);
+            }
+            return null;
+        });
+        accessStats.remove(city);
+    }
+
+    /**
+     * Removes the shared entry of a city if it still equals {@code expected}, in either tier.
+     *
+     * <p>The removal is reported to listeners like a delete. An entry replaced since
+     * {@code expected} was read is left alone, so an expiry decided on an old value never removes a
+     * newer one. Tenant overrides are not affected.
+     *
+     * @return whether the entry was removed
+     */
+    public boolean expire(String city, WeatherDataEntity expected) {
+        ColdSegmentStore cold = coldTier;
+        boolean[] expired = new boolean[1];
+        inMemoryWeatherData.compute(city, (key, hot) -> {
+            WeatherDataEntity current = hot == null && cold != null ? cold.get(key) : hot;
+            if (current == null || !current.equals(expected)) {
+                return hot;
+            }
+            if (hot == null) {
+                cold.remove(key);
+            }
+            captureBeforeImage(key, current);
+            notifyListeners(key, current, null);
+            expired[0] = true;
+            return null;
+        });
+        if (expired[0]) {
+            accessStats.remove(city);
+        }
+        return expired[0];
+    }
+
+    /**
+     * Passes every shared entry of both tiers, as it was when the call started, to {@code action}.
+     *
+     * <p>Writers are never blocked: entries changed during the visit are reported with the value
+     * they had at the start, entries created during the visit are left out and entries deleted
+     * during the visit are still reported. Each city is reported once. Tenant overrides are not
+     * part of the shared data and are not visited.
+     *
+     * @return the number of entries passed to {@code action}
+     */
+    public long forEachAtSnapshot(Consumer<WeatherDataEntity> action) {
+        SnapshotCapture capture = new SnapshotCapture();
+        activeSnapshots.add(capture);
+        try {
+            Set<String> visited = new HashSet<>();
+            long count = 0;
+            for (Map.Entry<String, WeatherDataEntity> entry : inMemoryWeatherData.entrySet()) {
+                count += visit(capture, visited, entry.getKey(), entry.getValue(), action);
+            }
+            ColdSegmentStore cold = coldTier;
+            if (cold != null) {
+                for (WeatherDataEntity entity : cold.readAll()) {
+                    count += visit(capture, visited, entity.getCity(), entity, action);
+                }
+            }
+            // entries changed, moved or deleted before the passes above reached them
+            for (Map.Entry<String, Optional<WeatherDataEntity>> beforeImage : capture.beforeImages.entrySet()) {
+                if (beforeImage.getValue().isPresent() && visited.add(beforeImage.getKey())) {
+                    action.accept(beforeImage.getValue().get());
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            activeSnapshots.remove(capture);
+        }
+    }
+
+    private static int visit(SnapshotCapture capture, Set<String> visited, String city, WeatherDataEntity live, Consumer<WeatherDataEntity> action) {
+        if (!visited.add(city)) {
+            return 0;
+        }
+        Optional<WeatherDataEntity> beforeImage = capture.beforeImages.get(city);
+        WeatherDataEntity entity = beforeImage != null ? beforeImage.orElse(null) : live;
+        if (entity == null) {
+            return 0;
+        }
+        action.accept(entity);
+        return 1;
+    }
+
+    /**
+     * Registers a listener notified of every subsequent change.
+     *
+     * @see WeatherDataChangeListener
+     */
+    public void addChangeListener(WeatherDataChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Registers a listener and first reports every stored entry to it as created, for listeners
+     * that keep state derived from the whole store.
+     *
+     * <p>Each entry is replayed inside its per-city lock, like a change. Whichever reaches a city
+     * first, its replay or a live change, is reported without a previous entry, since the listener
+     * has not seen one yet; so every entry is counted exactly once, even while writers are active.
+     *
+     * @see WeatherDataChangeListener
+     */
+    public void addChangeListenerWithReplay(WeatherDataChangeListener listener) {
+        Set<String> replayed = ConcurrentHashMap.newKeySet();
+        AtomicBoolean replaying = new AtomicBoolean(true);
+        changeListeners.add((city, previous, current) -> {
+            if (!replaying.get() || !replayed.add(city)) {
+                listener.onChange(city, previous, current);
+            } else if (current != null) {
+                listener.onChange(city, null, current);
+            }
+        });
+        for (String city : inMemoryWeatherData.keySet()) {
+            inMemoryWeatherData.computeIfPresent(city, (key, current) -> {
+                if (replayed.add(key)) {
+                    listener.onChange(key, null, current);
+                }
+                return current;
+            });
+        }
+        ColdSegmentStore cold = coldTier;
+        if (cold != null) {
+            for (WeatherDataEntity entity : cold.readAll()) {
+                // tier moves happen inside the hot lock, so here the city is in exactly one tier
+                inMemoryWeatherData.compute(entity.getCity(), (key, hot) -> {
+                    WeatherDataEntity current = hot != null ? hot : cold.get(key);
+                    if (current != null && replayed.add(key)) {
+                        listener.onChange(key, null, current);
+                    }
+                    return hot;
+                });
+            }
+        }
+        replaying.set(false);
+    }
+
+    /**
+     * Enables the cold tier. Entries are only moved to it by {@link #demoteTo(int)}.
+     */
+    public void attachColdTier(ColdSegmentStore coldSegmentStore) {
+        this.coldTier = coldSegmentStore;
+    }
+
+    /**
+     * Exempts cities from {@link #demoteTo(int)}, such as cities whose reads are answered
+     * elsewhere and therefore never counted here.
+     */
+    public void keepHot(Predicate<String> keepHot) {
+        this.keepHot = keepHot;
     }
 
+    /**
+     * Moves the least valuable hot entries to the cold tier until at most {@code hotCapacity}
+     * remain on-heap, then halves all access frequencies so that old popularity fades.
+     *
+     * <p>Entries are ranked by access frequency first and by the time of their last access second,
+     * so a city read once long ago goes before one read once a moment ago. Cities registered
+     * with {@link #keepHot(Predicate)} are never demoted.
+     *
+     * @return the number of demoted entries
+     */
+    public int demoteTo(int hotCapacity) {
+        ColdSegmentStore cold = coldTier;
+        int excess = inMemoryWeatherData.size() - hotCapacity;
+        if (cold == null || excess <= 0) {
+            accessStats.values().forEach(AccessStats::decay);
+            return 0;
+        }
+        // rank on a snapshot, the live statistics keep changing under concurrent reads
+        List<Map.Entry<String, long[]>> candidates = new ArrayList<>();
+        Predicate<String> exempt = keepHot;
+        for (String city : inMemoryWeatherData.keySet()) {
+            if (exempt.test(city)) {
+                continue;
+            }
+            AccessStats stats = accessStats.get(city);
+            candidates.add(Map.entry(city, stats == null ? new long[]{0, Long.MIN_VALUE} : stats.snapshot()));
+        }
+        candidates.sort(Comparator.comparing(Map.Entry::getValue, Comparator.<long[]>comparingLong(rank -> rank[0]).thenComparingLong(rank -> rank[1])));
+        int demoted = 0;
+        for (Map.Entry<String, long[]> candidate : candidates.subList(0, Math.min(excess, candidates.size()))) {
+            String city = candidate.getKey();
+            boolean[] moved = new boolean[1];
+            inMemoryWeatherData.computeIfPresent(city, (key, entity) -> {
+                captureBeforeImage(key, entity);
+                cold.write(key, entity);
+                moved[0] = true;
+                return null;
+            });
+            if (moved[0]) {
+                accessStats.remove(city);
+                demoted++;
+            }
+        }
+        accessStats.values().forEach(AccessStats::decay);
+        return demoted;
+    }
+
+    public int hotSize() {
+        return inMemoryWeatherData.size();
+    }
+
+    public int coldSize() {
+        ColdSegmentStore cold = coldTier;
+        return cold == null ? 0 : cold.size();
+    }
+
+    /**
+     * Reads answered from the on-heap tier; only counted while a cold tier is attached.
+     */
+    public long getHotHits() {
+        return hotHits.sum();
+    }
+
+    /**
+     * Reads answered from the cold tier, each of which promoted the entry.
+     */
+    public long getColdHits() {
+        return coldHits.sum();
+    }
+
+    /**
+     * Reads of cities found in neither tier; only counted while a cold tier is attached.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private WeatherDataEntity put(String city, WeatherDataEntity weatherDataEntity) {
+        TenantNamespace tenant = TenantContextHolder.getTenant();
+        if (tenant != null) {
+            tenant.put(city, weatherDataEntity);
+            return weatherDataEntity;
+        }
+        inMemoryWeatherData.compute(city, (key, hot) -> {
+            WeatherDataEntity previous = hot == null && coldTier != null ? coldTier.remove(key) : hot;
+            captureBeforeImage(key, previous);
+            notifyListeners(key, previous, weatherDataEntity);
+            WriteCapture.written(key, previous, weatherDataEntity);
+            return weatherDataEntity;
+        });
+        if (coldTier != null) {
+            // a fresh write counts as recent use, but not as a read
+            accessStats.computeIfAbsent(city, key -> new AccessStats());
+        }
+        return weatherDataEntity;
+    }
+
+    private void captureBeforeImage(String city, WeatherDataEntity previous) {
+        for (SnapshotCapture capture : activeSnapshots) {
+            capture.beforeImages.putIfAbsent(city, Optional.ofNullable(previous));
+        }
+    }
+
+    private void notifyListeners(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        for (WeatherDataChangeListener listener : changeListeners) {
+            listener.onChange(city, previous, current);
+        }
+    }
+
+    /**
+     * Values of the entries changed since a snapshot started, as they were at its start; an empty
+     * value stands for a city that did not exist yet.
+     */
+    private static final class SnapshotCapture {
+
+        private final Map<String, Optional<WeatherDataEntity>> beforeImages = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Access frequency and recency of a hot entry.
+     */
+    private static final class AccessStats {
+
+        private final AtomicInteger frequency = new AtomicInteger();
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        void touch() {
+            frequency.incrementAndGet();
+            lastAccessNanos = System.nanoTime();
+        }
+
+        void decay() {
+            frequency.updateAndGet(value -> value >> 1);
+        }
+
+        long[] snapshot() {
+            return new long[]{frequency.get(), lastAccessNanos};
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package com.weather.weatherinfoservice.repositories;
+
+/**
+ * Reports the writes the current thread applies to a callback, such as the cluster owner
+ * replaying its writes on the replicas.
+ *
+ * <p>Unlike {@link WeatherDataChangeListener}s registered on the repository, the callback sees
+ * only the writes of the thread that opened the capture, including writes to the tenant bound
+ * to it. It runs inside the lock that applies the write, the repository's per-city lock or the
+ * tenant's, so for any single city the callbacks of concurrent writers run in the order the
+ * writes were applied. The same rules as for listeners apply: the callback must be short and
+ * must never call back into the repository.
+ */
+public final class WriteCapture {
+
+    private static final ThreadLocal<WeatherDataChangeListener> CALLBACK = new ThreadLocal<>();
+
+    private WriteCapture() {
+    }
+
+    /**
+     * Starts reporting the writes of the current thread to {@code callback} until {@link #close()}.
+     */
+    public static void open(WeatherDataChangeListener callback) {
+        CALLBACK.set(callback);
+    }
+
+    public static void close() {
+        CALLBACK.remove();
+    }
+
+    /**
+     * Reports a write applied by the current thread, while the lock applying it is held.
+     *
+     * @param previous the entry the write replaced in the namespace it was applied to, or {@code null}
+     * @param current the written entry, or {@code null} for a delete
+     */
+    public static void written(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        WeatherDataChangeListener callback = CALLBACK.get();
+        if (callback != null) {
+            callback.onChange(city, previous, current);
+        }
+    }
+}
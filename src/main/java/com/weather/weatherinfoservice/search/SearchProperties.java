@@ -0,0 +1,27 @@
+package com.weather.weatherinfoservice.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Search settings bound from {@code weather.search.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.search")
+public class SearchProperties {
+
+    /**
+     * Whether the condition bitmaps and the sorted temperature index are maintained.
+     */
+    private boolean indexesEnabled = true;
+
+    /**
+     * Number of entries below which a scan segment is not split further.
+     */
+    private int segmentSize = 1_024;
+
+    /**
+     * Largest page size a client may request.
+     */
+    private int maxPageSize = 500;
+}
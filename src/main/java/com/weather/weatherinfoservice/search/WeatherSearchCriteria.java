@@ -0,0 +1,91 @@
+package com.weather.weatherinfoservice.search;
+
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Filters, ordering and paging of a {@code GET /weather/search} query.
+ *
+ * <p>Every filter is optional; the ones given are combined with AND. The temperature range
+ * is compared after converting both the bounds and the stored temperatures to Celsius, so
+ * entries still stored in Fahrenheit, written before temperatures were normalized, are matched
+ * consistently. There is no unit filter: every write is stored in Celsius.
+ */
+@Data
+@Builder
+public class WeatherSearchCriteria {
+
+    public enum SortField { NONE, CITY, TEMP, DATE }
+
+    private final String weather;
+    private final LocalDate date;
+    private final Double minTempCelsius;
+    private final Double maxTempCelsius;
+    private final SortField sort;
+    private final boolean descending;
+    private final int page;
+    private final int size;
+
+    /**
+     * Returns {@code true} if the entry satisfies every filter of this query.
+     */
+    public boolean matches(WeatherDataEntity entity) {
+        if (weather != null && !weather.equals(normalizedCondition(entity.getWeather()))) {
+            return false;
+        }
+        if (date != null && !date.equals(entity.getDate())) {
+            return false;
+        }
+        if (hasTemperatureRange()) {
+            Double celsius = celsius(entity);
+            if (celsius == null
+                    || (minTempCelsius != null && celsius < minTempCelsius)
+                    || (maxTempCelsius != null && celsius > maxTempCelsius)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean hasTemperatureRange() {
+        return minTempCelsius != null || maxTempCelsius != null;
+    }
+
+    /**
+     * Number of matches needed to fill the requested page and tell whether another one follows.
+     */
+    public int limit() {
+        return page * size + size + 1;
+    }
+
+    /**
+     * Returns the result ordering, or {@code null} when any order is acceptable.
+     */
+    public Comparator<WeatherDataEntity> comparator() {
+        Comparator<WeatherDataEntity> comparator = switch (sort) {
+            case NONE -> null;
+            case CITY -> Comparator.comparing(WeatherDataEntity::getCity);
+            case TEMP -> Comparator.comparing(WeatherSearchCriteria::celsius, Comparator.nullsLast(Comparator.naturalOrder()));
+            case DATE -> Comparator.comparing(WeatherDataEntity::getDate, Comparator.nullsLast(Comparator.naturalOrder()));
+        };
+        if (comparator == null) {
+            return null;
+        }
+        comparator = comparator.thenComparing(WeatherDataEntity::getCity);
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    static String normalizedCondition(String weather) {
+        return weather == null ? null : weather.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static Double celsius(WeatherDataEntity entity) {
+        return TemperatureConverter.parseCelsius(entity.getTemp(), entity.getUnit());
+    }
+}
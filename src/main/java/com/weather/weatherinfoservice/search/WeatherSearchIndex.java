@@ -0,0 +1,189 @@
+package com.weather.weatherinfoservice.search;
+
+import com.weather.weatherinfoservice.repositories.WeatherDataChangeListener;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Secondary indexes over the local {@link WeatherRepository} used by {@link WeatherSearchService}.
+ *
+ * <ul>
+ *   <li>a bitmap per weather condition over dense city slots, answering condition filters
+ *       without touching non-matching entries</li>
+ *   <li>a sorted temperature index in Celsius, answering range filters and temperature
+ *       ordering by walking only the requested part of the range</li>
+ * </ul>
+ *
+ * <p>Both are maintained from the repository change notifications under a single read-write
+ * lock; updates are short and reads copy out the candidate city names before returning.
+ */
+@Component
+@ConditionalOnProperty(prefix = "weather.search", name = "indexes-enabled", havingValue = "true", matchIfMissing = true)
+public class WeatherSearchIndex implements WeatherDataChangeListener {
+
+    private final WeatherRepository weatherRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotByCity = new HashMap<>();
+    private final List<String> cityBySlot = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<String, BitSet> bitmapByCondition = new HashMap<>();
+    private final TreeMap<Double, Set<String>> citiesByCelsius = new TreeMap<>();
+
+    public WeatherSearchIndex(WeatherRepository weatherRepository) {
+        this.weatherRepository = weatherRepository;
+    }
+
+    /**
+     * Indexes the stored entries and follows every later change, without missing a write made
+     * while indexing.
+     */
+    @PostConstruct
+    public void subscribe() {
+        weatherRepository.addChangeListenerWithReplay(this);
+    }
+
+    @Override
+    public void onChange(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                unindex(city, previous);
+            }
+            if (current != null) {
+                index(city, current);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the cities whose weather condition equals the given normalised condition.
+     */
+    public List<String> citiesWithCondition(String condition) {
+        lock.readLock().lock();
+        try {
+            BitSet bitmap = bitmapByCondition.get(condition);
+            if (bitmap == null) {
+                return List.of();
+            }
+            List<String> cities = new ArrayList<>(bitmap.cardinality());
+            for (int slot = bitmap.nextSetBit(0); slot >= 0; slot = bitmap.nextSetBit(slot + 1)) {
+                cities.add(cityBySlot.get(slot));
+            }
+            return cities;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of cities with the given normalised condition.
+     */
+    public int countWithCondition(String condition) {
+        lock.readLock().lock();
+        try {
+            BitSet bitmap = bitmapByCondition.get(condition);
+            return bitmap == null ? 0 : bitmap.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} cities with a temperature inside the range, in temperature order.
+     *
+     * @param minCelsius the inclusive lower bound, or {@code null} for none
+     * @param maxCelsius the inclusive upper bound, or {@code null} for none
+     * @param descending whether to walk from the highest temperature down
+     * @param limit the maximum number of cities to return
+     */
+    public List<String> citiesInRange(Double minCelsius, Double maxCelsius, boolean descending, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<Double, Set<String>> range = citiesByCelsius;
+            if (minCelsius != null) {
+                range = range.tailMap(minCelsius, true);
+            }
+            if (maxCelsius != null) {
+                range = range.headMap(maxCelsius, true);
+            }
+            if (descending) {
+                range = range.descendingMap();
+            }
+            List<String> cities = new ArrayList<>();
+            for (Set<String> bucket : range.values()) {
+                for (String city : bucket) {
+                    if (cities.size() >= limit) {
+                        return cities;
+                    }
+                    cities.add(city);
+                }
+            }
+            return cities;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(String city, WeatherDataEntity entity) {
+        Integer slot = slotByCity.get(city);
+        if (slot == null) {
+            slot = freeSlots.isEmpty() ? cityBySlot.size() : freeSlots.pop();
+            slotByCity.put(city, slot);
+            if (slot == cityBySlot.size()) {
+                cityBySlot.add(city);
+            } else {
+                cityBySlot.set(slot, city);
+            }
+        }
+        String condition = WeatherSearchCriteria.normalizedCondition(entity.getWeather());
+        if (condition != null) {
+            bitmapByCondition.computeIfAbsent(condition, key -> new BitSet()).set(slot);
+        }
+        Double celsius = WeatherSearchCriteria.celsius(entity);
+        if (celsius != null) {
+            citiesByCelsius.computeIfAbsent(celsius, key -> new LinkedHashSet<>()).add(city);
+        }
+    }
+
+    private void unindex(String city, WeatherDataEntity entity) {
+        Integer slot = slotByCity.remove(city);
+        if (slot != null) {
+            String condition = WeatherSearchCriteria.normalizedCondition(entity.getWeather());
+            BitSet bitmap = condition != null ? bitmapByCondition.get(condition) : null;
+            if (bitmap != null) {
+                bitmap.clear(slot);
+                if (bitmap.isEmpty()) {
+                    bitmapByCondition.remove(condition);
+                }
+            }
+            cityBySlot.set(slot, null);
+            freeSlots.push(slot);
+        }
+        Double celsius = WeatherSearchCriteria.celsius(entity);
+        if (celsius != null) {
+            citiesByCelsius.computeIfPresent(celsius, (key, cities) -> {
+                cities.remove(city);
+                return cities.isEmpty() ? null : cities;
+            });
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.weather.weatherinfoservice.search;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.models.WeatherSearchResponse;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers filtered, sorted and paged queries over the local {@link WeatherRepository}.
+ *
+ * <p><strong>Query Planning:</strong>
+ * <ol>
+ *   <li>With a weather filter and indexes enabled, candidates come from the condition bitmap</li>
+ *   <li>Otherwise, with a temperature range and indexes enabled, candidates come from the sorted
+ *       temperature index; when the query is also ordered by temperature the walk stops as soon
+ *       as the requested page is filled</li>
+ *   <li>Otherwise the store is scanned in parallel, split into segments on the common fork-join
+ *       pool; unordered queries stop every segment once enough matches were found</li>
+ * </ol>
+ * Candidates from an index are re-read from the repository and checked against every filter,
+ * so a concurrent write can never produce a result that does not match. Like the scan, these
+ * reads see the shared data only and leave cold entries in the cold tier.
+ */
+@Service
+public class WeatherSearchService {
+
+    private final WeatherRepository weatherRepository;
+    private final Optional<WeatherSearchIndex> weatherSearchIndex;
+    private final SearchProperties searchProperties;
+
+    public WeatherSearchService(WeatherRepository weatherRepository, Optional<WeatherSearchIndex> weatherSearchIndex, SearchProperties searchProperties) {
+        this.weatherRepository = weatherRepository;
+        this.weatherSearchIndex = weatherSearchIndex;
+        this.searchProperties = searchProperties;
+    }
+
+    /**
+     * Runs the query and returns the requested page.
+     */
+    public WeatherSearchResponse search(WeatherSearchCriteria criteria) {
+        Comparator<WeatherDataEntity> comparator = criteria.comparator();
+        int limit = comparator == null ? criteria.limit() : Integer.MAX_VALUE;
+        WeatherSearchIndex index = weatherSearchIndex.orElse(null);
+
+        List<WeatherDataEntity> matches;
+        String plan;
+        boolean ordered = false;
+        if (index != null && criteria.getWeather() != null) {
+            plan = "condition-bitmap";
+            matches = resolve(index.citiesWithCondition(criteria.getWeather()), criteria, limit);
+        } else if (index != null && criteria.hasTemperatureRange()) {
+            plan = "temperature-index";
+            ordered = criteria.getSort() == WeatherSearchCriteria.SortField.TEMP;
+            if (ordered) {
+                limit = criteria.limit();
+            }
+            matches = resolve(index.citiesInRange(criteria.getMinTempCelsius(), criteria.getMaxTempCelsius(), criteria.isDescending(), Integer.MAX_VALUE), criteria, limit);
+        } else {
+            plan = "parallel-scan";
+            List<WeatherDataEntity> all = weatherRepository.findAll();
+            matches = ForkJoinPool.commonPool().invoke(new ScanTask(all, 0, all.size(), criteria, limit, new AtomicInteger(), Math.max(1, searchProperties.getSegmentSize())));
+        }
+
+        if (comparator != null && !ordered) {
+            matches = new ArrayList<>(matches);
+            matches.sort(comparator);
+        }
+        int from = Math.min(criteria.getPage() * criteria.getSize(), matches.size());
+        int to = Math.min(from + criteria.getSize(), matches.size());
+        List<WeatherDataResponse> page = matches.subList(from, to).stream().map(WeatherDataResponse::new).toList();
+        return new WeatherSearchResponse(page, criteria.getPage(), criteria.getSize(), matches.size() > to, plan);
+    }
+
+    private List<WeatherDataEntity> resolve(List<String> cities, WeatherSearchCriteria criteria, int limit) {
+        List<WeatherDataEntity> matches = new ArrayList<>();
+        for (String city : cities) {
+            if (matches.size() >= limit) {
+                break;
+            }
+            weatherRepository.peekWeatherByCity(city).filter(criteria::matches).ifPresent(matches::add);
+        }
+        return matches;
+    }
+
+    /**
+     * Fork-join scan of one segment of the store snapshot.
+     */
+    private static final class ScanTask extends RecursiveTask<List<WeatherDataEntity>> {
+
+        private final List<WeatherDataEntity> entries;
+        private final int from;
+        private final int to;
+        private final WeatherSearchCriteria criteria;
+        private final int limit;
+        private final AtomicInteger found;
+        private final int segmentSize;
+
+        ScanTask(List<WeatherDataEntity> entries, int from, int to, WeatherSearchCriteria criteria, int limit, AtomicInteger found, int segmentSize) {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.criteria = criteria;
+            this.limit = limit;
+            this.found = found;
+            this.segmentSize = segmentSize;
+        }
+
+        @Override
+        protected List<WeatherDataEntity> compute() {
+            if (found.get() >= limit) {
+                return List.of();
+            }
+            if (to - from <= segmentSize) {
+                List<WeatherDataEntity> matches = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    WeatherDataEntity entity = entries.get(i);
+                    if (criteria.matches(entity)) {
+                        if (found.getAndIncrement() >= limit) {
+                            break;
+                        }
+                        matches.add(entity);
+                    }
+                }
+                return matches;
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(entries, from, middle, criteria, limit, found, segmentSize);
+            left.fork();
+            List<WeatherDataEntity> right = new ScanTask(entries, middle, to, criteria, limit, found, segmentSize).compute();
+            List<WeatherDataEntity> merged = new ArrayList<>(left.join());
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
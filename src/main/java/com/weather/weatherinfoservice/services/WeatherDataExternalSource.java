@@ -1,6 +1,8 @@
 package com.weather.weatherinfoservice.services;
 
 import com.weather.weatherinfoservice.exceptions.CityNotFoundException;
+import com.weather.weatherinfoservice.external.ExternalDataset;
+import com.weather.weatherinfoservice.external.ExternalSourceManager;
 import com.weather.weatherinfoservice.models.WeatherDataResponse;
 import org.springframework.stereotype.Service;
 
@@ -9,43 +11,51 @@ import java.util.Map;
 import java.util.UUID;
 
 /**
- * Mock implementation of {@link WeatherServiceReader} that simulates an external weather data source.
+ * Implementation of {@link WeatherServiceReader} that simulates an external weather data source.
  *
- * <p>This service provides pre-defined weather data for various New Zealand cities
- * and acts as a fallback when data is not available in local storage.
+ * <p>This service provides weather data for cities missing from local storage. By default it
+ * serves pre-defined data for various New Zealand cities; with {@code weather.external.file}
+ * set, the data is loaded from that file instead and reloaded whenever the file changes.
+ *
+ * <p>The data is held as one immutable {@link ExternalDataset} behind a volatile reference.
+ * A reload builds the next dataset completely before {@link #replace(ExternalDataset)} swaps it
+ * in, so lookups never wait and never see a partially loaded dataset.
  *
  * <p><strong>Note:</strong> This is a simulation class and does not make actual
  * external API calls. It serves as a stub for development and testing purposes.
  *
  * @see WeatherServiceReader
+ * @see ExternalSourceManager
  */
 @Service
 public class WeatherDataExternalSource implements WeatherServiceReader {
 
     /**
-     * Pre-defined weather data for various New Zealand cities.
-     * Contains sample data for demonstration and fallback purposes.
+     * Pre-defined weather data for various New Zealand cities, served until a dataset file is
+     * loaded. The readings carry no date, so they are always reported as today's.
      */
-    private static final Map<String, WeatherDataResponse> weatherMap = Map.ofEntries(
-            Map.entry("Hamilton", new WeatherDataResponse(UUID.randomUUID(), "Hamilton", "11", "C", "sunny", LocalDate.now())),
-            Map.entry("Tauranga", new WeatherDataResponse(UUID.randomUUID(), "Tauranga", "19", "C", "sunny", LocalDate.now())),
-            Map.entry("Napier-Hastings", new WeatherDataResponse(UUID.randomUUID(), "Napier-Hastings", "17", "C", "rainy", LocalDate.now())),
-            Map.entry("Dunedin", new WeatherDataResponse(UUID.randomUUID(), "Dunedin", "12", "C", "cloudy", LocalDate.now())),
-            Map.entry("Palmerston North", new WeatherDataResponse(UUID.randomUUID(), "Palmerston North", "15", "C", "windy", LocalDate.now())),
-            Map.entry("Nelson", new WeatherDataResponse(UUID.randomUUID(), "Nelson", "18", "C", "sunny", LocalDate.now())),
-            Map.entry("Rotorua", new WeatherDataResponse(UUID.randomUUID(), "Rotorua", "16", "C", "rainy", LocalDate.now())),
-            Map.entry("New Plymouth", new WeatherDataResponse(UUID.randomUUID(), "New Plymouth", "17", "C", "sunny", LocalDate.now())),
-            Map.entry("Whangarei", new WeatherDataResponse(UUID.randomUUID(), "Whangārei", "18", "C", "sunny", LocalDate.now()))
-    );
+    private static final ExternalDataset BUILT_IN = new ExternalDataset(Map.ofEntries(
+            Map.entry("Hamilton", new WeatherDataResponse(UUID.randomUUID(), "Hamilton", "11", "C", "sunny", null)),
+            Map.entry("Tauranga", new WeatherDataResponse(UUID.randomUUID(), "Tauranga", "19", "C", "sunny", null)),
+            Map.entry("Napier-Hastings", new WeatherDataResponse(UUID.randomUUID(), "Napier-Hastings", "17", "C", "rainy", null)),
+            Map.entry("Dunedin", new WeatherDataResponse(UUID.randomUUID(), "Dunedin", "12", "C", "cloudy", null)),
+            Map.entry("Palmerston North", new WeatherDataResponse(UUID.randomUUID(), "Palmerston North", "15", "C", "windy", null)),
+            Map.entry("Nelson", new WeatherDataResponse(UUID.randomUUID(), "Nelson", "18", "C", "sunny", null)),
+            Map.entry("Rotorua", new WeatherDataResponse(UUID.randomUUID(), "Rotorua", "16", "C", "rainy", null)),
+            Map.entry("New Plymouth", new WeatherDataResponse(UUID.randomUUID(), "New Plymouth", "17", "C", "sunny", null)),
+            Map.entry("Whangarei", new WeatherDataResponse(UUID.randomUUID(), "Whangārei", "18", "C", "sunny", null))
+    ), 0, 0);
+
+    private volatile ExternalDataset dataset = BUILT_IN;
 
     /**
      * {@inheritDoc}
      *
      * <p><strong>Implementation Details:</strong>
-     * This implementation returns pre-defined weather data from a static map
-     * containing sample data for various New Zealand cities.
+     * This implementation returns the reading of the city from the current dataset, dated
+     * today if the dataset has no date for it.
      *
-     * <p><strong>Supported Cities:</strong>
+     * <p><strong>Built-in Cities:</strong>
      * <ul>
      *   <li>Hamilton</li>
      *   <li>Tauranga</li>
@@ -58,19 +68,34 @@ public class WeatherDataExternalSource implements WeatherServiceReader {
      *   <li>Whangarei</li>
      * </ul>
      *
-     * <p><strong>Note:</strong> For cities not in the pre-defined list, this method
+     * <p><strong>Note:</strong> For cities not in the dataset, this method
      * returns null. The calling service should handle null responses
      * appropriately by throwing {@link CityNotFoundException}.
      *
      * @param city the name of the city to retrieve weather data for
      * @return WeatherDataResponse for the requested city, or null if the city
-     *         is not in the pre-defined list
+     *         is not in the dataset
      *
      * @see WeatherServiceReader#getWeatherData(String)
      */
     @Override
     public WeatherDataResponse getWeatherData(String city) {
-        return weatherMap.get(city);
+        WeatherDataResponse reading = dataset.cities().get(city);
+        if (reading == null || reading.getDate() != null) {
+            return reading;
+        }
+        return new WeatherDataResponse(reading.getUuid(), reading.getCity(), reading.getTemp(), reading.getUnit(),
+                reading.getWeather(), LocalDate.now());
+    }
 
+    public ExternalDataset getDataset() {
+        return dataset;
+    }
+
+    /**
+     * Atomically replaces the served data; lookups in progress finish on the previous dataset.
+     */
+    public void replace(ExternalDataset dataset) {
+        this.dataset = dataset;
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,20 @@
 package com.weather.weatherinfoservice.services;
 
+import com.weather.weatherinfoservice.diagnostics.ExternalSourceEvent;
+import com.weather.weatherinfoservice.diagnostics.RequestTrace;
+import com.weather.weatherinfoservice.diagnostics.WeatherServiceEvent;
 import com.weather.weatherinfoservice.exceptions.CityAlreadyExistException;
 import com.weather.weatherinfoservice.exceptions.CityNotFoundException;
+import com.weather.weatherinfoservice.hotkeys.HotKeyTracker;
 import com.weather.weatherinfoservice.models.WeatherDataRequest;
 import com.weather.weatherinfoservice.models.WeatherDataResponse;
 import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
 import com.weather.weatherinfoservice.repositories.WeatherRepository;
 import com.weather.weatherinfoservice.util.IdGenerator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -20,6 +26,8 @@ import java.util.Optional;
  * <p>This service acts as the main weather data provider, first checking local repository
  * and falling back to external services when data is not available locally.
  *
+ * <p>With a {@link HotKeyTracker}, every lookup is counted and the most looked up cities are
+ * answered from its pinned snapshot before the repository is consulted.
  */
 @Slf4j
 @Service
@@ -29,18 +37,35 @@ public class WeatherServiceImpl implements WeatherServiceWriter, WeatherServiceR
     private final WeatherRepository weatherRepository;
     private final WeatherServiceReader weatherServiceExternal;
     private final IdGenerator idGenerator;
+    private final HotKeyTracker hotKeyTracker;
 
     /**
-     * Constructs a new WeatherServiceImpl with required dependencies.
+     * Constructs a new WeatherServiceImpl with required dependencies and without hot key tracking.
      *
      * @param weatherRepository the repository for local weather data storage
      * @param weatherServiceMock the external weather service reader for fallback
      * @param idGenerator the ID generator for new weather records
      */
     public WeatherServiceImpl(WeatherRepository weatherRepository, WeatherServiceReader weatherServiceMock, IdGenerator idGenerator) {
+        this(weatherRepository, weatherServiceMock, idGenerator, null);
+    }
+
+    /**
+     * Constructs a new WeatherServiceImpl with required dependencies.
+     *
+     * @param weatherRepository the repository for local weather data storage
+     * @param weatherServiceMock the external weather service reader for fallback
+     * @param idGenerator the ID generator for new weather records
+     * @param hotKeyTracker the tracker counting lookups and pinning the hottest cities, or
+     *                      {@code null} when hot key tracking is disabled
+     */
+    @Autowired
+    public WeatherServiceImpl(WeatherRepository weatherRepository, WeatherServiceReader weatherServiceMock, IdGenerator idGenerator,
+                              @Nullable HotKeyTracker hotKeyTracker) {
         this.weatherRepository = weatherRepository;
         this.weatherServiceExternal = weatherServiceMock;
         this.idGenerator = idGenerator;
+        this.hotKeyTracker = hotKeyTracker;
     }
 
     /**
@@ -48,9 +73,10 @@ public class WeatherServiceImpl implements WeatherServiceWriter, WeatherServiceR
      *
      * <p><strong>Implementation Strategy:</strong>
      * <ol>
-     *   <li>First attempts to retrieve data from local memory</li>
+     *   <li>Counts the lookup and answers pinned hot cities from the tracker's snapshot</li>
+     *   <li>Otherwise attempts to retrieve data from local memory</li>
      *   <li>If not found locally, falls back to external weather service</li>
-     *   <li>Logs warnings when external fallback is used</li>
+     *   <li>Logs the external fallback at DEBUG, since a local miss is part of normal operation</li>
      *   <li>Throws exception if data is not found in any source</li>
      * </ol>
      *
@@ -58,16 +84,75 @@ public class WeatherServiceImpl implements WeatherServiceWriter, WeatherServiceR
      */
     @Override
     public WeatherDataResponse getWeatherData(String city){
-        Optional<WeatherDataEntity> weatherByCity = weatherRepository.findWeatherByCity(city);
-        if (weatherByCity.isEmpty()){
-            log.warn("weather data for {} not found in the local memory so fetching externally", city);
-            Optional<WeatherDataResponse> weatherDataFromExternal = Optional.ofNullable(weatherServiceExternal.getWeatherData(city));
-            if (weatherDataFromExternal.isEmpty()){
-                throw new CityNotFoundException(city + " data not found in all the sources");
+        WeatherServiceEvent event = new WeatherServiceEvent();
+        event.begin();
+        RequestTrace trace = RequestTrace.current();
+        long repositoryNanos = 0;
+        long externalNanos = 0;
+        String outcome = "error";
+        try {
+            long started = System.nanoTime();
+            Optional<WeatherDataEntity> weatherByCity = findLocally(city);
+            repositoryNanos = System.nanoTime() - started;
+            if (weatherByCity.isEmpty()){
+                log.debug("weather data for {} not found in the local memory so fetching externally", city);
+                started = System.nanoTime();
+                Optional<WeatherDataResponse> weatherDataFromExternal = Optional.ofNullable(fetchExternally(city));
+                externalNanos = System.nanoTime() - started;
+                if (weatherDataFromExternal.isEmpty()){
+                    outcome = "not-found";
+                    throw new CityNotFoundException(city + " data not found in all the sources");
+                }
+                outcome = "external";
+                return weatherDataFromExternal.get();
+            }
+            outcome = "local";
+            return new WeatherDataResponse(weatherByCity.get());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.city = city;
+                event.outcome = outcome;
+                event.repositoryTime = repositoryNanos;
+                event.externalTime = externalNanos;
+                event.commit();
+            }
+            if (trace != null) {
+                trace.setCity(city);
+                trace.setOutcome(outcome);
+                trace.addRepositoryNanos(repositoryNanos);
+                trace.addExternalNanos(externalNanos);
+            }
+        }
+    }
+
+    private Optional<WeatherDataEntity> findLocally(String city) {
+        if (hotKeyTracker != null) {
+            hotKeyTracker.record(city);
+            WeatherDataEntity pinned = hotKeyTracker.findPinned(city);
+            if (pinned != null) {
+                return Optional.of(pinned);
+            }
+        }
+        return weatherRepository.findWeatherByCity(city);
+    }
+
+    private WeatherDataResponse fetchExternally(String city) {
+        ExternalSourceEvent event = new ExternalSourceEvent();
+        event.begin();
+        String outcome = "error";
+        try {
+            WeatherDataResponse response = weatherServiceExternal.getWeatherData(city);
+            outcome = response != null ? "found" : "not-found";
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.city = city;
+                event.outcome = outcome;
+                event.commit();
             }
-            return weatherDataFromExternal.get();
         }
-        return new WeatherDataResponse(weatherByCity.get());
     }
 
     /**
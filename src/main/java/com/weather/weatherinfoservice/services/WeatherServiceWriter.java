@@ -32,6 +32,8 @@ public interface WeatherServiceWriter {
      *   <li>Weather conditions must be non-empty</li>
      * </ul>
      *
+     * <p>The temperature is stored converted to Celsius.
+     *
      * @param weatherDataRequest the weather data to be added
      * @throws IllegalArgumentException if request data is invalid
      * @throws CityAlreadyExistException if weather data already exists for the city
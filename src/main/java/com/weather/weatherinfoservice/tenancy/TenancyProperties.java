@@ -0,0 +1,38 @@
+package com.weather.weatherinfoservice.tenancy;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Multi-tenancy settings bound from {@code weather.tenancy.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.tenancy")
+public class TenancyProperties {
+
+    /**
+     * Whether requests carrying the tenant header get their own city namespace.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Request header naming the tenant.
+     */
+    private String header = "X-Weather-Tenant";
+
+    /**
+     * Maximum number of tenant namespaces.
+     */
+    private int maxTenants = 1_000;
+
+    /**
+     * Maximum number of overrides, deletions included, per tenant.
+     */
+    private int maxEntriesPerTenant = 10_000;
+
+    /**
+     * Maximum estimated heap held by the overrides of one tenant.
+     */
+    private DataSize maxMemoryPerTenant = DataSize.ofMegabytes(4);
+}
@@ -0,0 +1,33 @@
+package com.weather.weatherinfoservice.tenancy;
+
+/**
+ * Associates the tenant of the current request with the handling thread.
+ *
+ * <p>The holder stores the resolved {@link TenantNamespace} rather than the tenant id, so the
+ * repository reaches a tenant's overrides with a thread-local read instead of a map lookup.
+ * It is bound by {@link TenantFilter} for HTTP requests, by the gRPC interceptor for calls
+ * carrying the tenant metadata entry, and by the bulk importer on its worker threads. Threads
+ * without a tenant, such as background jobs and replication, see the shared namespace only.
+ */
+public final class TenantContextHolder {
+
+    private static final ThreadLocal<TenantNamespace> CURRENT = new ThreadLocal<>();
+
+    private TenantContextHolder() {
+    }
+
+    /**
+     * @return the namespace of the current request, or {@code null} outside a tenant request
+     */
+    public static TenantNamespace getTenant() {
+        return CURRENT.get();
+    }
+
+    public static void setTenant(TenantNamespace tenant) {
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
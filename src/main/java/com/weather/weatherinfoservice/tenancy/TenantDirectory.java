@@ -0,0 +1,75 @@
+package com.weather.weatherinfoservice.tenancy;
+
+import com.weather.weatherinfoservice.exceptions.TenantQuotaExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Creates and holds the {@link TenantNamespace} of every tenant seen so far.
+ *
+ * <p><strong>Metrics</strong>, each tagged with {@code tenant}:
+ * <ul>
+ *   <li>{@code weather.tenant.entries} and {@code weather.tenant.memory.bytes} - current quota usage</li>
+ *   <li>{@code weather.tenant.reads} - reads by {@code source} ({@code overlay} or {@code shared})</li>
+ *   <li>{@code weather.tenant.quota.rejections} - writes refused for exceeding a quota</li>
+ * </ul>
+ */
+@Component
+@ConditionalOnProperty(prefix = "weather.tenancy", name = "enabled", havingValue = "true")
+public class TenantDirectory {
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final ConcurrentHashMap<String, TenantNamespace> tenants = new ConcurrentHashMap<>();
+    private final TenancyProperties tenancyProperties;
+    private final MeterRegistry meterRegistry;
+
+    public TenantDirectory(TenancyProperties tenancyProperties, MeterRegistry meterRegistry) {
+        this.tenancyProperties = tenancyProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the namespace of a tenant, creating it on first use.
+     *
+     * @throws IllegalArgumentException if the tenant id is not 1 to 64 letters, digits, '-' or '_'
+     * @throws TenantQuotaExceededException if the maximum number of tenants is reached
+     */
+    public TenantNamespace resolve(String tenantId) {
+        TenantNamespace tenant = tenants.get(tenantId);
+        if (tenant != null) {
+            return tenant;
+        }
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new IllegalArgumentException("tenant id must be 1 to 64 letters, digits, '-' or '_'");
+        }
+        synchronized (tenants) {
+            tenant = tenants.get(tenantId);
+            if (tenant == null) {
+                if (tenants.size() >= tenancyProperties.getMaxTenants()) {
+                    throw new TenantQuotaExceededException("maximum number of " + tenancyProperties.getMaxTenants() + " tenants reached");
+                }
+                tenant = new TenantNamespace(tenantId, tenancyProperties.getMaxEntriesPerTenant(), tenancyProperties.getMaxMemoryPerTenant().toBytes());
+                registerMetrics(tenant);
+                tenants.put(tenantId, tenant);
+            }
+            return tenant;
+        }
+    }
+
+    private void registerMetrics(TenantNamespace tenant) {
+        Tags tags = Tags.of("tenant", tenant.getTenantId());
+        Gauge.builder("weather.tenant.entries", tenant, TenantNamespace::getEntries).tags(tags).register(meterRegistry);
+        Gauge.builder("weather.tenant.memory.bytes", tenant, TenantNamespace::getBytes).tags(tags).register(meterRegistry);
+        FunctionCounter.builder("weather.tenant.reads", tenant, TenantNamespace::getOverlayReads).tags(tags).tag("source", "overlay").register(meterRegistry);
+        FunctionCounter.builder("weather.tenant.reads", tenant, TenantNamespace::getSharedReads).tags(tags).tag("source", "shared").register(meterRegistry);
+        FunctionCounter.builder("weather.tenant.quota.rejections", tenant, TenantNamespace::getQuotaRejections).tags(tags).register(meterRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.weather.weatherinfoservice.tenancy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weatherinfoservice.exceptions.TenantQuotaExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Binds requests carrying the tenant header to that tenant's namespace for their duration.
+ *
+ * <p>Requests without the header keep working on the shared data, exactly as before. The filter
+ * runs ahead of the other weather filters so that they can scope their state by tenant.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 20)
+@ConditionalOnProperty(prefix = "weather.tenancy", name = "enabled", havingValue = "true")
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final TenantDirectory tenantDirectory;
+    private final TenancyProperties tenancyProperties;
+    private final ObjectMapper objectMapper;
+
+    public TenantFilter(TenantDirectory tenantDirectory, TenancyProperties tenancyProperties, ObjectMapper objectMapper) {
+        this.tenantDirectory = tenantDirectory;
+        this.tenancyProperties = tenancyProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith("/weather") || request.getHeader(tenancyProperties.getHeader()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        TenantNamespace tenant;
+        try {
+            tenant = tenantDirectory.resolve(request.getHeader(tenancyProperties.getHeader()));
+        } catch (IllegalArgumentException exception) {
+            writeError(response, HttpStatus.BAD_REQUEST, exception.getMessage());
+            return;
+        } catch (TenantQuotaExceededException exception) {
+            writeError(response, HttpStatus.TOO_MANY_REQUESTS, exception.getMessage());
+            return;
+        }
+        TenantContextHolder.setTenant(tenant);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            TenantContextHolder.clear();
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "timestamp", LocalDateTime.now().toString(),
+                "message", message,
+                "status", status.value()));
+    }
+}
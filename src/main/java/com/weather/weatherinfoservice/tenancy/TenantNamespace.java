@@ -0,0 +1,133 @@
+package com.weather.weatherinfoservice.tenancy;
+
+import com.weather.weatherinfoservice.exceptions.TenantQuotaExceededException;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WriteCapture;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One tenant's overlay on top of the shared city data.
+ *
+ * <p>The overlay holds the tenant's own versions of cities and {@link #DELETED} markers for
+ * shared cities the tenant removed. Reads are lock-free; writes reserve quota under the
+ * namespace's own lock, so tenants never contend with each other.
+ *
+ * <p>Memory use is an estimate of the retained heap of the stored entries, which is precise
+ * enough to keep one tenant from crowding out the others.
+ */
+public class TenantNamespace {
+
+    /**
+     * Marker hiding a shared city from this tenant.
+     */
+    public static final WeatherDataEntity DELETED = new WeatherDataEntity(new UUID(0, 0), "", null, null, null, null);
+
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    private final String tenantId;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ConcurrentHashMap<String, WeatherDataEntity> overlay = new ConcurrentHashMap<>();
+    private final LongAdder overlayReads = new LongAdder();
+    private final LongAdder sharedReads = new LongAdder();
+    private final LongAdder quotaRejections = new LongAdder();
+    private long entries;
+    private long bytes;
+
+    public TenantNamespace(String tenantId, int maxEntries, long maxBytes) {
+        this.tenantId = tenantId;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    /**
+     * @return the tenant's version of the city, {@link #DELETED} if the tenant removed it,
+     *         or {@code null} if the shared data applies
+     */
+    public WeatherDataEntity find(String city) {
+        WeatherDataEntity entity = overlay.get(city);
+        if (entity != null) {
+            overlayReads.increment();
+        }
+        return entity;
+    }
+
+    /**
+     * Counts a read that fell through to the shared data.
+     */
+    public void recordSharedRead() {
+        sharedReads.increment();
+    }
+
+    /**
+     * Stores the tenant's version of a city, or {@link #DELETED} to hide a shared city.
+     *
+     * @throws TenantQuotaExceededException if the write would exceed the entry or memory quota
+     */
+    public void put(String city, WeatherDataEntity entity) {
+        overlay.compute(city, (key, previous) -> {
+            reserve(previous == null ? 1 : 0, estimateBytes(city, entity) - (previous == null ? 0 : estimateBytes(city, previous)));
+            WriteCapture.written(key, previous == DELETED ? null : previous, entity == DELETED ? null : entity);
+            return entity;
+        });
+    }
+
+    /**
+     * Drops the tenant's version of a city so that the shared data applies again.
+     */
+    public void remove(String city) {
+        overlay.computeIfPresent(city, (key, previous) -> {
+            reserve(-1, -estimateBytes(city, previous));
+            WriteCapture.written(key, previous == DELETED ? null : previous, null);
+            return null;
+        });
+    }
+
+    public synchronized long getEntries() {
+        return entries;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public long getOverlayReads() {
+        return overlayReads.sum();
+    }
+
+    public long getSharedReads() {
+        return sharedReads.sum();
+    }
+
+    public long getQuotaRejections() {
+        return quotaRejections.sum();
+    }
+
+    private synchronized void reserve(int entryDelta, long byteDelta) {
+        if ((entryDelta > 0 && entries + entryDelta > maxEntries) || (byteDelta > 0 && bytes + byteDelta > maxBytes)) {
+            quotaRejections.increment();
+            throw new TenantQuotaExceededException("tenant " + tenantId + " exceeded its quota of " + maxEntries + " cities or " + maxBytes + " bytes");
+        }
+        entries += entryDelta;
+        bytes += byteDelta;
+    }
+
+    private static long estimateBytes(String city, WeatherDataEntity entity) {
+        if (entity == DELETED) {
+            return ENTRY_OVERHEAD_BYTES / 2 + 2L * city.length();
+        }
+        return ENTRY_OVERHEAD_BYTES + 2L * (city.length() + length(entity.getCity()) + length(entity.getTemp())
+                + length(entity.getUnit()) + length(entity.getWeather()));
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
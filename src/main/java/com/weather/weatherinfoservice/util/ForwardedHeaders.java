@@ -0,0 +1,51 @@
+package com.weather.weatherinfoservice.util;
+
+import com.weather.weatherinfoservice.idempotency.IdempotencyFilter;
+import com.weather.weatherinfoservice.logging.CorrelationIdFilter;
+import com.weather.weatherinfoservice.logging.LoggingProperties;
+import com.weather.weatherinfoservice.tenancy.TenancyProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Selects the headers of a client request that travel with it when it is forwarded to another
+ * instance, so that the instance applying it sees the same tenant, idempotency key,
+ * correlation id and wire formats as the one that received it.
+ *
+ * <p>The correlation id is the one this request is logged under, which the caller may not have
+ * sent.
+ */
+@Component
+public class ForwardedHeaders {
+
+    private final List<String> copied;
+    private final String correlationHeader;
+
+    public ForwardedHeaders(TenancyProperties tenancyProperties, LoggingProperties loggingProperties) {
+        this.copied = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT,
+                tenancyProperties.getHeader(), IdempotencyFilter.IDEMPOTENCY_KEY_HEADER);
+        this.correlationHeader = loggingProperties.getCorrelationHeader();
+    }
+
+    /**
+     * Returns the headers to send along with a forwarded copy of {@code request}.
+     */
+    public HttpHeaders of(HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : copied) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.set(name, value);
+            }
+        }
+        String requestId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        if (requestId != null) {
+            headers.set(correlationHeader, requestId);
+        }
+        return headers;
+    }
+}
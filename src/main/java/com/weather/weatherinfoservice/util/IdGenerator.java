@@ -1,13 +1,39 @@
 package com.weather.weatherinfoservice.util;
 
-import org.springframework.stereotype.Component;
-
 import java.util.UUID;
 
-@Component
+/**
+ * Generates record ids with the {@link IdStrategy} selected by {@code weather.ids.strategy}.
+ *
+ * <p>The no-argument constructor uses {@link UuidV7IdStrategy}.
+ */
 public class IdGenerator {
 
+    private final IdStrategy strategy;
+
+    public IdGenerator() {
+        this(new UuidV7IdStrategy());
+    }
+
+    public IdGenerator(IdStrategy strategy) {
+        this.strategy = strategy;
+    }
+
     public UUID generateId() {
-        return UUID.randomUUID();
+        return strategy.nextId();
+    }
+
+    /**
+     * Creates the strategy named by the given settings.
+     *
+     * @throws IllegalArgumentException if the strategy is unknown or the node id out of range
+     */
+    public static IdStrategy strategy(IdGeneratorProperties properties) {
+        return switch (properties.getStrategy()) {
+            case "random" -> new RandomIdStrategy();
+            case "uuidv7" -> new UuidV7IdStrategy();
+            case "snowflake" -> new SnowflakeIdStrategy(properties.getNodeId());
+            default -> throw new IllegalArgumentException("unknown id strategy: " + properties.getStrategy());
+        };
     }
 }
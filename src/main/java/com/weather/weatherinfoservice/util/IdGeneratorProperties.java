@@ -0,0 +1,28 @@
+package com.weather.weatherinfoservice.util;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Record id settings bound from {@code weather.ids.*}.
+ *
+ * <p><strong>Example multi-instance deployment:</strong>
+ * <pre>
+ * weather.ids.strategy=snowflake
+ * weather.ids.node-id=3
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "weather.ids")
+public class IdGeneratorProperties {
+
+    /**
+     * Either {@code random}, {@code uuidv7} or {@code snowflake}.
+     */
+    private String strategy = "uuidv7";
+
+    /**
+     * Node id between 0 and 1023 embedded by the {@code snowflake} strategy; must be unique per instance.
+     */
+    private int nodeId = 0;
+}
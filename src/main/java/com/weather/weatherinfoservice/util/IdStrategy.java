@@ -0,0 +1,17 @@
+package com.weather.weatherinfoservice.util;
+
+import java.util.UUID;
+
+/**
+ * Source of record ids used by {@link IdGenerator}.
+ *
+ * <p>Implementations must be safe for concurrent use without locking.
+ *
+ * @see RandomIdStrategy
+ * @see UuidV7IdStrategy
+ * @see SnowflakeIdStrategy
+ */
+public interface IdStrategy {
+
+    UUID nextId();
+}
@@ -0,0 +1,40 @@
+package com.weather.weatherinfoservice.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-wide sequence of {@code (millis << 12) | counter} ticks shared by the time-ordered
+ * id strategies.
+ *
+ * <p>Within one millisecond callers take consecutive counter values with a single atomic
+ * increment; the first caller that observes a newer clock value moves the sequence forward
+ * with a compare-and-set. Ticks never repeat and never go backwards, even when the clock
+ * does. When more than 4096 ids are taken in one millisecond the counter carries into the
+ * millisecond field, so the encoded time runs slightly ahead until the clock catches up.
+ */
+final class MonotonicTicks {
+
+    static final int COUNTER_BITS = 12;
+    static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    private final AtomicLong last = new AtomicLong();
+    private final LongSupplier clock;
+
+    MonotonicTicks(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    long next() {
+        long now = clock.getAsLong() << COUNTER_BITS;
+        while (true) {
+            long tick = last.incrementAndGet();
+            if (tick >= now) {
+                return tick;
+            }
+            if (last.compareAndSet(tick, now)) {
+                return now;
+            }
+        }
+    }
+}
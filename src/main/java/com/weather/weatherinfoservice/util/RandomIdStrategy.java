@@ -0,0 +1,16 @@
+package com.weather.weatherinfoservice.util;
+
+import java.util.UUID;
+
+/**
+ * Random version 4 UUIDs from {@link UUID#randomUUID()}.
+ *
+ * <p>Every call draws from the shared {@code SecureRandom}; ids carry no ordering.
+ */
+public class RandomIdStrategy implements IdStrategy {
+
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,51 @@
+package com.weather.weatherinfoservice.util;
+
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style ids: timestamp, node id and per-node sequence, with no randomness.
+ *
+ * <p>Ids are encoded as version 8 (custom) UUIDs so they fit the existing {@code UUID} id
+ * fields. The layout mirrors {@link UuidV7IdStrategy}: 48 bits of Unix milliseconds and a
+ * 12-bit sequence in the most significant half, followed in the least significant half by the
+ * variant and the 10-bit node id. Two instances configured with different node ids can never
+ * produce the same id.
+ */
+public class SnowflakeIdStrategy implements IdStrategy {
+
+    public static final int MAX_NODE_ID = 1023;
+
+    private static final long VERSION = 0x8000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final int NODE_SHIFT = 52;
+
+    private final MonotonicTicks ticks;
+    private final long nodeBits;
+
+    public SnowflakeIdStrategy(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public SnowflakeIdStrategy(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.ticks = new MonotonicTicks(clock);
+        this.nodeBits = VARIANT | (long) nodeId << NODE_SHIFT;
+    }
+
+    @Override
+    public UUID nextId() {
+        long tick = ticks.next();
+        long mostSigBits = (tick >>> MonotonicTicks.COUNTER_BITS) << 16 | VERSION | (tick & MonotonicTicks.COUNTER_MASK);
+        return new UUID(mostSigBits, nodeBits);
+    }
+
+    /**
+     * Returns the node id encoded in an id produced by this strategy.
+     */
+    public static int nodeId(UUID id) {
+        return (int) (id.getLeastSignificantBits() >>> NODE_SHIFT) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,121 @@
+package com.weather.weatherinfoservice.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions between the temperature units known to the service.
+ *
+ * <p>Celsius is the canonical unit: temperatures are stored in Celsius and converted to
+ * Fahrenheit or Kelvin only when a client asks for them.
+ */
+public final class TemperatureConverter {
+
+    /**
+     * The unit every temperature is stored in.
+     */
+    public static final String CANONICAL_UNIT = "C";
+
+    private TemperatureConverter() {
+    }
+
+    /**
+     * Converts a temperature to Celsius.
+     *
+     * @param value the temperature
+     * @param unit {@code C}, {@code F} or {@code K}
+     * @throws IllegalArgumentException if the unit is not supported
+     */
+    public static double toCelsius(double value, String unit) {
+        return switch (unit) {
+            case "C" -> value;
+            case "F" -> (value - 32.0) * 5.0 / 9.0;
+            case "K" -> value - 273.15;
+            default -> throw new IllegalArgumentException("unsupported temperature unit " + unit);
+        };
+    }
+
+    /**
+     * Parses a stored temperature and converts it to Celsius.
+     *
+     * @param temp the temperature as stored, e.g. {@code "21.5"}
+     * @param unit {@code C}, {@code F} or {@code K}
+     * @return the temperature in Celsius, or {@code null} if it is missing or not a finite number
+     */
+    public static Double parseCelsius(String temp, String unit) {
+        if (temp == null || unit == null) {
+            return null;
+        }
+        try {
+            double value = Double.parseDouble(temp.trim());
+            return Double.isFinite(value) ? toCelsius(value, unit) : null;
+        } catch (IllegalArgumentException exception) {
+            // free-form temperatures such as "hot"
+            return null;
+        }
+    }
+
+    /**
+     * Converts a Celsius temperature to the given unit.
+     *
+     * @param celsius the temperature in Celsius
+     * @param unit {@code C}, {@code F} or {@code K}
+     * @throws IllegalArgumentException if the unit is not supported
+     */
+    public static double fromCelsius(double celsius, String unit) {
+        return switch (unit) {
+            case "C" -> celsius;
+            case "F" -> celsius * 9.0 / 5.0 + 32.0;
+            case "K" -> celsius + 273.15;
+            default -> throw new IllegalArgumentException("unsupported temperature unit " + unit);
+        };
+    }
+
+    /**
+     * Whether a unit can be converted to and from.
+     */
+    public static boolean isSupported(String unit) {
+        return "C".equals(unit) || "F".equals(unit) || "K".equals(unit);
+    }
+
+    /**
+     * Formats a temperature with every digit needed to read back the same {@code double}, without
+     * trailing zeros, e.g. {@code "21"}, {@code "21.5"} or {@code "21.116666666666667"}.
+     *
+     * <p>Used for stored temperatures, so that a reading converted to Celsius and back to its
+     * unit gives the value that was written; {@link #format(double)} is for responses.
+     */
+    public static String formatExact(double value) {
+        if (value == 0) {
+            return "0";
+        }
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Formats a temperature rounded to two decimals without trailing zeros, e.g. {@code "21"},
+     * {@code "21.5"} or {@code "-3.25"}.
+     *
+     * <p>Works on the rounded value as a long instead of going through {@code BigDecimal} or
+     * {@code String.format}, so formatting is cheap enough for every response.
+     */
+    public static String format(double value) {
+        long hundredths = Math.round(value * 100);
+        if (hundredths == 0) {
+            return "0";
+        }
+        StringBuilder formatted = new StringBuilder(8);
+        if (hundredths < 0) {
+            formatted.append('-');
+            hundredths = -hundredths;
+        }
+        formatted.append(hundredths / 100);
+        long fraction = hundredths % 100;
+        if (fraction != 0) {
+            formatted.append('.').append(fraction / 10);
+            if (fraction % 10 != 0) {
+                formatted.append(fraction % 10);
+            }
+        }
+        return formatted.toString();
+    }
+}
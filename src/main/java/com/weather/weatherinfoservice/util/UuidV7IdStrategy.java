@@ -0,0 +1,38 @@
+package com.weather.weatherinfoservice.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered version 7 UUIDs as laid out in RFC 9562.
+ *
+ * <p>The top 48 bits hold the Unix time in milliseconds and the 12 {@code rand_a} bits a
+ * counter (method 3 of the RFC), so ids from one node sort in generation order. The 62
+ * {@code rand_b} bits come from {@link ThreadLocalRandom}, which keeps ids from different
+ * nodes apart without any shared state between threads.
+ */
+public class UuidV7IdStrategy implements IdStrategy {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final MonotonicTicks ticks;
+
+    public UuidV7IdStrategy() {
+        this(System::currentTimeMillis);
+    }
+
+    public UuidV7IdStrategy(LongSupplier clock) {
+        this.ticks = new MonotonicTicks(clock);
+    }
+
+    @Override
+    public UUID nextId() {
+        long tick = ticks.next();
+        long mostSigBits = (tick >>> MonotonicTicks.COUNTER_BITS) << 16 | VERSION | (tick & MonotonicTicks.COUNTER_MASK);
+        long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() & RAND_B_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
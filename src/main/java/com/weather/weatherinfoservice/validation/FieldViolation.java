@@ -0,0 +1,11 @@
+package com.weather.weatherinfoservice.validation;
+
+/**
+ * A failed constraint, named as Bean Validation names it.
+ *
+ * @param field the property path, e.g. {@code city} or {@code aboveAbsoluteZero}
+ * @param code the simple name of the constraint annotation, e.g. {@code NotBlank}
+ * @param message the constraint message
+ */
+public record FieldViolation(String field, String code, String message) {
+}
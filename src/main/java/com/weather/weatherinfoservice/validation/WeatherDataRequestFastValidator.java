@@ -0,0 +1,51 @@
+package com.weather.weatherinfoservice.validation;
+
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+import java.util.List;
+
+/**
+ * Spring MVC validator that checks {@link WeatherDataRequest} bodies with
+ * {@link WeatherDataRequestValidator} and hands every other target, and any validation with
+ * groups, to the Bean Validation validator.
+ *
+ * <p>Violations are registered as field errors under the same field names, codes and default
+ * messages that Bean Validation reports.
+ */
+public class WeatherDataRequestFastValidator implements SmartValidator {
+
+    private final SmartValidator fallback;
+
+    public WeatherDataRequestFastValidator(SmartValidator fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return WeatherDataRequest.class == clazz || fallback.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (target instanceof WeatherDataRequest request) {
+            List<FieldViolation> violations = WeatherDataRequestValidator.validate(request);
+            for (int i = 0; i < violations.size(); i++) {
+                FieldViolation violation = violations.get(i);
+                errors.rejectValue(violation.field(), violation.code(), violation.message());
+            }
+        } else {
+            fallback.validate(target, errors);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (validationHints.length == 0) {
+            validate(target, errors);
+        } else {
+            fallback.validate(target, errors, validationHints);
+        }
+    }
+}
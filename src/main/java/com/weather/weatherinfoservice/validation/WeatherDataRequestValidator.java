@@ -0,0 +1,185 @@
+package com.weather.weatherinfoservice.validation;
+
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the constraints declared on {@link WeatherDataRequest} with plain code instead of
+ * Hibernate Validator's reflective metadata walk.
+ *
+ * <p>Each check reproduces the built-in validator it replaces: {@code @NotBlank} rejects
+ * {@code null} and strings of characters up to {@code ' '} as {@link String#trim()} does,
+ * {@code @Size} counts UTF-16 chars, {@code @Pattern}, {@code @Size} and {@code @PastOrPresent}
+ * accept {@code null}, and the two patterns are
+ * matched character by character. Messages are read from the annotations once, and the class
+ * refuses to load if a pattern, size or message changes into something it does not reproduce, so the
+ * fast path cannot drift from the declared constraints. A valid request allocates nothing.
+ */
+public final class WeatherDataRequestValidator {
+
+    static final String TEMPERATURE_REGEXP = "^(-?\\d{1,4}(\\.\\d{1,2})?)?$";
+    static final String UNIT_REGEXP = "^(C|F)$";
+
+    private static final String CITY_REQUIRED = message(field("city"), NotBlank.class);
+    private static final String CITY_TOO_LONG = size(field("city"), WeatherDataRequest.MAX_TEXT_LENGTH);
+    private static final String TEMPERATURE_REQUIRED = message(field("temp"), NotBlank.class);
+    private static final String TEMPERATURE_FORMAT = pattern(field("temp"), TEMPERATURE_REGEXP);
+    private static final String UNIT_FORMAT = pattern(field("unit"), UNIT_REGEXP);
+    private static final String DATE_IN_FUTURE = message(field("date"), PastOrPresent.class);
+    private static final String WEATHER_REQUIRED = message(field("weather"), NotBlank.class);
+    private static final String WEATHER_TOO_LONG = size(field("weather"), WeatherDataRequest.MAX_TEXT_LENGTH);
+    private static final String BELOW_ABSOLUTE_ZERO = message(method("isAboveAbsoluteZero"), AssertTrue.class);
+
+    private WeatherDataRequestValidator() {
+    }
+
+    /**
+     * Returns the violated constraints of the request, or an empty immutable list when it is valid.
+     */
+    public static List<FieldViolation> validate(WeatherDataRequest request) {
+        List<FieldViolation> violations = null;
+        String city = request.getCity();
+        if (isBlank(city)) {
+            violations = add(violations, "city", "NotBlank", CITY_REQUIRED);
+        }
+        if (city != null && city.length() > WeatherDataRequest.MAX_TEXT_LENGTH) {
+            violations = add(violations, "city", "Size", CITY_TOO_LONG);
+        }
+        String temp = request.getTemp();
+        if (isBlank(temp)) {
+            violations = add(violations, "temp", "NotBlank", TEMPERATURE_REQUIRED);
+        }
+        if (temp != null && !isTemperature(temp)) {
+            violations = add(violations, "temp", "Pattern", TEMPERATURE_FORMAT);
+        }
+        String unit = request.getUnit();
+        if (unit != null && !unit.equals("C") && !unit.equals("F")) {
+            violations = add(violations, "unit", "Pattern", UNIT_FORMAT);
+        }
+        LocalDate date = request.getDate();
+        if (date != null && date.isAfter(LocalDate.now())) {
+            violations = add(violations, "date", "PastOrPresent", DATE_IN_FUTURE);
+        }
+        String weather = request.getWeather();
+        if (isBlank(weather)) {
+            violations = add(violations, "weather", "NotBlank", WEATHER_REQUIRED);
+        }
+        if (weather != null && weather.length() > WeatherDataRequest.MAX_TEXT_LENGTH) {
+            violations = add(violations, "weather", "Size", WEATHER_TOO_LONG);
+        }
+        if (!request.isAboveAbsoluteZero()) {
+            violations = add(violations, "aboveAbsoluteZero", "AssertTrue", BELOW_ABSOLUTE_ZERO);
+        }
+        return violations == null ? List.of() : violations;
+    }
+
+    private static List<FieldViolation> add(List<FieldViolation> violations, String field, String code, String message) {
+        List<FieldViolation> list = violations == null ? new ArrayList<>(2) : violations;
+        list.add(new FieldViolation(field, code, message));
+        return list;
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches {@value #TEMPERATURE_REGEXP}: empty, or an optional minus sign, one to four digits
+     * and optionally a dot followed by one or two digits.
+     */
+    static boolean isTemperature(String value) {
+        int length = value.length();
+        if (length == 0) {
+            return true;
+        }
+        int i = value.charAt(0) == '-' ? 1 : 0;
+        int start = i;
+        while (i < length && i - start < 4 && isDigit(value.charAt(i))) {
+            i++;
+        }
+        if (i == start) {
+            return false;
+        }
+        if (i == length) {
+            return true;
+        }
+        if (value.charAt(i) != '.') {
+            return false;
+        }
+        int fraction = ++i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        return i == length && i - fraction >= 1 && i - fraction <= 2;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static String pattern(AnnotatedElement element, String expectedRegexp) {
+        Pattern pattern = element.getAnnotation(Pattern.class);
+        if (pattern == null || !pattern.regexp().equals(expectedRegexp) || pattern.flags().length > 0) {
+            throw new IllegalStateException("@Pattern on " + element + " no longer matches the fast path " + expectedRegexp);
+        }
+        return message(element, Pattern.class);
+    }
+
+    private static String size(AnnotatedElement element, int expectedMax) {
+        Size size = element.getAnnotation(Size.class);
+        if (size == null || size.min() != 0 || size.max() != expectedMax) {
+            throw new IllegalStateException("@Size on " + element + " no longer matches the fast path max " + expectedMax);
+        }
+        return message(element, Size.class);
+    }
+
+    private static String message(AnnotatedElement element, Class<? extends Annotation> type) {
+        Annotation annotation = element.getAnnotation(type);
+        if (annotation == null) {
+            throw new IllegalStateException("@" + type.getSimpleName() + " missing on " + element);
+        }
+        try {
+            String message = (String) type.getMethod("message").invoke(annotation);
+            if (message.indexOf('{') >= 0 || message.indexOf('$') >= 0) {
+                throw new IllegalStateException("interpolated message on " + element + " is not supported by the fast path");
+            }
+            return message;
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static AnnotatedElement field(String name) {
+        try {
+            return WeatherDataRequest.class.getDeclaredField(name);
+        } catch (NoSuchFieldException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static AnnotatedElement method(String name) {
+        try {
+            return WeatherDataRequest.class.getMethod(name);
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.weather.weatherinfoservice.integration;
+
+import com.weather.weatherinfoservice.WeatherInfoServiceApplication;
+import com.weather.weatherinfoservice.cluster.ClusterClient;
+import com.weather.weatherinfoservice.cluster.ClusterMembership;
+import com.weather.weatherinfoservice.cluster.ClusterProperties;
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs two cluster members in one JVM, each on its own port.
+ */
+public class ClusterIntegrationTest {
+
+    private static final String SECRET = "integration-secret";
+
+    private final List<ConfigurableApplicationContext> members = new ArrayList<>();
+    private final RestClient client = RestClient.create();
+
+    @AfterEach
+    public void stopMembers() {
+        members.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    public void shouldHandOffForwardAndReplicateBetweenMembers() throws IOException {
+        String nodeA = "http://localhost:" + freePort();
+        String nodeB = "http://localhost:" + freePort();
+        start(nodeA, List.of(nodeA));
+        assertThat(post(nodeA, "/weather", new WeatherDataRequest("Gisborne", "21", "C", LocalDate.now(), "sunny")).getStatusCode())
+                .isEqualTo(HttpStatus.CREATED);
+
+        // members are only added with the secret, and only if they prove that they share it
+        String impostor = "http://localhost:" + freePort();
+        assertThat(addNode(nodeA, impostor, null).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(addNode(nodeA, impostor, SECRET).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        // B joins; A hands off every city B now replicates
+        start(nodeB, List.of(nodeA, nodeB));
+        assertThat(addNode(nodeA, nodeB, SECRET).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(client.get().uri(nodeA + "/weather/admin/cluster").retrieve().body(Map.class).get("nodes"))
+                .asInstanceOf(InstanceOfAssertFactories.ITERABLE).containsExactlyInAnyOrder(nodeA, nodeB);
+        assertThat(readLocally(nodeB, "Gisborne")).isEqualTo(readLocally(nodeA, "Gisborne"));
+
+        // a write sent to A for a city B owns is applied by B and replayed on A
+        String city = cityOwnedBy(nodeB, List.of(nodeA, nodeB));
+        ResponseEntity<Map> written = post(nodeA, "/weather", new WeatherDataRequest(city, "18", "C", LocalDate.now(), "cloudy"));
+        assertThat(written.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(readLocally(nodeB, city).get("temp")).isEqualTo("18");
+        await().until(() -> readLocally(nodeA, city) != null);
+        assertThat(readLocally(nodeA, city)).isEqualTo(readLocally(nodeB, city));
+
+        // a handoff without the cluster secret is refused
+        ResponseEntity<Map> spoofed = client.post().uri(nodeA + "/weather/admin/cluster/handoff")
+                .header(ClusterClient.HOP_HEADER, "handoff")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(List.of())
+                .retrieve()
+                .onStatus(status -> true, (request, response) -> { })
+                .toEntity(Map.class);
+        assertThat(spoofed.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    private void start(String self, List<String> nodes) {
+        members.add(new SpringApplicationBuilder(WeatherInfoServiceApplication.class).run(
+                "--server.port=" + self.substring(self.lastIndexOf(':') + 1),
+                "--weather.cluster.enabled=true",
+                "--weather.cluster.self=" + self,
+                "--weather.cluster.nodes=" + String.join(",", nodes),
+                "--weather.cluster.replication-factor=2",
+                "--weather.cluster.secret=" + SECRET));
+    }
+
+    private ResponseEntity<Void> addNode(String node, String url, String secret) {
+        return client.post().uri(node + "/weather/admin/cluster/nodes?url={url}", url)
+                .headers(headers -> {
+                    if (secret != null) {
+                        headers.set(ClusterClient.SECRET_HEADER, secret);
+                    }
+                })
+                .retrieve()
+                .onStatus(status -> true, (request, response) -> { })
+                .toBodilessEntity();
+    }
+
+    private ResponseEntity<Map> post(String node, String path, Object body) {
+        return client.post().uri(node + path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .retrieve()
+                .onStatus(status -> true, (request, response) -> { })
+                .toEntity(Map.class);
+    }
+
+    /**
+     * Reads a city from one member's own store, as members read from each other.
+     */
+    private Map<?, ?> readLocally(String node, String city) {
+        ResponseEntity<Map> response = client.get().uri(node + "/weather?city={city}", city)
+                .header(ClusterClient.HOP_HEADER, "forward")
+                .header(ClusterClient.SECRET_HEADER, SECRET)
+                .retrieve()
+                .onStatus(status -> true, (request, r) -> { })
+                .toEntity(Map.class);
+        return response.getStatusCode().is2xxSuccessful() ? response.getBody() : null;
+    }
+
+    private static String cityOwnedBy(String node, List<String> nodes) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setSelf(node);
+        properties.setNodes(nodes);
+        properties.setSecret(SECRET);
+        ClusterMembership membership = new ClusterMembership(properties);
+        return IntStream.range(0, 1_000).mapToObj(i -> "Town" + i)
+                .filter(city -> membership.ownerOf(city).equals(node))
+                .findFirst().orElseThrow();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 
@@ -42,6 +43,28 @@ public class WeatherAppTest {
         assert(response.getBody().getWeather() != null);
     }
 
+    // Get weather data converted to another unit - Positive
+    @Test
+    public void shouldConvertTemperatureToRequestedUnit(){
+        ResponseEntity<WeatherDataResponse> response = restTemplate.getForEntity("/weather?city=Auckland&unit=F", WeatherDataResponse.class);
+
+        assert(response.getStatusCode().value() == 200);
+        assert(response.getBody() != null && response.getBody().getTemp().equals("59"));
+        assert(response.getBody().getUnit().equals("F"));
+    }
+
+    // Get weather data written in Fahrenheit - returned in Celsius unless another unit is requested
+    @Test
+    public void shouldReturnFahrenheitWritesInCelsiusByDefault(){
+        restTemplate.postForEntity("/weather", new WeatherDataRequest("Timaru", "68", "F", LocalDate.now(), "sunny"), Map.class);
+
+        WeatherDataResponse stored = restTemplate.getForEntity("/weather?city=Timaru", WeatherDataResponse.class).getBody();
+        WeatherDataResponse converted = restTemplate.getForEntity("/weather?city=Timaru&unit=F", WeatherDataResponse.class).getBody();
+
+        assert(stored != null && stored.getTemp().equals("20") && stored.getUnit().equals("C"));
+        assert(converted != null && converted.getTemp().equals("68") && converted.getUnit().equals("F"));
+    }
+
     @Test
     public void shouldThrowErrorWhenCityNotFoundInAllSources(){
         String city = "New York";
@@ -126,4 +149,33 @@ public class WeatherAppTest {
         assert(response.getBody().get("timestamp") != null);
     }
 
+    // Retry of a create with the same Idempotency-Key - Positive
+    @Test
+    public void shouldReplayOriginalResponseWhenRetryingWithSameIdempotencyKey(){
+        WeatherDataRequest createData = new WeatherDataRequest("Gisborne", "21", "C", LocalDate.now(), "sunny");
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", "create-gisborne");
+
+        ResponseEntity<Map> first = restTemplate.postForEntity("/weather", new HttpEntity<>(createData, headers), Map.class);
+        ResponseEntity<Map> retry = restTemplate.postForEntity("/weather", new HttpEntity<>(createData, headers), Map.class);
+
+        assert(first.getStatusCode().value() == 201);
+        assert(retry.getStatusCode().value() == 201);
+        assert(retry.getBody() != null && retry.getBody().get("success").equals(true));
+        assert("true".equals(retry.getHeaders().getFirst("Idempotent-Replayed")));
+    }
+
+    // Reuse of an Idempotency-Key for a different payload - Negative
+    @Test
+    public void shouldRejectIdempotencyKeyReusedForDifferentRequest(){
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", "create-masterton");
+
+        restTemplate.postForEntity("/weather", new HttpEntity<>(new WeatherDataRequest("Masterton", "14", "C", LocalDate.now(), "windy"), headers), Map.class);
+        ResponseEntity<Map> response = restTemplate.postForEntity("/weather", new HttpEntity<>(new WeatherDataRequest("Masterton", "15", "C", LocalDate.now(), "windy"), headers), Map.class);
+
+        assert(response.getStatusCode().value() == 422);
+        assert(response.getBody() != null && response.getBody().get("message").toString().equals("Idempotency-Key create-masterton was already used for a different request"));
+    }
+
 }
@@ -1,39 +1,56 @@
 package com.weather.weatherinfoservice.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.weather.weatherinfoservice.controllers.WeatherController;
 import com.weather.weatherinfoservice.exceptions.CityAlreadyExistException;
 import com.weather.weatherinfoservice.exceptions.CityNotFoundException;
 import com.weather.weatherinfoservice.models.WeatherDataRequest;
 import com.weather.weatherinfoservice.models.WeatherDataResponse;
-import com.weather.weatherinfoservice.services.WeatherServiceImpl;
+import com.weather.weatherinfoservice.services.WeatherServiceReader;
+import com.weather.weatherinfoservice.services.WeatherServiceWriter;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// a hand-written stub rather than a Mockito mock, which needs runtime bytecode generation and
+// so would keep this test out of the native test run
 @WebMvcTest(WeatherController.class)
+@Import(WeatherControllerTest.StubConfiguration.class)
 public class WeatherControllerTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockitoBean
-    private WeatherServiceImpl weatherServiceImpl;
+    @Autowired
+    private StubWeatherService weatherService;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    public void setup() {
+        weatherService.reset();
+    }
+
     @Test
     public void shouldHealthCheckBeSuccessful() throws Exception {
         mockMvc.perform(get("/weather/health"))
@@ -45,7 +62,7 @@ public class WeatherControllerTest {
     public void shouldGetWeatherDataSuccessfully() throws Exception {
         WeatherDataResponse mockData = new WeatherDataResponse(UUID.randomUUID(),"Auckland", "12", "C", "cloudy", LocalDate.now());
 
-        Mockito.when(weatherServiceImpl.getWeatherData(mockData.getCity())).thenReturn(mockData);
+        weatherService.onGet = city -> mockData;
 
         mockMvc.perform(get("/weather?city=" + mockData.getCity()))
                 .andExpect(status().isOk())
@@ -55,13 +72,43 @@ public class WeatherControllerTest {
                 .andExpect(jsonPath("$.weather").value(mockData.getWeather()));
     }
 
+    @Test
+    public void shouldGetWeatherDataAsCborWhenRequested() throws Exception {
+        WeatherDataResponse mockData = new WeatherDataResponse(UUID.randomUUID(),"Auckland", "12", "C", "cloudy", LocalDate.now());
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+        weatherService.onGet = city -> mockData;
+
+        byte[] body = mockMvc.perform(get("/weather?city=" + mockData.getCity()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cborMapper.readValue(body, WeatherDataResponse.class)).isEqualTo(mockData);
+    }
+
+    @Test
+    public void shouldAddWeatherDataFromCborBody() throws Exception {
+        WeatherDataRequest mockData = new WeatherDataRequest("Hamilton", "16", "C", LocalDate.now(), "rainy");
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+        mockMvc.perform(post("/weather")
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .content(cborMapper.writeValueAsBytes(mockData)))
+                .andExpect(status().isCreated());
+
+        assertThat(weatherService.calls).containsExactly(mockData);
+    }
+
     @Test
     public void shouldThrowErrorWhenGetWeatherDataForNonExistingCity() throws Exception {
 
         String city = "Berlin";
         String errorMessage = "City not found";
 
-        Mockito.doThrow(new CityNotFoundException(errorMessage)).when(weatherServiceImpl).getWeatherData(city);
+        weatherService.onGet = requested -> {
+            throw new CityNotFoundException(errorMessage);
+        };
 
         mockMvc.perform(get("/weather?city=" + city))
                 .andExpect(status().isNotFound())
@@ -72,7 +119,7 @@ public class WeatherControllerTest {
     public void shouldAddWeatherDataSuccessfully() throws Exception {
         WeatherDataResponse mockData = new WeatherDataResponse(UUID.randomUUID(), "Hamilton", "16", "C", "rainy", LocalDate.now());
 
-        Mockito.when(weatherServiceImpl.addWeatherData(any(WeatherDataRequest.class))).thenReturn(mockData);
+        weatherService.onAdd = request -> mockData;
 
         mockMvc.perform(post("/weather")
                     .contentType(MediaType.APPLICATION_JSON)
@@ -88,7 +135,9 @@ public class WeatherControllerTest {
         WeatherDataRequest mockData = new WeatherDataRequest("Auckland", "16", "C", LocalDate.now(), "rainy");
         String errorMessage = "City already exist";
 
-        Mockito.doThrow(new CityAlreadyExistException(errorMessage)).when(weatherServiceImpl).addWeatherData(mockData);
+        weatherService.onAdd = request -> {
+            throw new CityAlreadyExistException(errorMessage);
+        };
 
         mockMvc.perform(post("/weather")
                     .contentType(MediaType.APPLICATION_JSON)
@@ -97,12 +146,42 @@ public class WeatherControllerTest {
                 .andExpect(jsonPath("$.message").value(errorMessage));
     }
 
+    @Test
+    public void shouldRejectInvalidWeatherDataWithBadRequest() throws Exception {
+
+        WeatherDataRequest invalid = new WeatherDataRequest(" ", "16", "K", LocalDate.now(), "rainy");
+
+        mockMvc.perform(post("/weather")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(invalid)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Unit must be either 'C' for celsius or 'F' for Fahrenheit, city is required"));
+
+        assertThat(weatherService.calls).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectUnsupportedUnitButNotTurnInternalErrorsIntoBadRequests() throws Exception {
+        mockMvc.perform(get("/weather?city=Auckland&unit=X"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("unit must be C, F or K"));
+        assertThat(weatherService.calls).isEmpty();
+
+        weatherService.onGet = city -> {
+            throw new IllegalArgumentException("bug");
+        };
+
+        mockMvc.perform(get("/weather?city=Auckland"))
+                .andExpect(status().isInternalServerError());
+    }
+
     @Test
     public void shouldUpdateWeatherDataSuccessfully() throws Exception {
 
         WeatherDataResponse mockData = new WeatherDataResponse(UUID.randomUUID(), "Wellington", "16", "C", "rainy", LocalDate.now());
 
-        Mockito.when(weatherServiceImpl.updateWeatherData(any(WeatherDataRequest.class))).thenReturn(mockData);
+        weatherService.onUpdate = request -> mockData;
 
         mockMvc.perform(put("/weather")
                     .contentType(MediaType.APPLICATION_JSON)
@@ -120,7 +199,9 @@ public class WeatherControllerTest {
         WeatherDataRequest mockData = new WeatherDataRequest("Queenstown", "16", "C", LocalDate.now(), "rainy");
         String errorMessage = "City not found in the memory list";
 
-        Mockito.doThrow(new CityNotFoundException(errorMessage)).when(weatherServiceImpl).updateWeatherData(mockData);
+        weatherService.onUpdate = request -> {
+            throw new CityNotFoundException(errorMessage);
+        };
 
         mockMvc.perform(put("/weather")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -134,9 +215,9 @@ public class WeatherControllerTest {
 
         String city = "Auckland";
 
-        Mockito.doNothing().when(weatherServiceImpl).deleteWeatherData(city);
         mockMvc.perform(delete("/weather?city=" + city))
                 .andExpect(status().isNoContent());
+        assertThat(weatherService.calls).containsExactly(city);
     }
 
     @Test
@@ -144,9 +225,65 @@ public class WeatherControllerTest {
         String city = "Berlin";
         String errorMessage = "City not found";
 
-        Mockito.doThrow(new CityNotFoundException(errorMessage)).when(weatherServiceImpl).deleteWeatherData(city);
+        weatherService.onDelete = deleted -> {
+            throw new CityNotFoundException(errorMessage);
+        };
         mockMvc.perform(delete("/weather?city=" + city))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value(errorMessage));
     }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class StubConfiguration {
+
+        @Bean
+        StubWeatherService stubWeatherService() {
+            return new StubWeatherService();
+        }
+    }
+
+    /**
+     * Answers with the function set by the test, and records every request or city it received.
+     */
+    static class StubWeatherService implements WeatherServiceReader, WeatherServiceWriter {
+
+        final List<Object> calls = new CopyOnWriteArrayList<>();
+        Function<String, WeatherDataResponse> onGet;
+        Function<WeatherDataRequest, WeatherDataResponse> onAdd;
+        Function<WeatherDataRequest, WeatherDataResponse> onUpdate;
+        Consumer<String> onDelete;
+
+        void reset() {
+            calls.clear();
+            onGet = city -> null;
+            onAdd = request -> null;
+            onUpdate = request -> null;
+            onDelete = city -> {
+            };
+        }
+
+        @Override
+        public WeatherDataResponse getWeatherData(String city) {
+            calls.add(city);
+            return onGet.apply(city);
+        }
+
+        @Override
+        public WeatherDataResponse addWeatherData(WeatherDataRequest weatherDataRequest) {
+            calls.add(weatherDataRequest);
+            return onAdd.apply(weatherDataRequest);
+        }
+
+        @Override
+        public WeatherDataResponse updateWeatherData(WeatherDataRequest weatherDataRequest) {
+            calls.add(weatherDataRequest);
+            return onUpdate.apply(weatherDataRequest);
+        }
+
+        @Override
+        public void deleteWeatherData(String city) {
+            calls.add(city);
+            onDelete.accept(city);
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.alerts.Alert;
+import com.weather.weatherinfoservice.alerts.AlertDispatcher;
+import com.weather.weatherinfoservice.alerts.AlertRule;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+public class AlertDispatcherTest {
+
+    private static final AlertRule RULE =
+            new AlertRule(UUID.randomUUID(), "*", "weather", "is", "stormy", null, URI.create("http://localhost/hook"), Double.NaN);
+
+    @Test
+    public void shouldDropAlertsInsteadOfBlockingWhenTheQueueIsFull() {
+        List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+        try (AlertDispatcher dispatcher = new AlertDispatcher((rule, alert) -> {
+            CompletableFuture<Void> delivery = new CompletableFuture<>();
+            pending.add(delivery);
+            return delivery;
+        }, 2, 1)) {
+            // the first alert is in flight, the next two are queued, the rest are dropped
+            dispatcher.offer(RULE, alert("Napier"));
+            await().until(() -> pending.size() == 1);
+            for (int i = 0; i < 5; i++) {
+                dispatcher.offer(RULE, alert("City" + i));
+            }
+            assertThat(dispatcher.getDropped()).isEqualTo(3);
+
+            pending.get(0).complete(null);
+            await().until(() -> pending.size() == 2);
+            pending.get(1).completeExceptionally(new IllegalStateException("callback answered 500"));
+            await().until(() -> pending.size() == 3);
+            pending.get(2).complete(null);
+
+            await().until(() -> dispatcher.getDelivered() == 2 && dispatcher.getFailed() == 1);
+            assertThat(dispatcher.getQueued()).isZero();
+        }
+    }
+
+    private static Alert alert(String city) {
+        return new Alert(RULE.id(), city, "weather is stormy", null, null, Instant.now());
+    }
+}
@@ -0,0 +1,87 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.alerts.AlertRule;
+import com.weather.weatherinfoservice.alerts.AlertRuleIndex;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AlertRuleIndexTest {
+
+    private static final URI CALLBACK = URI.create("http://localhost/hook");
+
+    private final AlertRuleIndex index = new AlertRuleIndex();
+
+    @Test
+    public void shouldFireTemperatureRulesOnlyWhenTheyAreCrossed() {
+        AlertRule hot = rule("Auckland", "above", 30);
+        AlertRule cold = rule("Auckland", "below", 0);
+        index.add(hot);
+        index.add(cold);
+
+        assertThat(matches("Auckland", null, reading("25", "C", "sunny"))).isEmpty();
+        assertThat(matches("Auckland", reading("25", "C", "sunny"), reading("31", "C", "sunny"))).containsExactly(hot);
+        assertThat(matches("Auckland", reading("31", "C", "sunny"), reading("35", "C", "sunny"))).isEmpty();
+        assertThat(matches("Auckland", reading("35", "C", "sunny"), reading("30", "C", "sunny"))).isEmpty();
+        // 86F is 30C: not above the threshold
+        assertThat(matches("Auckland", reading("29", "C", "sunny"), reading("86", "F", "sunny"))).isEmpty();
+        assertThat(matches("Auckland", reading("5", "C", "sunny"), reading("-1", "C", "sunny"))).containsExactly(cold);
+        assertThat(matches("Wellington", reading("5", "C", "sunny"), reading("40", "C", "sunny"))).isEmpty();
+        assertThat(matches("Auckland", reading("5", "C", "sunny"), reading("hot", "C", "sunny"))).isEmpty();
+    }
+
+    @Test
+    public void shouldFireWeatherAndWildcardRulesOnChange() {
+        AlertRule stormy = new AlertRule(UUID.randomUUID(), AlertRule.ANY_CITY, "weather", "is", "Stormy", null, CALLBACK, Double.NaN);
+        AlertRule heat = rule(AlertRule.ANY_CITY, "above", 30);
+        index.add(stormy);
+        index.add(heat);
+
+        assertThat(matches("Napier", reading("20", "C", "rainy"), reading("20", "C", " stormy"))).containsExactly(stormy);
+        assertThat(matches("Napier", reading("20", "C", "stormy"), reading("20", "C", "STORMY"))).isEmpty();
+        assertThat(matches("Napier", reading("20", "C", "rainy"), reading("32", "C", "stormy")))
+                .containsExactlyInAnyOrder(stormy, heat);
+        assertThat(matches("Napier", reading("20", "C", "rainy"), null)).isEmpty();
+
+        assertThat(index.remove(stormy)).isTrue();
+        assertThat(index.remove(stormy)).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(matches("Napier", reading("20", "C", "rainy"), reading("20", "C", "stormy"))).isEmpty();
+    }
+
+    @Test
+    public void shouldOnlyVisitRulesInTheCrossedRange() {
+        // 1000 cities with 100 rules each, thresholds -50..49 alternating between above and below
+        for (int i = 0; i < 100_000; i++) {
+            int threshold = i / 1_000 - 50;
+            index.add(rule("City" + i % 1_000, threshold % 2 == 0 ? "above" : "below", threshold));
+        }
+
+        List<AlertRule> fired = matches("City7", reading("10", "C", "sunny"), reading("12.5", "C", "sunny"));
+
+        assertThat(fired).allMatch(rule -> rule.city().equals("City7") && rule.operator().equals("above"));
+        assertThat(fired).extracting(AlertRule::thresholdCelsius).containsExactlyInAnyOrder(10.0, 12.0);
+        assertThat(matches("City7", reading("12.5", "C", "sunny"), reading("10", "C", "sunny")))
+                .extracting(AlertRule::thresholdCelsius).containsExactly(11.0);
+    }
+
+    private List<AlertRule> matches(String city, WeatherDataEntity previous, WeatherDataEntity current) {
+        List<AlertRule> fired = new ArrayList<>();
+        index.matches(city, previous, current, fired::add);
+        return fired;
+    }
+
+    private static AlertRule rule(String city, String operator, double thresholdCelsius) {
+        return new AlertRule(UUID.randomUUID(), city, "temp", operator, String.valueOf(thresholdCelsius), "C", CALLBACK, thresholdCelsius);
+    }
+
+    private static WeatherDataEntity reading(String temp, String unit, String weather) {
+        return new WeatherDataEntity(UUID.randomUUID(), "any", temp, unit, weather, null);
+    }
+}
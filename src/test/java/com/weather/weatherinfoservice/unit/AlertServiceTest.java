@@ -0,0 +1,87 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weatherinfoservice.alerts.AlertProperties;
+import com.weather.weatherinfoservice.alerts.AlertService;
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.models.AlertRuleRequest;
+import com.weather.weatherinfoservice.repositories.ReplicatedChanges;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+public class AlertServiceTest {
+
+    private final WeatherRepository weatherRepository = new WeatherRepository();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AlertService alertService;
+
+    @BeforeEach
+    public void setup() {
+        AlertProperties properties = new AlertProperties();
+        properties.setEnabled(true);
+        properties.setAllowedCallbackHosts(List.of("localhost", "*.example.com"));
+        alertService = new AlertService(weatherRepository, new IdGenerator(), properties, new ObjectMapper(), meterRegistry);
+        alertService.subscribe();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        alertService.shutdown();
+        ReplicatedChanges.clear();
+    }
+
+    @Test
+    public void shouldOnlyAcceptCallbacksOnAllowedHosts() {
+        assertThat(alertService.register(rule("http://localhost:9/hook")).callbackUrl().getHost()).isEqualTo("localhost");
+        assertThat(alertService.register(rule("https://Hooks.Example.com/storm")).callbackUrl().getHost()).isEqualTo("Hooks.Example.com");
+
+        for (String callbackUrl : List.of("http://169.254.169.254/latest/meta-data", "http://127.0.0.1:8080/weather",
+                "https://example.com.evil.net/hook", "https://example.com/hook", "file:///etc/passwd")) {
+            assertThatThrownBy(() -> alertService.register(rule(callbackUrl)))
+                    .as(callbackUrl)
+                    .isInstanceOf(InvalidRequestException.class);
+        }
+        assertThat(alertService.list(null)).hasSize(2);
+    }
+
+    @Test
+    public void shouldNotFireOnReplicatedChanges() {
+        alertService.register(rule("http://localhost:9/hook"));
+
+        ReplicatedChanges.mark();
+        weatherRepository.saveWeather("Napier", entity("stormy"));
+        ReplicatedChanges.clear();
+        weatherRepository.saveWeather("Napier", entity("sunny"));
+        weatherRepository.saveWeather("Napier", entity("stormy"));
+
+        // nothing listens on the discard port, so the one delivery fails
+        await().until(() -> deliveries("failed") == 1);
+        assertThat(deliveries("delivered") + deliveries("dropped")).isZero();
+        assertThat(meterRegistry.get("weather.alerts.queued").gauge().value()).isZero();
+    }
+
+    private double deliveries(String outcome) {
+        return meterRegistry.get("weather.alerts.deliveries").tag("outcome", outcome).functionCounter().count();
+    }
+
+    private static AlertRuleRequest rule(String callbackUrl) {
+        return new AlertRuleRequest("Napier", "weather", "is", "stormy", null, callbackUrl);
+    }
+
+    private static WeatherDataEntity entity(String weather) {
+        return new WeatherDataEntity(UUID.randomUUID(), "Napier", "18", "C", weather, LocalDate.of(2026, 3, 1));
+    }
+}
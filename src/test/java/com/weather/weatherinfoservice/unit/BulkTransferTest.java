@@ -0,0 +1,277 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weatherinfoservice.bulk.BulkTransferProperties;
+import com.weather.weatherinfoservice.bulk.ExportSnapshot;
+import com.weather.weatherinfoservice.bulk.ImportResult;
+import com.weather.weatherinfoservice.bulk.StoreExporter;
+import com.weather.weatherinfoservice.bulk.StoreImporter;
+import com.weather.weatherinfoservice.cluster.ClusterClient;
+import com.weather.weatherinfoservice.cluster.ClusterMembership;
+import com.weather.weatherinfoservice.cluster.ClusterProperties;
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.repositories.ReplicatedChanges;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BulkTransferTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private BulkTransferProperties properties;
+    private StoreImporter importer;
+
+    @BeforeEach
+    public void setup() {
+        properties = new BulkTransferProperties();
+        properties.setSnapshotDirectory(tempDir);
+        properties.setImportThreads(4);
+        properties.setImportBatchSize(100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+        if (importer != null) {
+            importer.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldVisitStoreAsOfSnapshotStartWhileItChanges() {
+        WeatherRepository weatherRepository = new WeatherRepository();
+        List<String> visited = new ArrayList<>();
+
+        long count = weatherRepository.forEachAtSnapshot(entity -> {
+            if (visited.isEmpty()) {
+                weatherRepository.updateWeather("Auckland", entity("Auckland", "30"));
+                weatherRepository.updateWeather("Christchurch", entity("Christchurch", "30"));
+                weatherRepository.deleteWeather("Wellington");
+                weatherRepository.saveWeather("Gisborne", entity("Gisborne", "30"));
+            }
+            visited.add(entity.getCity() + "=" + entity.getTemp());
+        });
+
+        assertThat(count).isEqualTo(3);
+        assertThat(visited).containsExactlyInAnyOrder("Auckland=15", "Christchurch=7", "Wellington=22");
+        assertThat(weatherRepository.findAll()).extracting(WeatherDataEntity::getCity)
+                .containsExactlyInAnyOrder("Auckland", "Christchurch", "Gisborne");
+    }
+
+    @Test
+    public void shouldImportExportedSnapshotIntoAnotherStore() throws IOException {
+        WeatherRepository source = new WeatherRepository();
+        for (int i = 0; i < 1_050; i++) {
+            source.saveWeather("city-" + i, entity("city-" + i, Integer.toString(i % 40)));
+        }
+        ExportSnapshot snapshot = new StoreExporter(source, objectMapper, properties).writeSnapshot();
+        WeatherRepository target = new WeatherRepository();
+        target.deleteWeather("Auckland");
+        importer = new StoreImporter(target, new IdGenerator(), objectMapper, properties);
+
+        ImportResult result = importer.importRecords(Files.newInputStream(snapshot.file()));
+
+        assertThat(snapshot.records()).isEqualTo(1_053);
+        assertThat(result.getImported()).isEqualTo(1_053);
+        assertThat(result.getRejected()).isZero();
+        assertThat(target.findWeatherByCity("city-1049")).get().isEqualTo(source.findWeatherByCity("city-1049").get());
+        assertThat(target.findWeatherByCity("Auckland")).isPresent();
+    }
+
+    @Test
+    public void shouldSkipMalformedRecordsAndReportTheirLines() throws IOException {
+        WeatherRepository target = new WeatherRepository();
+        importer = new StoreImporter(target, new IdGenerator(), objectMapper, properties);
+        String body = """
+                {"city":"Gisborne","temp":"21","unit":"C","weather":"sunny","date":"2025-09-01"}
+                {"city":
+                {"temp":"3","unit":"C"}
+
+                {"city":"Napier","temp":"19","unit":"C","weather":"cloudy","date":"2025-09-01"}
+                """;
+
+        ImportResult result = importer.importRecords(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getErrors()).anyMatch(error -> error.startsWith("line 2:")).anyMatch(error -> error.startsWith("line 3:"));
+        assertThat(target.findWeatherByCity("Napier").get().getId()).isNotNull();
+    }
+
+    @Test
+    public void shouldDeleteSnapshotFilesOnlyOnceTheyAreNoLongerSent() throws IOException {
+        StoreExporter exporter = new StoreExporter(new WeatherRepository(), objectMapper, properties);
+        ExportSnapshot copied = exporter.writeSnapshot();
+        ExportSnapshot handedOff = exporter.writeSnapshot();
+        ExportSnapshot pending = exporter.writeSnapshot();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        exporter.send(copied, new MockHttpServletRequest(), response);
+        MockHttpServletRequest sendfile = new MockHttpServletRequest();
+        sendfile.setAttribute("org.apache.tomcat.sendfile.support", true);
+        exporter.send(handedOff, sendfile, new MockHttpServletResponse());
+
+        assertThat(response.getContentAsByteArray()).hasSize((int) copied.sizeInBytes());
+        assertThat(copied.file()).doesNotExist();
+        // the container opens a sendfile file after the handler returns
+        assertThat(handedOff.file()).exists();
+        assertThat(pending.file()).exists();
+    }
+
+    @Test
+    public void shouldValidateAndNormalizeImportedRecordsLikeAWrite() throws IOException {
+        WeatherRepository target = new WeatherRepository();
+        importer = new StoreImporter(target, new IdGenerator(), objectMapper, properties);
+        String body = """
+                {"city":"Gisborne","temp":"86","unit":"F","weather":"sunny","date":"2025-09-01"}
+                {"city":"Napier","temp":"hot","unit":"C","weather":"sunny","date":"2025-09-01"}
+                {"city":"Nelson","temp":"20","unit":"K","weather":"sunny","date":"2025-09-01"}
+                {"city":"Taupo","temp":"20","unit":"C","weather":"sunny","date":"2999-01-01"}
+                {"city":"Wanaka","temp":"-300","unit":"C","weather":"sunny","date":"2025-09-01"}
+                {"city":"Picton","temp":"20","unit":"C","weather":" ","date":"2025-09-01"}
+                """;
+
+        ImportResult result = importer.importRecords(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(5);
+        assertThat(result.getErrors()).anyMatch(error -> error.startsWith("line 2: temp"))
+                .anyMatch(error -> error.startsWith("line 3: unit"))
+                .anyMatch(error -> error.startsWith("line 4: date"))
+                .anyMatch(error -> error.startsWith("line 5: aboveAbsoluteZero"))
+                .anyMatch(error -> error.startsWith("line 6: weather"));
+        assertThat(target.findWeatherByCity("Gisborne")).get()
+                .extracting(WeatherDataEntity::getTemp, WeatherDataEntity::getUnit)
+                .containsExactly("30", "C");
+        assertThat(target.findWeatherByCity("Napier")).isEmpty();
+    }
+
+    @Test
+    public void shouldImportFullPrecisionCelsiusFromAnExport() throws IOException {
+        WeatherRepository source = new WeatherRepository();
+        source.saveWeather("Boston", new WeatherDataEntity(new IdGenerator(),
+                new WeatherDataRequest("Boston", "70.01", "F", LocalDate.of(2025, 9, 1), "sunny")));
+        ExportSnapshot snapshot = new StoreExporter(source, objectMapper, properties).writeSnapshot();
+        WeatherRepository target = new WeatherRepository();
+        importer = new StoreImporter(target, new IdGenerator(), objectMapper, properties);
+
+        ImportResult result = importer.importRecords(Files.newInputStream(snapshot.file()));
+
+        assertThat(result.getRejected()).isZero();
+        assertThat(target.findWeatherByCity("Boston")).get().extracting(WeatherDataEntity::getTemp).isEqualTo("21.116666666666667");
+    }
+
+    @Test
+    public void shouldKeepTheLastLineOfACityAndImportIntoTheTenantOfTheRequest() throws IOException {
+        properties.setImportBatchSize(1);
+        WeatherRepository target = new WeatherRepository();
+        importer = new StoreImporter(target, new IdGenerator(), objectMapper, properties);
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            body.append("{\"city\":\"Gisborne\",\"temp\":\"").append(i % 50).append("\",\"unit\":\"C\",\"weather\":\"sunny\",\"date\":\"2025-09-01\"}\n");
+            body.append("{\"city\":\"city-").append(i).append("\",\"temp\":\"10\",\"unit\":\"C\",\"weather\":\"sunny\",\"date\":\"2025-09-01\"}\n");
+        }
+        TenantContextHolder.setTenant(new TenantNamespace("team-a", 1_000, 1_000_000));
+
+        ImportResult result = importer.importRecords(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImported()).isEqualTo(400);
+        assertThat(target.findWeatherByCity("Gisborne")).get().extracting(WeatherDataEntity::getTemp).isEqualTo("49");
+        TenantContextHolder.clear();
+        assertThat(target.findWeatherByCity("Gisborne")).isEmpty();
+    }
+
+    @Test
+    public void shouldIgnoreAClusterHopWithoutTheClusterSecret() throws IOException {
+        WeatherRepository target = new WeatherRepository();
+        List<Boolean> replicated = new ArrayList<>();
+        target.addChangeListener((city, previous, current) -> replicated.add(ReplicatedChanges.isReplicated()));
+        importer = new StoreImporter(target, new IdGenerator(), objectMapper, properties);
+        String body = "{\"city\":\"Gisborne\",\"temp\":\"21\",\"unit\":\"C\",\"weather\":\"sunny\",\"date\":\"2025-09-01\"}\n";
+
+        importer.importRecords(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ClusterClient.REPLICA_HOP, "guess", new HttpHeaders());
+
+        assertThat(replicated).containsExactly(false);
+    }
+
+    @Test
+    public void shouldApplyImportedRecordsOnTheirClusterOwner() throws IOException {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer nodeB = MockRestServiceServer.bindTo(builder).ignoreExpectOrder(true).build();
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.setEnabled(true);
+        clusterProperties.setSelf("http://node-a");
+        clusterProperties.setSecret("s3cret");
+        clusterProperties.setNodes(List.of("http://node-b"));
+        clusterProperties.setReplicationFactor(2);
+        ClusterMembership membership = new ClusterMembership(clusterProperties);
+        String owned = cityOwnedBy(membership, "http://node-a");
+        String remote = cityOwnedBy(membership, "http://node-b");
+        String ownedRecord = "{\"city\":\"" + owned + "\",\"temp\":\"21\",\"unit\":\"C\",\"weather\":\"sunny\",\"date\":\"2025-09-01\"}";
+        String remoteRecord = "{\"city\":\"" + remote + "\",\"temp\":\"21\",\"unit\":\"C\",\"weather\":\"sunny\",\"date\":\"2025-09-01\"}";
+        nodeB.expect(requestTo("http://node-b/weather/import"))
+                .andExpect(header(ClusterClient.HOP_HEADER, "forward"))
+                .andExpect(content().string(containsString("\"city\":\"" + remote + "\"")))
+                .andRespond(withSuccess("{\"imported\":1,\"rejected\":0,\"elapsedMillis\":1,\"errors\":[]}", MediaType.APPLICATION_JSON));
+        nodeB.expect(requestTo("http://node-b/weather/import"))
+                .andExpect(header(ClusterClient.HOP_HEADER, ClusterClient.REPLICA_HOP))
+                .andExpect(content().string(containsString("\"city\":\"" + owned + "\"")))
+                .andRespond(withSuccess("{\"imported\":1,\"rejected\":0,\"elapsedMillis\":1,\"errors\":[]}", MediaType.APPLICATION_JSON));
+        WeatherRepository target = new WeatherRepository();
+        ClusterClient clusterClient = new ClusterClient(builder, clusterProperties, membership);
+        importer = new StoreImporter(target, new IdGenerator(), objectMapper, properties, membership, clusterClient);
+
+        ImportResult result = importer.importRecords(new ByteArrayInputStream((ownedRecord + "\n" + remoteRecord + "\n").getBytes(StandardCharsets.UTF_8)));
+
+        nodeB.verify(Duration.ofSeconds(5));
+        clusterClient.destroy();
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(target.findWeatherByCity(owned)).isPresent();
+        assertThat(target.findWeatherByCity(remote)).isEmpty();
+    }
+
+    private static String cityOwnedBy(ClusterMembership membership, String node) {
+        return IntStream.range(0, 1_000).mapToObj(i -> "City" + i)
+                .filter(city -> membership.ownerOf(city).equals(node))
+                .findFirst().orElseThrow();
+    }
+
+    private static WeatherDataEntity entity(String city, String temp) {
+        return new WeatherDataEntity(UUID.randomUUID(), city, temp, "C", "sunny", LocalDate.of(2025, 9, 1));
+    }
+}
@@ -0,0 +1,57 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.cluster.ConsistentHashRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("http://localhost:8081", "http://localhost:8082", "http://localhost:8083");
+
+    @Test
+    public void shouldAssignEveryCityToAKnownNode() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(NODES).contains(ring.ownerOf("city-" + i));
+        }
+    }
+
+    @Test
+    public void shouldReturnDistinctNodesOwnerFirst() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        List<String> preferenceList = ring.preferenceList("Auckland", 2);
+        assertThat(preferenceList).hasSize(2).doesNotHaveDuplicates();
+        assertThat(preferenceList.get(0)).isEqualTo(ring.ownerOf("Auckland"));
+    }
+
+    @Test
+    public void shouldMoveOnlyKeysClaimedByTheNewNode() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        String newNode = "http://localhost:8084";
+        ConsistentHashRing grown = ring.withNode(newNode);
+
+        Map<String, Integer> moves = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            String city = "city-" + i;
+            String before = ring.ownerOf(city);
+            String after = grown.ownerOf(city);
+            if (!before.equals(after)) {
+                assertThat(after).isEqualTo(newNode);
+                moves.merge(after, 1, Integer::sum);
+            }
+        }
+        // roughly a quarter of the keyspace should move to the fourth node
+        assertThat(moves.get(newNode)).isBetween(1_500, 3_500);
+    }
+
+    @Test
+    public void shouldReturnSameRingWhenNodeAlreadyPresent() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 16);
+        assertThat(ring.withNode(NODES.get(0))).isSameAs(ring);
+    }
+}
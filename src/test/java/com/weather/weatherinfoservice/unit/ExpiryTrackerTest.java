@@ -0,0 +1,104 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.repositories.ExpiryProperties;
+import com.weather.weatherinfoservice.repositories.ExpiryTracker;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiryTrackerTest {
+
+    private static final long NOW = LocalDate.of(2026, 3, 1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() + 3_600_000;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private final List<Long> lags = new ArrayList<>();
+    private final WeatherRepository weatherRepository = new WeatherRepository();
+    private ExpiryTracker tracker;
+
+    @Test
+    public void shouldExpireEntriesTheirTtlAfterTheLastWrite() {
+        tracker(Duration.ofSeconds(30), null);
+        clock.addAndGet(20_000);
+        weatherRepository.updateWeather("Auckland", entity("Auckland", LocalDate.of(2026, 3, 1)));
+
+        advanceSeconds(10);
+        assertThat(weatherRepository.findWeatherByCity("Wellington")).isEmpty();
+        assertThat(weatherRepository.findWeatherByCity("Auckland")).isPresent();
+
+        advanceSeconds(19);
+        assertThat(weatherRepository.findWeatherByCity("Auckland")).isPresent();
+
+        advanceSeconds(1);
+        assertThat(weatherRepository.findWeatherByCity("Auckland")).isEmpty();
+        assertThat(tracker.getExpired()).isEqualTo(3);
+        assertThat(tracker.getScheduled()).isZero();
+        assertThat(lags).containsOnly(0L);
+    }
+
+    @Test
+    public void shouldDeriveDeadlineFromReadingDate() {
+        tracker(null, Duration.ofDays(1));
+        weatherRepository.saveWeather("Hamilton", entity("Hamilton", LocalDate.of(2026, 2, 27)));
+        weatherRepository.saveWeather("Napier", entity("Napier", LocalDate.of(2026, 3, 1)));
+        weatherRepository.saveWeather("Nelson", entity("Nelson", null));
+
+        advanceSeconds(1);
+        assertThat(weatherRepository.findWeatherByCity("Hamilton")).isEmpty();
+        assertThat(lags).containsExactly(NOW + 1_000 - startOfDay(LocalDate.of(2026, 2, 28)));
+
+        advanceSeconds(23 * 3_600);
+        assertThat(weatherRepository.findWeatherByCity("Napier")).isEmpty();
+        assertThat(weatherRepository.findWeatherByCity("Nelson")).isPresent();
+        assertThat(tracker.getExpired()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldForgetDeletedCitiesAndKeepRewrittenOnes() {
+        tracker(Duration.ofSeconds(5), null);
+        weatherRepository.deleteWeather("Christchurch");
+        clock.addAndGet(2_000);
+        weatherRepository.saveWeather("Christchurch", entity("Christchurch", null));
+        WeatherDataEntity rewritten = entity("Auckland", null);
+
+        clock.addAndGet(3_000);
+        // rewritten after the clock passed the original deadline, but before the wheel ran
+        weatherRepository.updateWeather("Auckland", rewritten);
+        assertThat(tracker.expireDue()).isEqualTo(1);
+
+        assertThat(weatherRepository.findWeatherByCity("Auckland")).contains(rewritten);
+        assertThat(weatherRepository.findWeatherByCity("Christchurch")).isPresent();
+        assertThat(weatherRepository.findWeatherByCity("Wellington")).isEmpty();
+        assertThat(tracker.getScheduled()).isEqualTo(2);
+    }
+
+    private void tracker(Duration ttl, Duration maxReadingAge) {
+        ExpiryProperties properties = new ExpiryProperties();
+        properties.setTtl(ttl);
+        properties.setMaxReadingAge(maxReadingAge);
+        tracker = new ExpiryTracker(weatherRepository, properties, clock::get, lags::add);
+        tracker.subscribe();
+    }
+
+    private void advanceSeconds(int seconds) {
+        clock.addAndGet(seconds * 1_000L);
+        tracker.expireDue();
+    }
+
+    private static WeatherDataEntity entity(String city, LocalDate date) {
+        return new WeatherDataEntity(UUID.randomUUID(), city, "12", "C", "cloudy", date);
+    }
+
+    private static long startOfDay(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,94 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.external.ExternalDataset;
+import com.weather.weatherinfoservice.external.ExternalDatasetParser;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.services.WeatherDataExternalSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExternalDatasetParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldParseChunksInParallelLikeOneSequentialPass() throws IOException {
+        StringBuilder csv = new StringBuilder("city,temp,unit,weather,date\r\n");
+        for (int i = 0; i < 20_000; i++) {
+            csv.append("City").append(i % 15_000).append(',').append(i % 37).append(",C,cloudy,2026-03-01\r\n");
+            if (i % 1_000 == 0) {
+                csv.append("broken line without columns\n");
+            }
+        }
+        csv.append("\"Whangārei, Northland\",18,C,\"sunny, \"\"warm\"\"\",\n");
+        csv.append("Gisborne,21,C,sunny\n");
+        csv.append("Invalid,12,C,rainy,yesterday\n");
+        csv.append("Tauranga,19,C,sunny,2026-03-02");
+        Path file = Files.writeString(tempDir.resolve("cities.csv"), csv, StandardCharsets.UTF_8);
+
+        ExternalDataset sequential = new ExternalDatasetParser(executor, Long.MAX_VALUE).parse(file);
+        ExternalDataset chunked = new ExternalDatasetParser(executor, 4 * 1024).parse(file);
+
+        assertThat(chunked.cities()).isEqualTo(sequential.cities());
+        assertThat(chunked.size()).isEqualTo(15_003);
+        assertThat(chunked.malformedLines()).isEqualTo(sequential.malformedLines()).isEqualTo(21);
+        assertThat(chunked.sizeInBytes()).isEqualTo(Files.size(file));
+        // the last line of a city wins
+        assertThat(chunked.cities().get("City10").getTemp()).isEqualTo("25");
+        assertThat(chunked.cities().get("Whangārei, Northland"))
+                .extracting(WeatherDataResponse::getWeather, WeatherDataResponse::getDate)
+                .containsExactly("sunny, \"warm\"", null);
+        assertThat(chunked.cities().get("Tauranga").getDate()).isEqualTo(LocalDate.of(2026, 3, 2));
+        assertThat(chunked.cities()).containsKey("Gisborne").doesNotContainKey("Invalid");
+    }
+
+    @Test
+    public void shouldNormalizeReadingsAndSkipInvalidOnesLikeWrites() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("cities.csv"),
+                "Boston,50,F,rainy,2026-03-01\nNapier,hot,C,sunny,\nRaglan,21.555,C,windy,\nOmarama,-300,C,clear,\nTimaru,8,K,foggy,\n");
+
+        ExternalDataset dataset = new ExternalDatasetParser(executor, 1024).parse(file);
+
+        assertThat(dataset.cities().get("Boston"))
+                .extracting(WeatherDataResponse::getTemp, WeatherDataResponse::getUnit)
+                .containsExactly("10", "C");
+        assertThat(dataset.cities()).containsOnlyKeys("Boston");
+        assertThat(dataset.malformedLines()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldServeTheReplacedDatasetAndDateUndatedReadings() throws IOException {
+        WeatherDataExternalSource externalSource = new WeatherDataExternalSource();
+        assertThat(externalSource.getWeatherData("Hamilton").getDate()).isEqualTo(LocalDate.now());
+
+        Path file = Files.writeString(tempDir.resolve("cities.csv"), "Hamilton,13,C,windy,\nOamaru,9,C,cloudy,2026-03-01\n");
+        externalSource.replace(new ExternalDatasetParser(executor, 1024).parse(file));
+
+        assertThat(externalSource.getWeatherData("Hamilton"))
+                .extracting(WeatherDataResponse::getTemp, WeatherDataResponse::getDate)
+                .containsExactly("13", LocalDate.now());
+        assertThat(externalSource.getWeatherData("Oamaru").getDate()).isEqualTo(LocalDate.of(2026, 3, 1));
+        assertThat(externalSource.getWeatherData("Tauranga")).isNull();
+        assertThat(externalSource.getWeatherData("Oamaru").getUuid())
+                .isEqualTo(new ExternalDatasetParser(executor, 1024).parse(file).cities().get("Oamaru").getUuid());
+    }
+}
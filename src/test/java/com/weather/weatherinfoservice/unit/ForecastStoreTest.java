@@ -0,0 +1,119 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.exceptions.InvalidRequestException;
+import com.weather.weatherinfoservice.forecast.ForecastRun;
+import com.weather.weatherinfoservice.forecast.ForecastStore;
+import com.weather.weatherinfoservice.models.ForecastRunRequest;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ForecastStoreTest {
+
+    private static final Instant START = Instant.parse("2025-09-01T00:00:00Z");
+
+    private final ForecastStore forecastStore = new ForecastStore();
+
+    @Test
+    public void shouldReadInclusiveRangeFromSortedRun() {
+        forecastStore.replace("Auckland", hourlyRun(START, 48, "C"));
+
+        ForecastRun run = forecastStore.find("Auckland").orElseThrow();
+        int first = run.firstIndexFrom(START.plusSeconds(3600 * 10).getEpochSecond());
+        int end = run.endIndexTo(START.plusSeconds(3600 * 20).getEpochSecond());
+
+        assertThat(run.size()).isEqualTo(48);
+        assertThat(first).isEqualTo(10);
+        assertThat(end).isEqualTo(21);
+        assertThat(run.epochSecondAt(first)).isEqualTo(START.plusSeconds(3600 * 10).getEpochSecond());
+    }
+
+    @Test
+    public void shouldReturnEmptyRangeOutsideRun() {
+        forecastStore.replace("Auckland", hourlyRun(START, 24, "C"));
+
+        ForecastRun run = forecastStore.find("Auckland").orElseThrow();
+
+        assertThat(run.firstIndexFrom(START.plusSeconds(3600 * 30).getEpochSecond())).isEqualTo(24);
+        assertThat(run.endIndexTo(START.minusSeconds(1).getEpochSecond())).isZero();
+    }
+
+    @Test
+    public void shouldStoreTemperaturesInCelsius() {
+        forecastStore.replace("Boston", hourlyRun(START, 2, "F"));
+
+        ForecastRun run = forecastStore.find("Boston").orElseThrow();
+
+        assertThat(run.celsiusAt(0)).isEqualTo(0f);
+        assertThat(run.conditionAt(0)).isEqualTo("sunny");
+        assertThat(run.conditionAt(1)).isEqualTo("rainy");
+    }
+
+    @Test
+    public void shouldIgnoreRunIssuedBeforeStoredRun() {
+        ForecastRunRequest newer = hourlyRun(START, 24, "C");
+        newer.setIssuedAt(START.plusSeconds(3600));
+        ForecastRunRequest older = hourlyRun(START, 12, "C");
+        older.setIssuedAt(START);
+
+        assertThat(forecastStore.replace("Auckland", newer)).isTrue();
+        assertThat(forecastStore.replace("Auckland", older)).isFalse();
+        assertThat(forecastStore.find("Auckland").orElseThrow().size()).isEqualTo(24);
+    }
+
+    @Test
+    public void shouldRejectDuplicatePointTimes() {
+        ForecastRunRequest request = hourlyRun(START, 2, "C");
+        request.getPoints().get(0).setTime(START);
+
+        assertThatThrownBy(() -> forecastStore.replace("Auckland", request)).isInstanceOf(InvalidRequestException.class);
+        assertThat(forecastStore.find("Auckland")).isEmpty();
+    }
+
+    @Test
+    public void shouldKeepTenantForecastsApartFromSharedOnes() {
+        forecastStore.replace("Auckland", hourlyRun(START, 24, "C"));
+        TenantContextHolder.setTenant(new TenantNamespace("team-a", 10, 1_000_000));
+        try {
+            assertThat(forecastStore.find("Auckland")).isEmpty();
+            forecastStore.replace("Auckland", hourlyRun(START, 2, "C"));
+            assertThat(forecastStore.find("Auckland")).get().extracting(ForecastRun::size).isEqualTo(2);
+            assertThat(forecastStore.remove("Auckland")).isTrue();
+        } finally {
+            TenantContextHolder.clear();
+        }
+
+        assertThat(forecastStore.find("Auckland")).get().extracting(ForecastRun::size).isEqualTo(24);
+    }
+
+    @Test
+    public void shouldRejectPointsBelowAbsoluteZero() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ForecastRunRequest request = hourlyRun(START, 2, "F");
+        request.getPoints().get(0).setTemp(-460.0);
+
+        assertThat(validator.validate(request)).extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("points[0].aboveAbsoluteZero");
+        request.getPoints().get(0).setTemp(-459.0);
+        assertThat(validator.validate(request)).isEmpty();
+    }
+
+    private static ForecastRunRequest hourlyRun(Instant start, int hours, String unit) {
+        List<ForecastRunRequest.Point> points = new ArrayList<>();
+        // added newest first, the store sorts them
+        for (int i = hours - 1; i >= 0; i--) {
+            double temp = "F".equals(unit) ? 32 + i : i;
+            points.add(new ForecastRunRequest.Point(start.plusSeconds(3600L * i), temp, unit, i % 2 == 0 ? "sunny" : "rainy"));
+        }
+        return new ForecastRunRequest(start, "HOURLY", points);
+    }
+}
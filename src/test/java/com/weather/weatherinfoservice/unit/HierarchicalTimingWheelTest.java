@@ -0,0 +1,88 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.repositories.HierarchicalTimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HierarchicalTimingWheelTest {
+
+    @Test
+    public void shouldFireEveryTimeoutOnceWithinTheAdvanceCoveringItsDueTick() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(3, 1_000);
+        Random random = new Random(42);
+        long[] dues = new long[20_000];
+        List<HierarchicalTimingWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < dues.length; i++) {
+            // up to 64^3 ticks ahead, with a tail beyond the top level
+            dues[i] = 1_001 + (long) (random.nextDouble() * random.nextDouble() * 400_000);
+            timeouts.add(wheel.schedule(i, dues[i]));
+        }
+        Set<Integer> pending = new HashSet<>();
+        for (int i = 0; i < dues.length; i++) {
+            if (i % 7 == 0) {
+                assertThat(wheel.cancel(timeouts.get(i))).isTrue();
+            } else {
+                pending.add(i);
+            }
+        }
+
+        long tick = 1_000;
+        while (wheel.size() > 0) {
+            long previous = tick;
+            tick += 1 + random.nextInt(300);
+            long now = tick;
+            wheel.advanceTo(tick, index -> {
+                assertThat(dues[index]).isGreaterThan(previous).isLessThanOrEqualTo(now);
+                assertThat(pending.remove(index)).isTrue();
+            });
+        }
+
+        assertThat(pending).isEmpty();
+        assertThat(wheel.currentTick()).isEqualTo(tick);
+    }
+
+    @Test
+    public void shouldFireInDueOrderTickByTick() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(4, 0);
+        long[] dues = {1, 63, 64, 65, 4_095, 4_096, 4_097, 262_143, 262_144, 17_000_000, 20_000_000};
+        for (int i = dues.length - 1; i >= 0; i--) {
+            wheel.schedule(dues[i], dues[i]);
+        }
+
+        List<long[]> fired = new ArrayList<>();
+        for (long tick = 1; tick <= 20_000_000; tick += tick < 300_000 ? 1 : 1_000) {
+            long now = tick;
+            wheel.advanceTo(tick, due -> fired.add(new long[]{due, now}));
+        }
+
+        assertThat(fired).extracting(pair -> pair[0]).containsExactly(1L, 63L, 64L, 65L, 4_095L, 4_096L, 4_097L,
+                262_143L, 262_144L, 17_000_000L, 20_000_000L);
+        assertThat(fired.subList(0, 9)).allMatch(pair -> pair[0] == pair[1]);
+        assertThat(fired.subList(9, 11)).allMatch(pair -> pair[1] >= pair[0] && pair[1] - pair[0] < 1_000);
+    }
+
+    @Test
+    public void shouldNotFireCancelledOrAlreadyDueTimeoutsEarly() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(2, 10);
+        HierarchicalTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 12);
+        wheel.schedule("overdue", 5);
+        wheel.schedule("later", 12);
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(11, fired::add);
+        assertThat(fired).containsExactly("overdue");
+
+        wheel.advanceTo(12, fired::add);
+        assertThat(fired).containsExactly("overdue", "later");
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,119 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.exceptions.CityNotFoundException;
+import com.weather.weatherinfoservice.hotkeys.HeavyHitterSketch;
+import com.weather.weatherinfoservice.hotkeys.HotKey;
+import com.weather.weatherinfoservice.hotkeys.HotKeyProperties;
+import com.weather.weatherinfoservice.hotkeys.HotKeyTracker;
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.repositories.ColdSegmentStore;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.services.WeatherDataExternalSource;
+import com.weather.weatherinfoservice.services.WeatherServiceImpl;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HotKeyTrackerTest {
+
+    @Test
+    public void shouldFindTheHeavyHittersAmongManyRareKeysWithoutUndercounting() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(1024, 4, 8);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add("City" + i, 1);
+            if (i % 3 == 0) {
+                sketch.add("Auckland", 1);
+            }
+            if (i % 5 == 0) {
+                sketch.add("Wellington", 1);
+            }
+            if (i % 20 == 0) {
+                sketch.add("Napier", 1);
+            }
+        }
+
+        List<HeavyHitterSketch.Estimate> top = sketch.top();
+        assertThat(top).hasSize(8);
+        assertThat(top.subList(0, 3)).extracting(HeavyHitterSketch.Estimate::key).containsExactly("Auckland", "Wellington", "Napier");
+        assertThat(sketch.estimate("Auckland")).isBetween(3_334L, 3_334L + 100);
+        assertThat(sketch.estimate("Napier")).isGreaterThanOrEqualTo(500);
+        assertThat(sketch.estimate("City42")).isGreaterThanOrEqualTo(1);
+        assertThat(sketch.total()).isEqualTo(10_000 + 3_334 + 2_000 + 500);
+
+        sketch.decay();
+        assertThat(sketch.top().get(0).count()).isEqualTo(sketch.estimate("Auckland")).isBetween(1_667L, 1_667L + 50);
+        assertThat(sketch.total()).isEqualTo((10_000 + 3_334 + 2_000 + 500) / 2);
+    }
+
+    @Test
+    public void shouldAnswerPinnedCitiesFromTheSnapshotAndKeepItCurrentOnWrites() {
+        WeatherRepository weatherRepository = new WeatherRepository();
+        HotKeyProperties properties = new HotKeyProperties();
+        properties.setSampleEvery(1);
+        properties.setPinShare(0.2);
+        HotKeyTracker tracker = new HotKeyTracker(weatherRepository, properties, new SimpleMeterRegistry());
+        tracker.subscribe();
+        WeatherServiceImpl weatherService = new WeatherServiceImpl(weatherRepository, new WeatherDataExternalSource(), new IdGenerator(), tracker);
+
+        for (int i = 0; i < 60; i++) {
+            weatherService.getWeatherData("Auckland");
+        }
+        for (int i = 0; i < 30; i++) {
+            weatherService.getWeatherData("Hamilton");
+        }
+        for (int i = 0; i < 10; i++) {
+            weatherService.getWeatherData("Wellington");
+        }
+        tracker.republish();
+
+        // Hamilton is served by the external source and Wellington is below the share, neither is pinned
+        assertThat(tracker.hotKeys(3)).containsExactly(
+                new HotKey("Auckland", 60, 0.6, true),
+                new HotKey("Hamilton", 30, 0.3, false),
+                new HotKey("Wellington", 10, 0.1, false));
+        assertThat(tracker.findPinned("Auckland")).isSameAs(weatherRepository.findWeatherByCity("Auckland").orElseThrow());
+        assertThat(tracker.findPinned("Wellington")).isNull();
+
+        weatherService.updateWeatherData(new WeatherDataRequest("Auckland", "24", "C", LocalDate.now(), "sunny"));
+        assertThat(tracker.findPinned("Auckland").getTemp()).isEqualTo("24");
+        assertThat(weatherService.getWeatherData("Auckland").getWeather()).isEqualTo("sunny");
+
+        weatherService.deleteWeatherData("Auckland");
+        assertThat(tracker.findPinned("Auckland")).isNull();
+        assertThatThrownBy(() -> weatherService.getWeatherData("Auckland")).isInstanceOf(CityNotFoundException.class);
+    }
+
+    @Test
+    public void shouldKeepPinnedCitiesHotAlthoughTheStoreNoLongerSeesTheirReads(@TempDir Path tempDir) throws IOException {
+        WeatherRepository weatherRepository = new WeatherRepository();
+        HotKeyProperties properties = new HotKeyProperties();
+        properties.setSampleEvery(1);
+        HotKeyTracker tracker = new HotKeyTracker(weatherRepository, properties, new SimpleMeterRegistry());
+        tracker.subscribe();
+        WeatherServiceImpl weatherService = new WeatherServiceImpl(weatherRepository, new WeatherDataExternalSource(), new IdGenerator(), tracker);
+        try (ColdSegmentStore coldSegmentStore = new ColdSegmentStore(tempDir.resolve("cold.seg"))) {
+            weatherRepository.attachColdTier(coldSegmentStore);
+            weatherService.getWeatherData("Auckland");
+            tracker.republish();
+            for (int i = 0; i < 100; i++) {
+                weatherService.getWeatherData("Auckland");
+            }
+            weatherService.getWeatherData("Wellington");
+
+            assertThat(weatherRepository.demoteTo(1)).isEqualTo(2);
+            assertThat(weatherRepository.coldSize()).isEqualTo(2);
+            assertThat(coldSegmentStore.contains("Auckland")).isFalse();
+            assertThat(weatherRepository.findWeatherByCity("Wellington")).isPresent();
+            assertThat(weatherRepository.getColdHits()).isEqualTo(1);
+        }
+    }
+}
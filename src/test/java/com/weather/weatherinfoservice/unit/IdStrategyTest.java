@@ -0,0 +1,112 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.util.IdGenerator;
+import com.weather.weatherinfoservice.util.IdGeneratorProperties;
+import com.weather.weatherinfoservice.util.IdStrategy;
+import com.weather.weatherinfoservice.util.RandomIdStrategy;
+import com.weather.weatherinfoservice.util.SnowflakeIdStrategy;
+import com.weather.weatherinfoservice.util.UuidV7IdStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IdStrategyTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @Test
+    public void shouldEncodeUnixMillisInVersion7Layout() {
+        UUID id = new UuidV7IdStrategy(clock::get).nextId();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+    }
+
+    @Test
+    public void shouldStayOrderedWhenClockStallsOrGoesBack() {
+        IdStrategy strategy = new UuidV7IdStrategy(clock::get);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            ids.add(strategy.nextId());
+        }
+        clock.addAndGet(-1_000);
+        ids.add(strategy.nextId());
+        clock.set(NOW + 10);
+        ids.add(strategy.nextId());
+
+        assertThat(ids).isSortedAccordingTo(IdStrategyTest::unsignedMostSignificant).doesNotHaveDuplicates();
+        assertThat(ids.get(ids.size() - 1).getMostSignificantBits() >>> 16).isEqualTo(NOW + 10);
+    }
+
+    @Test
+    public void shouldHandOutUniqueIncreasingIdsPerThreadUnderContention() throws Exception {
+        IdStrategy strategy = new SnowflakeIdStrategy(7);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<UUID>>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(strategy.nextId());
+                    }
+                    return ids;
+                }));
+            }
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> result : results) {
+                List<UUID> ids = result.get();
+                assertThat(ids).isSortedAccordingTo(IdStrategyTest::unsignedMostSignificant);
+                all.addAll(ids);
+            }
+            assertThat(all).hasSize(8 * 20_000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldEmbedNodeIdInSnowflakeIds() {
+        UUID id = new SnowflakeIdStrategy(513, clock::get).nextId();
+
+        assertThat(id.version()).isEqualTo(8);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(SnowflakeIdStrategy.nodeId(id)).isEqualTo(513);
+        assertThat(new SnowflakeIdStrategy(514, clock::get).nextId()).isNotEqualTo(id);
+        assertThatThrownBy(() -> new SnowflakeIdStrategy(1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldSelectStrategyByName() {
+        IdGeneratorProperties properties = new IdGeneratorProperties();
+        assertThat(IdGenerator.strategy(properties)).isInstanceOf(UuidV7IdStrategy.class);
+
+        properties.setStrategy("random");
+        assertThat(IdGenerator.strategy(properties)).isInstanceOf(RandomIdStrategy.class);
+
+        properties.setStrategy("snowflake");
+        properties.setNodeId(3);
+        assertThat(SnowflakeIdStrategy.nodeId(new IdGenerator(IdGenerator.strategy(properties)).generateId())).isEqualTo(3);
+
+        properties.setStrategy("sequential");
+        assertThatThrownBy(() -> IdGenerator.strategy(properties)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int unsignedMostSignificant(UUID a, UUID b) {
+        return Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+    }
+}
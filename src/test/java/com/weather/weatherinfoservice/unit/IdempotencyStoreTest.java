@@ -0,0 +1,56 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.idempotency.IdempotencyStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdempotencyStoreTest {
+
+    private static final long TTL = 1_000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final IdempotencyStore store = new IdempotencyStore(TTL, 2, clock::get);
+
+    @Test
+    public void shouldReturnOriginalEntryToRetries() {
+        IdempotencyStore.Claim first = store.claim("key-1", "POST /weather abc");
+        store.complete(first.entry(), new IdempotencyStore.StoredResponse(201, "application/json", "{\"success\":true}".getBytes()));
+
+        IdempotencyStore.Claim retry = store.claim("key-1", "POST /weather abc");
+
+        assertThat(first.owned()).isTrue();
+        assertThat(retry.owned()).isFalse();
+        assertThat(retry.entry().response().join().status()).isEqualTo(201);
+    }
+
+    @Test
+    public void shouldLetRetryExecuteAfterTheKeyExpired() {
+        store.claim("key-1", "POST /weather abc");
+        clock.addAndGet(TTL);
+
+        assertThat(store.claim("key-1", "POST /weather abc").owned()).isTrue();
+    }
+
+    @Test
+    public void shouldLetRetryExecuteAfterTheOriginalWasAbandoned() {
+        IdempotencyStore.Claim first = store.claim("key-1", "POST /weather abc");
+        store.abandon(first.entry());
+
+        assertThat(first.entry().response().join()).isNull();
+        assertThat(store.claim("key-1", "POST /weather abc").owned()).isTrue();
+    }
+
+    @Test
+    public void shouldForgetOldestKeysBeyondCapacity() {
+        store.claim("key-1", "a");
+        store.claim("key-2", "b");
+        store.claim("key-3", "c");
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.claim("key-1", "a").owned()).isTrue();
+        assertThat(store.claim("key-3", "c").owned()).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.weather.weatherinfoservice.unit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.weather.weatherinfoservice.logging.MessageRateLimitingTurboFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessageRateLimitingTurboFilterTest {
+
+    private MessageRateLimitingTurboFilter filter;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger logger;
+
+    @BeforeEach
+    public void setUp() {
+        LoggerContext context = new LoggerContext();
+        filter = new MessageRateLimitingTurboFilter();
+        filter.setContext(context);
+        filter.setRatePerSecond(5);
+        filter.setSampleEvery(10);
+        filter.start();
+        context.addTurboFilter(filter);
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        logger = context.getLogger("test");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @Test
+    public void shouldLogRateThenSampleEachMessageTemplate() {
+        for (int i = 0; i < 25; i++) {
+            logger.warn("not found: {}", "city-" + i);
+        }
+
+        // 5 within the rate, then the 10th and 20th beyond it
+        assertThat(appender.list).hasSize(7);
+        assertThat(filter.getSuppressed()).isEqualTo(18);
+    }
+
+    @Test
+    public void shouldKeepSeparateBudgetsPerTemplate() {
+        for (int i = 0; i < 5; i++) {
+            logger.warn("not found: {}", i);
+            logger.warn("conflict: {}", i);
+        }
+
+        assertThat(appender.list).hasSize(10);
+        assertThat(filter.getSuppressed()).isZero();
+    }
+
+    @Test
+    public void shouldNeverLimitErrors() {
+        for (int i = 0; i < 50; i++) {
+            logger.error("unhandled exception: {}", i);
+        }
+
+        assertThat(appender.list).hasSize(50);
+    }
+
+    @Test
+    public void shouldNotSpendBudgetOnDisabledLevels() {
+        for (int i = 0; i < 50; i++) {
+            logger.debug("not found: {}", i);
+        }
+        for (int i = 0; i < 5; i++) {
+            logger.warn("not found: {}", i);
+        }
+
+        assertThat(appender.list).hasSize(5);
+        assertThat(filter.getSuppressed()).isZero();
+    }
+}
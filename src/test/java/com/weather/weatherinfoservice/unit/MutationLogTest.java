@@ -0,0 +1,87 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.replication.MutationLog;
+import com.weather.weatherinfoservice.replication.ReplicatedMutation;
+import com.weather.weatherinfoservice.replication.ReplicationBatch;
+import com.weather.weatherinfoservice.replication.ReplicationProperties;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MutationLogTest {
+
+    private WeatherRepository weatherRepository;
+    private MutationLog mutationLog;
+
+    @BeforeEach
+    public void setup() {
+        ReplicationProperties replicationProperties = new ReplicationProperties();
+        replicationProperties.setLogCapacity(4);
+        weatherRepository = new WeatherRepository();
+        mutationLog = new MutationLog(weatherRepository, replicationProperties);
+        mutationLog.subscribe();
+    }
+
+    @Test
+    public void shouldRecordRepositoryChangesInOrder() throws InterruptedException {
+        weatherRepository.saveWeather("Hamilton", new WeatherDataEntity(UUID.randomUUID(), "Hamilton", "12", "C", "sunny", LocalDate.now()));
+        weatherRepository.deleteWeather("Auckland");
+
+        ReplicationBatch batch = mutationLog.read(0, 10, 0);
+
+        assertThat(batch.isSnapshotRequired()).isFalse();
+        assertThat(batch.getLeaderSequence()).isEqualTo(2);
+        assertThat(batch.getMutations()).extracting(ReplicatedMutation::getType)
+                .containsExactly(ReplicatedMutation.Type.UPSERT, ReplicatedMutation.Type.DELETE);
+        assertThat(batch.getMutations().get(0).getData().getTemp()).isEqualTo("12");
+        assertThat(mutationLog.takeLastAppendedSequence()).isEqualTo(2);
+        assertThat(mutationLog.takeLastAppendedSequence()).isNull();
+    }
+
+    @Test
+    public void shouldRequireSnapshotWhenFollowerFellBehindTheLog() throws InterruptedException {
+        for (int i = 0; i < 6; i++) {
+            weatherRepository.saveWeather("city-" + i, new WeatherDataEntity(UUID.randomUUID(), "city-" + i, "10", "C", "rainy", LocalDate.now()));
+        }
+
+        assertThat(mutationLog.read(0, 10, 0).isSnapshotRequired()).isTrue();
+        assertThat(mutationLog.read(3, 10, 0).getMutations()).hasSize(3);
+        assertThat(mutationLog.snapshot().getSnapshot()).hasSize(9);
+    }
+
+    @Test
+    public void shouldIncludeMutationsAppendedBeforeTheSnapshotSequenceButNotYetVisible() {
+        List<ReplicationBatch> snapshots = new ArrayList<>();
+        // runs inside the per-city lock, after the log appended the change but before it is visible
+        weatherRepository.addChangeListener((city, previous, current) -> {
+            if (city.equals("Hamilton")) {
+                snapshots.add(CompletableFuture.supplyAsync(mutationLog::snapshot).join());
+            }
+        });
+
+        weatherRepository.deleteWeather("Auckland");
+        weatherRepository.saveWeather("Hamilton", new WeatherDataEntity(UUID.randomUUID(), "Hamilton", "12", "C", "sunny", LocalDate.now()));
+
+        ReplicationBatch snapshot = snapshots.get(0);
+        assertThat(snapshot.getLeaderSequence()).isEqualTo(2);
+        assertThat(snapshot.getSnapshot()).extracting(WeatherDataResponse::getCity)
+                .contains("Hamilton")
+                .doesNotContain("Auckland");
+    }
+
+    @Test
+    public void shouldIgnoreDeleteOfMissingCity() throws InterruptedException {
+        weatherRepository.deleteWeather("Sydney");
+        assertThat(mutationLog.read(0, 10, 0).getMutations()).isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.weatherinfoservice.replication.MutationLog;
+import com.weather.weatherinfoservice.replication.ReplicationBatch;
+import com.weather.weatherinfoservice.replication.ReplicationFollower;
+import com.weather.weatherinfoservice.replication.ReplicationProperties;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class ReplicationFollowerTest {
+
+    private static final String LOG = "http://leader/weather/admin/replication/log";
+    private static final String SNAPSHOT = "http://leader/weather/admin/replication/snapshot";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private MockRestServiceServer leader;
+    private WeatherRepository followerRepository;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    public void setup() {
+        ReplicationProperties replicationProperties = new ReplicationProperties();
+        replicationProperties.setRole("follower");
+        replicationProperties.setLeaderUrl("http://leader");
+        RestClient.Builder builder = RestClient.builder();
+        leader = MockRestServiceServer.bindTo(builder).build();
+        followerRepository = new WeatherRepository();
+        follower = new ReplicationFollower(followerRepository, replicationProperties, builder, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void shouldStartFromASnapshotAndResynchroniseWhenTheLeaderRestarts() throws Exception {
+        WeatherRepository leaderRepository = new WeatherRepository();
+        MutationLog mutationLog = new MutationLog(leaderRepository, new ReplicationProperties());
+        mutationLog.subscribe();
+
+        // both sides seeded their sample cities with their own ids
+        respond(SNAPSHOT, mutationLog.snapshot());
+        follower.pull();
+        assertThat(followerRepository.findWeatherByCity("Auckland")).isEqualTo(leaderRepository.findWeatherByCity("Auckland"));
+        assertThat(follower.getLeaderEpoch()).isEqualTo(mutationLog.getEpoch());
+
+        leaderRepository.saveWeather("Hamilton", entity("Hamilton", "12"));
+        leader.verify();
+        leader.reset();
+        respond(LOG, mutationLog.read(follower.getAppliedSequence(), 100, 0));
+        follower.pull();
+        assertThat(followerRepository.findWeatherByCity("Hamilton")).isPresent();
+        assertThat(follower.getAppliedSequence()).isEqualTo(1);
+
+        // the restarted leader starts over at sequence 0 and no longer has Hamilton
+        WeatherRepository restartedRepository = new WeatherRepository();
+        MutationLog restartedLog = new MutationLog(restartedRepository, new ReplicationProperties());
+        restartedLog.subscribe();
+        restartedRepository.saveWeather("Napier", entity("Napier", "19"));
+        leader.verify();
+        leader.reset();
+        respond(LOG, restartedLog.read(follower.getAppliedSequence(), 100, 0));
+        respond(SNAPSHOT, restartedLog.snapshot());
+        follower.pull();
+
+        leader.verify();
+        assertThat(follower.getLeaderEpoch()).isEqualTo(restartedLog.getEpoch());
+        assertThat(follower.getAppliedSequence()).isEqualTo(1);
+        assertThat(followerRepository.findWeatherByCity("Napier")).isEqualTo(restartedRepository.findWeatherByCity("Napier"));
+        assertThat(followerRepository.findWeatherByCity("Hamilton")).isEmpty();
+        assertThat(followerRepository.findWeatherByCity("Wellington")).isEqualTo(restartedRepository.findWeatherByCity("Wellington"));
+
+        restartedRepository.saveWeather("Gisborne", entity("Gisborne", "20"));
+        leader.reset();
+        respond(LOG, restartedLog.read(follower.getAppliedSequence(), 100, 0));
+        follower.pull();
+        leader.verify();
+        assertThat(followerRepository.findWeatherByCity("Gisborne")).isPresent();
+    }
+
+    private void respond(String url, ReplicationBatch batch) throws Exception {
+        leader.expect(requestTo(startsWith(url)))
+                .andRespond(withSuccess(objectMapper.writeValueAsString(batch), MediaType.APPLICATION_JSON));
+    }
+
+    private static WeatherDataEntity entity(String city, String temp) {
+        return new WeatherDataEntity(UUID.randomUUID(), city, temp, "C", "sunny", LocalDate.of(2026, 3, 1));
+    }
+}
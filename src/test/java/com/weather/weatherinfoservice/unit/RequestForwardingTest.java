@@ -0,0 +1,413 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.weather.weatherinfoservice.cluster.ClusterClient;
+import com.weather.weatherinfoservice.cluster.ClusterMembership;
+import com.weather.weatherinfoservice.cluster.ClusterProperties;
+import com.weather.weatherinfoservice.cluster.ClusterRoutingFilter;
+import com.weather.weatherinfoservice.config.WireFormatConfig;
+import com.weather.weatherinfoservice.logging.CorrelationIdFilter;
+import com.weather.weatherinfoservice.logging.LoggingProperties;
+import com.weather.weatherinfoservice.replication.FollowerRoutingFilter;
+import com.weather.weatherinfoservice.replication.LeaderSequenceFilter;
+import com.weather.weatherinfoservice.replication.ReplicationFollower;
+import com.weather.weatherinfoservice.replication.ReplicationProperties;
+import com.weather.weatherinfoservice.repositories.ReplicatedChanges;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.tenancy.TenancyProperties;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import com.weather.weatherinfoservice.util.ForwardedHeaders;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class RequestForwardingTest {
+
+    private static final String BODY = "{\"city\":\"%s\",\"temp\":\"21\",\"unit\":\"C\",\"date\":\"2026-03-01\",\"weather\":\"sunny\"}";
+
+    private final ForwardedHeaders forwardedHeaders = new ForwardedHeaders(new TenancyProperties(), new LoggingProperties());
+
+    @AfterEach
+    public void clearContext() {
+        TenantContextHolder.clear();
+        MDC.clear();
+    }
+
+    @Test
+    public void shouldForwardATenantWriteFromAFollowerWithTheTenantIdempotencyKeyAndCorrelationId() throws Exception {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer leader = MockRestServiceServer.bindTo(builder).build();
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setRole("follower");
+        properties.setLeaderUrl("http://leader");
+        ReplicationFollower follower = new ReplicationFollower(new WeatherRepository(), properties, RestClient.builder(), new SimpleMeterRegistry());
+        FollowerRoutingFilter filter = new FollowerRoutingFilter(follower, properties, builder, forwardedHeaders);
+        String body = BODY.formatted("Nelson");
+        leader.expect(requestTo("http://leader/weather"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-Weather-Tenant", "team-a"))
+                .andExpect(header("Idempotency-Key", "create-nelson-1"))
+                .andExpect(header("X-Request-Id", "abc123"))
+                .andExpect(content().string(body))
+                .andRespond(withStatus(HttpStatus.CREATED)
+                        .header(LeaderSequenceFilter.SEQUENCE_HEADER, "7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+        leader.expect(requestTo("http://leader/weather?city=Nelson"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Weather-Tenant", "team-a"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        MockHttpServletRequest write = request(HttpMethod.POST, "/weather", body);
+        write.addHeader("X-Weather-Tenant", "team-a");
+        write.addHeader("Idempotency-Key", "create-nelson-1");
+        MDC.put(CorrelationIdFilter.MDC_KEY, "abc123");
+        TenantContextHolder.setTenant(new TenantNamespace("team-a", 10, 1_000_000));
+        MockHttpServletResponse written = new MockHttpServletResponse();
+        filter.doFilter(write, written, new MockFilterChain());
+
+        // tenant data lives on the leader only, so tenant reads are forwarded as well
+        MockHttpServletRequest read = request(HttpMethod.GET, "/weather", null);
+        read.setQueryString("city=Nelson");
+        read.addHeader("X-Weather-Tenant", "team-a");
+        MockHttpServletResponse readResponse = new MockHttpServletResponse();
+        MockFilterChain local = new MockFilterChain();
+        filter.doFilter(read, readResponse, local);
+
+        leader.verify();
+        assertThat(written.getStatus()).isEqualTo(201);
+        assertThat(written.getHeader(LeaderSequenceFilter.SEQUENCE_HEADER)).isEqualTo("7");
+        assertThat(written.getContentAsString()).isEqualTo(body);
+        assertThat(readResponse.getContentAsString()).isEqualTo(body);
+        assertThat(local.getRequest()).isNull();
+    }
+
+    @Test
+    public void shouldForwardATenantWriteToTheOwningMemberWithTheTenantIdempotencyKeyAndCorrelationId() throws Exception {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer owner = MockRestServiceServer.bindTo(builder).build();
+        ClusterProperties properties = new ClusterProperties();
+        properties.setEnabled(true);
+        properties.setSelf("http://node-a");
+        properties.setSecret("s3cret");
+        properties.setNodes(List.of("http://node-b"));
+        properties.setReplicationFactor(1);
+        ClusterMembership membership = new ClusterMembership(properties);
+        ClusterRoutingFilter filter = new ClusterRoutingFilter(membership, new ClusterClient(builder, properties, membership), new ObjectMapper(), forwardedHeaders);
+        String city = IntStream.range(0, 1_000).mapToObj(i -> "City" + i)
+                .filter(candidate -> membership.ownerOf(candidate).equals("http://node-b"))
+                .findFirst().orElseThrow();
+        String body = BODY.formatted(city);
+        owner.expect(requestTo("http://node-b/weather"))
+                .andExpect(method(HttpMethod.PUT))
+                .andExpect(header(ClusterClient.HOP_HEADER, "forward"))
+                .andExpect(header(ClusterClient.SECRET_HEADER, "s3cret"))
+                .andExpect(header("X-Weather-Tenant", "team-a"))
+                .andExpect(header("Idempotency-Key", "update-1"))
+                .andExpect(header("X-Request-Id", "abc123"))
+                .andExpect(content().string(body))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+
+        MockHttpServletRequest write = request(HttpMethod.PUT, "/weather", body);
+        write.addHeader("X-Weather-Tenant", "team-a");
+        write.addHeader("Idempotency-Key", "update-1");
+        MDC.put(CorrelationIdFilter.MDC_KEY, "abc123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain local = new MockFilterChain();
+        filter.doFilter(write, response, local);
+
+        owner.verify();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(body);
+        assertThat(local.getRequest()).isNull();
+    }
+
+    @Test
+    public void shouldForwardBinaryWritesWithTheirContentTypeAndAcceptHeaders() throws Exception {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.setEnabled(true);
+        clusterProperties.setSelf("http://node-a");
+        clusterProperties.setSecret("s3cret");
+        clusterProperties.setNodes(List.of("http://node-b"));
+        clusterProperties.setReplicationFactor(1);
+        ClusterMembership membership = new ClusterMembership(clusterProperties);
+        ClusterRoutingFilter clusterFilter = new ClusterRoutingFilter(membership, new ClusterClient(builder, clusterProperties, membership), new ObjectMapper(), forwardedHeaders);
+        ReplicationProperties replicationProperties = new ReplicationProperties();
+        replicationProperties.setRole("follower");
+        replicationProperties.setLeaderUrl("http://leader");
+        ReplicationFollower follower = new ReplicationFollower(new WeatherRepository(), replicationProperties, RestClient.builder(), new SimpleMeterRegistry());
+        FollowerRoutingFilter followerFilter = new FollowerRoutingFilter(follower, replicationProperties, builder, forwardedHeaders);
+        String city = IntStream.range(0, 1_000).mapToObj(i -> "City" + i)
+                .filter(candidate -> membership.ownerOf(candidate).equals("http://node-b"))
+                .findFirst().orElseThrow();
+        byte[] body = new ObjectMapper(new CBORFactory()).writeValueAsBytes(Map.of(
+                "city", city, "temp", "21", "unit", "C", "date", "2026-03-01", "weather", "sunny"));
+        byte[] smile = {':', ')', '\n', 0};
+        server.expect(requestTo("http://node-b/weather"))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(header(HttpHeaders.ACCEPT, WireFormatConfig.APPLICATION_SMILE.toString()))
+                .andExpect(content().bytes(body))
+                .andRespond(withStatus(HttpStatus.CREATED).contentType(WireFormatConfig.APPLICATION_SMILE).body(smile));
+        server.expect(requestTo("http://leader/weather"))
+                .andExpect(header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(header(HttpHeaders.ACCEPT, WireFormatConfig.APPLICATION_SMILE.toString()))
+                .andExpect(content().bytes(body))
+                .andRespond(withStatus(HttpStatus.CREATED).contentType(WireFormatConfig.APPLICATION_SMILE).body(smile));
+
+        MockHttpServletResponse clusterResponse = new MockHttpServletResponse();
+        clusterFilter.doFilter(binaryRequest(body), clusterResponse, new MockFilterChain());
+        MockHttpServletResponse followerResponse = new MockHttpServletResponse();
+        followerFilter.doFilter(binaryRequest(body), followerResponse, new MockFilterChain());
+
+        server.verify();
+        for (MockHttpServletResponse response : List.of(clusterResponse, followerResponse)) {
+            assertThat(response.getStatus()).isEqualTo(201);
+            assertThat(response.getContentType()).isEqualTo(WireFormatConfig.APPLICATION_SMILE.toString());
+            assertThat(response.getContentAsByteArray()).isEqualTo(smile);
+        }
+    }
+
+    @Test
+    public void shouldForwardAlertRuleRequestsFromAFollowerToTheLeader() throws Exception {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer leader = MockRestServiceServer.bindTo(builder).build();
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setRole("follower");
+        properties.setLeaderUrl("http://leader");
+        ReplicationFollower follower = new ReplicationFollower(new WeatherRepository(), properties, RestClient.builder(), new SimpleMeterRegistry());
+        FollowerRoutingFilter filter = new FollowerRoutingFilter(follower, properties, builder, forwardedHeaders);
+        leader.expect(requestTo("http://leader/weather/alerts?city=Nelson"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        MockHttpServletRequest read = request(HttpMethod.GET, "/weather/alerts", null);
+        read.setQueryString("city=Nelson");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain local = new MockFilterChain();
+        filter.doFilter(read, response, local);
+
+        leader.verify();
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+        assertThat(local.getRequest()).isNull();
+    }
+
+    @Test
+    public void shouldRouteForecastRequestsToTheLeaderAndToTheCityOwner() throws Exception {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        ClusterProperties clusterProperties = clusterProperties("http://node-a", "s3cret");
+        clusterProperties.setReplicationFactor(1);
+        ClusterMembership membership = new ClusterMembership(clusterProperties);
+        ClusterRoutingFilter clusterFilter = new ClusterRoutingFilter(membership, new ClusterClient(builder, clusterProperties, membership), new ObjectMapper(), forwardedHeaders);
+        ReplicationProperties replicationProperties = new ReplicationProperties();
+        replicationProperties.setRole("follower");
+        replicationProperties.setLeaderUrl("http://leader");
+        ReplicationFollower follower = new ReplicationFollower(new WeatherRepository(), replicationProperties, RestClient.builder(), new SimpleMeterRegistry());
+        FollowerRoutingFilter followerFilter = new FollowerRoutingFilter(follower, replicationProperties, builder, forwardedHeaders);
+        String remote = IntStream.range(0, 1_000).mapToObj(i -> "City" + i)
+                .filter(candidate -> membership.ownerOf(candidate).equals("http://node-b"))
+                .findFirst().orElseThrow();
+        String owned = IntStream.range(0, 1_000).mapToObj(i -> "City" + i)
+                .filter(candidate -> membership.ownerOf(candidate).equals("http://node-a"))
+                .findFirst().orElseThrow();
+        server.expect(requestTo("http://node-b/weather/forecast?city=" + remote))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(ClusterClient.HOP_HEADER, "forward"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://leader/weather/forecast?city=" + owned))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT));
+
+        MockHttpServletRequest read = request(HttpMethod.GET, "/weather/forecast", null);
+        read.setQueryString("city=" + remote);
+        read.setParameter("city", remote);
+        MockFilterChain notLocal = new MockFilterChain();
+        clusterFilter.doFilter(read, new MockHttpServletResponse(), notLocal);
+        MockHttpServletRequest ownedRead = request(HttpMethod.GET, "/weather/forecast", null);
+        ownedRead.setQueryString("city=" + owned);
+        ownedRead.setParameter("city", owned);
+        MockFilterChain local = new MockFilterChain();
+        clusterFilter.doFilter(ownedRead, new MockHttpServletResponse(), local);
+        MockHttpServletRequest delete = request(HttpMethod.DELETE, "/weather/forecast", null);
+        delete.setQueryString("city=" + owned);
+        delete.setParameter("city", owned);
+        MockHttpServletResponse deleted = new MockHttpServletResponse();
+        MockFilterChain followerLocal = new MockFilterChain();
+        followerFilter.doFilter(delete, deleted, followerLocal);
+
+        server.verify();
+        assertThat(notLocal.getRequest()).isNull();
+        assertThat(local.getRequest()).isNotNull();
+        assertThat(deleted.getStatus()).isEqualTo(204);
+        assertThat(followerLocal.getRequest()).isNull();
+    }
+
+    @Test
+    public void shouldOnlyTrustHopHeadersCarryingTheClusterSecret() throws Exception {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setEnabled(true);
+        properties.setSelf("http://node-a");
+        properties.setSecret("s3cret");
+        properties.setNodes(List.of("http://node-b"));
+        ClusterMembership membership = new ClusterMembership(properties);
+        ClusterRoutingFilter filter = new ClusterRoutingFilter(membership, new ClusterClient(RestClient.builder(), properties, membership),
+                new ObjectMapper(), forwardedHeaders);
+        List<Boolean> replicated = new ArrayList<>();
+        List<String> hops = new ArrayList<>();
+        FilterChain chain = (request, response) -> {
+            replicated.add(ReplicatedChanges.isReplicated());
+            hops.add(((HttpServletRequest) request).getHeader(ClusterClient.HOP_HEADER));
+        };
+
+        MockHttpServletRequest replayed = request(HttpMethod.PUT, "/weather", BODY.formatted("Nelson"));
+        replayed.addHeader(ClusterClient.HOP_HEADER, ClusterClient.REPLICA_HOP);
+        replayed.addHeader(ClusterClient.SECRET_HEADER, "s3cret");
+        filter.doFilter(replayed, new MockHttpServletResponse(), chain);
+        MockHttpServletRequest forwarded = request(HttpMethod.PUT, "/weather", BODY.formatted("Nelson"));
+        forwarded.addHeader(ClusterClient.HOP_HEADER, "forward");
+        forwarded.addHeader(ClusterClient.SECRET_HEADER, "s3cret");
+        filter.doFilter(forwarded, new MockHttpServletResponse(), chain);
+        MockHttpServletRequest spoofed = request(HttpMethod.POST, "/weather/admin/cluster/handoff", "[]");
+        spoofed.addHeader(ClusterClient.HOP_HEADER, "handoff");
+        spoofed.addHeader(ClusterClient.SECRET_HEADER, "guess");
+        filter.doFilter(spoofed, new MockHttpServletResponse(), chain);
+
+        assertThat(replicated).containsExactly(true, false, false);
+        assertThat(hops).containsExactly(ClusterClient.REPLICA_HOP, "forward", null);
+        assertThat(ReplicatedChanges.isReplicated()).isFalse();
+    }
+
+    @Test
+    public void shouldReplicateConcurrentWritesOfACityInTheOrderTheOwnerAppliedThem() throws Exception {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer replica = MockRestServiceServer.bindTo(builder).ignoreExpectOrder(true).build();
+        ClusterMembership membership = membership("http://node-a", "s3cret");
+        ClusterRoutingFilter filter = new ClusterRoutingFilter(membership,
+                new ClusterClient(builder, clusterProperties("http://node-a", "s3cret"), membership), new ObjectMapper(), forwardedHeaders);
+        WeatherRepository repository = new WeatherRepository();
+        String city = IntStream.range(0, 1_000).mapToObj(i -> "City" + i)
+                .filter(candidate -> membership.ownerOf(candidate).equals("http://node-a"))
+                .findFirst().orElseThrow();
+        int writes = 20;
+        List<String> handedOff = Collections.synchronizedList(new ArrayList<>());
+        replica.expect(ExpectedCount.times(writes), requestTo("http://node-b/weather/admin/cluster/handoff"))
+                .andExpect(header(ClusterClient.HOP_HEADER, "handoff"))
+                .andExpect(header(ClusterClient.SECRET_HEADER, "s3cret"))
+                .andRespond(request -> {
+                    handedOff.add(((MockClientHttpRequest) request).getBodyAsString());
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.NO_CONTENT);
+                });
+
+        IntStream.range(0, writes).parallel().forEach(temp -> {
+            FilterChain chain = (request, response) -> repository.saveWeather(city,
+                    new WeatherDataEntity(UUID.randomUUID(), city, String.valueOf(temp), "C", "sunny", LocalDate.of(2026, 3, 1)));
+            try {
+                filter.doFilter(request(HttpMethod.PUT, "/weather", BODY.formatted(city)), new MockHttpServletResponse(), chain);
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(replica::verify);
+        WeatherDataEntity stored = repository.findWeatherByCity(city).orElseThrow();
+        assertThat(handedOff.get(writes - 1))
+                .contains("\"uuid\":\"" + stored.getId() + "\"")
+                .contains("\"temp\":\"" + stored.getTemp() + "\"");
+    }
+
+    @Test
+    public void shouldSendTheClusterSecretToMembersOnlyAndAuthenticateNewMembersByProof() {
+        RestClient.Builder builder = RestClient.builder();
+        MockRestServiceServer nodeB = MockRestServiceServer.bindTo(builder).build();
+        ClusterMembership membership = membership("http://node-a", "s3cret");
+        ClusterClient clusterClient = new ClusterClient(builder, clusterProperties("http://node-a", "s3cret"), membership);
+        nodeB.expect(requestTo("http://node-b/weather/admin/cluster/nodes?url=http%3A%2F%2Fnode-c"))
+                .andExpect(header(ClusterClient.SECRET_HEADER, "s3cret"))
+                .andRespond(withSuccess());
+
+        clusterClient.announce("http://node-b", "http://node-c");
+        nodeB.verify();
+        assertThatThrownBy(() -> clusterClient.handoff("http://attacker", List.of())).isInstanceOf(IllegalStateException.class);
+
+        String challenge = UUID.randomUUID().toString();
+        String proof = membership("http://node-c", "s3cret").proofOfSecret(challenge);
+        assertThat(membership.isProofOfSecret("http://node-c", challenge, proof)).isTrue();
+        // a relayed answer only holds for the member that computed it
+        assertThat(membership.isProofOfSecret("http://attacker", challenge, proof)).isFalse();
+        assertThat(membership.isProofOfSecret("http://node-c", challenge, membership("http://node-c", "guess").proofOfSecret(challenge))).isFalse();
+    }
+
+    private static ClusterProperties clusterProperties(String self, String secret) {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setEnabled(true);
+        properties.setSelf(self);
+        properties.setSecret(secret);
+        properties.setNodes(List.of("http://node-b"));
+        return properties;
+    }
+
+    private static ClusterMembership membership(String self, String secret) {
+        return new ClusterMembership(clusterProperties(self, secret));
+    }
+
+    private static MockHttpServletRequest binaryRequest(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(HttpMethod.POST.name(), "/weather");
+        request.setServletPath("/weather");
+        request.setContentType(MediaType.APPLICATION_CBOR_VALUE);
+        request.addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_CBOR_VALUE);
+        request.addHeader(HttpHeaders.ACCEPT, WireFormatConfig.APPLICATION_SMILE.toString());
+        request.setContent(body);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(HttpMethod method, String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method.name(), path);
+        request.setServletPath(path);
+        if (body != null) {
+            request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            request.addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+}
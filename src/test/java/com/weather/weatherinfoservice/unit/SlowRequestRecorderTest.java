@@ -0,0 +1,68 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.diagnostics.SlowRequest;
+import com.weather.weatherinfoservice.diagnostics.SlowRequestRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowRequestRecorderTest {
+
+    private static final long WINDOW = 60_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000_000L);
+    private final SlowRequestRecorder recorder = new SlowRequestRecorder(3, WINDOW, clock::get);
+
+    @Test
+    public void shouldKeepSlowestRequestsSlowestFirst() {
+        for (int millis : new int[]{5, 40, 1, 25, 90, 3}) {
+            record(millis);
+        }
+
+        assertThat(recorder.slowest(10)).extracting(SlowRequest::city).containsExactly("city-90", "city-40", "city-25");
+        assertThat(recorder.slowest(2)).hasSize(2);
+    }
+
+    @Test
+    public void shouldOnlyAdmitRequestsSlowerThanTheFastestKeptOnceFull() {
+        record(10);
+        record(20);
+        assertThat(recorder.admits(1)).isTrue();
+
+        record(30);
+
+        assertThat(recorder.admits(millis(10))).isFalse();
+        assertThat(recorder.admits(millis(11))).isTrue();
+    }
+
+    @Test
+    public void shouldReportPreviousWindowAndForgetOlderOnes() {
+        record(500);
+        clock.addAndGet(WINDOW);
+        record(5);
+
+        assertThat(recorder.slowest(10)).extracting(SlowRequest::city).containsExactly("city-500", "city-5");
+        assertThat(recorder.admits(1)).isTrue();
+
+        clock.addAndGet(WINDOW);
+        record(7);
+
+        assertThat(recorder.slowest(10)).extracting(SlowRequest::city).containsExactly("city-7", "city-5");
+
+        clock.addAndGet(3 * WINDOW);
+
+        assertThat(recorder.slowest(10)).isEmpty();
+    }
+
+    private void record(int millis) {
+        recorder.record(millis(millis), new SlowRequest(Instant.now(), "id", "GET", "/weather", "city-" + millis, 200,
+                "local", millis, 0, 0, millis, 0));
+    }
+
+    private static long millis(int millis) {
+        return millis * 1_000_000L;
+    }
+}
@@ -0,0 +1,139 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.repositories.SqlWeatherStore;
+import com.weather.weatherinfoservice.repositories.SqlWriteBehind;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlWeatherStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldRestoreTheRepositoryAfterRestart() throws InterruptedException {
+        WeatherDataEntity auckland = entity("Auckland", "18", "sunny");
+        WeatherDataEntity nelson = entity("Nelson", "21", "sunny");
+        try (HikariDataSource dataSource = dataSource()) {
+            WeatherRepository weatherRepository = new WeatherRepository();
+            SqlWeatherStore store = new SqlWeatherStore(dataSource);
+            SqlWriteBehind writeBehind = new SqlWriteBehind(weatherRepository, store, 100, 100, Duration.ofSeconds(1));
+            writeBehind.subscribe();
+            // the empty table is seeded with the sample cities
+            assertThat(store.count()).isEqualTo(3);
+
+            weatherRepository.updateWeather("Auckland", auckland);
+            weatherRepository.saveWeather("Nelson", nelson);
+            weatherRepository.deleteWeather("Wellington");
+            writeBehind.flushAll();
+            assertThat(store.find("Wellington")).isEmpty();
+        }
+
+        try (HikariDataSource dataSource = dataSource()) {
+            WeatherRepository restarted = new WeatherRepository();
+            new SqlWriteBehind(restarted, new SqlWeatherStore(dataSource), 100, 100, Duration.ofSeconds(1)).subscribe();
+
+            assertThat(restarted.findWeatherByCity("Auckland")).contains(auckland);
+            assertThat(restarted.findWeatherByCity("Nelson")).contains(nelson);
+            assertThat(restarted.findWeatherByCity("Christchurch")).isPresent();
+            assertThat(restarted.findWeatherByCity("Wellington")).isEmpty();
+        }
+    }
+
+    @Test
+    public void shouldWriteOnlyTheLatestChangeOfACityPerBatch() throws InterruptedException {
+        try (HikariDataSource dataSource = dataSource()) {
+            WeatherRepository weatherRepository = new WeatherRepository();
+            SqlWeatherStore store = new SqlWeatherStore(dataSource);
+            SqlWriteBehind writeBehind = new SqlWriteBehind(weatherRepository, store, 100, 1_000, Duration.ofSeconds(1));
+            writeBehind.subscribe();
+            for (int i = 0; i < 250; i++) {
+                weatherRepository.updateWeather("Napier", entity("Napier", String.valueOf(i), "cloudy"));
+            }
+            weatherRepository.saveWeather("Gisborne", entity("Gisborne", "20", "sunny"));
+            weatherRepository.deleteWeather("Gisborne");
+
+            assertThat(writeBehind.getPending()).isEqualTo(252);
+            assertThat(writeBehind.flush(0, TimeUnit.MILLISECONDS)).isEqualTo(100);
+            writeBehind.flushAll();
+
+            assertThat(writeBehind.getBatches()).isEqualTo(3);
+            assertThat(writeBehind.getWritten()).isEqualTo(252);
+            assertThat(writeBehind.getPending()).isZero();
+            assertThat(store.find("Napier")).get().extracting(WeatherDataEntity::getTemp).isEqualTo("249");
+            assertThat(store.find("Gisborne")).isEmpty();
+            assertThat(store.count()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    public void shouldDeadLetterARowTheDatabaseRejectsAndWriteTheRestOfItsBatch() throws InterruptedException {
+        try (HikariDataSource dataSource = dataSource()) {
+            WeatherRepository weatherRepository = new WeatherRepository();
+            SqlWeatherStore store = new SqlWeatherStore(dataSource);
+            SqlWriteBehind writeBehind = new SqlWriteBehind(weatherRepository, store, 100, 100, Duration.ofSeconds(1));
+            writeBehind.subscribe();
+            weatherRepository.saveWeather("Napier", entity("Napier", "19", "cloudy"));
+            weatherRepository.saveWeather("Gisborne", entity("Gisborne", "20", "x".repeat(256)));
+            weatherRepository.saveWeather("Nelson", entity("Nelson", "21", "sunny"));
+
+            assertThat(writeBehind.flush(0, TimeUnit.MILLISECONDS)).isEqualTo(3);
+            assertThat(writeBehind.getDeadLetters()).isEqualTo(1);
+            assertThat(writeBehind.getPending()).isZero();
+            assertThat(store.find("Napier")).isPresent();
+            assertThat(store.find("Gisborne")).isEmpty();
+            assertThat(store.find("Nelson")).isPresent();
+
+            weatherRepository.updateWeather("Napier", entity("Napier", "22", "sunny"));
+            writeBehind.flushAll();
+            assertThat(store.find("Napier")).get().extracting(WeatherDataEntity::getTemp).isEqualTo("22");
+        }
+    }
+
+    @Test
+    public void shouldResyncTheCitiesWhoseChangesFoundTheQueueFull() throws InterruptedException {
+        try (HikariDataSource dataSource = dataSource()) {
+            WeatherRepository weatherRepository = new WeatherRepository();
+            SqlWeatherStore store = new SqlWeatherStore(dataSource);
+            SqlWriteBehind writeBehind = new SqlWriteBehind(weatherRepository, store, 100, 2, Duration.ofMillis(1));
+            writeBehind.subscribe();
+            weatherRepository.saveWeather("Napier", entity("Napier", "19", "cloudy"));
+            weatherRepository.saveWeather("Gisborne", entity("Gisborne", "20", "sunny"));
+            weatherRepository.saveWeather("Nelson", entity("Nelson", "21", "sunny"));
+            weatherRepository.updateWeather("Napier", entity("Napier", "23", "sunny"));
+            weatherRepository.deleteWeather("Gisborne");
+
+            assertThat(writeBehind.getOverflows()).isEqualTo(3);
+            assertThat(writeBehind.getPending()).isEqualTo(5);
+            writeBehind.flushAll();
+
+            assertThat(writeBehind.getPending()).isZero();
+            assertThat(store.find("Napier")).get().extracting(WeatherDataEntity::getTemp).isEqualTo("23");
+            assertThat(store.find("Gisborne")).isEmpty();
+            assertThat(store.find("Nelson")).isPresent();
+        }
+    }
+
+    private HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:file:" + tempDir.resolve("weather").toAbsolutePath());
+        config.setMaximumPoolSize(2);
+        return new HikariDataSource(config);
+    }
+
+    private static WeatherDataEntity entity(String city, String temp, String weather) {
+        return new WeatherDataEntity(UUID.randomUUID(), city, temp, "C", weather, LocalDate.of(2026, 3, 1));
+    }
+}
@@ -0,0 +1,57 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import com.weather.weatherinfoservice.util.TemperatureConverter;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TemperatureConverterTest {
+
+    @Test
+    public void shouldFormatRoundedToTwoDecimalsWithoutTrailingZeros() {
+        assertThat(TemperatureConverter.format(21.0)).isEqualTo("21");
+        assertThat(TemperatureConverter.format(21.5)).isEqualTo("21.5");
+        assertThat(TemperatureConverter.format(-3.256)).isEqualTo("-3.26");
+        assertThat(TemperatureConverter.format(0.05)).isEqualTo("0.05");
+        assertThat(TemperatureConverter.format(-0.001)).isEqualTo("0");
+    }
+
+    @Test
+    public void shouldStoreFahrenheitAtFullPrecisionSoItReadsBackUnchanged() {
+        WeatherDataRequest request = new WeatherDataRequest("Boston", "70.01", "F", LocalDate.now(), "sunny");
+
+        WeatherDataEntity entity = new WeatherDataEntity(new IdGenerator(), request);
+
+        assertThat(entity.getTemp()).isEqualTo("21.116666666666667");
+        assertThat(new WeatherDataResponse(entity).convertedTo("F").getTemp()).isEqualTo("70.01");
+        assertThat(TemperatureConverter.formatExact(10.0)).isEqualTo("10");
+        assertThat(TemperatureConverter.formatExact(-0.0)).isEqualTo("0");
+    }
+
+    @Test
+    public void shouldStoreRequestTemperatureInCelsius() {
+        WeatherDataRequest request = new WeatherDataRequest("Boston", "50", "F", LocalDate.now(), "rainy");
+
+        WeatherDataEntity entity = new WeatherDataEntity(new IdGenerator(), request);
+
+        assertThat(entity.getTemp()).isEqualTo("10");
+        assertThat(entity.getUnit()).isEqualTo("C");
+    }
+
+    @Test
+    public void shouldConvertResponseToRequestedUnit() {
+        WeatherDataResponse stored = new WeatherDataResponse(UUID.randomUUID(), "Auckland", "15.5", "C", "rainy", LocalDate.now());
+
+        assertThat(stored.convertedTo("F").getTemp()).isEqualTo("59.9");
+        assertThat(stored.convertedTo("K").getTemp()).isEqualTo("288.65");
+        assertThat(stored.convertedTo("K").getUnit()).isEqualTo("K");
+        assertThat(stored.convertedTo("C")).isSameAs(stored);
+    }
+}
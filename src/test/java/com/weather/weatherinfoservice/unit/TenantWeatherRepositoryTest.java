@@ -0,0 +1,75 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.exceptions.TenantQuotaExceededException;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.tenancy.TenantContextHolder;
+import com.weather.weatherinfoservice.tenancy.TenantNamespace;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TenantWeatherRepositoryTest {
+
+    private final WeatherRepository weatherRepository = new WeatherRepository();
+    private final TenantNamespace teamA = new TenantNamespace("team-a", 2, 1_000_000);
+
+    @AfterEach
+    public void tearDown() {
+        TenantContextHolder.clear();
+    }
+
+    @Test
+    public void shouldOverrideSharedCityForTenantOnly() {
+        List<String> changes = new ArrayList<>();
+        weatherRepository.addChangeListener((city, previous, current) -> changes.add(city));
+
+        TenantContextHolder.setTenant(teamA);
+        weatherRepository.updateWeather("Auckland", entity("Auckland", "30"));
+        assertThat(weatherRepository.findWeatherByCity("Auckland")).get().extracting(WeatherDataEntity::getTemp).isEqualTo("30");
+        assertThat(weatherRepository.findWeatherByCity("Wellington")).get().extracting(WeatherDataEntity::getTemp).isEqualTo("22");
+
+        TenantContextHolder.clear();
+        assertThat(weatherRepository.findWeatherByCity("Auckland")).get().extracting(WeatherDataEntity::getTemp).isEqualTo("15");
+        assertThat(changes).isEmpty();
+        assertThat(teamA.getOverlayReads()).isEqualTo(1);
+        assertThat(teamA.getSharedReads()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldHideSharedCityDeletedByTenant() {
+        TenantContextHolder.setTenant(teamA);
+        weatherRepository.deleteWeather("Christchurch");
+        assertThat(weatherRepository.findWeatherByCity("Christchurch")).isEmpty();
+
+        TenantContextHolder.clear();
+        assertThat(weatherRepository.findWeatherByCity("Christchurch")).isPresent();
+    }
+
+    @Test
+    public void shouldRejectWritesBeyondEntryQuota() {
+        TenantContextHolder.setTenant(teamA);
+        weatherRepository.saveWeather("Hamilton", entity("Hamilton", "12"));
+        weatherRepository.saveWeather("Nelson", entity("Nelson", "18"));
+
+        assertThatThrownBy(() -> weatherRepository.saveWeather("Dunedin", entity("Dunedin", "9")))
+                .isInstanceOf(TenantQuotaExceededException.class);
+        weatherRepository.updateWeather("Nelson", entity("Nelson", "19"));
+        weatherRepository.deleteWeather("Hamilton");
+        weatherRepository.saveWeather("Dunedin", entity("Dunedin", "9"));
+
+        assertThat(teamA.getEntries()).isEqualTo(2);
+        assertThat(teamA.getQuotaRejections()).isEqualTo(1);
+    }
+
+    private static WeatherDataEntity entity(String city, String temp) {
+        return new WeatherDataEntity(UUID.randomUUID(), city, temp, "C", "sunny", LocalDate.now());
+    }
+}
@@ -0,0 +1,81 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.repositories.ColdSegmentStore;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TieredWeatherRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private WeatherRepository weatherRepository;
+    private ColdSegmentStore coldSegmentStore;
+
+    @BeforeEach
+    public void setup() {
+        weatherRepository = new WeatherRepository();
+        coldSegmentStore = new ColdSegmentStore(tempDir.resolve("cold.seg"));
+        weatherRepository.attachColdTier(coldSegmentStore);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        coldSegmentStore.close();
+    }
+
+    @Test
+    public void shouldDemoteLeastReadCitiesAndPromoteThemOnRead() {
+        weatherRepository.findWeatherByCity("Auckland");
+        weatherRepository.findWeatherByCity("Auckland");
+        weatherRepository.findWeatherByCity("Wellington");
+
+        assertThat(weatherRepository.demoteTo(2)).isEqualTo(1);
+        assertThat(weatherRepository.hotSize()).isEqualTo(2);
+        assertThat(weatherRepository.coldSize()).isEqualTo(1);
+
+        WeatherDataEntity promoted = weatherRepository.findWeatherByCity("Christchurch").orElseThrow();
+        assertThat(promoted.getTemp()).isEqualTo("7");
+        assertThat(promoted.getDate()).isEqualTo(LocalDate.now());
+        assertThat(weatherRepository.coldSize()).isZero();
+        assertThat(weatherRepository.getColdHits()).isEqualTo(1);
+        assertThat(weatherRepository.getHotHits()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldIncludeColdEntriesInFindAll() {
+        weatherRepository.demoteTo(0);
+
+        assertThat(weatherRepository.findAll()).extracting(WeatherDataEntity::getCity)
+                .containsExactlyInAnyOrder("Auckland", "Christchurch", "Wellington");
+        assertThat(weatherRepository.coldSize()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldReportColdEntryAsPreviousValueOnWriteAndDelete() {
+        List<WeatherDataEntity> previousValues = new ArrayList<>();
+        weatherRepository.addChangeListener((city, previous, current) -> previousValues.add(previous));
+        weatherRepository.demoteTo(0);
+
+        weatherRepository.updateWeather("Auckland", new WeatherDataEntity(UUID.randomUUID(), "Auckland", "18", "C", "sunny", LocalDate.now()));
+        weatherRepository.demoteTo(0);
+        weatherRepository.deleteWeather("Auckland");
+
+        assertThat(previousValues).extracting(WeatherDataEntity::getTemp).containsExactly("15", "18");
+        assertThat(weatherRepository.findWeatherByCity("Auckland")).isEmpty();
+        assertThat(weatherRepository.getMisses()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,110 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.analytics.WeatherAggregator;
+import com.weather.weatherinfoservice.models.WeatherAggregateResponse;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WeatherAggregatorTest {
+
+    private WeatherRepository weatherRepository;
+    private WeatherAggregator weatherAggregator;
+
+    @BeforeEach
+    public void setup() {
+        weatherRepository = new WeatherRepository();
+        // start from an empty store so the figures below are exact
+        weatherRepository.findAll().forEach(entity -> weatherRepository.deleteWeather(entity.getCity()));
+        weatherAggregator = new WeatherAggregator(weatherRepository);
+        weatherAggregator.subscribe();
+    }
+
+    @Test
+    public void shouldAggregateMixedUnitsInCelsius() {
+        save("Auckland", "20", "C", "sunny", LocalDate.now());
+        save("Boston", "50", "F", "Rainy", LocalDate.now());
+
+        WeatherAggregateResponse aggregates = weatherAggregator.getOverall("C");
+
+        assertThat(aggregates.getCount()).isEqualTo(2);
+        assertThat(aggregates.getMinTemp()).isEqualTo(10.0);
+        assertThat(aggregates.getMaxTemp()).isEqualTo(20.0);
+        assertThat(aggregates.getAverageTemp()).isEqualTo(15.0);
+        assertThat(aggregates.getConditions()).containsEntry("sunny", 1L).containsEntry("rainy", 1L);
+        assertThat(weatherAggregator.getOverall("F").getMaxTemp()).isEqualTo(68.0);
+    }
+
+    @Test
+    public void shouldReplaceContributionOnUpdateAndRemoveOnDelete() {
+        save("Auckland", "20", "C", "sunny", LocalDate.now());
+        save("Wellington", "30", "C", "sunny", LocalDate.now());
+        save("Wellington", "5", "C", "stormy", LocalDate.now().minusDays(1));
+
+        assertThat(weatherAggregator.getOverall("C").getMaxTemp()).isEqualTo(20.0);
+        assertThat(weatherAggregator.getOverall("C").getMinTemp()).isEqualTo(5.0);
+        assertThat(weatherAggregator.getByDate(LocalDate.now(), "C").get().getCount()).isEqualTo(1);
+
+        weatherRepository.deleteWeather("Wellington");
+
+        assertThat(weatherAggregator.getOverall("C").getCount()).isEqualTo(1);
+        assertThat(weatherAggregator.getOverall("C").getConditions()).doesNotContainKey("stormy");
+        assertThat(weatherAggregator.getByDate(LocalDate.now().minusDays(1), "C")).isEmpty();
+    }
+
+    @Test
+    public void shouldCountNonNumericTemperaturesWithoutAggregatingThem() {
+        save("Auckland", "hot", "C", "sunny", LocalDate.now());
+
+        WeatherAggregateResponse aggregates = weatherAggregator.getOverall("C");
+
+        assertThat(aggregates.getCount()).isEqualTo(1);
+        assertThat(aggregates.getTemperatureCount()).isZero();
+        assertThat(aggregates.getAverageTemp()).isNull();
+    }
+
+    @Test
+    public void shouldCountEveryCityOnceWhenSeededWhileWritersAreActive() throws Exception {
+        for (int i = 0; i < 2_000; i++) {
+            save("city-" + i, "10", "C", "sunny", LocalDate.now());
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(1);
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (int round = 0; writing.get(); round++) {
+                if (round == 500) {
+                    started.countDown();
+                }
+                int i = round % 4_000;
+                if (i % 3 == 0) {
+                    weatherRepository.deleteWeather("city-" + i);
+                } else {
+                    save("city-" + i, Integer.toString(round % 40), "C", "rainy", LocalDate.now());
+                }
+            }
+        });
+
+        started.await();
+        WeatherAggregator seeded = new WeatherAggregator(weatherRepository);
+        seeded.subscribe();
+        writing.set(false);
+        writer.join();
+
+        WeatherAggregator expected = new WeatherAggregator(weatherRepository);
+        expected.subscribe();
+        assertThat(seeded.getOverall("C")).isEqualTo(expected.getOverall("C"));
+        assertThat(seeded.getOverall("C").getCount()).isEqualTo(weatherRepository.findAll().size());
+    }
+
+    private void save(String city, String temp, String unit, String weather, LocalDate date) {
+        weatherRepository.saveWeather(city, new WeatherDataEntity(UUID.randomUUID(), city, temp, unit, weather, date));
+    }
+}
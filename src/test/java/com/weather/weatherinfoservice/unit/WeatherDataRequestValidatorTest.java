@@ -0,0 +1,84 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.models.WeatherDataRequest;
+import com.weather.weatherinfoservice.validation.WeatherDataRequestFastValidator;
+import com.weather.weatherinfoservice.validation.WeatherDataRequestValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class WeatherDataRequestValidatorTest {
+
+    private static final List<String> TEXTS = List.of("Auckland", "", " ", "\t\n", "\u0001", " ", "a".repeat(255), "a".repeat(256), " ".repeat(300));
+    private static final List<String> TEMPERATURES = List.of("15", "-15.5", "9999.99", "-273.15", "-273.16", "-300", "10000",
+            "1.", ".5", "1.234", "--1", "-", "1e3", "hot", " 12", "12\n", "١٢", "", " ");
+    private static final List<String> UNITS = List.of("C", "F", "K", "c", "CF", "", " C");
+    private static final List<LocalDate> DATES = List.of(LocalDate.now(), LocalDate.now().minusDays(3), LocalDate.now().plusDays(1));
+
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    public void shouldAcceptValidRequestWithoutAllocatingViolations() {
+        WeatherDataRequest request = new WeatherDataRequest("Auckland", "15.5", "C", LocalDate.now(), "sunny");
+
+        assertThat(WeatherDataRequestValidator.validate(request)).isSameAs(List.of());
+    }
+
+    @Test
+    public void shouldReportSameViolationsAsBeanValidation() {
+        List<WeatherDataRequest> requests = new ArrayList<>();
+        for (String temp : withNull(TEMPERATURES)) {
+            for (String unit : withNull(UNITS)) {
+                requests.add(new WeatherDataRequest("Auckland", temp, unit, null, "sunny"));
+            }
+        }
+        for (String text : withNull(TEXTS)) {
+            for (LocalDate date : withNull(DATES)) {
+                requests.add(new WeatherDataRequest(text, "12", "F", date, text));
+            }
+        }
+
+        for (WeatherDataRequest request : requests) {
+            Set<String> expected = beanValidator.validate(request).stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.toSet());
+            Set<String> actual = WeatherDataRequestValidator.validate(request).stream()
+                    .map(violation -> violation.field() + ": " + violation.message())
+                    .collect(Collectors.toSet());
+            assertThat(actual).as(request.toString()).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void shouldRegisterViolationsAsFieldErrors() {
+        WeatherDataRequest request = new WeatherDataRequest(" ", "12", "K", LocalDate.now(), "windy");
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(request, "weatherDataRequest");
+
+        new WeatherDataRequestFastValidator(new SpringValidatorAdapter(beanValidator)).validate(request, errors);
+
+        assertThat(errors.getFieldErrors()).extracting(FieldError::getField, FieldError::getCode)
+                .containsExactlyInAnyOrder(
+                        tuple("city", "NotBlank"),
+                        tuple("unit", "Pattern"));
+        assertThat(errors.getFieldError("unit").getDefaultMessage())
+                .isEqualTo("Unit must be either 'C' for celsius or 'F' for Fahrenheit");
+    }
+
+    private static <T> List<T> withNull(List<T> values) {
+        List<T> all = new ArrayList<>(values);
+        all.add(null);
+        return all;
+    }
+}
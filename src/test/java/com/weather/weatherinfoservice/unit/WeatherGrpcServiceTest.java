@@ -0,0 +1,378 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.cluster.ClusterMembership;
+import com.weather.weatherinfoservice.cluster.ClusterProperties;
+import com.weather.weatherinfoservice.grpc.GrpcRouting;
+import com.weather.weatherinfoservice.grpc.WeatherGrpcInterceptor;
+import com.weather.weatherinfoservice.grpc.WeatherGrpcService;
+import com.weather.weatherinfoservice.grpc.WeatherWatchRegistry;
+import com.weather.weatherinfoservice.grpc.v1.BulkUpsertResponse;
+import com.weather.weatherinfoservice.grpc.v1.CityRequest;
+import com.weather.weatherinfoservice.grpc.v1.WeatherData;
+import com.weather.weatherinfoservice.grpc.v1.WeatherLookup;
+import com.weather.weatherinfoservice.grpc.v1.WeatherServiceGrpc;
+import com.weather.weatherinfoservice.idempotency.IdempotencyProperties;
+import com.weather.weatherinfoservice.replication.ReplicationProperties;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.services.WeatherDataExternalSource;
+import com.weather.weatherinfoservice.services.WeatherServiceImpl;
+import com.weather.weatherinfoservice.tenancy.TenancyProperties;
+import com.weather.weatherinfoservice.tenancy.TenantDirectory;
+import com.weather.weatherinfoservice.util.IdGenerator;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WeatherGrpcServiceTest {
+
+    private Server server;
+    private ManagedChannel channel;
+    private WeatherRepository weatherRepository;
+    private WeatherServiceGrpc.WeatherServiceBlockingStub blockingStub;
+    private WeatherServiceGrpc.WeatherServiceStub asyncStub;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        weatherRepository = new WeatherRepository();
+        WeatherServiceImpl weatherService = new WeatherServiceImpl(weatherRepository, new WeatherDataExternalSource(), new IdGenerator());
+        WeatherGrpcService grpcService = new WeatherGrpcService(weatherService, weatherService,
+                watchRegistry(), Validation.buildDefaultValidatorFactory().getValidator());
+        start(grpcService, new WeatherGrpcInterceptor(null, new TenancyProperties()));
+    }
+
+    private void start(WeatherGrpcService grpcService, WeatherGrpcInterceptor interceptor) throws Exception {
+        if (server != null) {
+            teardown();
+        }
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(ServerInterceptors.intercept(grpcService, interceptor)).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        blockingStub = WeatherServiceGrpc.newBlockingStub(channel);
+        asyncStub = WeatherServiceGrpc.newStub(channel);
+    }
+
+    private void startWith(GrpcRouting routing, TenantDirectory tenantDirectory) throws Exception {
+        WeatherServiceImpl weatherService = new WeatherServiceImpl(weatherRepository, new WeatherDataExternalSource(), new IdGenerator());
+        WeatherGrpcService grpcService = new WeatherGrpcService(weatherService, weatherService,
+                watchRegistry(), Validation.buildDefaultValidatorFactory().getValidator(),
+                routing, new IdempotencyProperties());
+        start(grpcService, new WeatherGrpcInterceptor(tenantDirectory, new TenancyProperties()));
+    }
+
+    private WeatherWatchRegistry watchRegistry() {
+        WeatherWatchRegistry registry = new WeatherWatchRegistry(weatherRepository);
+        registry.subscribe();
+        return registry;
+    }
+
+    @AfterEach
+    public void teardown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(1, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldGetWeatherDataForExistingCity() {
+        WeatherData data = blockingStub.getWeather(CityRequest.newBuilder().setCity("Auckland").build());
+        assertThat(data.getCity()).isEqualTo("Auckland");
+        assertThat(data.getUuid().size()).isEqualTo(16);
+    }
+
+    @Test
+    public void shouldReturnNotFoundForUnknownCity() {
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.getWeather(CityRequest.newBuilder().setCity("New York").build()));
+        assertThat(exception.getStatus().getCode()).isEqualTo(Status.Code.NOT_FOUND);
+    }
+
+    @Test
+    public void shouldRejectInvalidUnit() {
+        WeatherData invalid = weather("Queenstown", "K");
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> blockingStub.addWeather(invalid));
+        assertThat(exception.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+    }
+
+    @Test
+    public void shouldAddAndUpdateInBulk() throws Exception {
+        CompletableFuture<BulkUpsertResponse> result = new CompletableFuture<>();
+        StreamObserver<WeatherData> upload = asyncStub.bulkUpsert(observer(result));
+        upload.onNext(weather("Queenstown", "C"));
+        upload.onNext(weather("Auckland", "C"));
+        upload.onNext(weather("Invercargill", "X"));
+        upload.onCompleted();
+
+        BulkUpsertResponse response = result.get(1, TimeUnit.SECONDS);
+        assertThat(response.getAdded()).isEqualTo(1);
+        assertThat(response.getUpdated()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldAnswerEveryMultiGetLookupInOrder() throws Exception {
+        List<WeatherLookup> lookups = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        StreamObserver<CityRequest> requests = asyncStub.multiGet(new StreamObserver<>() {
+            @Override
+            public void onNext(WeatherLookup lookup) {
+                lookups.add(lookup);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.complete(null);
+            }
+        });
+        requests.onNext(CityRequest.newBuilder().setCity("Auckland").build());
+        requests.onNext(CityRequest.newBuilder().setCity("Nelson").build());
+        requests.onNext(CityRequest.newBuilder().setCity("Paris").build());
+        requests.onCompleted();
+        completed.get(1, TimeUnit.SECONDS);
+
+        assertThat(lookups).extracting(WeatherLookup::getCity).containsExactly("Auckland", "Nelson", "Paris");
+        assertThat(lookups.get(0).hasData()).isTrue();
+        assertThat(lookups.get(1).hasData()).isTrue();
+        assertThat(lookups.get(2).hasError()).isTrue();
+    }
+
+    @Test
+    public void shouldRejectWritesOnAFollowerAndStillServeReads() throws Exception {
+        ReplicationProperties replicationProperties = new ReplicationProperties();
+        replicationProperties.setRole("follower");
+        replicationProperties.setLeaderUrl("http://leader:8080");
+        startWith(new GrpcRouting(replicationProperties, null, null, new TenancyProperties()), null);
+
+        StatusRuntimeException add = assertThrows(StatusRuntimeException.class, () -> blockingStub.addWeather(weather("Queenstown", "C")));
+        StatusRuntimeException delete = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.deleteWeather(CityRequest.newBuilder().setCity("Auckland").build()));
+        CompletableFuture<BulkUpsertResponse> bulk = new CompletableFuture<>();
+        asyncStub.bulkUpsert(observer(bulk)).onNext(weather("Queenstown", "C"));
+
+        assertThat(add.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION);
+        assertThat(add.getStatus().getDescription()).contains("http://leader:8080");
+        assertThat(delete.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION);
+        assertThat(bulk).isCompletedExceptionally();
+        assertThat(weatherRepository.findWeatherByCity("Queenstown")).isEmpty();
+        assertThat(blockingStub.getWeather(CityRequest.newBuilder().setCity("Auckland").build()).getCity()).isEqualTo("Auckland");
+    }
+
+    @Test
+    public void shouldOnlyWriteTheCitiesThisMemberOwns() throws Exception {
+        ClusterProperties clusterProperties = new ClusterProperties();
+        clusterProperties.setEnabled(true);
+        clusterProperties.setSelf("http://node-a");
+        clusterProperties.setSecret("s3cret");
+        clusterProperties.setNodes(List.of("http://node-b"));
+        clusterProperties.setReplicationFactor(1);
+        ClusterMembership membership = new ClusterMembership(clusterProperties);
+        startWith(new GrpcRouting(new ReplicationProperties(), membership, null, new TenancyProperties()), null);
+        String owned = IntStream.range(0, 1_000).mapToObj(i -> "City" + i).filter(membership::isOwner).findFirst().orElseThrow();
+        String foreign = IntStream.range(0, 1_000).mapToObj(i -> "City" + i).filter(city -> !membership.isOwner(city)).findFirst().orElseThrow();
+
+        assertThat(blockingStub.addWeather(weather(owned, "C")).getCity()).isEqualTo(owned);
+        StatusRuntimeException write = assertThrows(StatusRuntimeException.class, () -> blockingStub.addWeather(weather(foreign, "C")));
+        StatusRuntimeException read = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.getWeather(CityRequest.newBuilder().setCity(foreign).build()));
+
+        assertThat(write.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION);
+        assertThat(write.getStatus().getDescription()).contains("http://node-b");
+        assertThat(read.getStatus().getCode()).isEqualTo(Status.Code.FAILED_PRECONDITION);
+        assertThat(weatherRepository.findWeatherByCity(foreign)).isEmpty();
+    }
+
+    @Test
+    public void shouldReturnTheFirstResultToARetriedAddWithTheSameIdempotencyKey() {
+        Metadata metadata = new Metadata();
+        metadata.put(Metadata.Key.of("idempotency-key", Metadata.ASCII_STRING_MARSHALLER), "add-queenstown-1");
+        WeatherServiceGrpc.WeatherServiceBlockingStub idempotentStub = blockingStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
+
+        WeatherData first = idempotentStub.addWeather(weather("Queenstown", "C"));
+        WeatherData retry = idempotentStub.addWeather(weather("Queenstown", "C"));
+        StatusRuntimeException reused = assertThrows(StatusRuntimeException.class, () -> idempotentStub.addWeather(weather("Timaru", "C")));
+        StatusRuntimeException withoutKey = assertThrows(StatusRuntimeException.class, () -> blockingStub.addWeather(weather("Queenstown", "C")));
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(reused.getStatus().getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+        assertThat(withoutKey.getStatus().getCode()).isEqualTo(Status.Code.ALREADY_EXISTS);
+    }
+
+    @Test
+    public void shouldApplyWritesCarryingTheTenantMetadataToTheTenantNamespace() throws Exception {
+        startWith(null, new TenantDirectory(new TenancyProperties(), new SimpleMeterRegistry()));
+        Metadata metadata = new Metadata();
+        metadata.put(Metadata.Key.of("x-weather-tenant", Metadata.ASCII_STRING_MARSHALLER), "team-a");
+        WeatherServiceGrpc.WeatherServiceBlockingStub tenantStub = blockingStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
+
+        tenantStub.addWeather(weather("Queenstown", "C"));
+
+        assertThat(tenantStub.getWeather(CityRequest.newBuilder().setCity("Queenstown").build()).getCity()).isEqualTo("Queenstown");
+        assertThat(weatherRepository.findWeatherByCity("Queenstown")).isEmpty();
+        assertThrows(StatusRuntimeException.class, () -> blockingStub.getWeather(CityRequest.newBuilder().setCity("Queenstown").build()));
+    }
+
+    @Test
+    public void shouldRefuseWatchesCarryingTheTenantMetadata() throws Exception {
+        startWith(null, new TenantDirectory(new TenancyProperties(), new SimpleMeterRegistry()));
+        Metadata metadata = new Metadata();
+        metadata.put(Metadata.Key.of("x-weather-tenant", Metadata.ASCII_STRING_MARSHALLER), "team-a");
+        WeatherServiceGrpc.WeatherServiceBlockingStub tenantStub = blockingStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> tenantStub.watchWeather(CityRequest.newBuilder().setCity("Auckland").build()).hasNext());
+
+        assertThat(exception.getStatus().getCode()).isEqualTo(Status.Code.UNIMPLEMENTED);
+    }
+
+    @Test
+    public void shouldHoldOnlyTheLatestReadingForAWatcherThatIsNotReady() throws Exception {
+        WeatherWatchRegistry registry = new WeatherWatchRegistry(weatherRepository);
+        registry.subscribe();
+        SlowWatcher watcher = new SlowWatcher();
+        List<WeatherData> delivered = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> allDelivered = new CompletableFuture<>();
+        registry.watch("Auckland", watcher, () -> weather("Auckland", "C"));
+        // a plain observer is always ready; once it has every reading the dispatcher is done
+        registry.watch("Auckland", new StreamObserver<>() {
+            @Override
+            public void onNext(WeatherData value) {
+                delivered.add(value);
+                if (delivered.size() == 101) {
+                    allDelivered.complete(null);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                allDelivered.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        }, () -> weather("Auckland", "C"));
+        for (int i = 0; i < 100; i++) {
+            weatherRepository.updateWeather("Auckland", new WeatherDataEntity(UUID.randomUUID(), "Auckland", String.valueOf(i), "C", "sunny", LocalDate.now()));
+        }
+        allDelivered.get(5, TimeUnit.SECONDS);
+        registry.shutdown();
+
+        assertThat(watcher.received).isEmpty();
+        watcher.ready = true;
+        watcher.onReadyHandler.run();
+        assertThat(watcher.received).extracting(WeatherData::getTemp).containsExactly("99");
+    }
+
+    private static final class SlowWatcher extends ServerCallStreamObserver<WeatherData> {
+
+        private final List<WeatherData> received = new ArrayList<>();
+        private volatile boolean ready;
+        private Runnable onReadyHandler;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+            this.onReadyHandler = onReadyHandler;
+        }
+
+        @Override
+        public void onNext(WeatherData value) {
+            received.add(value);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+        }
+
+        @Override
+        public void setCompression(String compression) {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void request(int count) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+
+    private static WeatherData weather(String city, String unit) {
+        return WeatherData.newBuilder()
+                .setCity(city)
+                .setTemp("14")
+                .setUnit(unit)
+                .setWeather("windy")
+                .setEpochDay(LocalDate.now().toEpochDay())
+                .build();
+    }
+
+    private static <T> StreamObserver<T> observer(CompletableFuture<T> result) {
+        return new StreamObserver<>() {
+            @Override
+            public void onNext(T value) {
+                result.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.weather.weatherinfoservice.unit;
+
+import com.weather.weatherinfoservice.models.WeatherDataResponse;
+import com.weather.weatherinfoservice.models.WeatherSearchResponse;
+import com.weather.weatherinfoservice.repositories.ColdSegmentStore;
+import com.weather.weatherinfoservice.repositories.WeatherDataEntity;
+import com.weather.weatherinfoservice.repositories.WeatherRepository;
+import com.weather.weatherinfoservice.search.SearchProperties;
+import com.weather.weatherinfoservice.search.WeatherSearchCriteria;
+import com.weather.weatherinfoservice.search.WeatherSearchIndex;
+import com.weather.weatherinfoservice.search.WeatherSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WeatherSearchServiceTest {
+
+    private WeatherRepository weatherRepository;
+    private WeatherSearchService indexedSearch;
+    private WeatherSearchService scanSearch;
+
+    @BeforeEach
+    public void setup() {
+        weatherRepository = new WeatherRepository();
+        for (int i = 0; i < 100; i++) {
+            String weather = i % 4 == 0 ? "Rainy" : "sunny";
+            String unit = i % 2 == 0 ? "C" : "F";
+            String temp = unit.equals("C") ? Integer.toString(i % 40) : Integer.toString(32 + (i % 40) * 9 / 5);
+            weatherRepository.saveWeather("city-" + i, new WeatherDataEntity(UUID.randomUUID(), "city-" + i, temp, unit, weather, LocalDate.now().minusDays(i % 3)));
+        }
+        SearchProperties searchProperties = new SearchProperties();
+        searchProperties.setSegmentSize(8);
+        WeatherSearchIndex index = new WeatherSearchIndex(weatherRepository);
+        index.subscribe();
+        indexedSearch = new WeatherSearchService(weatherRepository, Optional.of(index), searchProperties);
+        scanSearch = new WeatherSearchService(weatherRepository, Optional.empty(), searchProperties);
+    }
+
+    @Test
+    public void shouldUseConditionBitmapAndMatchScan() {
+        WeatherSearchCriteria criteria = criteria().weather("rainy").size(100).build();
+
+        WeatherSearchResponse indexed = indexedSearch.search(criteria);
+        WeatherSearchResponse scanned = scanSearch.search(criteria);
+
+        assertThat(indexed.getPlan()).isEqualTo("condition-bitmap");
+        assertThat(scanned.getPlan()).isEqualTo("parallel-scan");
+        assertThat(indexed.getResults()).isEqualTo(scanned.getResults());
+        assertThat(indexed.getResults()).allMatch(result -> result.getWeather().equalsIgnoreCase("rainy"));
+    }
+
+    @Test
+    public void shouldFilterTemperatureAcrossUnitsInTemperatureOrder() {
+        WeatherSearchCriteria criteria = criteria().minTempCelsius(30.0).sort(WeatherSearchCriteria.SortField.TEMP).descending(true).size(5).build();
+
+        WeatherSearchResponse indexed = indexedSearch.search(criteria);
+
+        assertThat(indexed.getPlan()).isEqualTo("temperature-index");
+        assertThat(indexed.getResults()).hasSize(5);
+        assertThat(indexed.isHasMore()).isTrue();
+        assertThat(indexed.getResults()).extracting(WeatherSearchServiceTest::celsius).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+        assertThat(indexed.getResults()).allMatch(result -> celsius(result) >= 30.0);
+        assertThat(indexed.getResults().get(0).getTemp()).isIn("39", "102");
+    }
+
+    @Test
+    public void shouldStopUnorderedScanOncePageIsFilled() {
+        WeatherSearchCriteria criteria = criteria().sort(WeatherSearchCriteria.SortField.NONE).size(10).build();
+
+        WeatherSearchResponse scanned = scanSearch.search(criteria);
+
+        assertThat(scanned.getResults()).hasSize(10);
+        assertThat(scanned.isHasMore()).isTrue();
+    }
+
+    @Test
+    public void shouldPageOrderedResults() {
+        WeatherSearchCriteria first = criteria().date(LocalDate.now()).size(20).build();
+        WeatherSearchCriteria second = criteria().date(LocalDate.now()).page(1).size(20).build();
+
+        WeatherSearchResponse firstPage = scanSearch.search(first);
+        WeatherSearchResponse secondPage = scanSearch.search(second);
+
+        assertThat(firstPage.getResults()).hasSize(20);
+        assertThat(firstPage.getResults()).extracting(WeatherDataResponse::getCity).isSorted();
+        assertThat(secondPage.getResults().get(0).getCity()).isGreaterThan(firstPage.getResults().get(19).getCity());
+    }
+
+    @Test
+    public void shouldSearchColdEntriesWithoutPromotingThem(@TempDir Path tempDir) throws IOException {
+        try (ColdSegmentStore coldSegmentStore = new ColdSegmentStore(tempDir.resolve("cold.seg"))) {
+            weatherRepository.attachColdTier(coldSegmentStore);
+            weatherRepository.demoteTo(0);
+            WeatherSearchCriteria criteria = criteria().weather("rainy").size(100).build();
+
+            WeatherSearchResponse indexed = indexedSearch.search(criteria);
+
+            assertThat(indexed.getPlan()).isEqualTo("condition-bitmap");
+            assertThat(indexed.getResults()).isEqualTo(scanSearch.search(criteria).getResults());
+            assertThat(weatherRepository.hotSize()).isZero();
+            assertThat(weatherRepository.getColdHits()).isZero();
+        }
+    }
+
+    private static WeatherSearchCriteria.WeatherSearchCriteriaBuilder criteria() {
+        return WeatherSearchCriteria.builder().sort(WeatherSearchCriteria.SortField.CITY).page(0);
+    }
+
+    private static double celsius(WeatherDataResponse response) {
+        double value = Double.parseDouble(response.getTemp());
+        return response.getUnit().equals("F") ? (value - 32) * 5 / 9 : value;
+    }
+}